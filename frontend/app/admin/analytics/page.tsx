@@ -7,7 +7,7 @@ import {
 } from "recharts";
 import { useState, useEffect, useMemo } from "react";
 import { bookings as bookingApi, facilities as facilityApi, users as usersApi } from "@/lib/api";
-import type { Booking, Facility, User } from "@/lib/api";
+import type { BookingStats } from "@/lib/api";
 import { RefreshCw, TrendingUp, CalendarDays, Users, Building2, Clock } from "lucide-react";
 import clsx from "clsx";
 
@@ -28,70 +28,37 @@ const ROLE_COLORS: Record<string, string> = {
 };
 
 // ── Helpers ─────────────────────────────────────────────────────────────────
-function parseHour(time: string): number {
-    return parseInt(time.split(":")[0], 10);
+// Everything below is shaped from GET /bookings/stats — the DB does the counting.
+
+/** The last N days of the per-day series */
+function bookingsPerDay(stats: BookingStats, days: number) {
+    return stats.perDay.slice(-days).map(({ date, count }) => ({
+        day: new Date(`${date}T00:00:00`).toLocaleDateString("en-US", { month: "short", day: "numeric" }),
+        count,
+    }));
 }
 
-function durationHours(start: string, end: string): number {
-    return Math.max(0, parseHour(end) - parseHour(start));
-}
-
-/** Group bookings into the last N days, bucketed by day */
-function bookingsPerDay(bookings: Booking[], days = 30) {
-    type Entry = { day: string; count: number; _key: string };
-    const result: Entry[] = [];
-    const now = new Date();
-    for (let i = days - 1; i >= 0; i--) {
-        const d = new Date(now);
-        d.setDate(d.getDate() - i);
-        const _key = d.toISOString().split("T")[0];
-        const day = d.toLocaleDateString("en-US", { month: "short", day: "numeric" });
-        result.push({ day, count: 0, _key });
-    }
-    bookings.forEach((b) => {
-        const match = result.find((r) => r._key === b.date);
-        if (match) match.count++;
-    });
-    return result.map(({ day, count }) => ({ day, count }));
-}
-
-/** Count bookings per facility name, return top N */
-function topFacilities(bookings: Booking[], n = 8) {
-    const map: Record<string, number> = {};
-    bookings.forEach((b) => {
-        const name = b.facility?.name ?? "Unknown";
-        map[name] = (map[name] ?? 0) + 1;
-    });
-    return Object.entries(map)
-        .sort((a, b) => b[1] - a[1])
-        .slice(0, n)
-        .map(([name, count]) => ({ name: name.length > 22 ? name.slice(0, 20) + "…" : name, count }));
+/** Top facilities, names shortened for the bar labels */
+function topFacilities(stats: BookingStats) {
+    return stats.topFacilities.map(({ name, count }) => ({
+        name: name.length > 22 ? name.slice(0, 20) + "…" : name, count,
+    }));
 }
 
 /** Booking count per user role */
-function roleBreakdown(bookings: Booking[]) {
-    const map: Record<string, number> = {};
-    bookings.forEach((b) => {
-        const role = b.user?.role ?? "UNKNOWN";
-        map[role] = (map[role] ?? 0) + 1;
-    });
-    return Object.entries(map).map(([name, value]) => ({ name, value }));
+function roleBreakdown(stats: BookingStats) {
+    return Object.entries(stats.byRole).map(([name, value]) => ({ name, value: value ?? 0 }));
 }
 
 /** Heat-map: [day-of-week][hour] → count  (Mon=0 … Sun=6, hours 6-22) */
-function peakHeatmap(bookings: Booking[]) {
+function peakHeatmap(stats: BookingStats | null) {
     const DAYS = ["Mon", "Tue", "Wed", "Thu", "Fri", "Sat", "Sun"];
     const HOURS = Array.from({ length: 17 }, (_, i) => i + 6); // 06:00 – 22:00
     const grid: number[][] = DAYS.map(() => HOURS.map(() => 0));
 
-    bookings.forEach((b) => {
-        const dow = (new Date(b.date).getDay() + 6) % 7; // Mon=0
-        const startH = parseHour(b.startTime);
-        const endH = parseHour(b.endTime);
-        for (let h = startH; h < endH && h <= 22; h++) {
-            const col = HOURS.indexOf(h);
-            if (col >= 0) grid[dow][col]++;
-        }
+    stats?.heatmap.forEach(({ dayOfWeek, hour, count }) => {
+        const col = HOURS.indexOf(hour);
+        if (col >= 0) grid[dayOfWeek - 1][col] += count;
     });
 
     return { DAYS, HOURS, grid };
@@ -147,56 +114,40 @@ function Section({ title, icon: Icon, iconColor, children }: {
 
 // ── Main Page ────────────────────────────────────────────────────────────────
 export default function AdminAnalyticsPage() {
-    const [allBookings, setAllBookings] = useState<Booking[]>([]);
-    const [allFacilities, setAllFacilities] = useState<Facility[]>([]);
-    const [allUsers, setAllUsers] = useState<User[]>([]);
+    const [stats, setStats] = useState<BookingStats | null>(null);
+    const [facilityCount, setFacilityCount] = useState(0);
+    const [userCount, setUserCount] = useState(0);
     const [loading, setLoading] = useState(true);
     const [timeRange, setTimeRange] = useState<7 | 14 | 30>(30);
 
     const load = async () => {
         setLoading(true);
         const [b, f, u] = await Promise.allSettled([
-            bookingApi.all(),
+            bookingApi.stats(30),
             facilityApi.list(),
-            usersApi.list(),
+            usersApi.stats(),
         ]);
-        if (b.status === "fulfilled") setAllBookings(b.value);
-        if (f.status === "fulfilled") setAllFacilities(f.value);
-        if (u.status === "fulfilled") setAllUsers(u.value);
+        if (b.status === "fulfilled") setStats(b.value);
+        if (f.status === "fulfilled") setFacilityCount(f.value.length);
+        if (u.status === "fulfilled") setUserCount(u.value.total);
         setLoading(false);
     };
 
     useEffect(() => { load(); }, []);
 
     // ── Derived metrics ────────────────────────────────────────────────────
-    const now = new Date();
-    const thisMonth = now.toISOString().slice(0, 7); // "YYYY-MM"
-
-    const bookingsThisMonth = useMemo(
-        () => allBookings.filter((b) => b.date?.startsWith(thisMonth)),
-        [allBookings, thisMonth]
-    );
-
-    const confirmed = useMemo(() => allBookings.filter((b) => b.status === "CONFIRMED").length, [allBookings]);
-    const cancelled = useMemo(() => allBookings.filter((b) => b.status === "CANCELLED").length, [allBookings]);
-    const completed = useMemo(() => allBookings.filter((b) => b.status === "COMPLETED").length, [allBookings]);
-
-    const avgDuration = useMemo(() => {
-        const withDuration = allBookings.filter((b) => b.startTime && b.endTime);
-        if (!withDuration.length) return "—";
-        const avg = withDuration.reduce((s, b) => s + durationHours(b.startTime, b.endTime), 0) / withDuration.length;
-        return `${avg.toFixed(1)}h`;
-    }, [allBookings]);
+    const total = stats?.total ?? 0;
+    const confirmed = stats?.byStatus.CONFIRMED ?? 0;
+    const cancelled = stats?.byStatus.CANCELLED ?? 0;
+    const completed = stats?.byStatus.COMPLETED ?? 0;
 
-    const cancelRate = useMemo(() => {
-        if (!allBookings.length) return "—";
-        return `${((cancelled / allBookings.length) * 100).toFixed(1)}%`;
-    }, [allBookings, cancelled]);
+    const avgDuration = stats?.avgDurationHours == null ? "—" : `${stats.avgDurationHours.toFixed(1)}h`;
+    const cancelRate = total ? `${((cancelled / total) * 100).toFixed(1)}%` : "—";
 
-    const dayData = useMemo(() => bookingsPerDay(allBookings, timeRange), [allBookings, timeRange]);
-    const facData = useMemo(() => topFacilities(allBookings), [allBookings]);
-    const roleData = useMemo(() => roleBreakdown(allBookings), [allBookings]);
-    const heatmap = useMemo(() => peakHeatmap(allBookings), [allBookings]);
+    const dayData = useMemo(() => (stats ? bookingsPerDay(stats, timeRange) : []), [stats, timeRange]);
+    const facData = useMemo(() => (stats ? topFacilities(stats) : []), [stats]);
+    const roleData = useMemo(() => (stats ? roleBreakdown(stats) : []), [stats]);
+    const heatmap = useMemo(() => peakHeatmap(stats), [stats]);
 
     const maxHeat = useMemo(() => Math.max(1, ...heatmap.grid.flat()), [heatmap]);
     const maxFac = useMemo(() => Math.max(1, ...facData.map((f) => f.count)), [facData]);
@@ -212,7 +163,7 @@ export default function AdminAnalyticsPage() {
                         Booking <span className="gradient-text-admin">Analytics</span>
                     </h1>
                     <p className="text-sm text-white/35 mt-1">
-                        {allBookings.length} total bookings · {allFacilities.length} facilities · {allUsers.length} users
+                        {total} total bookings · {facilityCount} facilities · {userCount} users
                     </p>
                 </div>
                 <div className="flex items-center gap-2 mt-1">
@@ -232,7 +183,7 @@ export default function AdminAnalyticsPage() {
                     {/* ── Summary stats row ─────────────────────────────────── */}
                     <motion.div initial={{ opacity: 0, y: 16 }} animate={{ opacity: 1, y: 0 }} transition={{ delay: 0.05 }}
                         className="grid grid-cols-2 lg:grid-cols-5 gap-4">
-                        <StatCard label="Bookings This Month" value={String(bookingsThisMonth.length)}
+                        <StatCard label="Bookings This Month" value={String(stats?.thisMonth ?? 0)}
                             icon={CalendarDays} color={TEAL} />
                         <StatCard label="Confirmed" value={String(confirmed)}
                             icon={TrendingUp} color={EMERALD} />
@@ -433,15 +384,12 @@ export default function AdminAnalyticsPage() {
                                     EXPIRED: PURPLE,
                                     REJECTED: "#f97316",
                                 };
-                                const statusData = Object.entries(
-                                    allBookings.reduce((acc, b) => {
-                                        acc[b.status] = (acc[b.status] ?? 0) + 1;
-                                        return acc;
-                                    }, {} as Record<string, number>)
-                                ).map(([status, count]) => ({ status, count }))
+                                const statusData = Object.entries(stats?.byStatus ?? {})
+                                    .map(([status, count]) => ({ status, count: count ?? 0 }))
+                                    .filter(({ count }) => count > 0)
                                     .sort((a, b) => b.count - a.count);
 
-                                const total = allBookings.length || 1;
+                                const share = total || 1;
 
                                 return (
                                     <div className="grid grid-cols-2 sm:grid-cols-3 lg:grid-cols-5 gap-3">
@@ -462,12 +410,12 @@ export default function AdminAnalyticsPage() {
                                                 <div className="h-1 rounded-full bg-white/[0.06] overflow-hidden">
                                                     <div className="h-full rounded-full"
                                                         style={{
-                                                            width: `${(count / total) * 100}%`,
+                                                            width: `${(count / share) * 100}%`,
                                                             background: STATUS_COLORS[status] ?? CYAN,
                                                         }} />
                                                 </div>
                                                 <p className="text-[10px] text-white/30">
-                                                    {((count / total) * 100).toFixed(1)}% of total
+                                                    {((count / share) * 100).toFixed(1)}% of total
                                                 </p>
                                             </div>
                                         ))}
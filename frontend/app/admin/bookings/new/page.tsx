@@ -8,7 +8,7 @@ import {
 import Link from "next/link";
 import { useState, useEffect } from "react";
 import { facilities as facilityApi, users as usersApi, bookings as bookingApi } from "@/lib/api";
-import type { Facility, User as ApiUser, TimeSlot } from "@/lib/api";
+import type { Facility, UserSummary as ApiUser, TimeSlot } from "@/lib/api";
 import clsx from "clsx";
 import { useRouter } from "next/navigation";
 
@@ -25,7 +25,7 @@ export default function AdminCreateBookingPage() {
     const router = useRouter();
 
     const [facilities, setFacilities] = useState<Facility[]>([]);
-    const [allUsers, setAllUsers] = useState<ApiUser[]>([]);
+    const [userMatches, setUserMatches] = useState<ApiUser[]>([]);
 
     const [facilitySearch, setFacilitySearch] = useState("");
     const [userSearch, setUserSearch] = useState("");
@@ -48,12 +48,24 @@ export default function AdminCreateBookingPage() {
     const [submitted, setSubmitted] = useState(false);
     const [bookingStatus, setBookingStatus] = useState<string>("CONFIRMED");
 
-    // Load facilities + users
+    // Load facilities
     useEffect(() => {
         facilityApi.list().then(setFacilities).catch(() => { });
-        usersApi.list().then(setAllUsers).catch(() => { });
     }, []);
 
+    // Search users as the admin types (debounced; the server returns the top 20)
+    useEffect(() => {
+        const q = userSearch.trim();
+        if (q.length < 2) { setUserMatches([]); return; }
+        let stale = false;
+        const timer = setTimeout(() => {
+            usersApi.search(q, 20)
+                .then((found) => { if (!stale) setUserMatches(found); })
+                .catch(() => { });
+        }, 250);
+        return () => { stale = true; clearTimeout(timer); };
+    }, [userSearch]);
+
     // Load slots when facility + date changes
     useEffect(() => {
         if (!selectedFacility) return;
@@ -80,11 +92,6 @@ export default function AdminCreateBookingPage() {
         f.location.toLowerCase().includes(facilitySearch.toLowerCase())
     );
 
-    const filteredUsers = allUsers.filter((u) =>
-        u.name.toLowerCase().includes(userSearch.toLowerCase()) ||
-        u.email.toLowerCase().includes(userSearch.toLowerCase())
-    );
-
     const canSubmit = selectedFacility && selectedUser && startSlot && endSlot && purpose.trim().length > 3;
 
     const handleSubmit = async () => {
@@ -220,7 +227,19 @@ export default function AdminCreateBookingPage() {
                     </div>
 
                     <div className="space-y-1.5 max-h-64 overflow-y-auto pr-1">
-                        {filteredUsers.slice(0, 20).map((u) => (
+                        {userSearch.trim().length < 2 && !selectedUser && (
+                            <p className="text-white/30 text-xs text-center py-6">Type at least 2 characters to search</p>
+                        )}
+                        {selectedUser && !userMatches.some((u) => u.id === selectedUser.id) && (
+                            <div className="flex items-center gap-3 p-3 rounded-xl border border-amber-500/50 bg-amber-500/10">
+                                <div className="flex-1 min-w-0">
+                                    <p className="text-xs font-semibold text-white truncate">{selectedUser.name}</p>
+                                    <p className="text-[10px] text-white/40 truncate">{selectedUser.email} · {selectedUser.role}</p>
+                                </div>
+                                <CheckCircle size={14} className="text-amber-400 flex-shrink-0" />
+                            </div>
+                        )}
+                        {userMatches.map((u) => (
                             <button key={u.id} onClick={() => setSelectedUser(u)}
                                 className={clsx(
                                     "w-full flex items-center gap-3 p-3 rounded-xl border transition-all text-left",
@@ -10,7 +10,7 @@ import Image from "next/image";
 import Link from "next/link";
 import { useState, useEffect, useRef } from "react";
 import { bookings as bookingApi } from "@/lib/api";
-import type { Booking } from "@/lib/api";
+import type { Booking, BookingStats } from "@/lib/api";
 import clsx from "clsx";
 
 const PLACEHOLDER: Record<string, string> = {
@@ -102,29 +102,53 @@ function BookingActions({
     );
 }
 
+const STATUSES = ["PENDING", "CONFIRMED", "ACTIVE", "COMPLETED", "CANCELLED", "EXPIRED", "REJECTED", "NO_SHOW"] as const;
+const PAGE_SIZE = 25;
+
 /* ─── page ───────────────────────────────────────────────────────────────── */
 export default function AdminAllBookings() {
     const [items, setItems] = useState<Booking[]>([]);
+    const [cursor, setCursor] = useState<string | null>(null);
+    const [counts, setCounts] = useState<BookingStats["byStatus"]>({});
+    const [total, setTotal] = useState<number | null>(null);
     const [loading, setLoading] = useState(true);
+    const [loadingMore, setLoadingMore] = useState(false);
     const [error, setError] = useState<string | null>(null);
     const [filter, setFilter] = useState("ALL");
 
-    const load = () => {
+    // One keyset page at a time, filtered by the server
+    const fetchPage = (status: string, from: string | null) =>
+        status === "ALL" ? bookingApi.page(from, PAGE_SIZE) : bookingApi.pageByStatus(status, from, PAGE_SIZE);
+
+    const loadPage = (status: string) => {
         setLoading(true); setError(null);
-        bookingApi.all()
-            .then(setItems)
+        fetchPage(status, null)
+            .then((page) => { setItems(page.items); setCursor(page.nextCursor); })
             .catch((e: unknown) => setError(e instanceof Error ? e.message : "Failed to load bookings."))
             .finally(() => setLoading(false));
     };
-    useEffect(() => { load(); }, []);
+    const loadCounts = () =>
+        bookingApi.stats(1)
+            .then((stats) => { setCounts(stats.byStatus); setTotal(stats.total); })
+            .catch(() => { });
+    const load = () => { loadCounts(); loadPage(filter); };
+    const loadMore = () => {
+        if (!cursor) return;
+        setLoadingMore(true);
+        fetchPage(filter, cursor)
+            .then((page) => { setItems(prev => [...prev, ...page.items]); setCursor(page.nextCursor); })
+            .catch((e: unknown) => setError(e instanceof Error ? e.message : "Failed to load bookings."))
+            .finally(() => setLoadingMore(false));
+    };
+    useEffect(() => { loadCounts(); }, []);
+    useEffect(() => { loadPage(filter); }, [filter]);
 
     const handleUpdate = (updated: Booking) =>
         setItems(prev => prev.map(b => b.id === updated.id ? updated : b));
     const handleRemove = (id: number) =>
         setItems(prev => prev.filter(b => b.id !== id));
 
-    const statuses = ["ALL", ...Array.from(new Set(items.map(b => b.status)))];
-    const filtered = filter === "ALL" ? items : items.filter(b => b.status === filter);
+    const statuses = ["ALL", ...STATUSES.filter(s => (counts[s] ?? 0) > 0 || s === filter)];
 
     return (
         <div className="min-h-screen p-6 lg:p-8">
@@ -133,7 +157,7 @@ export default function AdminAllBookings() {
                 <div>
                     <p className="text-xs font-semibold text-amber-400/60 uppercase tracking-widest mb-1">Admin</p>
                     <h1 className="text-3xl font-bold text-white">All <span className="gradient-text-admin">Bookings</span></h1>
-                    <p className="text-sm text-white/35 mt-1">Manage every booking — check-in, check-out, cancel or delete ({items.length} total)</p>
+                    <p className="text-sm text-white/35 mt-1">Manage every booking — check-in, check-out, cancel or delete ({total ?? "…"} total)</p>
                 </div>
                 <div className="flex items-center gap-2 mt-1">
                     <Link href="/admin/bookings/new">
@@ -156,7 +180,7 @@ export default function AdminAllBookings() {
                             "px-3 py-1.5 rounded-xl text-xs font-semibold whitespace-nowrap transition-all flex-shrink-0",
                             filter === s ? "bg-gradient-to-r from-amber-500 to-orange-500 text-white shadow-md" : "glass text-white/50 hover:text-white"
                         )}>
-                        {s === "ALL" ? `All (${items.length})` : `${s.charAt(0) + s.slice(1).toLowerCase()} (${items.filter(b => b.status === s).length})`}
+                        {s === "ALL" ? `All (${total ?? "…"})` : `${s.charAt(0) + s.slice(1).toLowerCase().replace("_", " ")} (${counts[s as keyof typeof counts] ?? 0})`}
                     </button>
                 ))}
             </div>
@@ -172,17 +196,17 @@ export default function AdminAllBookings() {
                 </div>
             ) : (
                 <div className="space-y-3 max-w-4xl">
-                    {filtered.length === 0 && (
+                    {items.length === 0 && (
                         <p className="text-center text-white/30 py-16 text-sm">No bookings found for this filter.</p>
                     )}
-                    {filtered.map((b, i) => {
+                    {items.map((b, i) => {
                         const cfg = STATUS_CFG[b.status] ?? STATUS_CFG.CONFIRMED;
                         const typeName = b.facility?.facilityType?.name ?? "";
                         const imgSrc = b.facility?.imageUrl || PLACEHOLDER[typeName] || PLACEHOLDER.default;
                         return (
                             <motion.div key={b.id}
                                 initial={{ opacity: 0, y: 16 }} animate={{ opacity: 1, y: 0 }}
-                                transition={{ delay: i * 0.035 }}
+                                transition={{ delay: (i % PAGE_SIZE) * 0.035 }}
                                 className="glass-card rounded-2xl flex gap-4 p-5 items-start">
                                 <div className="relative w-20 h-16 rounded-xl overflow-hidden flex-shrink-0 hidden sm:block">
                                     <Image src={imgSrc} alt={b.facility?.name ?? ""} fill className="object-cover" unoptimized />
@@ -215,6 +239,14 @@ export default function AdminAllBookings() {
                             </motion.div>
                         );
                     })}
+                    {cursor && (
+                        <div className="flex justify-center pt-2">
+                            <button onClick={loadMore} disabled={loadingMore}
+                                className="btn-glass px-5 py-2.5 rounded-xl text-sm font-medium text-white flex items-center gap-2">
+                                {loadingMore ? "Loading..." : <>Load more <ChevronDown size={14} /></>}
+                            </button>
+                        </div>
+                    )}
                 </div>
             )}
         </div>
@@ -25,19 +25,20 @@ export default function AdminOverview() {
 
     const load = async () => {
         setLoading(true);
-        const [allBookings, allFac, allUsers] = await Promise.allSettled([
-            bookingApi.all(),
+        // Counts come from the stats endpoints; only the 5 newest bookings are fetched
+        const [stats, recent, allFac, userStats] = await Promise.allSettled([
+            bookingApi.stats(),
+            bookingApi.page(null, 5),
             facilityApi.list(),
-            usersApi.list(),
+            usersApi.stats(),
         ]);
-        if (allBookings.status === "fulfilled") {
-            const bookings = allBookings.value;
-            setBookingCount(String(bookings.length));
-            setConfirmedCount(String(bookings.filter((b) => b.status === "CONFIRMED").length));
-            setRecentBookings(bookings.slice(0, 5));
+        if (stats.status === "fulfilled") {
+            setBookingCount(String(stats.value.total));
+            setConfirmedCount(String(stats.value.byStatus.CONFIRMED ?? 0));
         }
+        if (recent.status === "fulfilled") setRecentBookings(recent.value.items);
         if (allFac.status === "fulfilled") setFacCount(String(allFac.value.length));
-        if (allUsers.status === "fulfilled") setUserCount(String(allUsers.value.length));
+        if (userStats.status === "fulfilled") setUserCount(String(userStats.value.total));
         setLoading(false);
     };
 
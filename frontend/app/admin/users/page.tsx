@@ -7,11 +7,12 @@ import {
 } from "lucide-react";
 import React, { useState, useEffect, useRef } from "react";
 import { users as usersApi } from "@/lib/api";
-import type { User } from "@/lib/api";
+import type { User, UserStats } from "@/lib/api";
 import clsx from "clsx";
 
 const ROLES = ["STUDENT", "STAFF", "ADMIN", "SECURITY", "VISITOR"] as const;
 type Role = typeof ROLES[number];
+const PAGE_SIZE = 25;
 
 const ROLE_ICONS: Record<Role, React.ReactNode> = {
     STUDENT: <GraduationCap size={12} />,
@@ -153,24 +154,41 @@ function UserActions({
 /* ─── Page ─────────────────────────────────────────────────────────────────── */
 export default function AdminUsersPage() {
     const [items, setItems] = useState<User[]>([]);
+    const [cursor, setCursor] = useState<string | null>(null);
+    const [stats, setStats] = useState<UserStats | null>(null);
     const [loading, setLoading] = useState(true);
+    const [loadingMore, setLoadingMore] = useState(false);
     const [error, setError] = useState<string | null>(null);
     const [filter, setFilter] = useState("ALL");
 
-    const load = () => {
+    // One keyset page at a time, filtered by the server
+    const fetchPage = (role: string, from: string | null) =>
+        role === "ALL" ? usersApi.page(from, PAGE_SIZE) : usersApi.pageByRole(role, from, PAGE_SIZE);
+
+    const loadPage = (role: string) => {
         setLoading(true); setError(null);
-        usersApi.list()
-            .then(setItems)
+        fetchPage(role, null)
+            .then((page) => { setItems(page.items); setCursor(page.nextCursor); })
             .catch((e: unknown) => setError(e instanceof Error ? e.message : "Failed to load users."))
             .finally(() => setLoading(false));
     };
-    useEffect(() => { load(); }, []);
+    const loadStats = () => usersApi.stats().then(setStats).catch(() => { });
+    const load = () => { loadStats(); loadPage(filter); };
+    const loadMore = () => {
+        if (!cursor) return;
+        setLoadingMore(true);
+        fetchPage(filter, cursor)
+            .then((page) => { setItems(prev => [...prev, ...page.items]); setCursor(page.nextCursor); })
+            .catch((e: unknown) => setError(e instanceof Error ? e.message : "Failed to load users."))
+            .finally(() => setLoadingMore(false));
+    };
+    useEffect(() => { loadStats(); }, []);
+    useEffect(() => { loadPage(filter); }, [filter]);
 
     const handleUpdate = (u: User) => setItems(prev => prev.map(x => x.id === u.id ? u : x));
     const handleRemove = (id: number) => setItems(prev => prev.filter(x => x.id !== id));
 
     const roleFilters = ["ALL", ...ROLES];
-    const filtered = filter === "ALL" ? items : items.filter(u => u.role === filter);
 
     return (
         <div className="min-h-screen p-6 lg:p-8">
@@ -179,7 +197,7 @@ export default function AdminUsersPage() {
                 <div>
                     <p className="text-xs font-semibold text-amber-400/60 uppercase tracking-widest mb-1">Admin</p>
                     <h1 className="text-3xl font-bold text-white">User <span className="gradient-text-admin">Management</span></h1>
-                    <p className="text-sm text-white/35 mt-1">Change roles, activate/deactivate or delete users ({items.length} total)</p>
+                    <p className="text-sm text-white/35 mt-1">Change roles, activate/deactivate or delete users ({stats?.total ?? "…"} total)</p>
                 </div>
                 <button onClick={load} disabled={loading}
                     className="glass px-3 py-2 rounded-xl text-xs text-white/50 hover:text-white transition-colors flex items-center gap-1.5 mt-1">
@@ -191,7 +209,7 @@ export default function AdminUsersPage() {
             <motion.div initial={{ opacity: 0 }} animate={{ opacity: 1 }} transition={{ delay: 0.1 }}
                 className="flex flex-wrap gap-2 mb-7">
                 {roleFilters.map(role => {
-                    const count = role === "ALL" ? items.length : items.filter(u => u.role === role).length;
+                    const count = (role === "ALL" ? stats?.total : stats?.byRole[role as Role]) ?? "…";
                     return (
                         <button key={role} onClick={() => setFilter(role)}
                             className={clsx(
@@ -230,12 +248,12 @@ export default function AdminUsersPage() {
                                 </tr>
                             </thead>
                             <tbody>
-                                {filtered.length === 0 ? (
+                                {items.length === 0 ? (
                                     <tr><td colSpan={6} className="text-center py-10 text-white/30 text-sm">No users found.</td></tr>
-                                ) : filtered.map((u, i) => (
+                                ) : items.map((u, i) => (
                                     <motion.tr key={u.id}
                                         initial={{ opacity: 0 }} animate={{ opacity: 1 }}
-                                        transition={{ delay: i * 0.025 }}
+                                        transition={{ delay: (i % PAGE_SIZE) * 0.025 }}
                                         className="border-b border-white/[0.035] hover:bg-white/[0.02] transition-colors">
                                         <td className="px-5 py-4">
                                             <div className="flex items-center gap-3">
@@ -269,6 +287,14 @@ export default function AdminUsersPage() {
                             </tbody>
                         </table>
                     </div>
+                    {cursor && (
+                        <div className="flex justify-center py-4 border-t border-white/[0.06]">
+                            <button onClick={loadMore} disabled={loadingMore}
+                                className="btn-glass px-5 py-2.5 rounded-xl text-sm font-medium text-white">
+                                {loadingMore ? "Loading..." : "Load more"}
+                            </button>
+                        </div>
+                    )}
                 </motion.div>
             )}
         </div>
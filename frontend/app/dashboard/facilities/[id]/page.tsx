@@ -36,11 +36,15 @@ export default function FacilityDetailPage({ params }: { params: Promise<{ id: s
         Promise.all([
             facilityApi.get(facilityId),
             reviewApi.forFacility(facilityId),
-            reviewApi.rating(facilityId),
-        ]).then(([fac, rev, rat]) => {
+        ]).then(([fac, rev]) => {
             setFacility(fac);
             setRevList(rev);
-            setRating(rat);
+            // The facility response carries its rating — no separate call
+            setRating({
+                facilityId: fac.id,
+                averageRating: fac.averageRating ?? 0,
+                totalReviews: fac.totalReviews ?? 0,
+            });
         }).catch(() => { }).finally(() => setLoading(false));
     }, [facilityId]);
 
@@ -42,14 +42,19 @@ export default function NotificationsPage() {
 
     useEffect(() => { load(); }, []);
 
-    const markRead = async (id: number) => {
-        await notifApi.markRead(id).catch(() => { });
-        setNotifs((prev) => prev.map((n) => n.id === id ? { ...n, isRead: true } : n));
+    const markRead = async (target: Notification) => {
+        if (target.kind === "ANNOUNCEMENT") {
+            await notifApi.markAnnouncementRead(target.id).catch(() => { });
+            setNotifs((prev) => prev.map((n) => n.kind === "ANNOUNCEMENT" && n.id <= target.id ? { ...n, isRead: true } : n));
+            return;
+        }
+        await notifApi.markRead(target.id).catch(() => { });
+        setNotifs((prev) => prev.map((n) => n.kind === target.kind && n.id === target.id ? { ...n, isRead: true } : n));
     };
 
-    const remove = async (id: number) => {
-        await notifApi.delete(id).catch(() => { });
-        setNotifs((prev) => prev.filter((n) => n.id !== id));
+    const remove = async (target: Notification) => {
+        await notifApi.delete(target.id).catch(() => { });
+        setNotifs((prev) => prev.filter((n) => !(n.kind === target.kind && n.id === target.id)));
     };
 
     const markAllRead = async () => {
@@ -101,12 +106,12 @@ export default function NotificationsPage() {
                     <AnimatePresence>
                         {notifs.map((notif, i) => (
                             <motion.div
-                                key={notif.id}
+                                key={`${notif.kind}-${notif.id}`}
                                 initial={{ opacity: 0, y: 20 }}
                                 animate={{ opacity: 1, y: 0 }}
                                 exit={{ opacity: 0, x: 40, height: 0 }}
                                 transition={{ delay: i * 0.03 }}
-                                onClick={() => !notif.isRead && markRead(notif.id)}
+                                onClick={() => !notif.isRead && markRead(notif)}
                                 className={clsx(
                                     "glass-card rounded-2xl p-4 flex gap-3 cursor-pointer transition-all",
                                     !notif.isRead && "border-l-2 border-teal-500"
@@ -125,13 +130,15 @@ export default function NotificationsPage() {
                                             {!notif.isRead && (
                                                 <div className="w-2 h-2 rounded-full bg-teal-400 animate-pulse flex-shrink-0" />
                                             )}
-                                            <button
-                                                onClick={(e) => { e.stopPropagation(); remove(notif.id); }}
-                                                className="text-white/20 hover:text-red-400 transition-colors p-0.5"
-                                                aria-label="Delete notification"
-                                            >
-                                                <Trash2 size={12} />
-                                            </button>
+                                            {notif.kind !== "ANNOUNCEMENT" && (
+                                                <button
+                                                    onClick={(e) => { e.stopPropagation(); remove(notif); }}
+                                                    className="text-white/20 hover:text-red-400 transition-colors p-0.5"
+                                                    aria-label="Delete notification"
+                                                >
+                                                    <Trash2 size={12} />
+                                                </button>
+                                            )}
                                         </div>
                                     </div>
                                     <p className="text-xs text-white/50 mt-0.5 leading-relaxed">{notif.message}</p>
@@ -88,9 +88,9 @@ export default function NotificationBell({ accent = "teal" }: NotificationBellPr
     /* poll unread count every 30s */
     const [unread, setUnread] = useState(0);
     useEffect(() => {
-        notifApi.unread().then(r => setUnread(r.count)).catch(() => { });
+        notifApi.unreadCount().then(r => setUnread(r.count)).catch(() => { });
         const id = setInterval(() => {
-            notifApi.unread().then(r => setUnread(r.count)).catch(() => { });
+            notifApi.unreadCount().then(r => setUnread(r.count)).catch(() => { });
         }, 30_000);
         return () => clearInterval(id);
     }, []);
@@ -105,14 +105,19 @@ export default function NotificationBell({ accent = "teal" }: NotificationBellPr
         if (!open) fetchNotifs();
     };
 
-    const markRead = async (id: number) => {
-        await notifApi.markRead(id).catch(() => { });
-        setNotifs(prev => prev.map(n => n.id === id ? { ...n, isRead: true } : n));
+    const markRead = async (target: Notification) => {
+        if (target.kind === "ANNOUNCEMENT") {
+            await notifApi.markAnnouncementRead(target.id).catch(() => { });
+            setNotifs(prev => prev.map(n => n.kind === "ANNOUNCEMENT" && n.id <= target.id ? { ...n, isRead: true } : n));
+            return;
+        }
+        await notifApi.markRead(target.id).catch(() => { });
+        setNotifs(prev => prev.map(n => n.kind === target.kind && n.id === target.id ? { ...n, isRead: true } : n));
     };
 
-    const remove = async (id: number) => {
-        await notifApi.delete(id).catch(() => { });
-        setNotifs(prev => prev.filter(n => n.id !== id));
+    const remove = async (target: Notification) => {
+        await notifApi.delete(target.id).catch(() => { });
+        setNotifs(prev => prev.filter(n => !(n.kind === target.kind && n.id === target.id)));
     };
 
     const markAllRead = async () => {
@@ -224,12 +229,12 @@ export default function NotificationBell({ accent = "teal" }: NotificationBellPr
                                         <AnimatePresence initial={false}>
                                             {notifs.map((n, i) => (
                                                 <motion.div
-                                                    key={n.id}
+                                                    key={`${n.kind}-${n.id}`}
                                                     initial={{ opacity: 0, x: -10 }}
                                                     animate={{ opacity: 1, x: 0 }}
                                                     exit={{ opacity: 0, height: 0, marginBottom: 0 }}
                                                     transition={{ delay: i * 0.025, duration: 0.18 }}
-                                                    onClick={() => !n.isRead && markRead(n.id)}
+                                                    onClick={() => !n.isRead && markRead(n)}
                                                     className={clsx(
                                                         "flex gap-3 px-4 py-3 border-b border-white/[0.04] last:border-0",
                                                         "transition-colors group",
@@ -258,14 +263,16 @@ export default function NotificationBell({ accent = "teal" }: NotificationBellPr
                                                         <p className="text-[10px] text-white/22 mt-1">{timeAgo(n.createdAt)}</p>
                                                     </div>
 
-                                                    {/* delete */}
-                                                    <button
-                                                        onClick={e => { e.stopPropagation(); remove(n.id); }}
-                                                        className="opacity-0 group-hover:opacity-100 transition-opacity text-white/20 hover:text-red-400 p-0.5 flex-shrink-0 mt-0.5"
-                                                        aria-label="Delete"
-                                                    >
-                                                        <Trash2 size={11} />
-                                                    </button>
+                                                    {/* delete — announcements are shared, so they can only be read */}
+                                                    {n.kind !== "ANNOUNCEMENT" && (
+                                                        <button
+                                                            onClick={e => { e.stopPropagation(); remove(n); }}
+                                                            className="opacity-0 group-hover:opacity-100 transition-opacity text-white/20 hover:text-red-400 p-0.5 flex-shrink-0 mt-0.5"
+                                                            aria-label="Delete"
+                                                        >
+                                                            <Trash2 size={11} />
+                                                        </button>
+                                                    )}
                                                 </motion.div>
                                             ))}
                                         </AnimatePresence>
@@ -278,8 +285,8 @@ export default function NotificationBell({ accent = "teal" }: NotificationBellPr
                                         <p className="text-[10px] text-white/25">{notifs.length} notification{notifs.length !== 1 ? "s" : ""}</p>
                                         <button
                                             onClick={async () => {
-                                                const ids = notifs.map(n => n.id);
-                                                setNotifs([]);
+                                                const ids = notifs.filter(n => n.kind !== "ANNOUNCEMENT").map(n => n.id);
+                                                setNotifs(prev => prev.filter(n => n.kind === "ANNOUNCEMENT"));
                                                 await Promise.allSettled(ids.map(id => notifApi.delete(id)));
                                             }}
                                             className="text-[10px] text-white/25 hover:text-red-400/70 transition-colors"
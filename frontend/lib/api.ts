@@ -32,6 +32,28 @@ async function apiFetch<T>(
     return res.json();
 }
 
+/** One keyset page of an admin list; pass `nextCursor` back for the next one. */
+export interface Page<T> {
+    items: T[];
+    nextCursor: string | null;
+}
+
+async function apiPage<T>(path: string, cursor?: string | null, limit = 50): Promise<Page<T>> {
+    const token = getToken();
+    const headers: Record<string, string> = {};
+    if (token) headers["Authorization"] = `Bearer ${token}`;
+
+    const sep = path.includes("?") ? "&" : "?";
+    const query = `limit=${limit}` + (cursor ? `&cursor=${encodeURIComponent(cursor)}` : "");
+    const res = await fetch(`${BASE}${path}${sep}${query}`, { headers });
+
+    if (!res.ok) {
+        const errorBody = await res.json().catch(() => ({ message: res.statusText }));
+        throw new Error(errorBody?.message ?? `HTTP ${res.status}`);
+    }
+    return { items: await res.json(), nextCursor: res.headers.get("X-Next-Cursor") };
+}
+
 // ─── Types ───────────────────────────────────────────────────────────────────
 
 export interface User {
@@ -48,6 +70,19 @@ export interface User {
     department?: { id: number; name: string };
 }
 
+/** What the user search returns — enough to pick someone. */
+export interface UserSummary {
+    id: number;
+    name: string;
+    email: string;
+    role: User["role"];
+}
+
+export interface UserStats {
+    total: number;
+    byRole: Partial<Record<User["role"], number>>;
+}
+
 export interface Department {
     id: number;
     name: string;
@@ -84,6 +119,8 @@ export interface Facility {
     rules?: string;
     description?: string;
     createdAt: string;
+    averageRating?: number;
+    totalReviews?: number;
 }
 
 export interface TimeSlot {
@@ -111,11 +148,27 @@ export interface Booking {
     status: "PENDING" | "CONFIRMED" | "CANCELLED" | "COMPLETED" | "EXPIRED" | "REJECTED" | "ACTIVE";
     notes?: string;
     isRecurring: boolean;
+    recurrenceRule?: string;
+    seriesParentId?: number | null;
+    version?: number;
     createdAt: string;
     checkInTime?: string;
     checkOutTime?: string;
 }
 
+/** Aggregates from GET /bookings/stats — see API_DOCUMENTATION.md. */
+export interface BookingStats {
+    total: number;
+    byStatus: Partial<Record<Booking["status"] | "NO_SHOW", number>>;
+    thisMonth: number;
+    avgDurationHours: number | null;
+    perDay: { date: string; count: number }[];
+    topFacilities: { facilityId: number; name: string; count: number }[];
+    byRole: Partial<Record<User["role"], number>>;
+    /** dayOfWeek: 1 = Monday … 7 = Sunday */
+    heatmap: { dayOfWeek: number; hour: number; count: number }[];
+}
+
 export interface Review {
     id: number;
     rating: number;
@@ -130,10 +183,14 @@ export interface RatingSummary {
     facilityId: number;
     averageRating: number;
     totalReviews: number;
+    /** Number of 1★ … 5★ reviews (index 0 = 1★). */
+    stars?: number[];
 }
 
 export interface Notification {
     id: number;
+    /** Ids are unique per kind — announcements are shared by all users. */
+    kind: "NOTIFICATION" | "ANNOUNCEMENT";
     title: string;
     message: string;
     type: string;
@@ -290,7 +347,12 @@ export const bookings = {
     remove: (id: number) =>
         apiFetch<void>(`/bookings/${id}`, { method: "DELETE" }),
 
-    all: () => apiFetch<Booking[]>("/bookings"),
+    page: (cursor?: string | null, limit?: number) => apiPage<Booking>("/bookings", cursor, limit),
+
+    pageByStatus: (status: string, cursor?: string | null, limit?: number) =>
+        apiPage<Booking>(`/bookings/status/${status}`, cursor, limit),
+
+    stats: (days = 30) => apiFetch<BookingStats>(`/bookings/stats?days=${days}`),
 };
 
 // ─── Reviews ──────────────────────────────────────────────────────────────────
@@ -302,6 +364,9 @@ export const reviews = {
     rating: (facilityId: number) =>
         apiFetch<RatingSummary>(`/reviews/facility/${facilityId}/rating`),
 
+    ratings: (facilityIds: number[]) =>
+        apiFetch<RatingSummary[]>(`/reviews/ratings?facilityIds=${facilityIds.join(",")}`),
+
     submit: (body: {
         facility: { id: number };
         user: { id: number };
@@ -322,9 +387,15 @@ export const notifications = {
 
     unread: () => apiFetch<UnreadNotifications>("/notifications/my/unread"),
 
+    unreadCount: () => apiFetch<{ count: number }>("/notifications/my/unread/count"),
+
     markRead: (id: number) =>
         apiFetch<Notification>(`/notifications/${id}/read`, { method: "PATCH" }),
 
+    /** Marks this announcement and every older one as read. */
+    markAnnouncementRead: (id: number) =>
+        apiFetch<void>(`/notifications/announcements/${id}/read`, { method: "PATCH" }),
+
     markAllRead: () =>
         apiFetch<{ message: string }>("/notifications/read-all", {
             method: "PATCH",
@@ -343,7 +414,15 @@ export const users = {
             body: JSON.stringify(body),
         }),
 
-    list: () => apiFetch<User[]>("/users"),
+    page: (cursor?: string | null, limit?: number) => apiPage<User>("/users", cursor, limit),
+
+    pageByRole: (role: string, cursor?: string | null, limit?: number) =>
+        apiPage<User>(`/users/role/${role}`, cursor, limit),
+
+    search: (q: string, limit = 20) =>
+        apiFetch<UserSummary[]>(`/users/search?q=${encodeURIComponent(q)}&limit=${limit}`),
+
+    stats: () => apiFetch<UserStats>("/users/stats"),
 
     activate: (id: number) => apiFetch<User>(`/users/${id}/activate`, { method: "PATCH" }),
     deactivate: (id: number) => apiFetch<User>(`/users/${id}/deactivate`, { method: "PATCH" }),
@@ -2,9 +2,11 @@ package com.groupwork.campus_facilities_booking.config;
 
 import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
 import org.modelmapper.ModelMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
@@ -39,7 +41,23 @@ public class AppConfig {
                 registry.addMapping("/**")
                         .allowedOrigins("*")
                         .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
-                        .allowedHeaders("*");
+                        .allowedHeaders("*")
+                        .exposedHeaders("X-Total-Count", "X-Next-Cursor", "ETag");
+            }
+        };
+    }
+
+    // ── Conditional GET — ETag / 304 for the public read routes ─
+    // Single-node only (see ConditionalGetInterceptor)
+    @Bean
+    @ConditionalOnProperty(name = ConditionalGetInterceptor.ETAGS_ENABLED, havingValue = "true")
+    public WebMvcConfigurer conditionalGetConfigurer(ConditionalGetInterceptor conditionalGetInterceptor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(conditionalGetInterceptor)
+                        .addPathPatterns("/facilities/**", "/facility-types/**", "/departments/**", "/reviews/**")
+                        .excludePathPatterns("/facilities/*/availability/stream", "/reviews/my");
             }
         };
     }
@@ -0,0 +1,116 @@
+package com.groupwork.campus_facilities_booking.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.groupwork.campus_facilities_booking.service.ResourceVersions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * In-process Caffeine cache for the public catalog reads
+ * (GET /facilities, /facility-types, /departments).
+ *
+ * These change a few times a week, so they are cached until an admin
+ * mutator evicts them. The TTL is only a safety net for edits made
+ * outside the app. Evictions are deferred until the surrounding
+ * transaction commits, so a concurrent reader can't re-cache the old
+ * rows between the write and the commit.
+ *
+ * Clearing a catalog cache also moves its version in ResourceVersions, so
+ * the ETags on these routes change at the moment the cached rows go.
+ *
+ * Hit / miss / eviction counts: /actuator/metrics/cache.gets?tag=name:facilities
+ * (and cache.evictions, cache.size). Cache names: /actuator/caches.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String FACILITIES     = "facilities";
+    public static final String FACILITY_TYPES = "facilityTypes";
+    public static final String DEPARTMENTS    = "departments";
+
+    @Bean
+    public CacheManager cacheManager(
+            ResourceVersions resourceVersions,
+            @Value("${app.cache.catalog.max-entries:500}") long maxEntries,
+            @Value("${app.cache.catalog.ttl-minutes:60}") long ttlMinutes) {
+        CaffeineCacheManager manager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name,
+                                               com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                ResourceVersions.Aggregate aggregate = aggregateOf(name);
+                return aggregate == null
+                        ? super.adaptCaffeineCache(name, cache)
+                        : new VersionedCache(name, cache, isAllowNullValues(), resourceVersions, aggregate);
+            }
+        };
+        manager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats());
+        // Declared up front so the caches exist (and get metrics) at startup
+        manager.setCacheNames(List.of(FACILITIES, FACILITY_TYPES, DEPARTMENTS));
+        manager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(manager);
+    }
+
+    private static ResourceVersions.Aggregate aggregateOf(String cacheName) {
+        return switch (cacheName) {
+            case FACILITIES     -> ResourceVersions.Aggregate.FACILITIES;
+            case FACILITY_TYPES -> ResourceVersions.Aggregate.FACILITY_TYPES;
+            case DEPARTMENTS    -> ResourceVersions.Aggregate.DEPARTMENTS;
+            default             -> null;
+        };
+    }
+
+    /** A catalog cache that bumps its aggregate's version whenever entries are dropped. */
+    private static final class VersionedCache extends CaffeineCache {
+
+        private final ResourceVersions           resourceVersions;
+        private final ResourceVersions.Aggregate aggregate;
+
+        VersionedCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+                       boolean allowNullValues, ResourceVersions resourceVersions,
+                       ResourceVersions.Aggregate aggregate) {
+            super(name, cache, allowNullValues);
+            this.resourceVersions = resourceVersions;
+            this.aggregate        = aggregate;
+        }
+
+        @Override
+        public void evict(Object key) {
+            super.evict(key);
+            resourceVersions.changed(aggregate);
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            boolean evicted = super.evictIfPresent(key);
+            resourceVersions.changed(aggregate);
+            return evicted;
+        }
+
+        @Override
+        public void clear() {
+            super.clear();
+            resourceVersions.changed(aggregate);
+        }
+
+        @Override
+        public boolean invalidate() {
+            boolean invalidated = super.invalidate();
+            resourceVersions.changed(aggregate);
+            return invalidated;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.groupwork.campus_facilities_booking.config;
+
+import com.groupwork.campus_facilities_booking.service.AvailabilityMatrixService;
+import com.groupwork.campus_facilities_booking.service.ResourceVersions;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Conditional GET for the public read routes (/facilities/**,
+ * /facility-types/**, /departments/**, /reviews/**).
+ *
+ * The ETag comes from ResourceVersions and is worked out before the
+ * controller runs. If it matches If-None-Match the request ends here with
+ * 304 — no query, no body. Otherwise ETag and Cache-Control are set and the
+ * controller runs as usual.
+ *
+ * These routes return the same thing to every caller, so Cache-Control is
+ * public: browsers and CDNs may keep the body for
+ * app.http-cache.max-age-seconds (s-maxage for shared caches) and then
+ * must revalidate. Registered in AppConfig; SSE streams and /reviews/my
+ * are excluded there.
+ *
+ * Off unless app.http-cache.etags.enabled=true. ResourceVersions only sees
+ * changes made by this process, so with several nodes one of them would
+ * answer 304 for content another node has changed — enable it on
+ * single-node deployments only.
+ */
+@Component
+@ConditionalOnProperty(name = ConditionalGetInterceptor.ETAGS_ENABLED, havingValue = "true")
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    public static final String ETAGS_ENABLED = "app.http-cache.etags.enabled";
+
+    private final ResourceVersions resourceVersions;
+    private final String           cacheControl;
+
+    public ConditionalGetInterceptor(ResourceVersions resourceVersions,
+                                     @Value("${app.http-cache.max-age-seconds:0}") long maxAgeSeconds,
+                                     @Value("${app.http-cache.shared-max-age-seconds:0}") long sharedMaxAgeSeconds) {
+        this.resourceVersions = resourceVersions;
+        CacheControl cc = CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic().mustRevalidate();
+        if (sharedMaxAgeSeconds > 0) {
+            cc = cc.sMaxAge(Duration.ofSeconds(sharedMaxAgeSeconds));
+        }
+        this.cacheControl = cc.getHeaderValue();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+            return true;
+        }
+        Long version = versionOf(request);
+        if (version == null) {
+            return true;
+        }
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        // Sets ETag on the response; true → 304 already written
+        return !new ServletWebRequest(request, response).checkNotModified(resourceVersions.etag(version));
+    }
+
+    /** Version of whatever the matched route returns, or null to skip caching. */
+    private Long versionOf(HttpServletRequest request) {
+        String pattern = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            return null;
+        }
+        try {
+            return switch (pattern) {
+                case "/facilities/{id}/availability" -> resourceVersions.availability(
+                        Long.valueOf(pathVariable(request, "id")), LocalDate.parse(request.getParameter("date")));
+                case "/facilities/availability/matrix" -> matrixVersion(request);
+                default -> {
+                    if (pattern.startsWith("/facility-types")) yield resourceVersions.facilityTypes();
+                    if (pattern.startsWith("/facilities"))     yield resourceVersions.catalog();
+                    if (pattern.startsWith("/departments"))    yield resourceVersions.departments();
+                    if (pattern.startsWith("/reviews"))        yield resourceVersions.reviews();
+                    yield null;
+                }
+            };
+        } catch (RuntimeException e) {
+            return null;    // malformed params — let the controller answer 400
+        }
+    }
+
+    private Long matrixVersion(HttpServletRequest request) {
+        Set<Long> ids = new LinkedHashSet<>();
+        String[] values = request.getParameterValues("facilityIds");
+        if (values != null) {
+            for (String value : values) {
+                for (String id : value.split(",")) {
+                    ids.add(Long.valueOf(id.trim()));
+                }
+            }
+        }
+        LocalDate from = LocalDate.parse(request.getParameter("from"));
+        LocalDate to   = LocalDate.parse(request.getParameter("to"));
+        if (ids.isEmpty() || ids.size() > AvailabilityMatrixService.MAX_FACILITIES || to.isBefore(from)
+                || ChronoUnit.DAYS.between(from, to) + 1 > AvailabilityMatrixService.MAX_DAYS) {
+            return null;
+        }
+        return resourceVersions.availability(ids, from, to);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String pathVariable(HttpServletRequest request, String name) {
+        Map<String, String> vars = (Map<String, String>) request.getAttribute(
+                HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        return vars != null ? vars.get(name) : null;
+    }
+}
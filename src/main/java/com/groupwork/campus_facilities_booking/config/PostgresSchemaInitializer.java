@@ -0,0 +1,155 @@
+package com.groupwork.campus_facilities_booking.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * PostgreSQL-specific schema objects that Hibernate's ddl-auto=update
+ * cannot express (extensions, exclusion constraints, expression indexes).
+ *
+ * Runs once at startup, after Hibernate has updated the schema and before
+ * the web server accepts requests. Every statement is idempotent.
+ *
+ * STATEMENTS are optional: a failure is logged and skipped — the app still
+ * works without them, just slower. The no-overlap constraint is not: it is
+ * the last line of defence against double bookings across nodes, so if it
+ * cannot be added startup fails, listing the overlapping bookings that
+ * have to be resolved first.
+ */
+@Component
+@RequiredArgsConstructor
+public class PostgresSchemaInitializer implements SmartInitializingSingleton {
+
+    private static final Logger logger = Logger.getLogger(PostgresSchemaInitializer.class.getName());
+
+    private static final List<String> STATEMENTS = List.of(
+        // Backfill bookings.end_at for rows written before the column existed
+        "UPDATE bookings SET end_at = date + end_time WHERE end_at IS NULL",
+
+        // ddl-auto=update never widens a column; RRULEs outgrew the old varchar(50).
+        // Checked first — the ALTER takes an ACCESS EXCLUSIVE lock on bookings
+        """
+        DO $$
+        BEGIN
+            IF EXISTS (SELECT 1 FROM information_schema.columns
+                        WHERE table_name = 'bookings' AND column_name = 'recurrence_rule'
+                          AND character_maximum_length < 500) THEN
+                ALTER TABLE bookings ALTER COLUMN recurrence_rule TYPE varchar(500);
+            END IF;
+        END $$
+        """,
+
+        // Waitlist positions are computed at read time now; the old column stays
+        // for history but must no longer be required
+        """
+        DO $$
+        BEGIN
+            IF EXISTS (SELECT 1 FROM information_schema.columns
+                        WHERE table_name = 'waitlist' AND column_name = 'position') THEN
+                ALTER TABLE waitlist ALTER COLUMN position DROP NOT NULL;
+            END IF;
+        END $$
+        """,
+
+        // Rating totals for facilities reviewed before facility_rating_stats
+        // existed; later reviews keep the rows up to date themselves
+        """
+        INSERT INTO facility_rating_stats
+               (facility_id, rating_sum, rating_count, stars_1, stars_2, stars_3, stars_4, stars_5)
+        SELECT facility_id, SUM(rating), COUNT(*),
+               COUNT(*) FILTER (WHERE rating = 1), COUNT(*) FILTER (WHERE rating = 2),
+               COUNT(*) FILTER (WHERE rating = 3), COUNT(*) FILTER (WHERE rating = 4),
+               COUNT(*) FILTER (WHERE rating = 5)
+          FROM reviews
+         GROUP BY facility_id
+        ON CONFLICT (facility_id) DO NOTHING
+        """,
+
+        // Trigram index behind the case-insensitive name filter on /facilities/search
+        "CREATE EXTENSION IF NOT EXISTS pg_trgm",
+        "CREATE INDEX IF NOT EXISTS idx_facilities_name_trgm ON facilities USING gin (lower(name) gin_trgm_ops)",
+
+        // btree_gist lets a GiST index mix "=" on facility_id with "&&" on a range
+        "CREATE EXTENSION IF NOT EXISTS btree_gist"
+    );
+
+    // No two CONFIRMED/ACTIVE bookings may overlap on the same facility —
+    // enforced by the database even across application nodes.
+    static final String NO_OVERLAP_CONSTRAINT = "ex_bookings_no_overlap";
+
+    private static final String ADD_NO_OVERLAP = """
+        DO $$
+        BEGIN
+            IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'ex_bookings_no_overlap') THEN
+                ALTER TABLE bookings ADD CONSTRAINT ex_bookings_no_overlap
+                    EXCLUDE USING gist (
+                        facility_id WITH =,
+                        tsrange(date + start_time, date + end_time, '[)') WITH &&
+                    ) WHERE (status IN ('CONFIRMED', 'ACTIVE'));
+            END IF;
+        END $$
+        """;
+
+    /** The pairs that stop the constraint from being added (first 50). */
+    private static final String FIND_OVERLAPS = """
+        SELECT a.id, b.id, a.facility_id, a.date, a.start_time, a.end_time, b.start_time, b.end_time
+          FROM bookings a
+          JOIN bookings b
+            ON b.facility_id = a.facility_id
+           AND b.date        = a.date
+           AND b.id          > a.id
+           AND b.start_time  < a.end_time
+           AND b.end_time    > a.start_time
+         WHERE a.status IN ('CONFIRMED', 'ACTIVE')
+           AND b.status IN ('CONFIRMED', 'ACTIVE')
+         ORDER BY a.facility_id, a.date, a.start_time
+         LIMIT 50
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (String sql : STATEMENTS) {
+            try {
+                jdbcTemplate.execute(sql);
+            } catch (Exception e) {
+                logger.warning("Skipping schema statement (" + firstLine(sql) + "): " + e.getMessage());
+            }
+        }
+        requireNoOverlapConstraint();
+    }
+
+    void requireNoOverlapConstraint() {
+        try {
+            jdbcTemplate.execute(ADD_NO_OVERLAP);
+        } catch (Exception e) {
+            List<String> overlaps = findOverlaps();
+            throw new IllegalStateException("Could not add " + NO_OVERLAP_CONSTRAINT + ": " + e.getMessage()
+                    + (overlaps.isEmpty()
+                            ? ""
+                            : "\nOverlapping CONFIRMED/ACTIVE bookings — cancel or move one of each pair:\n  "
+                              + String.join("\n  ", overlaps)),
+                    e);
+        }
+    }
+
+    List<String> findOverlaps() {
+        return jdbcTemplate.query(FIND_OVERLAPS, (rs, i) ->
+                "bookings " + rs.getLong(1) + " and " + rs.getLong(2)
+                        + " (facility " + rs.getLong(3) + ", " + rs.getDate(4)
+                        + ": " + rs.getTime(5) + "–" + rs.getTime(6)
+                        + " vs " + rs.getTime(7) + "–" + rs.getTime(8) + ")");
+    }
+
+    private static String firstLine(String sql) {
+        String trimmed = sql.strip();
+        int nl = trimmed.indexOf('\n');
+        return nl < 0 ? trimmed : trimmed.substring(0, nl);
+    }
+}
@@ -2,6 +2,7 @@ package com.groupwork.campus_facilities_booking.config;
 
 import com.groupwork.campus_facilities_booking.security.JwtAuthenticationFilter;
 import com.groupwork.campus_facilities_booking.service.UserService;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -19,6 +20,12 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.DispatcherTypeRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import static org.springframework.security.web.util.matcher.AntPathRequestMatcher.antMatcher;
 
 @Configuration
 @EnableWebSecurity
@@ -35,6 +42,11 @@ public class SecurityConfig {
             .csrf(AbstractHttpConfigurer::disable)
             .authorizeHttpRequests(auth -> auth
 
+                // ── SSE streams: the request was authorised on the way in;
+                //    don't re-check the dispatch that closes it. Other
+                //    async dispatches go through the rules below ─────
+                .requestMatchers(sseAsyncDispatch()).permitAll()
+
                 // ── Fully public ──────────────────────────────
                 .requestMatchers(
                     "/auth/**",             // login, register
@@ -64,6 +76,16 @@ public class SecurityConfig {
         return http.build();
     }
 
+    private static RequestMatcher sseAsyncDispatch() {
+        return new AndRequestMatcher(
+            new DispatcherTypeRequestMatcher(DispatcherType.ASYNC),
+            new OrRequestMatcher(
+                antMatcher(HttpMethod.GET, JwtAuthenticationFilter.NOTIFICATION_STREAM),
+                antMatcher(HttpMethod.GET, "/facilities/*/availability/stream")
+            )
+        );
+    }
+
     @Bean
     public AuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
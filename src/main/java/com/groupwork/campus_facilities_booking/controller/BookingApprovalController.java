@@ -33,8 +33,10 @@ public class BookingApprovalController {
 
     // ── GET /approvals ───────────────────────────────────────
     @GetMapping
-    public ResponseEntity<List<BookingApproval>> getAllApprovals() {
-        return ResponseEntity.ok(approvalService.getAllApprovals());
+    public ResponseEntity<List<BookingApproval>> getAllApprovals(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return approvalService.getAllApprovals(cursor, limit).toResponse();
     }
 
     // ── GET /approvals/pending ───────────────────────────────
@@ -1,8 +1,15 @@
 package com.groupwork.campus_facilities_booking.controller;
 
+import com.groupwork.campus_facilities_booking.dto.BookingStats;
+import com.groupwork.campus_facilities_booking.dto.BookingView;
+import com.groupwork.campus_facilities_booking.dto.BulkBookingRequest;
+import com.groupwork.campus_facilities_booking.dto.BulkBookingResponse;
 import com.groupwork.campus_facilities_booking.model.Entities.Booking;
 import com.groupwork.campus_facilities_booking.model.Enums.BookingStatus;
+import com.groupwork.campus_facilities_booking.service.BookingExportService;
 import com.groupwork.campus_facilities_booking.service.BookingService;
+import com.groupwork.campus_facilities_booking.service.BookingStatsService;
+import com.groupwork.campus_facilities_booking.service.BulkBookingService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -10,6 +17,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -18,14 +26,17 @@ import java.util.List;
  * REST Controller for Booking operations.
  *
  * GET    /bookings                            → all bookings         [ADMIN]
+ *        (?limit=&cursor= → keyset page; Accept: application/x-ndjson → stream)
  * GET    /bookings/{id}                       → single booking
  * GET    /bookings/my                         → current user's bookings
  * GET    /bookings/facility/{facilityId}      → bookings for a facility
  * GET    /bookings/facility/{id}?date=        → bookings for facility on date
  * GET    /bookings/status/{status}            → filter by status     [ADMIN]
  * GET    /bookings/today                      → today's confirmed bookings
+ * GET    /bookings/stats?days=                → dashboard aggregates [ADMIN]
  * GET    /availability?facilityId=&date=      → available 30-min slots (spec)
  * POST   /bookings                            → create a booking
+ * POST   /bookings/bulk                       → create many bookings  [ADMIN/STAFF]
  * PUT    /bookings/{id}                       → update a booking
  * PATCH  /bookings/{id}/cancel               → cancel own booking
  * PATCH  /bookings/{id}/check-in             → check in             [SECURITY/ADMIN]
@@ -38,13 +49,26 @@ import java.util.List;
 @CrossOrigin(origins = "*")
 public class BookingController {
 
-    private final BookingService bookingService;
+    private final BookingService       bookingService;
+    private final BookingExportService bookingExportService;
+    private final BulkBookingService   bulkBookingService;
+    private final BookingStatsService  bookingStatsService;
 
     // ── GET /bookings  [ADMIN] ───────────────────────────────
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<Booking>> getAllBookings() {
-        return ResponseEntity.ok(bookingService.getAllBookings());
+    public ResponseEntity<List<BookingView>> getAllBookings(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return bookingService.getAllBookings(cursor, limit).toResponse();
+    }
+
+    // ── GET /bookings  (Accept: application/x-ndjson)  [ADMIN]
+    // One booking per line, streamed from a DB cursor — for exports
+    @GetMapping(produces = BookingExportService.NDJSON)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> streamAllBookings() {
+        return ResponseEntity.ok(bookingExportService.streamBookings(null));
     }
 
     // ── GET /bookings/{id} ───────────────────────────────────
@@ -55,13 +79,16 @@ public class BookingController {
 
     // ── GET /bookings/my  (logged-in user's own bookings) ────
     @GetMapping("/my")
-    public ResponseEntity<List<Booking>> getMyBookings() {
+    public ResponseEntity<List<BookingView>> getMyBookings() {
         return ResponseEntity.ok(bookingService.getBookingsForCurrentUser());
     }
 
-    // ── GET /bookings/facility/{facilityId} ─────────────────
+    // ── GET /bookings/facility/{facilityId}  [ADMIN] ────────
+    // Rows carry who booked (name, email, role) — not for other users.
+    // Everyone else sees a facility's busy time via /availability.
     @GetMapping("/facility/{facilityId}")
-    public ResponseEntity<List<Booking>> getBookingsByFacility(
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<BookingView>> getBookingsByFacility(
             @PathVariable Long facilityId,
             @RequestParam(required = false)
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
@@ -71,15 +98,31 @@ public class BookingController {
     // ── GET /bookings/status/{status}  [ADMIN] ──────────────
     @GetMapping("/status/{status}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<Booking>> getBookingsByStatus(
+    public ResponseEntity<List<BookingView>> getBookingsByStatus(
+            @PathVariable BookingStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return bookingService.getBookingsByStatus(status, cursor, limit).toResponse();
+    }
+
+    @GetMapping(value = "/status/{status}", produces = BookingExportService.NDJSON)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> streamBookingsByStatus(
             @PathVariable BookingStatus status) {
-        return ResponseEntity.ok(bookingService.getBookingsByStatus(status));
+        return ResponseEntity.ok(bookingExportService.streamBookings(status));
+    }
+
+    // ── GET /bookings/stats?days=30  [ADMIN] ─────────────────
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BookingStats> getStats(@RequestParam(defaultValue = "30") int days) {
+        return ResponseEntity.ok(bookingStatsService.getStats(days));
     }
 
     // ── GET /bookings/today  [ADMIN + SECURITY] ──────────────
     @GetMapping("/today")
     @PreAuthorize("hasAnyRole('ADMIN', 'SECURITY')")
-    public ResponseEntity<List<Booking>> getTodaysBookings() {
+    public ResponseEntity<List<BookingView>> getTodaysBookings() {
         return ResponseEntity.ok(bookingService.getTodaysBookings());
     }
 
@@ -99,6 +142,14 @@ public class BookingController {
                 .body(bookingService.createBooking(booking));
     }
 
+    // ── POST /bookings/bulk  [ADMIN/STAFF] ───────────────────
+    // Per-item outcome in the body; the call itself succeeds even if some are rejected.
+    @PostMapping("/bulk")
+    @PreAuthorize("hasAnyRole('ADMIN','STAFF')")
+    public ResponseEntity<BulkBookingResponse> createBookings(@RequestBody BulkBookingRequest request) {
+        return ResponseEntity.ok(bulkBookingService.createAll(request));
+    }
+
     // ── PUT /bookings/{id} ───────────────────────────────────
     @PutMapping("/{id}")
     public ResponseEntity<Booking> updateBooking(
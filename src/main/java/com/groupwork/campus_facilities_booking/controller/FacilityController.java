@@ -1,14 +1,21 @@
 package com.groupwork.campus_facilities_booking.controller;
 
 import com.groupwork.campus_facilities_booking.model.Entities.Facility;
+import com.groupwork.campus_facilities_booking.service.AvailabilityMatrixService;
 import com.groupwork.campus_facilities_booking.service.FacilityService;
+import com.groupwork.campus_facilities_booking.service.LiveUpdateHub;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -18,10 +25,12 @@ import java.util.List;
  *
  * GET    /facilities                          → list all facilities
  * GET    /facilities/{id}                     → get one facility
- * GET    /facilities/search?name=&type=       → search/filter facilities
+ * GET    /facilities/search?name=&type=       → search/filter facilities (paged)
  * GET    /facilities/type/{typeId}            → all facilities of a type
  * GET    /facilities/department/{deptId}      → all facilities owned by a dept
  * GET    /facilities/{id}/availability        → check 30-min slots for a date
+ * GET    /facilities/availability/matrix      → slot grid for many facilities × days
+ * GET    /facilities/{id}/availability/stream → live slot changes for a date (SSE)
  * POST   /facilities                          → create facility  [ADMIN only]
  * PUT    /facilities/{id}                     → update facility  [ADMIN only]
  * PATCH  /facilities/{id}/toggle-availability → enable/disable  [ADMIN only]
@@ -33,7 +42,9 @@ import java.util.List;
 @CrossOrigin(origins = "*")
 public class FacilityController {
 
-    private final FacilityService facilityService;
+    private final FacilityService           facilityService;
+    private final AvailabilityMatrixService availabilityMatrixService;
+    private final LiveUpdateHub             liveUpdateHub;
 
     // ── GET /facilities ──────────────────────────────────────
     @GetMapping
@@ -57,11 +68,15 @@ public class FacilityController {
             @RequestParam(required = false) Boolean hasAirConditioning,
             @RequestParam(required = false) Boolean hasWifi,
             @RequestParam(required = false) Boolean isOutdoor,
-            @RequestParam(required = false) Integer minCapacity) {
-        return ResponseEntity.ok(
-            facilityService.searchFacilities(name, typeId, departmentId,
-                hasProjector, hasAirConditioning, hasWifi, isOutdoor, minCapacity)
-        );
+            @RequestParam(required = false) Integer minCapacity,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size) {
+        Page<Facility> result = facilityService.searchFacilities(name, typeId, departmentId,
+                hasProjector, hasAirConditioning, hasWifi, isOutdoor, minCapacity, page, size);
+        // Body stays a plain array (frontend contract); the total travels in a header
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(result.getTotalElements()))
+                .body(result.getContent());
     }
 
     // ── GET /facilities/type/{typeId} ────────────────────────
@@ -85,6 +100,37 @@ public class FacilityController {
         return ResponseEntity.ok(facilityService.getAvailabilitySlots(id, date));
     }
 
+    // ── GET /facilities/{id}/availability/stream?date=2026-02-17
+    // text/event-stream of "slot" events (BOOKED / FREED) — fetch the
+    // availability once, then apply these instead of polling.
+    @GetMapping(path = "/{id}/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAvailability(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            HttpServletRequest request) {
+        facilityService.getFacilityById(id);   // 404 for unknown facilities
+        return liveUpdateHub.subscribeFacilityDay(id, date, request.getRemoteAddr());
+    }
+
+    // ── GET /facilities/availability/matrix?facilityIds=1,2&from=&to=&encoding=bits
+    // One round trip for a whole calendar view instead of one call per facility per day
+    @GetMapping("/availability/matrix")
+    public ResponseEntity<StreamingResponseBody> getAvailabilityMatrix(
+            @RequestParam List<Long> facilityIds,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "bits") String encoding) {
+        AvailabilityMatrixService.Encoding enc;
+        try {
+            enc = AvailabilityMatrixService.Encoding.valueOf(encoding.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unknown encoding '" + encoding + "'. Use 'bits' or 'rle'.");
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(availabilityMatrixService.buildMatrix(facilityIds, from, to, enc));
+    }
+
     // ── POST /facilities  [ADMIN only] ───────────────────────
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
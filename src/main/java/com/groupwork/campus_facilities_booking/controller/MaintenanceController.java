@@ -34,8 +34,10 @@ public class MaintenanceController {
 
     // ── GET /maintenance ─────────────────────────────────────
     @GetMapping
-    public ResponseEntity<List<MaintenanceSchedule>> getAllSchedules() {
-        return ResponseEntity.ok(maintenanceService.getAllSchedules());
+    public ResponseEntity<List<MaintenanceSchedule>> getAllSchedules(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return maintenanceService.getAllSchedules(cursor, limit).toResponse();
     }
 
     // ── GET /maintenance/{id} ────────────────────────────────
@@ -1,11 +1,16 @@
 package com.groupwork.campus_facilities_booking.controller;
 
+import com.groupwork.campus_facilities_booking.dto.NotificationFeedItem;
+import com.groupwork.campus_facilities_booking.model.Entities.Announcement;
 import com.groupwork.campus_facilities_booking.model.Entities.Notification;
+import com.groupwork.campus_facilities_booking.service.AnnouncementBroadcaster;
 import com.groupwork.campus_facilities_booking.service.NotificationService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
@@ -13,12 +18,15 @@ import java.util.Map;
 /**
  * REST Controller for Notifications.
  *
- * GET    /notifications/my             → current user's notifications
+ * GET    /notifications/my             → current user's notifications + announcements
  * GET    /notifications/my/unread      → unread count + list
+ * GET    /notifications/my/unread/count → unread count only (badge polling)
  * PATCH  /notifications/{id}/read      → mark one as read
+ * PATCH  /notifications/announcements/{id}/read → mark announcements up to {id} as read
  * PATCH  /notifications/read-all       → mark all as read
  * DELETE /notifications/{id}           → delete a notification
  * POST   /notifications/announce       → broadcast announcement  [ADMIN]
+ * GET    /notifications/stream         → live notification stream (SSE)
  */
 @RestController
 @RequestMapping("/notifications")
@@ -26,30 +34,51 @@ import java.util.Map;
 @CrossOrigin(origins = "*")
 public class NotificationController {
 
-    private final NotificationService notificationService;
+    private final NotificationService     notificationService;
+    private final AnnouncementBroadcaster announcementBroadcaster;
 
     // ── GET /notifications/my ────────────────────────────────
     @GetMapping("/my")
-    public ResponseEntity<List<Notification>> getMyNotifications() {
+    public ResponseEntity<List<NotificationFeedItem>> getMyNotifications() {
         return ResponseEntity.ok(notificationService.getNotificationsForCurrentUser());
     }
 
     // ── GET /notifications/my/unread ─────────────────────────
     @GetMapping("/my/unread")
     public ResponseEntity<Map<String, Object>> getUnreadNotifications() {
-        List<Notification> unread = notificationService.getUnreadForCurrentUser();
+        List<NotificationFeedItem> unread = notificationService.getUnreadForCurrentUser();
         return ResponseEntity.ok(Map.of(
             "count", unread.size(),
             "notifications", unread
         ));
     }
 
+    // ── GET /notifications/stream  (text/event-stream) ───────
+    // Browsers' EventSource can't set headers — pass ?access_token=<jwt>
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications() {
+        return notificationService.subscribeCurrentUser();
+    }
+
+    // ── GET /notifications/my/unread/count ───────────────────
+    @GetMapping("/my/unread/count")
+    public ResponseEntity<Map<String, Long>> getUnreadCount() {
+        return ResponseEntity.ok(Map.of("count", notificationService.getUnreadCountForCurrentUser()));
+    }
+
     // ── PATCH /notifications/{id}/read ───────────────────────
     @PatchMapping("/{id}/read")
     public ResponseEntity<Notification> markAsRead(@PathVariable Long id) {
         return ResponseEntity.ok(notificationService.markAsRead(id));
     }
 
+    // ── PATCH /notifications/announcements/{id}/read ─────────
+    @PatchMapping("/announcements/{id}/read")
+    public ResponseEntity<Void> markAnnouncementAsRead(@PathVariable Long id) {
+        notificationService.markAnnouncementAsRead(id);
+        return ResponseEntity.noContent().build();
+    }
+
     // ── PATCH /notifications/read-all ────────────────────────
     @PatchMapping("/read-all")
     public ResponseEntity<Map<String, String>> markAllAsRead() {
@@ -68,9 +97,7 @@ public class NotificationController {
     // Body: { "title": "...", "message": "Great Hall closed tomorrow" }
     @PostMapping("/announce")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Map<String, String>> broadcastAnnouncement(
-            @RequestBody Map<String, String> body) {
-        notificationService.broadcastAnnouncement(body.get("title"), body.get("message"));
-        return ResponseEntity.ok(Map.of("message", "Announcement sent to all users"));
+    public ResponseEntity<Announcement> broadcastAnnouncement(@RequestBody Map<String, String> body) {
+        return ResponseEntity.ok(announcementBroadcaster.broadcast(body.get("title"), body.get("message")));
     }
 }
@@ -1,5 +1,6 @@
 package com.groupwork.campus_facilities_booking.controller;
 
+import com.groupwork.campus_facilities_booking.dto.FacilityRating;
 import com.groupwork.campus_facilities_booking.model.Entities.Review;
 import com.groupwork.campus_facilities_booking.service.ReviewService;
 import jakarta.validation.Valid;
@@ -16,6 +17,7 @@ import java.util.Map;
  *
  * GET    /reviews/facility/{facilityId}   → all reviews for a facility (public)
  * GET    /reviews/facility/{id}/rating    → average star rating for a facility
+ * GET    /reviews/ratings?facilityIds=    → ratings for many facilities at once
  * GET    /reviews/my                      → current user's reviews
  * POST   /reviews                         → submit a review (after COMPLETED booking)
  * DELETE /reviews/{id}                    → delete own review / ADMIN deletes any
@@ -35,13 +37,20 @@ public class ReviewController {
     }
 
     // ── GET /reviews/facility/{facilityId}/rating ────────────
-    // Returns: { "facilityId": 3, "averageRating": 4.2, "totalReviews": 15 }
+    // Returns: { "facilityId": 3, "facilityName": ..., "averageRating": 4.2, "totalReviews": 15, "stars": [0, 1, 2, 5, 7] }
     @GetMapping("/facility/{facilityId}/rating")
     public ResponseEntity<Map<String, Object>> getAverageRating(
             @PathVariable Long facilityId) {
         return ResponseEntity.ok(reviewService.getAverageRating(facilityId));
     }
 
+    // ── GET /reviews/ratings?facilityIds=1,2,3 ───────────────
+    // One call for a whole page of facility cards
+    @GetMapping("/ratings")
+    public ResponseEntity<List<FacilityRating>> getRatings(@RequestParam List<Long> facilityIds) {
+        return ResponseEntity.ok(reviewService.getRatings(facilityIds));
+    }
+
     // ── GET /reviews/my ──────────────────────────────────────
     @GetMapping("/my")
     public ResponseEntity<List<Review>> getMyReviews() {
@@ -1,5 +1,7 @@
 package com.groupwork.campus_facilities_booking.controller;
 
+import com.groupwork.campus_facilities_booking.dto.UserStats;
+import com.groupwork.campus_facilities_booking.dto.UserSummary;
 import com.groupwork.campus_facilities_booking.model.Entities.User;
 import com.groupwork.campus_facilities_booking.model.Enums.UserRole;
 import com.groupwork.campus_facilities_booking.service.UserService;
@@ -15,6 +17,9 @@ import java.util.List;
  * REST Controller for User management.
  *
  * GET    /users                    → all users              [ADMIN]
+ *        (list routes accept ?limit=&cursor= for keyset paging)
+ * GET    /users/search?q=          → name/email search      [ADMIN]
+ * GET    /users/stats              → counts per role        [ADMIN]
  * GET    /users/{id}               → single user            [ADMIN]
  * GET    /users/me                 → current logged-in user
  * GET    /users/role/{role}        → users by role          [ADMIN]
@@ -36,8 +41,26 @@ public class UserController {
     // ── GET /users  [ADMIN] ──────────────────────────────────
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<User>> getAllUsers() {
-        return ResponseEntity.ok(userService.getAllUsers());
+    public ResponseEntity<List<User>> getAllUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return userService.getAllUsers(cursor, limit).toResponse();
+    }
+
+    // ── GET /users/search?q=  [ADMIN] ────────────────────────
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<UserSummary>> searchUsers(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(userService.searchUsers(q, limit));
+    }
+
+    // ── GET /users/stats  [ADMIN] ────────────────────────────
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<UserStats> getUserStats() {
+        return ResponseEntity.ok(userService.getUserStats());
     }
 
     // ── GET /users/{id}  [ADMIN] ─────────────────────────────
@@ -56,15 +79,21 @@ public class UserController {
     // ── GET /users/role/{role}  [ADMIN] ──────────────────────
     @GetMapping("/role/{role}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<User>> getUsersByRole(@PathVariable UserRole role) {
-        return ResponseEntity.ok(userService.getUsersByRole(role));
+    public ResponseEntity<List<User>> getUsersByRole(
+            @PathVariable UserRole role,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return userService.getUsersByRole(role, cursor, limit).toResponse();
     }
 
     // ── GET /users/department/{deptId}  [ADMIN] ──────────────
     @GetMapping("/department/{deptId}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<User>> getUsersByDepartment(@PathVariable Long deptId) {
-        return ResponseEntity.ok(userService.getUsersByDepartment(deptId));
+    public ResponseEntity<List<User>> getUsersByDepartment(
+            @PathVariable Long deptId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return userService.getUsersByDepartment(deptId, cursor, limit).toResponse();
     }
 
     // ── PUT /users/{id}  (update own profile or ADMIN updates any) ─
@@ -1,5 +1,6 @@
 package com.groupwork.campus_facilities_booking.controller;
 
+import com.groupwork.campus_facilities_booking.dto.WaitlistView;
 import com.groupwork.campus_facilities_booking.model.Entities.WaitlistEntry;
 import com.groupwork.campus_facilities_booking.service.WaitlistService;
 import jakarta.validation.Valid;
@@ -31,13 +32,15 @@ public class WaitlistController {
     // ── GET /waitlist  [ADMIN] ───────────────────────────────
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<WaitlistEntry>> getAllWaitlistEntries() {
-        return ResponseEntity.ok(waitlistService.getAllEntries());
+    public ResponseEntity<List<WaitlistEntry>> getAllWaitlistEntries(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return waitlistService.getAllEntries(cursor, limit).toResponse();
     }
 
     // ── GET /waitlist/my ─────────────────────────────────────
     @GetMapping("/my")
-    public ResponseEntity<List<WaitlistEntry>> getMyWaitlistEntries() {
+    public ResponseEntity<List<WaitlistView>> getMyWaitlistEntries() {
         return ResponseEntity.ok(waitlistService.getEntriesForCurrentUser());
     }
 
@@ -0,0 +1,55 @@
+package com.groupwork.campus_facilities_booking.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.groupwork.campus_facilities_booking.service.SlotMask;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * Availability of one facility on one day.
+ *
+ * Backed by a SlotMask and written straight from the bitmask — no per-slot
+ * maps or objects are built. JSON shape (unchanged for the frontend):
+ *
+ * {
+ *   "facilityId": 1, "facilityName": "CPEN Computer Lab 1", "date": "2026-02-20",
+ *   "slotMinutes": 30,
+ *   "slots": [ { "startTime": "07:00", "endTime": "07:30", "available": true }, ... ]
+ * }
+ */
+@JsonSerialize(using = AvailabilityResponse.Serializer.class)
+public record AvailabilityResponse(Long facilityId, String facilityName, LocalDate date, SlotMask mask) {
+
+    public static class Serializer extends StdSerializer<AvailabilityResponse> {
+
+        public Serializer() {
+            super(AvailabilityResponse.class);
+        }
+
+        @Override
+        public void serialize(AvailabilityResponse value, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            SlotMask mask = value.mask();
+
+            gen.writeStartObject();
+            gen.writeNumberField("facilityId", value.facilityId());
+            gen.writeStringField("facilityName", value.facilityName());
+            gen.writeStringField("date", value.date().toString());
+            gen.writeNumberField("slotMinutes", mask.slotMinutes());
+            gen.writeArrayFieldStart("slots");
+            for (int i = 0; i < mask.slotCount(); i++) {
+                gen.writeStartObject();
+                gen.writeStringField("startTime", mask.slotStart(i).toString());
+                gen.writeStringField("endTime", mask.slotEnd(i).toString());
+                gen.writeBooleanField("available", mask.isFree(i));
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+            gen.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.groupwork.campus_facilities_booking.dto;
+
+import com.groupwork.campus_facilities_booking.model.Enums.BookingStatus;
+import com.groupwork.campus_facilities_booking.model.Enums.UserRole;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Booking figures for the admin dashboard and analytics page, aggregated by
+ * the database — the pages never download the bookings themselves.
+ *
+ * perDay covers the last `days` days, oldest first, days without bookings
+ * included. heatmap holds one entry per (ISO weekday 1 = Mon, hour) that at
+ * least one booking occupies.
+ */
+public record BookingStats(long total,
+                           Map<BookingStatus, Long> byStatus,
+                           long thisMonth,
+                           Double avgDurationHours,
+                           List<DayCount> perDay,
+                           List<FacilityCount> topFacilities,
+                           Map<UserRole, Long> byRole,
+                           List<HourCount> heatmap) {
+
+    public record DayCount(LocalDate date, long count) {}
+
+    public record FacilityCount(Long facilityId, String name, long count) {}
+
+    public record HourCount(int dayOfWeek, int hour, long count) {}
+}
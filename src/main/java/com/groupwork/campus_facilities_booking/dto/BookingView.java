@@ -0,0 +1,188 @@
+package com.groupwork.campus_facilities_booking.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.groupwork.campus_facilities_booking.model.Entities.Booking;
+import com.groupwork.campus_facilities_booking.model.Enums.BookingStatus;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Read model for booking lists (/bookings, /bookings/my, /bookings/today,
+ * /bookings/status/..., /bookings/facility/... and the NDJSON export). Same
+ * JSON shape as the Booking entity, minus approvals, with facility and user
+ * reduced to summaries.
+ *
+ * Build it from bookings loaded with their facility and user in the same
+ * query (see the @EntityGraph methods on BookingRepository) — otherwise each
+ * row costs two more SELECTs.
+ *
+ * Written by a hand-rolled JsonGenerator serializer rather than bean
+ * introspection: these lists run to thousands of rows, and field order and
+ * date formats are fixed here (ISO, as the JavaTimeModule writes them).
+ */
+@JsonSerialize(using = BookingView.Serializer.class)
+public record BookingView(
+        Long id,
+        FacilitySummary facility,
+        UserSummary user,
+        LocalDate date,
+        LocalTime startTime,
+        LocalTime endTime,
+        BookingStatus status,
+        String purpose,
+        Integer attendees,
+        Boolean isRecurring,
+        String recurrenceRule,
+        Long seriesParentId,
+        String notes,
+        LocalDateTime checkInTime,
+        LocalDateTime checkOutTime,
+        Integer maxExtensions,
+        Integer extensionCount,
+        LocalDateTime originalEndTime,
+        LocalDateTime expiredAt,
+        Boolean reminderSent,
+        Long version,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+
+    public static BookingView of(Booking b) {
+        return new BookingView(b.getId(), FacilitySummary.of(b.getFacility()), UserSummary.of(b.getUser()),
+                b.getDate(), b.getStartTime(), b.getEndTime(), b.getStatus(), b.getPurpose(), b.getAttendees(),
+                b.getIsRecurring(), b.getRecurrenceRule(), b.getSeriesParentId(), b.getNotes(),
+                b.getCheckInTime(), b.getCheckOutTime(), b.getMaxExtensions(), b.getExtensionCount(),
+                b.getOriginalEndTime(), b.getExpiredAt(), b.getReminderSent(), b.getVersion(),
+                b.getCreatedAt(), b.getUpdatedAt());
+    }
+
+    public static class Serializer extends StdSerializer<BookingView> {
+
+        public Serializer() {
+            super(BookingView.class);
+        }
+
+        @Override
+        public void serialize(BookingView b, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            number(gen, "id", b.id());
+            facility(gen, b.facility());
+            user(gen, b.user());
+            gen.writeFieldName("date");
+            write(gen, b.date());
+            gen.writeFieldName("startTime");
+            write(gen, b.startTime());
+            gen.writeFieldName("endTime");
+            write(gen, b.endTime());
+            string(gen, "status", b.status() != null ? b.status().name() : null);
+            string(gen, "purpose", b.purpose());
+            number(gen, "attendees", b.attendees());
+            bool(gen, "isRecurring", b.isRecurring());
+            string(gen, "recurrenceRule", b.recurrenceRule());
+            number(gen, "seriesParentId", b.seriesParentId());
+            string(gen, "notes", b.notes());
+            gen.writeFieldName("checkInTime");
+            write(gen, b.checkInTime());
+            gen.writeFieldName("checkOutTime");
+            write(gen, b.checkOutTime());
+            number(gen, "maxExtensions", b.maxExtensions());
+            number(gen, "extensionCount", b.extensionCount());
+            gen.writeFieldName("originalEndTime");
+            write(gen, b.originalEndTime());
+            gen.writeFieldName("expiredAt");
+            write(gen, b.expiredAt());
+            bool(gen, "reminderSent", b.reminderSent());
+            number(gen, "version", b.version());
+            gen.writeFieldName("createdAt");
+            write(gen, b.createdAt());
+            gen.writeFieldName("updatedAt");
+            write(gen, b.updatedAt());
+            gen.writeEndObject();
+        }
+
+        private static void facility(JsonGenerator gen, FacilitySummary f) throws IOException {
+            gen.writeFieldName("facility");
+            if (f == null) {
+                gen.writeNull();
+                return;
+            }
+            gen.writeStartObject();
+            number(gen, "id", f.id());
+            string(gen, "name", f.name());
+            string(gen, "location", f.location());
+            number(gen, "capacity", f.capacity());
+            string(gen, "imageUrl", f.imageUrl());
+            gen.writeFieldName("openingTime");
+            write(gen, f.openingTime());
+            gen.writeFieldName("closingTime");
+            write(gen, f.closingTime());
+            bool(gen, "isAvailable", f.isAvailable());
+            gen.writeFieldName("facilityType");
+            if (f.facilityType() == null) {
+                gen.writeNull();
+            } else {
+                gen.writeStartObject();
+                number(gen, "id", f.facilityType().id());
+                string(gen, "name", f.facilityType().name());
+                gen.writeEndObject();
+            }
+            gen.writeEndObject();
+        }
+
+        private static void user(JsonGenerator gen, UserSummary u) throws IOException {
+            gen.writeFieldName("user");
+            if (u == null) {
+                gen.writeNull();
+                return;
+            }
+            gen.writeStartObject();
+            number(gen, "id", u.id());
+            string(gen, "name", u.name());
+            string(gen, "email", u.email());
+            string(gen, "role", u.role() != null ? u.role().name() : null);
+            gen.writeEndObject();
+        }
+
+        // ── Field helpers (null-safe) ─────────────────────────
+        private static void string(JsonGenerator gen, String name, String value) throws IOException {
+            if (value == null) gen.writeNullField(name);
+            else               gen.writeStringField(name, value);
+        }
+
+        private static void number(JsonGenerator gen, String name, Long value) throws IOException {
+            if (value == null) gen.writeNullField(name);
+            else               gen.writeNumberField(name, value);
+        }
+
+        private static void number(JsonGenerator gen, String name, Integer value) throws IOException {
+            if (value == null) gen.writeNullField(name);
+            else               gen.writeNumberField(name, value);
+        }
+
+        private static void bool(JsonGenerator gen, String name, Boolean value) throws IOException {
+            if (value == null) gen.writeNullField(name);
+            else               gen.writeBooleanField(name, value);
+        }
+
+        private static void write(JsonGenerator gen, LocalDate value) throws IOException {
+            if (value == null) gen.writeNull();
+            else               gen.writeString(DateTimeFormatter.ISO_LOCAL_DATE.format(value));
+        }
+
+        private static void write(JsonGenerator gen, LocalTime value) throws IOException {
+            if (value == null) gen.writeNull();
+            else               gen.writeString(DateTimeFormatter.ISO_LOCAL_TIME.format(value));
+        }
+
+        private static void write(JsonGenerator gen, LocalDateTime value) throws IOException {
+            if (value == null) gen.writeNull();
+            else               gen.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.groupwork.campus_facilities_booking.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Body of POST /bookings/bulk — many slots in one call (e.g. a department's
+ * semester timetable). Each item is admitted or rejected on its own.
+ */
+public record BulkBookingRequest(List<Item> bookings) {
+
+    public record Item(Long facilityId,
+                       LocalDate date,
+                       LocalTime startTime,
+                       LocalTime endTime,
+                       String purpose,
+                       Integer attendees,
+                       String notes) {}
+}
@@ -0,0 +1,23 @@
+package com.groupwork.campus_facilities_booking.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of POST /bookings/bulk. results[i] answers bookings[i] of the
+ * request: CREATED with the new bookingId, or REJECTED with the reason.
+ */
+public record BulkBookingResponse(int created, int rejected, List<Result> results) {
+
+    public enum Status { CREATED, REJECTED }
+
+    public record Result(int index, Status status, Long bookingId, String error) {
+
+        public static Result created(int index, Long bookingId) {
+            return new Result(index, Status.CREATED, bookingId, null);
+        }
+
+        public static Result rejected(int index, String error) {
+            return new Result(index, Status.REJECTED, null, error);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.groupwork.campus_facilities_booking.dto;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset (seek) paginated list, newest first.
+ *
+ * Repositories are asked for "id &lt; cursor ORDER BY id DESC" with one row more
+ * than the page size; the extra row only tells us whether another page exists.
+ * Unlike OFFSET, the cost of a page does not grow with how deep the client is.
+ *
+ * Cursors are opaque to clients: pass X-Next-Cursor back as ?cursor=.
+ * Every admin list route is paged this way — without ?limit= a page holds
+ * DEFAULT_LIMIT rows, and no request can ask for more than MAX_LIMIT. Full
+ * exports go through the NDJSON stream instead.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT     = 500;
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final String PREFIX = "id:";
+
+    /** Upper bound (exclusive) on ids for the next query. */
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return Long.MAX_VALUE;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new IllegalArgumentException();
+            }
+            return Long.parseLong(raw.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid cursor.");
+        }
+    }
+
+    /** Page size + 1, so {@link #of} can tell whether there is a next page. */
+    public static Limit fetchLimit(Integer limit) {
+        int size = limit == null ? DEFAULT_LIMIT : limit;
+        if (size < 1 || size > MAX_LIMIT) {
+            throw new RuntimeException("limit must be between 1 and " + MAX_LIMIT + ".");
+        }
+        return Limit.of(size + 1);
+    }
+
+    /** Build a page from rows fetched with {@link #fetchLimit}. */
+    public static <T> CursorPage<T> of(List<T> fetched, Limit fetchLimit, Function<T, Long> idOf) {
+        int size = fetchLimit.max() - 1;
+        if (fetched.size() <= size) {
+            return new CursorPage<>(fetched, null);
+        }
+        List<T> page = fetched.subList(0, size);
+        return new CursorPage<>(page, encode(idOf.apply(page.get(size - 1))));
+    }
+
+    /** Plain JSON array body; the cursor for the next page (if any) travels in a header. */
+    public ResponseEntity<List<T>> toResponse() {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response.body(items);
+    }
+
+    private static String encode(long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
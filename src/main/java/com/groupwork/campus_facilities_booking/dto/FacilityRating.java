@@ -0,0 +1,27 @@
+package com.groupwork.campus_facilities_booking.dto;
+
+import com.groupwork.campus_facilities_booking.model.Entities.FacilityRatingStats;
+
+import java.util.List;
+
+/**
+ * A facility's rating summary, read from facility_rating_stats.
+ * stars holds the number of 1★ … 5★ reviews (index 0 = 1★).
+ */
+public record FacilityRating(Long facilityId, double averageRating, long totalReviews, List<Long> stars) {
+
+    private static final List<Long> NO_STARS = List.of(0L, 0L, 0L, 0L, 0L);
+
+    /** stats may be null — the facility has no reviews. */
+    public static FacilityRating of(Long facilityId, FacilityRatingStats stats) {
+        if (stats == null || stats.getRatingCount() <= 0) {
+            return new FacilityRating(facilityId, 0.0, 0, NO_STARS);
+        }
+        double average = (double) stats.getRatingSum() / stats.getRatingCount();
+        return new FacilityRating(facilityId,
+                Math.round(average * 10.0) / 10.0,     // 1 decimal place
+                stats.getRatingCount(),
+                List.of(stats.getStars1(), stats.getStars2(), stats.getStars3(),
+                        stats.getStars4(), stats.getStars5()));
+    }
+}
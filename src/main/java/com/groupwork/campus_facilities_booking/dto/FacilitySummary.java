@@ -0,0 +1,31 @@
+package com.groupwork.campus_facilities_booking.dto;
+
+import com.groupwork.campus_facilities_booking.model.Entities.Facility;
+
+import java.time.LocalTime;
+
+/**
+ * The facility fields a booking or waitlist card shows. Same property names
+ * as Facility, so clients reading booking.facility.name etc. are unaffected.
+ */
+public record FacilitySummary(
+        Long id,
+        String name,
+        String location,
+        Integer capacity,
+        String imageUrl,
+        LocalTime openingTime,
+        LocalTime closingTime,
+        Boolean isAvailable,
+        TypeRef facilityType) {
+
+    public record TypeRef(Long id, String name) {}
+
+    public static FacilitySummary of(Facility f) {
+        return new FacilitySummary(f.getId(), f.getName(), f.getLocation(), f.getCapacity(), f.getImageUrl(),
+                f.getOpeningTime(), f.getClosingTime(), f.getIsAvailable(),
+                f.getFacilityType() != null
+                        ? new TypeRef(f.getFacilityType().getId(), f.getFacilityType().getName())
+                        : null);
+    }
+}
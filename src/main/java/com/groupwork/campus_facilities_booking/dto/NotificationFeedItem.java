@@ -0,0 +1,42 @@
+package com.groupwork.campus_facilities_booking.dto;
+
+import com.groupwork.campus_facilities_booking.model.Entities.Announcement;
+import com.groupwork.campus_facilities_booking.model.Enums.NotificationType;
+import com.groupwork.campus_facilities_booking.repository.NotificationRepository;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of a user's notification feed: either a personal notification
+ * or a campus-wide announcement merged in at read time.
+ *
+ * Ids are only unique within a kind — mark an ANNOUNCEMENT read through
+ * /notifications/announcements/{id}/read, a NOTIFICATION through
+ * /notifications/{id}/read.
+ */
+public record NotificationFeedItem(
+        Long id,
+        Kind kind,
+        String title,
+        String message,
+        NotificationType type,
+        Boolean isRead,
+        LocalDateTime createdAt,
+        BookingRef booking) {
+
+    public enum Kind { NOTIFICATION, ANNOUNCEMENT }
+
+    /** Just the id — same shape the frontend already reads ({ booking: { id } }). */
+    public record BookingRef(Long id) {}
+
+    public static NotificationFeedItem of(NotificationRepository.FeedView n) {
+        return new NotificationFeedItem(n.getId(), Kind.NOTIFICATION, n.getTitle(), n.getMessage(),
+                n.getType(), n.getIsRead(), n.getCreatedAt(),
+                n.getBookingId() != null ? new BookingRef(n.getBookingId()) : null);
+    }
+
+    public static NotificationFeedItem of(Announcement a, boolean read) {
+        return new NotificationFeedItem(a.getId(), Kind.ANNOUNCEMENT, a.getTitle(), a.getMessage(),
+                NotificationType.GENERAL_ANNOUNCEMENT, read, a.getCreatedAt(), null);
+    }
+}
@@ -0,0 +1,8 @@
+package com.groupwork.campus_facilities_booking.dto;
+
+import com.groupwork.campus_facilities_booking.model.Enums.UserRole;
+
+import java.util.Map;
+
+/** Registered-user counts for the admin pages; roles with no users are 0. */
+public record UserStats(long total, Map<UserRole, Long> byRole) {}
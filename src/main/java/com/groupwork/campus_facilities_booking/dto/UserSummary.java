@@ -0,0 +1,12 @@
+package com.groupwork.campus_facilities_booking.dto;
+
+import com.groupwork.campus_facilities_booking.model.Entities.User;
+import com.groupwork.campus_facilities_booking.model.Enums.UserRole;
+
+/** Who made a booking / joined a waitlist — no credentials or profile data. */
+public record UserSummary(Long id, String name, String email, UserRole role) {
+
+    public static UserSummary of(User u) {
+        return new UserSummary(u.getId(), u.getName(), u.getEmail(), u.getRole());
+    }
+}
@@ -0,0 +1,32 @@
+package com.groupwork.campus_facilities_booking.dto;
+
+import com.groupwork.campus_facilities_booking.model.Entities.WaitlistEntry;
+import com.groupwork.campus_facilities_booking.model.Enums.WaitlistStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Read model for /waitlist/my — same shape as WaitlistEntry, with facility
+ * and user as summaries. Build it from entries loaded with both in the same
+ * query, after their positions have been filled in.
+ */
+public record WaitlistView(
+        Long id,
+        FacilitySummary facility,
+        UserSummary user,
+        LocalDate date,
+        LocalTime startTime,
+        LocalTime endTime,
+        String purpose,
+        Integer position,
+        WaitlistStatus status,
+        LocalDateTime joinedAt) {
+
+    public static WaitlistView of(WaitlistEntry w) {
+        return new WaitlistView(w.getId(), FacilitySummary.of(w.getFacility()), UserSummary.of(w.getUser()),
+                w.getDate(), w.getStartTime(), w.getEndTime(), w.getPurpose(), w.getPosition(),
+                w.getStatus(), w.getJoinedAt());
+    }
+}
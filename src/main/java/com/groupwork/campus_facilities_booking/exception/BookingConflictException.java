@@ -0,0 +1,17 @@
+package com.groupwork.campus_facilities_booking.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a booking would overlap a slot that is already taken
+ * (found by the conflict check or by the ex_bookings_no_overlap constraint).
+ * Automatically maps to HTTP 409 Conflict.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class BookingConflictException extends RuntimeException {
+
+    public BookingConflictException(String message) {
+        super(message);
+    }
+}
@@ -1,5 +1,7 @@
 package com.groupwork.campus_facilities_booking.exception;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -44,6 +46,43 @@ public class GlobalExceptionHandler {
         return buildResponse(HttpStatus.NOT_FOUND, ex.getMessage());
     }
 
+    // ── Booking slot already taken ────────────────────────────
+    @ExceptionHandler(BookingConflictException.class)
+    public ResponseEntity<Map<String, Object>> handleBookingConflict(BookingConflictException ex) {
+        return buildResponse(HttpStatus.CONFLICT, ex.getMessage());
+    }
+
+    // ── Too many open availability streams ────────────────────
+    @ExceptionHandler(TooManyStreamsException.class)
+    public ResponseEntity<Map<String, Object>> handleTooManyStreams(TooManyStreamsException ex) {
+        return buildResponse(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage());
+    }
+
+    // ── Stale write (Booking @Version) ────────────────────────
+    // Someone else saved the same row between our read and our write.
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleOptimisticLock(OptimisticLockingFailureException ex) {
+        return buildResponse(HttpStatus.CONFLICT,
+            "This booking was changed by someone else. Reload it and try again.");
+    }
+
+    // ── DB constraint violations ──────────────────────────────
+    // ex_bookings_no_overlap fires when two nodes (or a path that skipped
+    // the conflict check) try to claim the same slot at the same time.
+    // Anything else is logged, not echoed — the driver message carries SQL,
+    // constraint names and column values.
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<Map<String, Object>> handleDataIntegrity(DataIntegrityViolationException ex) {
+        String detail = ex.getMostSpecificCause().getMessage();
+        if (detail != null && detail.contains("ex_bookings_no_overlap")) {
+            return buildResponse(HttpStatus.CONFLICT,
+                "That time slot has just been booked by someone else.");
+        }
+        logger.warning("Data integrity violation: " + detail);
+        return buildResponse(HttpStatus.BAD_REQUEST,
+            "The request conflicts with existing data or is missing required values.");
+    }
+
     // ── @Valid validation failures ────────────────────────────
     // e.g. missing required fields in request body
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -0,0 +1,17 @@
+package com.groupwork.campus_facilities_booking.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a client (or the whole node) already holds as many live
+ * availability streams as LiveUpdateHub allows.
+ * Automatically maps to HTTP 429 Too Many Requests.
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class TooManyStreamsException extends RuntimeException {
+
+    public TooManyStreamsException(String message) {
+        super(message);
+    }
+}
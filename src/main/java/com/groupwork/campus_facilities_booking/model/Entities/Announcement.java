@@ -0,0 +1,41 @@
+package com.groupwork.campus_facilities_booking.model.Entities;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A campus-wide message from an admin ("Great Hall closed tomorrow").
+ *
+ * Stored once, not copied into every user's notifications. Each user's
+ * feed merges announcements in at read time; whether a user has read one
+ * is tracked by the watermark User.lastSeenAnnouncementId — every
+ * announcement with an id at or below it counts as read.
+ */
+@Entity
+@Table(name = "announcements")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Announcement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotBlank
+    @Column(nullable = false, length = 100)
+    private String title;
+
+    @NotBlank
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String message;
+
+    @Column(nullable = false, updatable = false)
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
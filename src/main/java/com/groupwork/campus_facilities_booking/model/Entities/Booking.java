@@ -1,5 +1,6 @@
 package com.groupwork.campus_facilities_booking.model.Entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
@@ -20,7 +21,8 @@ import java.util.List;
  *  - purpose          : what the booking is for ("CPEN 412 Lab", "SRC Meeting")
  *  - attendees        : expected headcount — validated against facility capacity
  *  - isRecurring      : weekly/daily recurring bookings (e.g. a semester-long lecture)
- *  - recurrenceRule   : "WEEKLY" | "DAILY" for recurring pattern
+ *  - recurrenceRule   : "WEEKLY" | "DAILY" or an RRULE (see RecurrenceRule)
+ *  - seriesParentId   : on occurrences created from a recurring booking
  *  - checkInTime      : recorded when the user checks in via QR or admin
  *  - checkOutTime     : recorded when session ends
  *  - notes            : any special requests
@@ -33,7 +35,11 @@ import java.util.List;
         // Speed up the critical availability-check query
         @Index(name = "idx_bookings_facility_date", columnList = "facility_id, date"),
         @Index(name = "idx_bookings_user",          columnList = "user_id"),
-        @Index(name = "idx_bookings_status",        columnList = "status")
+        @Index(name = "idx_bookings_status",        columnList = "status"),
+        // Auto-expiry / reminder sweeps: "open bookings ending before X"
+        @Index(name = "idx_bookings_status_end_at", columnList = "status, end_at"),
+        // Occurrences of a recurring series
+        @Index(name = "idx_bookings_series_parent", columnList = "series_parent_id")
     }
 )
 @Getter
@@ -93,8 +99,23 @@ public class Booking {
     @Builder.Default
     private Boolean isRecurring = false;
 
-    @Column(length = 50)
-    private String recurrenceRule;         // "WEEKLY" | "DAILY"
+    @Column(length = 500)
+    private String recurrenceRule;         // "WEEKLY" | "DAILY" | "FREQ=WEEKLY;BYDAY=MO,WE;UNTIL=20260515"
+
+    /**
+     * Set on each occurrence RecurrenceService creates — points at the
+     * recurring booking (the first occurrence) that defines the series.
+     */
+    @Column(name = "series_parent_id")
+    private Long seriesParentId;
+
+    /**
+     * On the recurring booking: occurrences exist up to this date. The
+     * rolling job extends it; null once the series has ended or was cancelled.
+     */
+    @Column(name = "series_materialized_until")
+    @JsonIgnore
+    private LocalDate seriesMaterializedUntil;
 
     @Column(length = 500)
     private String notes;                  // special requests or setup instructions
@@ -140,11 +161,33 @@ public class Booking {
     /**
      * Reminder sent to user before expiry.
      * Default: 5 minutes before expiration.
+     * Only the native reminder/extend UPDATEs write it — never a JPA save.
      */
-    @Column(nullable = false)
+    @Column(nullable = false, updatable = false)
     @Builder.Default
     private Boolean reminderSent = false;
 
+    /**
+     * date + endTime as one timestamp, so the expiry job can find ended
+     * bookings with an index range scan instead of computing it per row.
+     * Derived — kept in sync on every insert/update (see syncEndAt).
+     */
+    @Column(name = "end_at")
+    @JsonIgnore
+    private LocalDateTime endAt;
+
+    /**
+     * Optimistic lock. Every JPA save checks and bumps it, and so do the
+     * native expiry and extend UPDATEs, so a stale copy can never overwrite a
+     * newer state. Marking the reminder sent does not bump it — reminderSent
+     * is not updatable through JPA, so there is nothing to overwrite, and a
+     * reminder firing mid-edit must not fail the edit. Null on a booking that
+     * hasn't been saved yet.
+     */
+    @Version
+    @Column(columnDefinition = "bigint not null default 0")
+    private Long version;
+
     // ── Audit ────────────────────────────────────────────────
     @Column(nullable = false, updatable = false)
     @Builder.Default
@@ -154,9 +197,19 @@ public class Booking {
     @Builder.Default
     private LocalDateTime updatedAt = LocalDateTime.now();
 
+    @PrePersist
+    public void onCreate() {
+        syncEndAt();
+    }
+
     @PreUpdate
     public void onUpdate() {
         this.updatedAt = LocalDateTime.now();
+        syncEndAt();
+    }
+
+    private void syncEndAt() {
+        this.endAt = (date != null && endTime != null) ? LocalDateTime.of(date, endTime) : null;
     }
 
     // ── Relationships ─────────────────────────────────────────
@@ -25,9 +25,14 @@ import java.util.List;
  *  - imageUrl                        : shown on the frontend card
  *  - isAvailable                     : admin toggle (maintenance, etc.)
  *  - rules                           : free-text booking rules/notes
+ *  - averageRating / totalReviews    : not stored here — filled in from
+ *                                      facility_rating_stats on reads
  */
 @Entity
-@Table(name = "facilities")
+@Table(name = "facilities", indexes = {
+    @Index(name = "idx_facilities_type_capacity", columnList = "facility_type_id, capacity"),
+    @Index(name = "idx_facilities_department",    columnList = "department_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -122,6 +127,13 @@ public class Facility {
     @Builder.Default
     private LocalDateTime createdAt = LocalDateTime.now();
 
+    // ── Rating (read-only, see FacilityService.withRatings) ──
+    @Transient
+    private Double averageRating;
+
+    @Transient
+    private Long totalReviews;
+
     // ── Relationships ─────────────────────────────────────────
     @OneToMany(mappedBy = "facility", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
@@ -0,0 +1,56 @@
+package com.groupwork.campus_facilities_booking.model.Entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Running totals of a facility's reviews, so ratings can be shown without
+ * reading the reviews themselves.
+ *
+ * One row per reviewed facility, keyed by facility id. Kept up to date by
+ * ReviewService with single upsert statements (see
+ * FacilityRatingStatsRepository); rows for facilities reviewed before this
+ * table existed are backfilled at startup (PostgresSchemaInitializer).
+ */
+@Entity
+@Table(name = "facility_rating_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FacilityRatingStats {
+
+    @Id
+    @Column(name = "facility_id")
+    private Long facilityId;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long ratingSum = 0L;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long ratingCount = 0L;
+
+    // ── Histogram — number of 1★ … 5★ reviews ────────────────
+    @Column(name = "stars_1", nullable = false)
+    @Builder.Default
+    private Long stars1 = 0L;
+
+    @Column(name = "stars_2", nullable = false)
+    @Builder.Default
+    private Long stars2 = 0L;
+
+    @Column(name = "stars_3", nullable = false)
+    @Builder.Default
+    private Long stars3 = 0L;
+
+    @Column(name = "stars_4", nullable = false)
+    @Builder.Default
+    private Long stars4 = 0L;
+
+    @Column(name = "stars_5", nullable = false)
+    @Builder.Default
+    private Long stars5 = 0L;
+}
@@ -0,0 +1,50 @@
+package com.groupwork.campus_facilities_booking.model.Entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import com.groupwork.campus_facilities_booking.model.Enums.NotificationType;
+
+import java.time.LocalDateTime;
+
+/**
+ * A notification the async writer could not insert (e.g. the user or
+ * booking was deleted in the meantime, or the row violated a constraint).
+ *
+ * Kept as plain ids + text so it can be inspected or replayed by hand;
+ * nothing in the app reads this table.
+ */
+@Entity
+@Table(name = "notification_dead_letters")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationDeadLetter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    private Long bookingId;
+
+    @Column(nullable = false, length = 100)
+    private String title;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String message;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private NotificationType type;
+
+    @Column(columnDefinition = "TEXT")
+    private String error;                  // why the insert failed
+
+    @Column(nullable = false, updatable = false)
+    @Builder.Default
+    private LocalDateTime failedAt = LocalDateTime.now();
+}
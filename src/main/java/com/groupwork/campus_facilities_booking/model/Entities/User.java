@@ -87,10 +87,22 @@ public class User implements UserDetails {
     @Builder.Default
     private Boolean isActive = true;
 
+    // Bumped on role change / deactivation — JWTs carrying an older "ver" are refused
+    @Column(nullable = false, columnDefinition = "integer default 0")
+    @Builder.Default
+    @JsonIgnore
+    private Integer tokenVersion = 0;
+
     @Column(nullable = false, updatable = false)
     @Builder.Default
     private LocalDateTime createdAt = LocalDateTime.now();
 
+    // Read watermark for announcements: every announcement with id <= this is read.
+    // Null means none read yet.
+    @Column(name = "last_seen_announcement_id")
+    @JsonIgnore
+    private Long lastSeenAnnouncementId;
+
     // ── Relationships ─────────────────────────────────────────
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "department_id")
@@ -15,7 +15,8 @@ import java.time.LocalTime;
  * If the existing booking is cancelled, the system promotes the
  * first WAITING entry automatically (business logic in service layer).
  *
- * position  : queue order (1 = first in line)
+ * position  : queue order (1 = first in line) — not stored; computed when
+ *             read from the WAITING entries ahead of this one (by id)
  * status    : WAITING | PROMOTED | EXPIRED
  */
 @Entity
@@ -26,7 +27,9 @@ import java.time.LocalTime;
         @UniqueConstraint(columnNames = {"facility_id", "user_id", "date", "start_time"})
     },
     indexes = {
-        @Index(name = "idx_waitlist_facility_date", columnList = "facility_id, date")
+        @Index(name = "idx_waitlist_facility_date", columnList = "facility_id, date"),
+        // One slot's queue in order — promotion and position lookups
+        @Index(name = "idx_waitlist_slot_queue", columnList = "facility_id, date, start_time, status, id")
     }
 )
 @Getter
@@ -60,8 +63,12 @@ public class WaitlistEntry {
     @Column(length = 300)
     private String purpose;
 
-    @Column(nullable = false)
-    private Integer position;              // 1 = top of queue
+    /**
+     * 1 = top of queue; null unless WAITING. Queue order is the id order, so
+     * nobody's row is rewritten when someone ahead leaves or is promoted.
+     */
+    @Transient
+    private Integer position;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 20)
@@ -0,0 +1,21 @@
+package com.groupwork.campus_facilities_booking.repository;
+
+import com.groupwork.campus_facilities_booking.model.Entities.Announcement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface AnnouncementRepository extends JpaRepository<Announcement, Long> {
+
+    /** Latest announcements a user can see (made after they joined), newest first. */
+    List<Announcement> findTop100ByCreatedAtGreaterThanEqualOrderByIdDesc(LocalDateTime since);
+
+    /** Same, but only those above the user's read watermark. */
+    List<Announcement> findTop100ByIdGreaterThanAndCreatedAtGreaterThanEqualOrderByIdDesc(
+            Long watermark, LocalDateTime since);
+
+    Announcement findTopByOrderByIdDesc();
+}
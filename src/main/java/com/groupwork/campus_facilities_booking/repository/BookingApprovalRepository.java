@@ -2,6 +2,7 @@ package com.groupwork.campus_facilities_booking.repository;
 
 import com.groupwork.campus_facilities_booking.model.Entities.Booking;
 import com.groupwork.campus_facilities_booking.model.Entities.BookingApproval;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -15,6 +16,9 @@ public interface BookingApprovalRepository extends JpaRepository<BookingApproval
 
     List<BookingApproval> findByBooking(Booking booking);
 
+    /** Keyset page, newest first: ids below the cursor. See CursorPage. */
+    List<BookingApproval> findByIdLessThanOrderByIdDesc(Long id, Limit limit);
+
     /** Delete all approvals whose parent booking belongs to the given facility. */
     @Modifying
     @Query("DELETE FROM BookingApproval ba WHERE ba.booking.facility.id = :facilityId")
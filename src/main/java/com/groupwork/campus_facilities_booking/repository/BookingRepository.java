@@ -4,29 +4,76 @@ import com.groupwork.campus_facilities_booking.model.Entities.Booking;
 import com.groupwork.campus_facilities_booking.model.Enums.BookingStatus;
 import com.groupwork.campus_facilities_booking.model.Entities.Facility;
 import com.groupwork.campus_facilities_booking.model.Entities.User;
+import com.groupwork.campus_facilities_booking.model.Enums.UserRole;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
+        /*
+         * The list finders below fetch facility (with type) and user in the
+         * same SELECT — they feed BookingView.
+         */
+        @EntityGraph(attributePaths = { "facility", "facility.facilityType", "user" })
         List<Booking> findByUserOrderByDateDescStartTimeDesc(User user);
 
+        @EntityGraph(attributePaths = { "facility", "facility.facilityType", "user" })
         List<Booking> findByFacility(Facility facility);
 
+        @EntityGraph(attributePaths = { "facility", "facility.facilityType", "user" })
         List<Booking> findByFacilityAndDate(Facility facility, LocalDate date);
 
+        @EntityGraph(attributePaths = { "facility", "facility.facilityType", "user" })
         List<Booking> findByStatus(BookingStatus status);
 
+        /** Keyset page, newest first: ids below the cursor. See CursorPage. */
+        @EntityGraph(attributePaths = { "facility", "facility.facilityType", "user" })
+        List<Booking> findByIdLessThanOrderByIdDesc(Long id, Limit limit);
+
+        @EntityGraph(attributePaths = { "facility", "facility.facilityType", "user" })
+        List<Booking> findByStatusAndIdLessThanOrderByIdDesc(BookingStatus status, Long id, Limit limit);
+
+        /**
+         * Server-side cursor over every booking (NDJSON export). Rows arrive in
+         * fetch-size batches, facility and user joined in; must be consumed
+         * inside a transaction.
+         */
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+        @EntityGraph(attributePaths = { "facility", "facility.facilityType", "user" })
+        Stream<Booking> streamAllByOrderByIdAsc();
+
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+        @EntityGraph(attributePaths = { "facility", "facility.facilityType", "user" })
+        Stream<Booking> streamByStatusOrderByIdAsc(BookingStatus status);
+
+        @EntityGraph(attributePaths = { "facility", "facility.facilityType", "user" })
         List<Booking> findByDateAndStatus(LocalDate date, BookingStatus status);
 
+        /** Recurring bookings whose occurrences stop short of the horizon. */
+        @Query("""
+                            SELECT b.id FROM Booking b
+                            WHERE b.isRecurring = true
+                              AND b.seriesMaterializedUntil < :through
+                            ORDER BY b.id
+                        """)
+        List<Long> findSeriesDueBefore(@Param("through") LocalDate through);
+
         List<Booking> findByFacilityAndDateAndStatusIn(
                         Facility facility, LocalDate date, List<BookingStatus> statuses);
 
@@ -52,11 +99,319 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
                         @Param("endTime") LocalTime endTime,
                         @Param("statuses") List<BookingStatus> statuses);
 
+        /** findConflictingBookings, ignoring the booking being edited. */
+        @Query("""
+                            SELECT b FROM Booking b
+                            WHERE b.facility   = :facility
+                              AND b.date       = :date
+                              AND b.status     IN :statuses
+                              AND b.startTime  < :endTime
+                              AND b.endTime    > :startTime
+                              AND b.id        <> :bookingId
+                        """)
+        List<Booking> findOtherConflictingBookings(
+                        @Param("facility") Facility facility,
+                        @Param("date") LocalDate date,
+                        @Param("startTime") LocalTime startTime,
+                        @Param("endTime") LocalTime endTime,
+                        @Param("statuses") List<BookingStatus> statuses,
+                        @Param("bookingId") Long bookingId);
+
         /**
-         * Find all bookings with any of the given statuses.
-         * Used for auto-expiry and reminder scheduling.
+         * Time windows of upcoming bookings in the given statuses, from a date onwards.
+         * Scalar projection (no entity hydration) — used to warm BookingIntervalIndex.
          */
-        List<Booking> findByStatusIn(List<BookingStatus> statuses);
+        @Query("""
+                            SELECT b.id AS id, b.facility.id AS facilityId, b.date AS date,
+                                   b.startTime AS startTime, b.endTime AS endTime
+                            FROM Booking b
+                            WHERE b.date   >= :from
+                              AND b.status IN :statuses
+                        """)
+        List<SlotView> findUpcomingSlots(
+                        @Param("from") LocalDate from,
+                        @Param("statuses") List<BookingStatus> statuses);
+
+        /**
+         * Time windows of one facility's bookings on one date, in the given statuses.
+         * Scalar projection — used by the availability bitmask.
+         */
+        @Query("""
+                            SELECT b.id AS id, b.facility.id AS facilityId, b.date AS date,
+                                   b.startTime AS startTime, b.endTime AS endTime
+                            FROM Booking b
+                            WHERE b.facility.id = :facilityId
+                              AND b.date        = :date
+                              AND b.status      IN :statuses
+                        """)
+        List<SlotView> findSlotsOnDate(
+                        @Param("facilityId") Long facilityId,
+                        @Param("date") LocalDate date,
+                        @Param("statuses") List<BookingStatus> statuses);
+
+        /**
+         * Time windows for several facilities over a date range, in one query.
+         * Used by the availability matrix.
+         */
+        @Query("""
+                            SELECT b.id AS id, b.facility.id AS facilityId, b.date AS date,
+                                   b.startTime AS startTime, b.endTime AS endTime
+                            FROM Booking b
+                            WHERE b.facility.id IN :facilityIds
+                              AND b.date BETWEEN :from AND :to
+                              AND b.status IN :statuses
+                        """)
+        List<SlotView> findSlotsInRange(
+                        @Param("facilityIds") Collection<Long> facilityIds,
+                        @Param("from") LocalDate from,
+                        @Param("to") LocalDate to,
+                        @Param("statuses") List<BookingStatus> statuses);
+
+        /**
+         * Expire every open booking whose end_at has passed, in one statement,
+         * and return just the rows that changed (idx_bookings_status_end_at).
+         */
+        @Query(value = """
+                            UPDATE bookings
+                               SET status = 'EXPIRED', expired_at = :now, updated_at = :now, version = version + 1
+                             WHERE status IN ('CONFIRMED', 'ACTIVE')
+                               AND end_at < :now
+                               AND expired_at IS NULL
+                            RETURNING id AS "id", user_id AS "userId", facility_id AS "facilityId",
+                                      extension_count AS "extensionCount"
+                        """, nativeQuery = true)
+        List<SweptView> expireEndedBefore(@Param("now") LocalDateTime now);
+
+        /**
+         * Flag open bookings ending in (now, until) as reminded and return them,
+         * so each reminder is sent exactly once. Leaves version alone: the flag
+         * is not something a user edits, and JPA never writes it back.
+         */
+        @Query(value = """
+                            UPDATE bookings
+                               SET reminder_sent = true, updated_at = :now
+                             WHERE status IN ('CONFIRMED', 'ACTIVE')
+                               AND end_at > :now
+                               AND end_at < :until
+                               AND reminder_sent = false
+                            RETURNING id AS "id", user_id AS "userId", facility_id AS "facilityId",
+                                      extension_count AS "extensionCount"
+                        """, nativeQuery = true)
+        List<SweptView> markRemindersDue(
+                        @Param("now") LocalDateTime now,
+                        @Param("until") LocalDateTime until);
+
+        /** Single-booking variant of expireEndedBefore — fired by BookingDeadlineQueue. */
+        @Query(value = """
+                            UPDATE bookings
+                               SET status = 'EXPIRED', expired_at = :now, updated_at = :now, version = version + 1
+                             WHERE id = :id
+                               AND status IN ('CONFIRMED', 'ACTIVE')
+                               AND end_at <= :now
+                               AND expired_at IS NULL
+                            RETURNING id AS "id", user_id AS "userId", facility_id AS "facilityId",
+                                      extension_count AS "extensionCount"
+                        """, nativeQuery = true)
+        List<SweptView> expireIfEnded(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+        /** Single-booking variant of markRemindersDue — fired by BookingDeadlineQueue. */
+        @Query(value = """
+                            UPDATE bookings
+                               SET reminder_sent = true, updated_at = :now
+                             WHERE id = :id
+                               AND status IN ('CONFIRMED', 'ACTIVE')
+                               AND end_at > :now
+                               AND end_at <= :until
+                               AND reminder_sent = false
+                            RETURNING id AS "id", user_id AS "userId", facility_id AS "facilityId",
+                                      extension_count AS "extensionCount"
+                        """, nativeQuery = true)
+        List<SweptView> markReminderDue(
+                        @Param("id") Long id,
+                        @Param("now") LocalDateTime now,
+                        @Param("until") LocalDateTime until);
+
+        /**
+         * Push a booking's end time back by :minutes in one statement — only if
+         * it is still at :version, still open, under its extension limit, and
+         * no other CONFIRMED/ACTIVE booking starts in the added window.
+         * Returns 1 on success, 0 if any condition failed.
+         */
+        @Modifying(flushAutomatically = true, clearAutomatically = true)
+        @Query(value = """
+                            UPDATE bookings b
+                               SET end_time          = b.end_time + :minutes * interval '1 minute',
+                                   end_at            = b.date + b.end_time + :minutes * interval '1 minute',
+                                   original_end_time = COALESCE(b.original_end_time, b.date + b.end_time),
+                                   extension_count   = b.extension_count + 1,
+                                   reminder_sent     = false,
+                                   version           = b.version + 1,
+                                   updated_at        = :now
+                             WHERE b.id = :id
+                               AND b.version = :version
+                               AND b.status IN ('CONFIRMED', 'ACTIVE')
+                               AND b.extension_count < b.max_extensions
+                               AND NOT EXISTS (
+                                   SELECT 1 FROM bookings o
+                                    WHERE o.facility_id = b.facility_id
+                                      AND o.date        = b.date
+                                      AND o.id         <> b.id
+                                      AND o.status IN ('CONFIRMED', 'ACTIVE')
+                                      AND o.start_time  < b.end_time + :minutes * interval '1 minute'
+                                      AND o.end_time    > b.end_time)
+                        """, nativeQuery = true)
+        int extendIfFree(
+                        @Param("id") Long id,
+                        @Param("version") Long version,
+                        @Param("minutes") int minutes,
+                        @Param("now") LocalDateTime now);
+
+        /** Open bookings ending in (from, to] — loads BookingDeadlineQueue. */
+        @Query("""
+                            SELECT b.id AS id, b.endAt AS endAt, b.reminderSent AS reminderSent
+                            FROM Booking b
+                            WHERE b.status IN :statuses
+                              AND b.endAt  >  :from
+                              AND b.endAt  <= :to
+                        """)
+        List<DeadlineView> findOpenEndingBetween(
+                        @Param("from") LocalDateTime from,
+                        @Param("to") LocalDateTime to,
+                        @Param("statuses") List<BookingStatus> statuses);
+
+        interface DeadlineView {
+                Long getId();
+
+                LocalDateTime getEndAt();
+
+                Boolean getReminderSent();
+        }
+
+        /** Row returned by the expiry / reminder sweeps. */
+        interface SweptView {
+                Long getId();
+
+                Long getUserId();
+
+                Long getFacilityId();
+
+                Integer getExtensionCount();
+        }
+
+        /**
+         * Transaction-scoped PostgreSQL advisory lock on (facility, day).
+         * Serialises booking admission across application nodes; released
+         * automatically at commit/rollback. See BookingSlotLocks.
+         */
+        @Query(value = "SELECT 1 FROM (SELECT pg_advisory_xact_lock(:facilityId, :epochDay)) AS l",
+                        nativeQuery = true)
+        Integer lockFacilityDay(
+                        @Param("facilityId") int facilityId,
+                        @Param("epochDay") int epochDay);
+
+        /**
+         * Transaction-scoped advisory lock for a scheduled job (single bigint
+         * key — a separate key space from lockFacilityDay's pair). False if
+         * another node holds it.
+         */
+        @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+        Boolean tryLockJob(@Param("key") long key);
+
+        // ── Admin aggregates (BookingStatsService) ───────────────
+        @Query("SELECT b.status AS status, COUNT(b) AS count FROM Booking b GROUP BY b.status")
+        List<StatusCountView> countPerStatus();
+
+        long countByDateBetween(LocalDate from, LocalDate to);
+
+        @Query(value = "SELECT AVG(EXTRACT(EPOCH FROM (end_time - start_time))) / 3600 FROM bookings",
+                        nativeQuery = true)
+        Double averageDurationHours();
+
+        @Query("""
+                            SELECT b.date AS date, COUNT(b) AS count
+                            FROM Booking b
+                            WHERE b.date BETWEEN :from AND :to
+                            GROUP BY b.date
+                        """)
+        List<DayCountView> countPerDay(
+                        @Param("from") LocalDate from,
+                        @Param("to") LocalDate to);
+
+        @Query("SELECT u.role AS role, COUNT(b) AS count FROM Booking b JOIN b.user u GROUP BY u.role")
+        List<RoleCountView> countPerUserRole();
+
+        /** Most-booked facilities first. */
+        @Query("""
+                            SELECT f.id AS facilityId, f.name AS name, COUNT(b) AS count
+                            FROM Booking b JOIN b.facility f
+                            GROUP BY f.id, f.name
+                            ORDER BY COUNT(b) DESC
+                        """)
+        List<FacilityCountView> countPerFacility(Limit limit);
+
+        /**
+         * Bookings occupying each (ISO weekday, hour) — a booking counts in
+         * every whole hour from its start hour up to, not including, its end
+         * hour.
+         */
+        @Query(value = """
+                            SELECT CAST(EXTRACT(ISODOW FROM b.date) AS int) AS "dayOfWeek",
+                                   h                                        AS "hour",
+                                   COUNT(*)                                 AS "count"
+                              FROM bookings b
+                             CROSS JOIN LATERAL generate_series(
+                                       CAST(EXTRACT(HOUR FROM b.start_time) AS int),
+                                       CAST(EXTRACT(HOUR FROM b.end_time) AS int) - 1) AS h
+                             GROUP BY 1, 2
+                        """, nativeQuery = true)
+        List<HourCountView> countPerWeekdayHour();
+
+        interface StatusCountView {
+                BookingStatus getStatus();
+
+                Long getCount();
+        }
+
+        interface DayCountView {
+                LocalDate getDate();
+
+                Long getCount();
+        }
+
+        interface RoleCountView {
+                UserRole getRole();
+
+                Long getCount();
+        }
+
+        interface FacilityCountView {
+                Long getFacilityId();
+
+                String getName();
+
+                Long getCount();
+        }
+
+        interface HourCountView {
+                Integer getDayOfWeek();
+
+                Integer getHour();
+
+                Long getCount();
+        }
+
+        /** Lightweight (id, facility, date, window) view of a booking. */
+        interface SlotView {
+                Long getId();
+
+                Long getFacilityId();
+
+                LocalDate getDate();
+
+                LocalTime getStartTime();
+
+                LocalTime getEndTime();
+        }
 
         /**
          * Bulk-delete all bookings for a given facility.
@@ -0,0 +1,94 @@
+package com.groupwork.campus_facilities_booking.repository;
+
+import com.groupwork.campus_facilities_booking.model.Entities.FacilityRatingStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface FacilityRatingStatsRepository extends JpaRepository<FacilityRatingStats, Long> {
+
+    /**
+     * Add (delta = 1) or remove (delta = -1) one review of the given rating,
+     * as one atomic upsert: a facility's first review creates its row, and
+     * concurrent first reviews add up instead of overwriting each other.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            INSERT INTO facility_rating_stats
+                   (facility_id, rating_sum, rating_count, stars_1, stars_2, stars_3, stars_4, stars_5)
+            VALUES (:facilityId, :delta * :rating, :delta,
+                    CASE WHEN :rating = 1 THEN :delta ELSE 0 END,
+                    CASE WHEN :rating = 2 THEN :delta ELSE 0 END,
+                    CASE WHEN :rating = 3 THEN :delta ELSE 0 END,
+                    CASE WHEN :rating = 4 THEN :delta ELSE 0 END,
+                    CASE WHEN :rating = 5 THEN :delta ELSE 0 END)
+            ON CONFLICT (facility_id) DO UPDATE
+               SET rating_sum   = facility_rating_stats.rating_sum   + EXCLUDED.rating_sum,
+                   rating_count = facility_rating_stats.rating_count + EXCLUDED.rating_count,
+                   stars_1 = facility_rating_stats.stars_1 + EXCLUDED.stars_1,
+                   stars_2 = facility_rating_stats.stars_2 + EXCLUDED.stars_2,
+                   stars_3 = facility_rating_stats.stars_3 + EXCLUDED.stars_3,
+                   stars_4 = facility_rating_stats.stars_4 + EXCLUDED.stars_4,
+                   stars_5 = facility_rating_stats.stars_5 + EXCLUDED.stars_5
+            """, nativeQuery = true)
+    void applyReview(@Param("facilityId") Long facilityId,
+                     @Param("rating") int rating,
+                     @Param("delta") int delta);
+
+    /**
+     * Row-lock these facilities' stats, in id order, before a recompute.
+     * A review write racing the recompute then either commits before the
+     * recount reads the reviews table (READ COMMITTED: each statement sees
+     * what has committed by then) or waits and adds on top of the result.
+     */
+    @Query(value = """
+            SELECT facility_id FROM facility_rating_stats
+             WHERE facility_id IN (:facilityIds)
+             ORDER BY facility_id
+               FOR UPDATE
+            """, nativeQuery = true)
+    List<Long> lockRows(@Param("facilityIds") Collection<Long> facilityIds);
+
+    /**
+     * Rebuild the rows of these facilities from the reviews table (zeros for
+     * a facility with no reviews left). Sees the current transaction's own
+     * review inserts/deletes. Call {@link #lockRows} first — otherwise a
+     * review committed while this runs is overwritten by the recount.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            INSERT INTO facility_rating_stats
+                   (facility_id, rating_sum, rating_count, stars_1, stars_2, stars_3, stars_4, stars_5)
+            SELECT f.id,
+                   COALESCE(SUM(r.rating), 0),
+                   COUNT(r.id),
+                   COUNT(*) FILTER (WHERE r.rating = 1),
+                   COUNT(*) FILTER (WHERE r.rating = 2),
+                   COUNT(*) FILTER (WHERE r.rating = 3),
+                   COUNT(*) FILTER (WHERE r.rating = 4),
+                   COUNT(*) FILTER (WHERE r.rating = 5)
+              FROM facilities f
+              LEFT JOIN reviews r ON r.facility_id = f.id
+             WHERE f.id IN (:facilityIds)
+             GROUP BY f.id
+            ON CONFLICT (facility_id) DO UPDATE
+               SET rating_sum   = EXCLUDED.rating_sum,
+                   rating_count = EXCLUDED.rating_count,
+                   stars_1 = EXCLUDED.stars_1,
+                   stars_2 = EXCLUDED.stars_2,
+                   stars_3 = EXCLUDED.stars_3,
+                   stars_4 = EXCLUDED.stars_4,
+                   stars_5 = EXCLUDED.stars_5
+            """, nativeQuery = true)
+    void recompute(@Param("facilityIds") Collection<Long> facilityIds);
+
+    @Modifying
+    @Query("DELETE FROM FacilityRatingStats s WHERE s.facilityId = :facilityId")
+    void deleteByFacilityId(@Param("facilityId") Long facilityId);
+}
@@ -3,13 +3,19 @@ package com.groupwork.campus_facilities_booking.repository;
 import com.groupwork.campus_facilities_booking.model.Entities.Department;
 import com.groupwork.campus_facilities_booking.model.Entities.Facility;
 import com.groupwork.campus_facilities_booking.model.Entities.FacilityType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
-public interface FacilityRepository extends JpaRepository<Facility, Long> {
+public interface FacilityRepository extends JpaRepository<Facility, Long>,
+        JpaSpecificationExecutor<Facility> {
 
     List<Facility> findByFacilityType(FacilityType facilityType);
 
@@ -17,5 +23,15 @@ public interface FacilityRepository extends JpaRepository<Facility, Long> {
 
     List<Facility> findByIsAvailableTrue();
 
+    boolean existsByIdAndIsAvailableTrue(Long id);
+
     List<Facility> findByNameContainingIgnoreCase(String name);
+
+    /**
+     * Search page (see FacilitySpecifications). facilityType is EAGER, so it is
+     * joined here instead of costing one extra select per distinct type.
+     */
+    @Override
+    @EntityGraph(attributePaths = "facilityType")
+    Page<Facility> findAll(Specification<Facility> spec, Pageable pageable);
 }
@@ -0,0 +1,52 @@
+package com.groupwork.campus_facilities_booking.repository;
+
+import com.groupwork.campus_facilities_booking.model.Entities.Facility;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Composable WHERE clauses for GET /facilities/search.
+ *
+ * Each factory returns null when its filter is absent — Specification.where / and
+ * skip null parts, so the final query only contains the filters actually supplied.
+ */
+public final class FacilitySpecifications {
+
+    private FacilitySpecifications() {}
+
+    /**
+     * Case-insensitive "name contains". Matches lower(name) so it can use the
+     * idx_facilities_name_trgm GIN index (see PostgresSchemaInitializer).
+     */
+    public static Specification<Facility> nameContains(String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        String pattern = "%" + escapeLike(name.trim().toLowerCase()) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("name")), pattern, '\\');
+    }
+
+    public static Specification<Facility> hasType(Long typeId) {
+        return typeId == null ? null
+                : (root, query, cb) -> cb.equal(root.get("facilityType").get("id"), typeId);
+    }
+
+    public static Specification<Facility> ownedBy(Long departmentId) {
+        return departmentId == null ? null
+                : (root, query, cb) -> cb.equal(root.get("owningDepartment").get("id"), departmentId);
+    }
+
+    public static Specification<Facility> minCapacity(Integer minCapacity) {
+        return minCapacity == null ? null
+                : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("capacity"), minCapacity);
+    }
+
+    /** Equality on one of the Boolean amenity columns (hasProjector, hasWifi, isOutdoor, ...). */
+    public static Specification<Facility> flag(String attribute, Boolean value) {
+        return value == null ? null
+                : (root, query, cb) -> cb.equal(root.get(attribute), value);
+    }
+
+    private static String escapeLike(String s) {
+        return s.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -2,6 +2,7 @@ package com.groupwork.campus_facilities_booking.repository;
 
 import com.groupwork.campus_facilities_booking.model.Entities.Facility;
 import com.groupwork.campus_facilities_booking.model.Entities.MaintenanceSchedule;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -9,6 +10,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -16,6 +18,9 @@ public interface MaintenanceRepository extends JpaRepository<MaintenanceSchedule
 
         List<MaintenanceSchedule> findByFacility(Facility facility);
 
+        /** Keyset page, newest first: ids below the cursor. See CursorPage. */
+        List<MaintenanceSchedule> findByIdLessThanOrderByIdDesc(Long id, Limit limit);
+
         // Returns schedules where today falls between startDate and endDate
         @Query("""
                             SELECT m FROM MaintenanceSchedule m
@@ -34,6 +39,39 @@ public interface MaintenanceRepository extends JpaRepository<MaintenanceSchedule
                         @Param("facility") Facility facility,
                         @Param("date") LocalDate date);
 
+        // Used by the availability bitmask — a maintenance day blocks every slot
+        @Query("""
+                            SELECT COUNT(m) > 0 FROM MaintenanceSchedule m
+                            WHERE m.facility.id = :facilityId
+                              AND :date BETWEEN m.startDate AND m.endDate
+                        """)
+        boolean isUnderMaintenance(
+                        @Param("facilityId") Long facilityId,
+                        @Param("date") LocalDate date);
+
+        // Maintenance windows touching [from, to] for several facilities — one query
+        // for the availability matrix
+        @Query("""
+                            SELECT m.facility.id AS facilityId, m.startDate AS startDate, m.endDate AS endDate
+                            FROM MaintenanceSchedule m
+                            WHERE m.facility.id IN :facilityIds
+                              AND m.startDate <= :to
+                              AND m.endDate   >= :from
+                        """)
+        List<RangeView> findRangesOverlapping(
+                        @Param("facilityIds") Collection<Long> facilityIds,
+                        @Param("from") LocalDate from,
+                        @Param("to") LocalDate to);
+
+        /** (facility, startDate, endDate) view of a maintenance window. */
+        interface RangeView {
+                Long getFacilityId();
+
+                LocalDate getStartDate();
+
+                LocalDate getEndDate();
+        }
+
         @Modifying
         @Query("DELETE FROM MaintenanceSchedule ms WHERE ms.facility.id = :facilityId")
         void deleteAllByFacilityId(@Param("facilityId") Long facilityId);
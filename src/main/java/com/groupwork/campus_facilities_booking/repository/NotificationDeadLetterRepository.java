@@ -0,0 +1,9 @@
+package com.groupwork.campus_facilities_booking.repository;
+
+import com.groupwork.campus_facilities_booking.model.Entities.NotificationDeadLetter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface NotificationDeadLetterRepository extends JpaRepository<NotificationDeadLetter, Long> {
+}
@@ -2,24 +2,54 @@ package com.groupwork.campus_facilities_booking.repository;
 
 import com.groupwork.campus_facilities_booking.model.Entities.Booking;
 import com.groupwork.campus_facilities_booking.model.Entities.Notification;
-import com.groupwork.campus_facilities_booking.model.Entities.User;
+import com.groupwork.campus_facilities_booking.model.Enums.NotificationType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
 
-    List<Notification> findByUserOrderByCreatedAtDesc(User user);
+    /** Feed rows as scalars — no Notification entities, no booking proxies. */
+    @Query("""
+        SELECT n.id AS id, n.title AS title, n.message AS message, n.type AS type,
+               n.isRead AS isRead, n.createdAt AS createdAt, b.id AS bookingId
+        FROM Notification n LEFT JOIN n.booking b
+        WHERE n.user.id = :userId
+        ORDER BY n.createdAt DESC
+        """)
+    List<FeedView> findFeedByUserId(@Param("userId") Long userId);
 
-    List<Notification> findByUserAndIsReadFalseOrderByCreatedAtDesc(User user);
+    @Query("""
+        SELECT n.id AS id, n.title AS title, n.message AS message, n.type AS type,
+               n.isRead AS isRead, n.createdAt AS createdAt, b.id AS bookingId
+        FROM Notification n LEFT JOIN n.booking b
+        WHERE n.user.id = :userId AND n.isRead = false
+        ORDER BY n.createdAt DESC
+        """)
+    List<FeedView> findUnreadFeedByUserId(@Param("userId") Long userId);
+
+    interface FeedView {
+        Long getId();
+        String getTitle();
+        String getMessage();
+        NotificationType getType();
+        Boolean getIsRead();
+        LocalDateTime getCreatedAt();
+        Long getBookingId();
+    }
 
     List<Notification> findByBooking(Booking booking);
 
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.user.id = :userId AND n.isRead = false")
+    int markAllReadByUserId(@Param("userId") Long userId);
+
     /**
      * Null out the booking reference on notifications that pointed at a booking
      * belonging to this facility. Preserves the notification text / history —
@@ -15,14 +15,15 @@ import java.util.List;
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
 
-    List<Review> findByFacility(Facility facility);
-
     List<Review> findByFacilityOrderByCreatedAtDesc(Facility facility);
 
     List<Review> findByUserOrderByCreatedAtDesc(User user);
 
     boolean existsByBooking(Booking booking);
 
+    @Query("SELECT DISTINCT r.facility.id FROM Review r WHERE r.user.id = :userId")
+    List<Long> findFacilityIdsByUserId(@Param("userId") Long userId);
+
     @Modifying
     @Query("DELETE FROM Review r WHERE r.facility.id = :facilityId")
     void deleteAllByFacilityId(@Param("facilityId") Long facilityId);
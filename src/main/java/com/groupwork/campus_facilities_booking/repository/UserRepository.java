@@ -3,9 +3,14 @@ package com.groupwork.campus_facilities_booking.repository;
 import com.groupwork.campus_facilities_booking.model.Entities.Department;
 import com.groupwork.campus_facilities_booking.model.Entities.User;
 import com.groupwork.campus_facilities_booking.model.Enums.UserRole;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +23,17 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     List<User> findByDepartment(Department department);
 
+    // ── Keyset pages, newest first (see CursorPage) ──────────
+    List<User> findByIdLessThanOrderByIdDesc(Long id, Limit limit);
+
+    List<User> findByRoleAndIdLessThanOrderByIdDesc(UserRole role, Long id, Limit limit);
+
+    List<User> findByDepartmentAndIdLessThanOrderByIdDesc(Department department, Long id, Limit limit);
+
+    /** Admin user picker — name or email contains the text, alphabetical. */
+    List<User> findByNameContainingIgnoreCaseOrEmailContainingIgnoreCaseOrderByNameAsc(
+            String name, String email, Limit limit);
+
     List<User> findByIsActiveTrue();
 
     boolean existsByEmail(String email);
@@ -25,4 +41,48 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByStudentId(String studentId);
 
     boolean existsByStaffId(String staffId);
+
+    /** Just what the JWT filter needs to decide if a token is still honoured. */
+    interface AuthStateView {
+        Boolean getIsActive();
+        Integer getTokenVersion();
+    }
+
+    @Query("SELECT u.isActive AS isActive, u.tokenVersion AS tokenVersion FROM User u WHERE u.id = :id")
+    Optional<AuthStateView> findAuthStateById(@Param("id") Long id);
+
+    /** What the unread badge needs, loaded once per UnreadCounter entry. */
+    interface BadgeStateView {
+        Long getLastSeenAnnouncementId();
+        LocalDateTime getCreatedAt();
+        Long getUnread();
+    }
+
+    @Query("""
+            SELECT u.lastSeenAnnouncementId AS lastSeenAnnouncementId,
+                   u.createdAt              AS createdAt,
+                   (SELECT COUNT(n) FROM Notification n
+                     WHERE n.user = u AND n.isRead = false) AS unread
+              FROM User u
+             WHERE u.id = :id
+            """)
+    Optional<BadgeStateView> findBadgeStateById(@Param("id") Long id);
+
+    interface RoleCountView {
+        UserRole getRole();
+        Long getCount();
+    }
+
+    @Query("SELECT u.role AS role, COUNT(u) AS count FROM User u GROUP BY u.role")
+    List<RoleCountView> countPerRole();
+
+    /** Move the announcement read watermark forward only — never back. */
+    @Modifying
+    @Query("""
+            UPDATE User u SET u.lastSeenAnnouncementId = :announcementId
+             WHERE u.id = :userId
+               AND (u.lastSeenAnnouncementId IS NULL OR u.lastSeenAnnouncementId < :announcementId)
+            """)
+    int advanceAnnouncementWatermark(@Param("userId") Long userId,
+                                     @Param("announcementId") Long announcementId);
 }
@@ -4,6 +4,8 @@ import com.groupwork.campus_facilities_booking.model.Entities.Facility;
 import com.groupwork.campus_facilities_booking.model.Entities.User;
 import com.groupwork.campus_facilities_booking.model.Entities.WaitlistEntry;
 import com.groupwork.campus_facilities_booking.model.Enums.WaitlistStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -12,30 +14,98 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface WaitlistRepository extends JpaRepository<WaitlistEntry, Long> {
 
+        @EntityGraph(attributePaths = { "facility", "facility.facilityType", "user" })
         List<WaitlistEntry> findByUserAndStatus(User user, WaitlistStatus status);
 
-        List<WaitlistEntry> findByFacilityAndStatusOrderByPositionAsc(
-                        Facility facility, WaitlistStatus status);
-
-        // Used by BookingService to promote waitlist after a cancellation
-        List<WaitlistEntry> findByFacilityAndDateAndStartTimeAndStatusOrderByPositionAsc(
-                        Facility facility, LocalDate date, LocalTime startTime, WaitlistStatus status);
+        /** Keyset page, newest first: ids below the cursor. See CursorPage. */
+        List<WaitlistEntry> findByIdLessThanOrderByIdDesc(Long id, Limit limit);
 
-        // Used by WaitlistService to shift queue positions
-        List<WaitlistEntry> findByFacilityAndDateAndStartTimeAndStatusAndPositionGreaterThan(
-                        Facility facility, LocalDate date, LocalTime startTime,
-                        WaitlistStatus status, Integer position);
+        List<WaitlistEntry> findByFacilityAndStatusOrderByDateAscStartTimeAscIdAsc(
+                        Facility facility, WaitlistStatus status);
 
         boolean existsByFacilityAndUserAndDateAndStartTime(
                         Facility facility, User user, LocalDate date, LocalTime startTime);
 
-        int countByFacilityAndDateAndStartTimeAndStatus(
-                        Facility facility, LocalDate date, LocalTime startTime, WaitlistStatus status);
+        /**
+         * Queue positions of the given entries, counted at read time: the
+         * WAITING entries of each slot numbered in id order. Entries that are
+         * not WAITING are left out.
+         */
+        @Query(value = """
+                            SELECT q.id AS id, q.position AS position
+                            FROM (SELECT w.id,
+                                         ROW_NUMBER() OVER (PARTITION BY w.facility_id, w.date, w.start_time
+                                                            ORDER BY w.id) AS position
+                                    FROM waitlist w
+                                   WHERE w.status = 'WAITING'
+                                     AND (w.facility_id, w.date, w.start_time) IN (
+                                         SELECT s.facility_id, s.date, s.start_time
+                                           FROM waitlist s
+                                          WHERE s.id IN (:ids))) q
+                            WHERE q.id IN (:ids)
+                        """, nativeQuery = true)
+        List<PositionView> findQueuePositions(@Param("ids") Collection<Long> ids);
+
+        interface PositionView {
+                Long getId();
+
+                Long getPosition();
+        }
+
+        /**
+         * WAITING entries of one facility whose window overlaps [from, to) on
+         * any day in [firstDay, lastDay], oldest first per day. Only these can
+         * fit into the freed time; served by idx_waitlist_slot_queue.
+         */
+        @Query("""
+                            SELECT w.id AS id, w.date AS date, w.startTime AS startTime, w.endTime AS endTime
+                            FROM WaitlistEntry w
+                            WHERE w.facility.id = :facilityId
+                              AND w.date BETWEEN :firstDay AND :lastDay
+                              AND w.status     = :status
+                              AND w.startTime  < :to
+                              AND w.endTime    > :from
+                            ORDER BY w.date, w.id
+                        """)
+        List<WindowView> findWaitingOverlapping(
+                        @Param("facilityId") Long facilityId,
+                        @Param("firstDay") LocalDate firstDay,
+                        @Param("lastDay") LocalDate lastDay,
+                        @Param("from") LocalTime from,
+                        @Param("to") LocalTime to,
+                        @Param("status") WaitlistStatus status);
+
+        interface WindowView {
+                Long getId();
+
+                LocalDate getDate();
+
+                LocalTime getStartTime();
+
+                LocalTime getEndTime();
+        }
+
+        /**
+         * Mark the given entries PROMOTED, skipping any another transaction has
+         * locked or already moved on. Returns the ids actually claimed — only
+         * those get a booking, so no entry is ever promoted twice.
+         */
+        @Query(value = """
+                            UPDATE waitlist
+                               SET status = 'PROMOTED'
+                             WHERE id IN (SELECT q.id FROM waitlist q
+                                           WHERE q.id IN (:ids)
+                                             AND q.status = 'WAITING'
+                                           FOR UPDATE SKIP LOCKED)
+                            RETURNING id
+                        """, nativeQuery = true)
+        List<Long> claimWaiting(@Param("ids") Collection<Long> ids);
 
         @Modifying
         @Query("DELETE FROM WaitlistEntry we WHERE we.facility.id = :facilityId")
@@ -0,0 +1,27 @@
+package com.groupwork.campus_facilities_booking.security;
+
+import com.groupwork.campus_facilities_booking.model.Enums.UserRole;
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+/**
+ * The principal set by JwtAuthenticationFilter, built from the token's
+ * claims alone (no User entity is loaded).
+ *
+ * getName() is the email, so Authentication.getName() keeps returning
+ * what it did when the principal was the User itself.
+ */
+public record AuthenticatedUser(Long id, String email, UserRole role) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    public List<GrantedAuthority> authorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+}
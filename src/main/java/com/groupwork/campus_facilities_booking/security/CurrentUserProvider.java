@@ -0,0 +1,73 @@
+package com.groupwork.campus_facilities_booking.security;
+
+import com.groupwork.campus_facilities_booking.model.Entities.User;
+import com.groupwork.campus_facilities_booking.model.Enums.UserRole;
+import com.groupwork.campus_facilities_booking.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * The authenticated user, for services.
+ *
+ * Pick the cheapest form that does the job:
+ *   principal() / id() / role() — straight from the JWT claims, no query
+ *   reference()                 — an unloaded proxy, enough for
+ *                                 "WHERE user = ?" or setting a foreign key
+ *   load()                      — the full entity, looked up by primary key
+ *                                 once per request and then reused
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrentUserProvider {
+
+    private static final String REQUEST_ATTRIBUTE = CurrentUserProvider.class.getName() + ".user";
+
+    private final UserRepository userRepository;
+
+    public AuthenticatedUser principal() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof AuthenticatedUser user) {
+            return user;
+        }
+        // Authenticated with the User entity as principal (e.g. straight after login) —
+        // its fields are already loaded, no query
+        if (auth != null && auth.getPrincipal() instanceof User user) {
+            return new AuthenticatedUser(user.getId(), user.getEmail(), user.getRole());
+        }
+        throw new RuntimeException("Authenticated user not found.");
+    }
+
+    public Long id() {
+        return principal().id();
+    }
+
+    public UserRole role() {
+        return principal().role();
+    }
+
+    public boolean isAdmin() {
+        return role() == UserRole.ADMIN;
+    }
+
+    public User reference() {
+        return userRepository.getReferenceById(id());
+    }
+
+    public User load() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null
+                && request.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof User cached) {
+            return cached;
+        }
+        User user = userRepository.findById(id())
+                .orElseThrow(() -> new RuntimeException("Authenticated user not found."));
+        if (request != null) {
+            request.setAttribute(REQUEST_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return user;
+    }
+}
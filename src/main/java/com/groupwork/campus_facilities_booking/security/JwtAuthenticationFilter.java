@@ -1,6 +1,7 @@
 package com.groupwork.campus_facilities_booking.security;
 
-import com.groupwork.campus_facilities_booking.service.UserService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,8 +10,6 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -22,13 +21,25 @@ import java.util.logging.Logger;
  * Runs once per request.
  * Reads the "Authorization: Bearer <token>" header, validates the JWT,
  * and if valid, sets the authenticated user in the SecurityContext.
+ *
+ * Claims-only: the token is parsed once and the principal (id, email,
+ * role) comes straight from its claims — no user lookup. Revocation is
+ * handled by TokenVersionCache (inactive users and stale "ver" claims are
+ * refused), which is normally answered from memory.
+ *
+ * The notification stream is opened with EventSource, which can't send
+ * headers, so that route (and only that route) may pass the token as
+ * ?access_token=. The availability streams are public and need none.
  */
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtService  jwtService;
-    private final UserService userService;
+    /** The one route that may carry the token in the query string. */
+    public static final String NOTIFICATION_STREAM = "/notifications/stream";
+
+    private final JwtService        jwtService;
+    private final TokenVersionCache tokenVersionCache;
     private static final Logger logger = Logger.getLogger(JwtAuthenticationFilter.class.getName());
 
     @Override
@@ -38,46 +49,46 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull FilterChain         filterChain
     ) throws ServletException, IOException {
 
-        try {
-            final String authHeader = request.getHeader("Authorization");
+        final String jwt = resolveToken(request);
 
-            // No token — skip and let Spring Security handle it (public routes will pass)
-            if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-                filterChain.doFilter(request, response);
-                return;
-            }
-
-            final String jwt   = authHeader.substring(7);
-            final String email = jwtService.extractUsername(jwt);
+        // No token — skip and let Spring Security handle it (public routes will pass).
+        // Only authenticate if not already authenticated.
+        if (jwt != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            authenticate(jwt, request);
+        }
 
-            logger.info("Processing JWT for user: " + email);
+        filterChain.doFilter(request, response);
+    }
 
-            // Only authenticate if not already authenticated
-            if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                try {
-                    UserDetails userDetails = userService.loadUserByUsername(email);
+    private void authenticate(String jwt, HttpServletRequest request) {
+        try {
+            Claims            claims    = jwtService.parse(jwt);
+            AuthenticatedUser principal = jwtService.toPrincipal(claims);
 
-                    if (jwtService.isTokenValid(jwt, userDetails)) {
-                        UsernamePasswordAuthenticationToken authToken =
-                            new UsernamePasswordAuthenticationToken(
-                                userDetails, null, userDetails.getAuthorities());
-                        authToken.setDetails(
-                            new WebAuthenticationDetailsSource().buildDetails(request));
-                        SecurityContextHolder.getContext().setAuthentication(authToken);
-                        logger.info("User authenticated: " + email);
-                    } else {
-                        logger.warning("JWT validation failed for user: " + email);
-                    }
-                } catch (UsernameNotFoundException e) {
-                    logger.warning("User not found in database: " + email);
-                }
+            if (!tokenVersionCache.isCurrent(principal.id(), jwtService.versionOf(claims))) {
+                logger.fine("JWT no longer honoured for user: " + principal.email());
+                return;
             }
 
-            filterChain.doFilter(request, response);
-        } catch (Exception e) {
-            logger.severe("Error in JwtAuthenticationFilter: " + e.getMessage());
-            e.printStackTrace();
-            filterChain.doFilter(request, response);
+            UsernamePasswordAuthenticationToken authToken =
+                new UsernamePasswordAuthenticationToken(principal, null, principal.authorities());
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authToken);
+            logger.fine("User authenticated: " + principal.email());
+        } catch (JwtException | IllegalArgumentException e) {
+            // Bad signature, expired, malformed, missing claims or unknown role — stay anonymous
+            logger.fine("JWT rejected: " + e.getMessage());
+        }
+    }
+
+    private static String resolveToken(HttpServletRequest request) {
+        final String authHeader = request.getHeader("Authorization");
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            return authHeader.substring(7);
+        }
+        if (NOTIFICATION_STREAM.equals(request.getServletPath())) {
+            return request.getParameter("access_token");
         }
+        return null;
     }
 }
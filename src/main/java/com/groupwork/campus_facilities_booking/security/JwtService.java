@@ -1,15 +1,19 @@
 package com.groupwork.campus_facilities_booking.security;
 
 import com.groupwork.campus_facilities_booking.model.Entities.User;
+import com.groupwork.campus_facilities_booking.model.Enums.UserRole;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
@@ -25,12 +29,23 @@ public class JwtService {
     @Value("${app.jwt.expiration-ms}")
     private long expirationMs;
 
+    // Derived once — both are immutable and thread-safe
+    private Key       signingKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        parser     = Jwts.parserBuilder().setSigningKey(signingKey).build();
+    }
+
     // ── Generate token for a user ─────────────────────────────
     public String generateToken(User user) {
         Map<String, Object> extraClaims = new HashMap<>();
         extraClaims.put("role",  user.getRole().name());
         extraClaims.put("name",  user.getName());
         extraClaims.put("id",    user.getId());
+        extraClaims.put("ver",   user.getTokenVersion() != null ? user.getTokenVersion() : 0);
         return buildToken(extraClaims, user);
     }
 
@@ -40,46 +55,43 @@ public class JwtService {
             .setSubject(userDetails.getUsername())          // email
             .setIssuedAt(new Date(System.currentTimeMillis()))
             .setExpiration(new Date(System.currentTimeMillis() + expirationMs))
-            .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+            .signWith(signingKey, SignatureAlgorithm.HS256)
             .compact();
     }
 
-    // ── Validate token ────────────────────────────────────────
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
+    // ── Parse + verify (signature and expiry) — once per request ─
+    // Throws JwtException / IllegalArgumentException for anything invalid.
+    public Claims parse(String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
 
-    // ── Extract claims ────────────────────────────────────────
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    /**
+     * The principal named by the token. Every claim the filter relies on
+     * (sub, id, role, ver) must be present — a token missing one is
+     * rejected as malformed rather than half-trusted.
+     */
+    public AuthenticatedUser toPrincipal(Claims claims) {
+        String subject = claims.getSubject();
+        Number id      = claims.get("id", Number.class);
+        String role    = claims.get("role", String.class);
+        if (subject == null || subject.isBlank() || id == null || role == null
+                || claims.get("ver", Number.class) == null) {
+            throw new MalformedJwtException("Token is missing a required claim (sub, id, role or ver).");
+        }
+        return new AuthenticatedUser(id.longValue(), subject, UserRole.valueOf(role));
     }
 
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    /** The token's "ver" claim — required, see {@link #toPrincipal}. */
+    public int versionOf(Claims claims) {
+        return claims.get("ver", Number.class).intValue();
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-            .setSigningKey(getSigningKey())
-            .build()
-            .parseClaimsJws(token)
-            .getBody();
+    // ── Extract claims ────────────────────────────────────────
+    public String extractUsername(String token) {
+        return extractClaim(token, Claims::getSubject);
     }
 
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(
-            java.util.Base64.getEncoder().encodeToString(secretKey.getBytes())
-        );
-        return Keys.hmacShaKeyFor(keyBytes);
+    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
+        return claimsResolver.apply(parse(token));
     }
 }
@@ -0,0 +1,53 @@
+package com.groupwork.campus_facilities_booking.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.groupwork.campus_facilities_booking.repository.UserRepository;
+import com.groupwork.campus_facilities_booking.service.AfterCommit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Decides whether a signature-valid JWT is still honoured: the user must
+ * exist, be active, and the token's "ver" claim must match
+ * users.token_version.
+ *
+ * The answer is cached per user for a short TTL, so authenticated
+ * requests normally cost no query at all. Changes made through
+ * UserService (role change, deactivation, deletion) invalidate the entry
+ * after commit, so they take effect on this node at once; the TTL covers
+ * anything changed behind the app's back.
+ */
+@Component
+public class TokenVersionCache {
+
+    private record State(boolean active, int tokenVersion) {
+        static final State MISSING = new State(false, -1);
+    }
+
+    private final UserRepository     userRepository;
+    private final Cache<Long, State> states;
+
+    public TokenVersionCache(UserRepository userRepository,
+                             @Value("${app.jwt.user-state-ttl-seconds:30}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.states = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        State state = states.get(userId, id -> userRepository.findAuthStateById(id)
+                .map(s -> new State(Boolean.TRUE.equals(s.getIsActive()),
+                        s.getTokenVersion() != null ? s.getTokenVersion() : 0))
+                .orElse(State.MISSING));
+        return state.active() && state.tokenVersion() == tokenVersion;
+    }
+
+    public void invalidateAfterCommit(Long userId) {
+        AfterCommit.run(() -> states.invalidate(userId));
+    }
+}
@@ -0,0 +1,33 @@
+package com.groupwork.campus_facilities_booking.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Runs an action once the current transaction has committed, or straight
+ * away when there is none. Nothing runs on rollback.
+ *
+ * In-memory state (booking index, deadline timers, unread counts, ETag
+ * versions, token states) and pushes to clients go through here, so they
+ * never show a change that didn't commit. The action still runs on the
+ * committing thread, before afterCompletion — BookingSlotLocks has not
+ * released its stripes yet.
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    public static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
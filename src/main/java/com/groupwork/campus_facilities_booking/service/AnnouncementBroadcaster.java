@@ -0,0 +1,44 @@
+package com.groupwork.campus_facilities_booking.service;
+
+import com.groupwork.campus_facilities_booking.dto.NotificationFeedItem;
+import com.groupwork.campus_facilities_booking.model.Entities.Announcement;
+import com.groupwork.campus_facilities_booking.repository.AnnouncementRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Campus-wide announcements.
+ *
+ * A broadcast used to fan out one notification row per active user (first
+ * in one transaction, then as a chunked INSERT ... SELECT job). It is now a
+ * single row in announcements: every user's feed merges announcements in at
+ * read time (NotificationService), so the cost of a broadcast no longer
+ * grows with the number of users and there is no job to track.
+ *
+ * Once the row commits, the announcement is counted into UnreadCounter and
+ * pushed to every open notification stream (LiveUpdateHub).
+ */
+@Service
+@RequiredArgsConstructor
+public class AnnouncementBroadcaster {
+
+    private final AnnouncementRepository announcementRepository;
+    private final UnreadCounter          unreadCounter;
+    private final LiveUpdateHub          liveUpdateHub;
+
+    // ── Broadcast — one row, whatever the number of users ─────
+    @Transactional
+    public Announcement broadcast(String title, String message) {
+        if (title == null || title.isBlank() || message == null || message.isBlank()) {
+            throw new RuntimeException("Announcement title and message are required.");
+        }
+        Announcement announcement = announcementRepository.save(Announcement.builder()
+            .title(title)
+            .message(message)
+            .build());
+        unreadCounter.announcementPublishedAfterCommit(announcement);
+        AfterCommit.run(() -> liveUpdateHub.pushToAllUsers(NotificationFeedItem.of(announcement, false)));
+        return announcement;
+    }
+}
@@ -6,10 +6,10 @@ import com.groupwork.campus_facilities_booking.model.Enums.UserRole;
 import com.groupwork.campus_facilities_booking.repository.DepartmentRepository;
 import com.groupwork.campus_facilities_booking.repository.UserRepository;
 import com.groupwork.campus_facilities_booking.security.JwtService;
+import com.groupwork.campus_facilities_booking.security.CurrentUserProvider;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,6 +25,7 @@ public class AuthService {
     private final PasswordEncoder       passwordEncoder;
     private final JwtService            jwtService;
     private final AuthenticationManager authenticationManager;
+    private final CurrentUserProvider   currentUserProvider;
 
     // ── Register new user ─────────────────────────────────────
     @Transactional
@@ -91,10 +92,7 @@ public class AuthService {
 
     // ── Get currently authenticated user ─────────────────────
     public User getCurrentUser() {
-        String email = SecurityContextHolder.getContext()
-            .getAuthentication().getName();
-        return userRepository.findByEmail(email)
-            .orElseThrow(() -> new RuntimeException("Authenticated user not found."));
+        return currentUserProvider.load();
     }
 
     // ── Change password ───────────────────────────────────────
@@ -0,0 +1,155 @@
+package com.groupwork.campus_facilities_booking.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.groupwork.campus_facilities_booking.model.Entities.Facility;
+import com.groupwork.campus_facilities_booking.repository.BookingRepository;
+import com.groupwork.campus_facilities_booking.repository.FacilityRepository;
+import com.groupwork.campus_facilities_booking.repository.MaintenanceRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Facility × day × slot availability grid in one request.
+ *
+ * The calendar used to call /facilities/{id}/availability once per facility
+ * per day. This runs one query for bookings and one for maintenance across
+ * the whole range, then streams the grid facility by facility so large
+ * ranges never sit fully in memory as JSON.
+ */
+@Service
+@RequiredArgsConstructor
+public class AvailabilityMatrixService {
+
+    public static final int MAX_FACILITIES = 100;
+    public static final int MAX_DAYS       = 92;
+
+    private final FacilityRepository    facilityRepository;
+    private final BookingRepository     bookingRepository;
+    private final MaintenanceRepository maintenanceRepository;
+    private final ObjectMapper          objectMapper;
+
+    @Value("${app.availability.slot-minutes:30}")
+    private int slotMinutes;
+
+    /** How each facility-day's busy slots are written. */
+    public enum Encoding {
+        /** "busy": hex string of the slot bitmask (see SlotMask.toHex). */
+        BITS,
+        /** "runs": alternating free/busy run lengths (see SlotMask.toRunLengths). */
+        RLE
+    }
+
+    public StreamingResponseBody buildMatrix(List<Long> facilityIds, LocalDate from, LocalDate to,
+                                             Encoding encoding) {
+        if (facilityIds == null || facilityIds.isEmpty()) {
+            throw new RuntimeException("At least one facilityId is required.");
+        }
+        if (facilityIds.size() > MAX_FACILITIES) {
+            throw new RuntimeException("At most " + MAX_FACILITIES + " facilities per request.");
+        }
+        if (to.isBefore(from)) {
+            throw new RuntimeException("'to' must be on or after 'from'.");
+        }
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days > MAX_DAYS) {
+            throw new RuntimeException("Date range cannot exceed " + MAX_DAYS + " days.");
+        }
+
+        Set<Long> ids = new LinkedHashSet<>(facilityIds);
+        Map<Long, Facility> facilities = new HashMap<>();
+        facilityRepository.findAllById(ids).forEach(f -> facilities.put(f.getId(), f));
+
+        // One set-based query each for bookings and maintenance
+        Map<Long, Map<LocalDate, List<BookingRepository.SlotView>>> bookingsByFacilityDay = new HashMap<>();
+        for (BookingRepository.SlotView s : bookingRepository.findSlotsInRange(
+                ids, from, to, BookingIntervalIndex.BLOCKING_STATUSES)) {
+            bookingsByFacilityDay
+                    .computeIfAbsent(s.getFacilityId(), k -> new HashMap<>())
+                    .computeIfAbsent(s.getDate(), k -> new ArrayList<>())
+                    .add(s);
+        }
+        Map<Long, List<MaintenanceRepository.RangeView>> maintenanceByFacility = new HashMap<>();
+        for (MaintenanceRepository.RangeView m : maintenanceRepository.findRangesOverlapping(ids, from, to)) {
+            maintenanceByFacility.computeIfAbsent(m.getFacilityId(), k -> new ArrayList<>()).add(m);
+        }
+
+        return out -> {
+            try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+                gen.writeStartObject();
+                gen.writeStringField("from", from.toString());
+                gen.writeStringField("to", to.toString());
+                gen.writeNumberField("slotMinutes", slotMinutes);
+                gen.writeStringField("encoding", encoding.name().toLowerCase());
+                gen.writeArrayFieldStart("facilities");
+
+                for (Long id : ids) {
+                    Facility facility = facilities.get(id);
+                    if (facility == null) {
+                        continue;           // unknown id — skip rather than fail the whole grid
+                    }
+                    writeFacility(gen, facility, from, to, encoding,
+                            bookingsByFacilityDay.getOrDefault(id, Map.of()),
+                            maintenanceByFacility.getOrDefault(id, List.of()));
+                    gen.flush();
+                }
+
+                gen.writeEndArray();
+                gen.writeEndObject();
+            }
+        };
+    }
+
+    private void writeFacility(JsonGenerator gen, Facility facility, LocalDate from, LocalDate to,
+                               Encoding encoding,
+                               Map<LocalDate, List<BookingRepository.SlotView>> bookingsByDay,
+                               List<MaintenanceRepository.RangeView> maintenance) throws java.io.IOException {
+        gen.writeStartObject();
+        gen.writeNumberField("facilityId", facility.getId());
+        gen.writeStringField("facilityName", facility.getName());
+        gen.writeStringField("openingTime", facility.getOpeningTime().toString());
+        gen.writeStringField("closingTime", facility.getClosingTime().toString());
+        gen.writeArrayFieldStart("days");
+
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            SlotMask mask = new SlotMask(facility.getOpeningTime(), facility.getClosingTime(), slotMinutes);
+            if (isUnderMaintenance(maintenance, date)) {
+                mask.markAllBusy();
+            } else {
+                for (BookingRepository.SlotView b : bookingsByDay.getOrDefault(date, List.of())) {
+                    mask.markBusy(b.getStartTime(), b.getEndTime());
+                }
+            }
+
+            gen.writeStartObject();
+            gen.writeStringField("date", date.toString());
+            gen.writeNumberField("slotCount", mask.slotCount());
+            if (encoding == Encoding.RLE) {
+                int[] runs = mask.toRunLengths();
+                gen.writeFieldName("runs");
+                gen.writeArray(runs, 0, runs.length);
+            } else {
+                gen.writeStringField("busy", mask.toHex());
+            }
+            gen.writeEndObject();
+        }
+
+        gen.writeEndArray();
+        gen.writeEndObject();
+    }
+
+    private static boolean isUnderMaintenance(List<MaintenanceRepository.RangeView> windows, LocalDate date) {
+        for (MaintenanceRepository.RangeView m : windows) {
+            if (!date.isBefore(m.getStartDate()) && !date.isAfter(m.getEndDate())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,5 +1,6 @@
 package com.groupwork.campus_facilities_booking.service;
 
+import com.groupwork.campus_facilities_booking.dto.CursorPage;
 import com.groupwork.campus_facilities_booking.model.Entities.Booking;
 import com.groupwork.campus_facilities_booking.model.Entities.BookingApproval;
 import com.groupwork.campus_facilities_booking.model.Entities.User;
@@ -8,9 +9,9 @@ import com.groupwork.campus_facilities_booking.model.Enums.BookingStatus;
 import com.groupwork.campus_facilities_booking.model.Enums.NotificationType;
 import com.groupwork.campus_facilities_booking.repository.BookingApprovalRepository;
 import com.groupwork.campus_facilities_booking.repository.BookingRepository;
-import com.groupwork.campus_facilities_booking.repository.UserRepository;
+import com.groupwork.campus_facilities_booking.security.CurrentUserProvider;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,12 +23,17 @@ public class BookingApprovalService {
 
     private final BookingApprovalRepository approvalRepository;
     private final BookingRepository         bookingRepository;
-    private final UserRepository            userRepository;
     private final NotificationService       notificationService;
+    private final BookingIntervalIndex      bookingIntervalIndex;
+    private final BookingDeadlineQueue      bookingDeadlineQueue;
+    private final CurrentUserProvider       currentUserProvider;
 
     // ── Get all approval records ──────────────────────────────
-    public List<BookingApproval> getAllApprovals() {
-        return approvalRepository.findAll();
+    public CursorPage<BookingApproval> getAllApprovals(String cursor, Integer limit) {
+        Limit fetch = CursorPage.fetchLimit(limit);
+        return CursorPage.of(
+            approvalRepository.findByIdLessThanOrderByIdDesc(CursorPage.decode(cursor), fetch),
+            fetch, BookingApproval::getId);
     }
 
     // ── Get all PENDING bookings ──────────────────────────────
@@ -52,11 +58,13 @@ public class BookingApprovalService {
             throw new RuntimeException("Only PENDING bookings can be approved. Current status: " + booking.getStatus());
         }
 
-        User admin = getCurrentUser();
+        User admin = currentUserProvider.load();
 
         // Update booking status
         booking.setStatus(BookingStatus.CONFIRMED);
         bookingRepository.save(booking);
+        bookingIntervalIndex.record(booking);
+        bookingDeadlineQueue.schedule(booking);
 
         // Record the approval decision
         BookingApproval approval = BookingApproval.builder()
@@ -91,7 +99,7 @@ public class BookingApprovalService {
             throw new RuntimeException("Only PENDING bookings can be rejected. Current status: " + booking.getStatus());
         }
 
-        User admin = getCurrentUser();
+        User admin = currentUserProvider.load();
 
         // Update booking status
         booking.setStatus(BookingStatus.REJECTED);
@@ -118,12 +126,4 @@ public class BookingApprovalService {
 
         return saved;
     }
-
-    // ── Helper ────────────────────────────────────────────────
-    private User getCurrentUser() {
-        String email = SecurityContextHolder.getContext()
-            .getAuthentication().getName();
-        return userRepository.findByEmail(email)
-            .orElseThrow(() -> new RuntimeException("Authenticated user not found."));
-    }
 }
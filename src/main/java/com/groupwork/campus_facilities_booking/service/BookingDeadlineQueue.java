@@ -0,0 +1,140 @@
+package com.groupwork.campus_facilities_booking.service;
+
+import com.groupwork.campus_facilities_booking.model.Entities.Booking;
+import com.groupwork.campus_facilities_booking.repository.BookingRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory timer for the reminder / expiry instants of open bookings
+ * ending within the next few hours.
+ *
+ * Every open booking gets two deadlines: a reminder 5 minutes before its
+ * end and the expiry at its end. BookingExpiryScheduler takes them off the
+ * queue the moment they fall due, instead of polling the bookings table.
+ *
+ * Entries are never removed from the DelayQueue itself. Each booking's
+ * current end instant is kept in {@code current}; a deadline whose end no
+ * longer matches (extended, moved, cancelled) is simply dropped when it
+ * fires. The database update behind each deadline is conditional, so a
+ * late or duplicate firing is harmless.
+ */
+@Component
+public class BookingDeadlineQueue {
+
+    public static final Duration REMINDER_LEAD = Duration.ofMinutes(5);
+    private static final Duration RETRY_DELAY  = Duration.ofSeconds(30);
+
+    public enum Kind { REMIND, EXPIRE }
+
+    private final DelayQueue<Deadline> queue   = new DelayQueue<>();
+    private final Map<Long, Long>      current = new ConcurrentHashMap<>();   // bookingId → end (epoch ms)
+
+    @Value("${app.booking-deadlines.horizon-hours:6}")
+    private long horizonHours;
+
+    // ── Loading ───────────────────────────────────────────────
+    /** Horizon end: deadlines later than this are left for the next reload. */
+    public LocalDateTime horizon() {
+        return LocalDateTime.now().plusHours(horizonHours);
+    }
+
+    /** (Re)load the open bookings ending inside the horizon. Idempotent. */
+    public void load(List<BookingRepository.DeadlineView> upcoming) {
+        for (BookingRepository.DeadlineView b : upcoming) {
+            put(b.getId(), toEpochMillis(b.getEndAt()), Boolean.TRUE.equals(b.getReminderSent()));
+        }
+    }
+
+    // ── Incremental updates (applied after commit) ────────────
+    /**
+     * Reflect a booking's current state: scheduled if it is open and ends
+     * inside the horizon, forgotten otherwise.
+     */
+    public void schedule(Booking booking) {
+        if (booking.getId() == null) {
+            return;
+        }
+        Long    bookingId = booking.getId();
+        boolean open      = BookingIntervalIndex.BLOCKING_STATUSES.contains(booking.getStatus());
+        LocalDateTime end = LocalDateTime.of(booking.getDate(), booking.getEndTime());
+        boolean reminded  = Boolean.TRUE.equals(booking.getReminderSent());
+
+        AfterCommit.run(() -> {
+            if (open && !end.isAfter(horizon())) {
+                put(bookingId, toEpochMillis(end), reminded);
+            } else {
+                current.remove(bookingId);
+            }
+        });
+    }
+
+    // ── Consumer side ─────────────────────────────────────────
+    /** Block until the next deadline is due. */
+    public Deadline take() throws InterruptedException {
+        return queue.take();
+    }
+
+    /** False if the booking was changed or closed after this deadline was queued. */
+    public boolean isCurrent(Deadline d) {
+        Long end = current.get(d.bookingId());
+        return end != null && end == d.endMillis();
+    }
+
+    /** Called once a booking's expiry has fired. */
+    public void done(Deadline d) {
+        if (d.kind() == Kind.EXPIRE) {
+            current.remove(d.bookingId(), d.endMillis());
+        }
+    }
+
+    /** Try again shortly (DB hiccup); the conditional update makes a repeat safe. */
+    public void retryLater(Deadline d) {
+        queue.add(new Deadline(d.bookingId(), d.kind(),
+                System.currentTimeMillis() + RETRY_DELAY.toMillis(), d.endMillis()));
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    // ── Internals ─────────────────────────────────────────────
+    private void put(Long bookingId, long endMillis, boolean reminded) {
+        Long previous = current.put(bookingId, endMillis);
+        if (previous != null && previous == endMillis) {
+            return;                 // already queued for this end time
+        }
+        if (!reminded) {
+            queue.add(new Deadline(bookingId, Kind.REMIND, endMillis - REMINDER_LEAD.toMillis(), endMillis));
+        }
+        queue.add(new Deadline(bookingId, Kind.EXPIRE, endMillis, endMillis));
+    }
+
+    private static long toEpochMillis(LocalDateTime t) {
+        return t.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /** One reminder or expiry instant for one booking. */
+    public record Deadline(Long bookingId, Kind kind, long dueMillis, long endMillis) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(dueMillis, ((Deadline) other).dueMillis);
+        }
+    }
+}
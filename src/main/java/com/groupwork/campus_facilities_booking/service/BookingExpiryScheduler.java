@@ -1,50 +1,102 @@
 package com.groupwork.campus_facilities_booking.service;
 
+import com.groupwork.campus_facilities_booking.repository.BookingRepository;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
 /**
- * Scheduled tasks for booking session management.
- * Runs periodically to:
+ * Scheduled tasks for booking session management:
  *  1. Auto-mark expired bookings
  *  2. Send 5-minute expiry reminders
+ *
+ * Both fire from BookingDeadlineQueue at the exact due instant — a single
+ * dispatcher thread blocks on the queue, so nothing polls the database.
+ *
+ * A reconciliation pass (default every 10 min) covers crashes, restarts and
+ * bookings changed outside the app: it runs the set-based sweeps for
+ * anything overdue, then reloads the queue for the next few hours.
  */
 @Service
 @RequiredArgsConstructor
 @EnableScheduling
 public class BookingExpiryScheduler {
 
-    private final BookingService bookingService;
+    private static final Logger logger = Logger.getLogger(BookingExpiryScheduler.class.getName());
 
-    /**
-     * Auto-expire bookings every minute.
-     * Marks any bookings whose end time has passed as EXPIRED.
-     */
-    @Scheduled(fixedDelay = 60000)  // Every 60 seconds
-    public void scheduleAutoExpiry() {
-        try {
-            bookingService.autoExpireBookings();
-        } catch (Exception e) {
-            // Log error but don't crash the scheduler
-            System.err.println("Error in auto-expiry task: " + e.getMessage());
-            e.printStackTrace();
+    private final BookingService       bookingService;
+    private final BookingRepository    bookingRepository;
+    private final BookingDeadlineQueue deadlineQueue;
+
+    private volatile Thread dispatcher;
+
+    // ── Start-up: load the queue, start firing ───────────────
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        reconcile();
+        dispatcher = new Thread(this::dispatchLoop, "booking-deadlines");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (dispatcher != null) {
+            dispatcher.interrupt();
         }
     }
 
     /**
-     * Send expiry reminders every 30 seconds.
-     * Notifies users 5 minutes before their booking expires.
+     * Reconciliation pass — catches anything the timer missed, then
+     * re-reads upcoming deadlines. Must run more often than the horizon.
      */
-    @Scheduled(fixedDelay = 30000)  // Every 30 seconds
-    public void scheduleExpiryReminders() {
+    @Scheduled(fixedDelayString = "${app.booking-deadlines.reconcile-ms:600000}",
+               initialDelayString = "${app.booking-deadlines.reconcile-ms:600000}")
+    public void reconcile() {
         try {
+            bookingService.autoExpireBookings();
             bookingService.sendExpiryReminders();
+            deadlineQueue.load(bookingRepository.findOpenEndingBetween(
+                    LocalDateTime.now(), deadlineQueue.horizon(), BookingIntervalIndex.BLOCKING_STATUSES));
         } catch (Exception e) {
             // Log error but don't crash the scheduler
-            System.err.println("Error in expiry reminder task: " + e.getMessage());
-            e.printStackTrace();
+            logger.log(Level.WARNING, "Booking deadline reconciliation failed", e);
+        }
+    }
+
+    // ── Dispatcher ────────────────────────────────────────────
+    private void dispatchLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            BookingDeadlineQueue.Deadline due;
+            try {
+                due = deadlineQueue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (!deadlineQueue.isCurrent(due)) {
+                continue;               // booking was extended, moved or closed since
+            }
+            try {
+                if (due.kind() == BookingDeadlineQueue.Kind.REMIND) {
+                    bookingService.remindBooking(due.bookingId());
+                } else {
+                    bookingService.expireBooking(due.bookingId());
+                }
+                deadlineQueue.done(due);
+            } catch (Exception e) {
+                logger.log(Level.WARNING, "Deadline " + due.kind() + " failed for booking "
+                        + due.bookingId() + "; retrying in 30s", e);
+                deadlineQueue.retryLater(due);
+            }
         }
     }
 }
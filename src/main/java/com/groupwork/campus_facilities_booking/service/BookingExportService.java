@@ -0,0 +1,70 @@
+package com.groupwork.campus_facilities_booking.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.groupwork.campus_facilities_booking.dto.BookingView;
+import com.groupwork.campus_facilities_booking.model.Entities.Booking;
+import com.groupwork.campus_facilities_booking.model.Enums.BookingStatus;
+import com.groupwork.campus_facilities_booking.repository.BookingRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.stream.Stream;
+
+/**
+ * Streams bookings as newline-delimited JSON (application/x-ndjson).
+ *
+ * Rows are read through a server-side cursor (fetch size 500), facility and
+ * user joined in, and each one is written as a BookingView (streaming
+ * serializer) and then detached, so heap use stays flat however large the
+ * bookings table grows. The response body is written on the MVC async
+ * thread, which has no open-session-in-view, so the read runs in its own
+ * read-only transaction.
+ */
+@Service
+public class BookingExportService {
+
+    public static final String NDJSON = "application/x-ndjson";
+
+    private final BookingRepository   bookingRepository;
+    private final EntityManager       entityManager;
+    private final ObjectMapper        objectMapper;
+    private final TransactionTemplate readOnlyTx;
+
+    public BookingExportService(BookingRepository bookingRepository, EntityManager entityManager,
+                                ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.bookingRepository = bookingRepository;
+        this.entityManager     = entityManager;
+        this.objectMapper      = objectMapper;
+        this.readOnlyTx        = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    /** Every booking (or only those in {@code status}), oldest first. */
+    public StreamingResponseBody streamBookings(BookingStatus status) {
+        return out -> readOnlyTx.executeWithoutResult(tx -> {
+            try (Stream<Booking> rows = status == null
+                         ? bookingRepository.streamAllByOrderByIdAsc()
+                         : bookingRepository.streamByStatusOrderByIdAsc(status);
+                 SequenceWriter writer = objectMapper.writer()
+                         .withRootValueSeparator("\n")
+                         .writeValues(out)) {
+                rows.forEach(booking -> {
+                    try {
+                        writer.write(BookingView.of(booking));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    entityManager.detach(booking);
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
@@ -0,0 +1,453 @@
+package com.groupwork.campus_facilities_booking.service;
+
+import com.groupwork.campus_facilities_booking.model.Entities.Booking;
+import com.groupwork.campus_facilities_booking.model.Enums.BookingStatus;
+import com.groupwork.campus_facilities_booking.repository.BookingRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+/**
+ * In-memory index of the time windows held by CONFIRMED / ACTIVE bookings,
+ * keyed by (facility, date).
+ *
+ * createBooking asks it first, under the facility-day lock:
+ *   TAKEN       — overlaps a booking this node itself saw commit since the
+ *                 last resync. Rejected on the spot, no query.
+ *   UNCONFIRMED — overlaps only bookings loaded by a resync. The DB
+ *                 decides; if it disagrees this node missed a change (e.g.
+ *                 a cancellation on another node) and the facility-day is
+ *                 reloaded.
+ *   FREE        — nothing known. The DB still decides: it is the final
+ *                 check for every booking that gets in.
+ * A TAKEN answer can be wrong only if another node freed that slot since
+ * — and trust is dropped at each resync, so for at most
+ * app.booking-index.resync-ms.
+ *
+ * Kept in sync by BookingService (create, update, cancel, extend, expire,
+ * check-out, delete). Changes are applied only after the surrounding
+ * transaction commits, so a rolled-back booking never leaves a phantom
+ * interval behind. A periodic resync picks up anything changed behind our
+ * back (bulk deletes, manual SQL). Changes that commit while a resync is
+ * loading are applied to the live index and replayed onto the freshly
+ * loaded one before it is swapped in, so a resync never drops or revives
+ * an interval.
+ *
+ * Each committed change to a slot is also pushed to availability
+ * subscribers (LiveUpdateHub) as a BOOKED / FREED delta. Resyncs are not
+ * pushed.
+ *
+ * Both — committed changes and days a resync finds different — move the
+ * facility-day's version in ResourceVersions (availability ETags).
+ */
+@Component
+public class BookingIntervalIndex {
+
+    /** Statuses that occupy a slot and therefore block other bookings. */
+    public static final List<BookingStatus> BLOCKING_STATUSES =
+            List.of(BookingStatus.CONFIRMED, BookingStatus.ACTIVE);
+
+    private static final Logger logger = Logger.getLogger(BookingIntervalIndex.class.getName());
+
+    private final BookingRepository bookingRepository;
+    private final LiveUpdateHub     liveUpdateHub;
+    private final ResourceVersions  resourceVersions;
+    private final Counter           indexRejected;
+    private final Counter           indexUnconfirmed;
+    private final Counter           indexMisses;
+    private final Counter           indexStale;
+
+    /** What the index knows about a requested window. */
+    public enum Answer { FREE, UNCONFIRMED, TAKEN }
+
+    private volatile Snapshot current = new Snapshot();
+
+    // Mutations are applied one at a time; while a rebuild is loading they
+    // are also journalled so they can be replayed onto the new snapshot
+    private final Object         mutationLock = new Object();
+    private final Object         rebuildLock  = new Object();
+    private List<Mutation>       journal;   // guarded by mutationLock, non-null during a rebuild
+
+    public BookingIntervalIndex(BookingRepository bookingRepository,
+                                LiveUpdateHub liveUpdateHub,
+                                ResourceVersions resourceVersions,
+                                MeterRegistry meterRegistry) {
+        this.bookingRepository = bookingRepository;
+        this.liveUpdateHub     = liveUpdateHub;
+        this.resourceVersions  = resourceVersions;
+        this.indexRejected = Counter.builder("booking.conflict.index")
+                .tag("result", "rejected")
+                .description("Bookings rejected from the index alone — no DB query")
+                .register(meterRegistry);
+        this.indexUnconfirmed = Counter.builder("booking.conflict.index")
+                .tag("result", "unconfirmed")
+                .description("Overlaps known only from a resync, checked against the DB")
+                .register(meterRegistry);
+        this.indexMisses = Counter.builder("booking.conflict.index")
+                .tag("result", "miss")
+                .description("Lookups where the index saw no overlapping booking")
+                .register(meterRegistry);
+        this.indexStale = Counter.builder("booking.conflict.index")
+                .tag("result", "stale")
+                .description("Hits the DB did not confirm (facility-day reloaded)")
+                .register(meterRegistry);
+    }
+
+    // ── Warm-up / resync ──────────────────────────────────────
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+        logger.info("Booking interval index warmed with " + current.locations.size() + " bookings.");
+    }
+
+    @Scheduled(fixedDelayString = "${app.booking-index.resync-ms:300000}",
+               initialDelayString = "${app.booking-index.resync-ms:300000}")
+    public void resync() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            logger.warning("Booking interval index resync failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reload every upcoming blocking booking and swap the index in one go.
+     * Mutations that land while the query runs are replayed onto the new
+     * snapshot first (they are idempotent, so one the query already saw is
+     * harmless). Loaded intervals start untrusted; only replayed commits
+     * are trusted again.
+     */
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (mutationLock) {
+                journal = new ArrayList<>();
+            }
+            Snapshot fresh = new Snapshot();
+            try {
+                for (BookingRepository.SlotView s : bookingRepository.findUpcomingSlots(
+                        LocalDate.now(), BLOCKING_STATUSES)) {
+                    fresh.put(new FacilityDay(s.getFacilityId(), s.getDate()), toInterval(s));
+                }
+            } catch (RuntimeException e) {
+                synchronized (mutationLock) {
+                    journal = null;
+                }
+                throw e;
+            }
+
+            Snapshot previous;
+            synchronized (mutationLock) {
+                journal.forEach(m -> m.applyTo(fresh));
+                journal  = null;
+                previous = current;
+                current  = fresh;
+            }
+            versionChangedDays(previous.schedules, fresh.schedules);
+        }
+    }
+
+    // ── Lookup ────────────────────────────────────────────────
+    /**
+     * What is known about [startTime, endTime): TAKEN may be acted on
+     * without asking the DB (caller holds the facility-day lock); FREE and
+     * UNCONFIRMED must be checked — see {@link #staleHit}.
+     */
+    public Answer lookup(Long facilityId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        return lookup(facilityId, date, startTime, endTime, null);
+    }
+
+    /** As above, ignoring ignoredBookingId — the booking being edited. */
+    public Answer lookup(Long facilityId, LocalDate date, LocalTime startTime, LocalTime endTime,
+                         Long ignoredBookingId) {
+        Snapshot    index  = current;
+        DaySchedule day    = index.schedules.get(new FacilityDay(facilityId, date));
+        Answer      answer = day == null ? Answer.FREE
+                : day.lookup(startTime.toSecondOfDay(), endTime.toSecondOfDay(), index.trusted, ignoredBookingId);
+        switch (answer) {
+            case TAKEN       -> indexRejected.increment();
+            case UNCONFIRMED -> indexUnconfirmed.increment();
+            case FREE        -> indexMisses.increment();
+        }
+        return answer;
+    }
+
+    /**
+     * The index reported a conflict the DB did not confirm — this node missed
+     * a change. Reload the facility-day from the DB (the caller holds its
+     * slot lock, so nothing on this node changes it meanwhile).
+     */
+    public void staleHit(Long facilityId, LocalDate date) {
+        indexStale.increment();
+        FacilityDay    key       = new FacilityDay(facilityId, date);
+        List<Interval> intervals = new ArrayList<>();
+        for (BookingRepository.SlotView s : bookingRepository.findSlotsOnDate(facilityId, date, BLOCKING_STATUSES)) {
+            intervals.add(toInterval(s));
+        }
+        apply(index -> index.replaceDay(key, intervals));
+        resourceVersions.slotChanged(facilityId, date);
+    }
+
+    // ── Mutations (applied after commit) ──────────────────────
+    /**
+     * Reflect the booking's current state: indexed (and trusted — this node
+     * saw it commit) if it blocks its slot, removed otherwise. Handles
+     * moves between dates (updateBooking).
+     */
+    public void record(Booking booking) {
+        if (booking.getId() == null) {
+            return;
+        }
+        Long      bookingId = booking.getId();
+        boolean   blocking  = BLOCKING_STATUSES.contains(booking.getStatus());
+        FacilityDay key     = new FacilityDay(booking.getFacility().getId(), booking.getDate());
+        Interval  interval  = toInterval(booking);
+
+        AfterCommit.run(() -> {
+            Placed previous = apply(index -> {
+                Placed removed = index.remove(bookingId);
+                if (blocking) {
+                    index.put(key, interval);
+                    index.trusted.add(bookingId);
+                }
+                return removed;
+            });
+
+            boolean unchanged = blocking && previous != null
+                    && previous.key().equals(key) && previous.interval().equals(interval);
+            if (unchanged) {
+                return;
+            }
+            // Deltas carry no booking id, so a changed window is freed and re-booked
+            if (previous != null) {
+                pushFreed(previous);
+            }
+            if (blocking) {
+                pushSlot(key, interval, LiveUpdateHub.SlotDelta.Change.BOOKED);
+            }
+        });
+    }
+
+    /** Forget a booking (hard delete, expiry). */
+    public void evict(Long bookingId) {
+        AfterCommit.run(() -> {
+            Placed previous = apply(index -> index.remove(bookingId));
+            if (previous != null) {
+                pushFreed(previous);
+            }
+        });
+    }
+
+    /** Drop everything for a facility (facility deleted). */
+    public void evictFacility(Long facilityId) {
+        AfterCommit.run(() -> apply(index -> {
+            index.removeIf(k -> k.facilityId().equals(facilityId));
+            return null;
+        }));
+    }
+
+    /** Rebuild once the current transaction commits (e.g. a user's bookings were bulk-deleted). */
+    public void rebuildAfterCommit() {
+        AfterCommit.run(() -> {
+            rebuild();
+            resourceVersions.schedulesReloaded();   // past days aren't indexed, so diffing can't see them
+        });
+    }
+
+    // ── Housekeeping — past days can never conflict again ─────
+    @Scheduled(cron = "0 5 0 * * *")
+    public void pruneExpiredDays() {
+        LocalDate today = LocalDate.now();
+        apply(index -> {
+            index.removeIf(k -> k.date().isBefore(today));
+            return null;
+        });
+    }
+
+    // ── Internals ─────────────────────────────────────────────
+    /** Apply to the live snapshot, and journal it if a rebuild is loading. */
+    private Placed apply(Mutation mutation) {
+        synchronized (mutationLock) {
+            if (journal != null) {
+                journal.add(mutation);
+            }
+            return mutation.applyTo(current);
+        }
+    }
+
+    private void pushFreed(Placed previous) {
+        pushSlot(previous.key(), previous.interval(), LiveUpdateHub.SlotDelta.Change.FREED);
+    }
+
+    private void pushSlot(FacilityDay key, Interval interval, LiveUpdateHub.SlotDelta.Change change) {
+        resourceVersions.slotChanged(key.facilityId(), key.date());
+        liveUpdateHub.pushSlotChange(new LiveUpdateHub.SlotDelta(
+                key.facilityId(), key.date(), change,
+                LocalTime.ofSecondOfDay(interval.start()), LocalTime.ofSecondOfDay(interval.end())));
+    }
+
+    /** Days whose intervals differ after a rebuild were changed behind our back. */
+    private void versionChangedDays(Map<FacilityDay, DaySchedule> before, Map<FacilityDay, DaySchedule> after) {
+        Set<FacilityDay> days = new HashSet<>(before.keySet());
+        days.addAll(after.keySet());
+        for (FacilityDay day : days) {
+            DaySchedule was = before.get(day);
+            DaySchedule now = after.get(day);
+            if (!Arrays.equals(was != null ? was.intervals : NONE, now != null ? now.intervals : NONE)) {
+                resourceVersions.slotChanged(day.facilityId(), day.date());
+            }
+        }
+    }
+
+    private static Interval toInterval(Booking b) {
+        return new Interval(b.getId(), b.getStartTime().toSecondOfDay(), b.getEndTime().toSecondOfDay());
+    }
+
+    private static Interval toInterval(BookingRepository.SlotView s) {
+        return new Interval(s.getId(), s.getStartTime().toSecondOfDay(), s.getEndTime().toSecondOfDay());
+    }
+
+    private record FacilityDay(Long facilityId, LocalDate date) {}
+
+    /** [start, end) in seconds of the day. */
+    private record Interval(long bookingId, int start, int end) {}
+
+    private static final Interval[] NONE = new Interval[0];
+
+    private record Placed(FacilityDay key, Interval interval) {}
+
+    /** One change to the index; returns where the affected booking was, if anything. */
+    @FunctionalInterface
+    private interface Mutation {
+        Placed applyTo(Snapshot index);
+    }
+
+    /**
+     * The whole index: intervals per facility-day, plus where each booking
+     * sits so it can be removed by id. Written only through {@link #apply}.
+     */
+    private static final class Snapshot {
+
+        final Map<FacilityDay, DaySchedule> schedules = new ConcurrentHashMap<>();
+        final Map<Long, FacilityDay>        locations = new ConcurrentHashMap<>();
+        final Set<Long>                     trusted   = ConcurrentHashMap.newKeySet();   // recorded by this node
+
+        void put(FacilityDay key, Interval interval) {
+            schedules.computeIfAbsent(key, k -> new DaySchedule()).upsert(interval);
+            locations.put(interval.bookingId(), key);
+        }
+
+        /** Remove and return where the booking was, or null if it wasn't indexed. */
+        Placed remove(Long bookingId) {
+            trusted.remove(bookingId);
+            FacilityDay previous = locations.remove(bookingId);
+            if (previous == null) {
+                return null;
+            }
+            DaySchedule day     = schedules.get(previous);
+            Interval    removed = day != null ? day.remove(bookingId) : null;
+            return removed != null ? new Placed(previous, removed) : null;
+        }
+
+        Placed replaceDay(FacilityDay key, List<Interval> intervals) {
+            DaySchedule day = schedules.remove(key);
+            if (day != null) {
+                for (Interval i : day.intervals) {
+                    locations.remove(i.bookingId(), key);
+                    trusted.remove(i.bookingId());
+                }
+            }
+            for (Interval i : intervals) {
+                remove(i.bookingId());   // may have been indexed under another day
+                put(key, i);
+            }
+            return null;
+        }
+
+        void removeIf(Predicate<FacilityDay> drop) {
+            schedules.keySet().removeIf(drop);
+            locations.entrySet().removeIf(e -> {
+                if (drop.test(e.getValue())) {
+                    trusted.remove(e.getKey());
+                    return true;
+                }
+                return false;
+            });
+        }
+    }
+
+    /**
+     * The intervals of one facility on one day, sorted by start.
+     * Readers work on an immutable snapshot; writers copy-on-write under the
+     * monitor (a day rarely holds more than a couple of dozen bookings).
+     */
+    private static final class DaySchedule {
+
+        private volatile Interval[] intervals = new Interval[0];
+
+        /** TAKEN if a trusted interval overlaps, UNCONFIRMED if only others do. */
+        Answer lookup(int start, int end, Set<Long> trusted, Long ignoredBookingId) {
+            Answer answer = Answer.FREE;
+            for (Interval i : intervals) {
+                if (i.start() >= end) {
+                    break;                  // sorted by start — nothing later can overlap
+                }
+                if (i.end() > start && !Long.valueOf(i.bookingId()).equals(ignoredBookingId)) {
+                    if (trusted.contains(i.bookingId())) {
+                        return Answer.TAKEN;
+                    }
+                    answer = Answer.UNCONFIRMED;
+                }
+            }
+            return answer;
+        }
+
+        synchronized void upsert(Interval interval) {
+            Interval[] current = withoutId(intervals, interval.bookingId());
+            Interval[] next    = Arrays.copyOf(current, current.length + 1);
+            int pos = current.length;
+            while (pos > 0 && next[pos - 1].start() > interval.start()) {
+                next[pos] = next[pos - 1];
+                pos--;
+            }
+            next[pos] = interval;
+            intervals = next;
+        }
+
+        synchronized Interval remove(long bookingId) {
+            for (Interval i : intervals) {
+                if (i.bookingId() == bookingId) {
+                    intervals = withoutId(intervals, bookingId);
+                    return i;
+                }
+            }
+            return null;
+        }
+
+        private static Interval[] withoutId(Interval[] source, long bookingId) {
+            for (int i = 0; i < source.length; i++) {
+                if (source[i].bookingId() == bookingId) {
+                    Interval[] copy = new Interval[source.length - 1];
+                    System.arraycopy(source, 0, copy, 0, i);
+                    System.arraycopy(source, i + 1, copy, i, source.length - i - 1);
+                    return copy;
+                }
+            }
+            return source;
+        }
+    }
+}
@@ -1,38 +1,64 @@
 package com.groupwork.campus_facilities_booking.service;
 
+import com.groupwork.campus_facilities_booking.dto.AvailabilityResponse;
+import com.groupwork.campus_facilities_booking.dto.BookingView;
+import com.groupwork.campus_facilities_booking.dto.CursorPage;
+import com.groupwork.campus_facilities_booking.exception.BookingConflictException;
 import com.groupwork.campus_facilities_booking.model.Entities.Booking;
 import com.groupwork.campus_facilities_booking.model.Entities.Facility;
 import com.groupwork.campus_facilities_booking.model.Entities.User;
-import com.groupwork.campus_facilities_booking.model.Entities.WaitlistEntry;
 import com.groupwork.campus_facilities_booking.model.Enums.BookingStatus;
 import com.groupwork.campus_facilities_booking.model.Enums.NotificationType;
-import com.groupwork.campus_facilities_booking.model.Enums.WaitlistStatus;
 import com.groupwork.campus_facilities_booking.repository.*;
+import com.groupwork.campus_facilities_booking.security.CurrentUserProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Service
 @RequiredArgsConstructor
 public class BookingService {
 
+    private static final int  EXTENSION_MINUTES   = 30;
+    private static final int  EXTEND_MAX_ATTEMPTS = 4;
+    private static final long EXTEND_BACKOFF_MS   = 20;
+
     private final BookingRepository bookingRepository;
     private final FacilityRepository facilityRepository;
-    private final UserRepository userRepository;
-    private final WaitlistRepository waitlistRepository;
     private final MaintenanceRepository maintenanceRepository;
     private final NotificationService notificationService;
     private final NotificationRepository notificationRepository;
-
-    // ── Get all bookings (Admin only) ────────────────────────
-    public List<Booking> getAllBookings() {
-        return bookingRepository.findAll();
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final BookingSlotLocks bookingSlotLocks;
+    private final BookingDeadlineQueue bookingDeadlineQueue;
+    private final RecurrenceService recurrenceService;
+    private final WaitlistMatcher waitlistMatcher;
+    private final CurrentUserProvider currentUserProvider;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    /** Slot granularity for availability grids (30 = one long per day, 15 = two). */
+    @Value("${app.availability.slot-minutes:30}")
+    private int slotMinutes;
+
+    // ── Get all bookings, one keyset page at a time, newest first (Admin)
+    public CursorPage<BookingView> getAllBookings(String cursor, Integer limit) {
+        Limit fetch = CursorPage.fetchLimit(limit);
+        return CursorPage.of(
+                views(bookingRepository.findByIdLessThanOrderByIdDesc(CursorPage.decode(cursor), fetch)),
+                fetch, BookingView::id);
     }
 
     // ── Get single booking ───────────────────────────────────
@@ -42,71 +68,62 @@ public class BookingService {
     }
 
     // ── Get current user's bookings ──────────────────────────
-    public List<Booking> getBookingsForCurrentUser() {
-        User currentUser = getCurrentUser();
-        return bookingRepository.findByUserOrderByDateDescStartTimeDesc(currentUser);
+    // One query (facility + user joined in), mapped to BookingView
+    public List<BookingView> getBookingsForCurrentUser() {
+        return views(bookingRepository.findByUserOrderByDateDescStartTimeDesc(currentUserProvider.reference()));
     }
 
     // ── Get bookings by facility, optionally filtered by date ─
-    public List<Booking> getBookingsByFacility(Long facilityId, LocalDate date) {
+    public List<BookingView> getBookingsByFacility(Long facilityId, LocalDate date) {
         Facility facility = facilityRepository.findById(facilityId)
                 .orElseThrow(() -> new RuntimeException("Facility not found with id: " + facilityId));
         if (date != null) {
-            return bookingRepository.findByFacilityAndDate(facility, date);
+            return views(bookingRepository.findByFacilityAndDate(facility, date));
         }
-        return bookingRepository.findByFacility(facility);
+        return views(bookingRepository.findByFacility(facility));
     }
 
     // ── Get bookings by status ───────────────────────────────
-    public List<Booking> getBookingsByStatus(BookingStatus status) {
-        return bookingRepository.findByStatus(status);
+    public CursorPage<BookingView> getBookingsByStatus(BookingStatus status, String cursor, Integer limit) {
+        Limit fetch = CursorPage.fetchLimit(limit);
+        return CursorPage.of(
+                views(bookingRepository.findByStatusAndIdLessThanOrderByIdDesc(status, CursorPage.decode(cursor), fetch)),
+                fetch, BookingView::id);
     }
 
     // ── Get today's confirmed bookings ───────────────────────
-    public List<Booking> getTodaysBookings() {
-        return bookingRepository.findByDateAndStatus(LocalDate.now(), BookingStatus.CONFIRMED);
+    public List<BookingView> getTodaysBookings() {
+        return views(bookingRepository.findByDateAndStatus(LocalDate.now(), BookingStatus.CONFIRMED));
+    }
+
+    // Facility and user were fetched with the rows (see the @EntityGraph finders)
+    private static List<BookingView> views(List<Booking> bookings) {
+        return bookings.stream().map(BookingView::of).toList();
     }
 
-    // ── Check availability — returns 30-min slot map ─────────
-    public Map<String, Object> checkAvailability(Long facilityId, LocalDate date) {
+    // ── Check availability — returns the day's slot grid ─────
+    // Each booking / maintenance block is OR-ed into a SlotMask once
+    // (O(bookings)), instead of scanning every booking for every slot.
+    public AvailabilityResponse checkAvailability(Long facilityId, LocalDate date) {
         Facility facility = facilityRepository.findById(facilityId)
                 .orElseThrow(() -> new RuntimeException("Facility not found with id: " + facilityId));
 
-        // Get all confirmed bookings for this facility on this date
-        List<Booking> existingBookings = bookingRepository
-                .findByFacilityAndDateAndStatusIn(facility, date,
-                        List.of(BookingStatus.CONFIRMED));
-
-        // Build 30-minute slots between opening and closing time
-        List<Map<String, Object>> slots = new ArrayList<>();
-        LocalTime cursor = facility.getOpeningTime();
-
-        while (cursor.plusMinutes(30).compareTo(facility.getClosingTime()) <= 0) {
-            LocalTime slotStart = cursor;
-            LocalTime slotEnd = cursor.plusMinutes(30);
+        SlotMask mask = new SlotMask(facility.getOpeningTime(), facility.getClosingTime(), slotMinutes);
 
-            boolean isBooked = existingBookings.stream()
-                    .anyMatch(b -> b.getStartTime().isBefore(slotEnd) && b.getEndTime().isAfter(slotStart));
-
-            Map<String, Object> slot = new LinkedHashMap<>();
-            slot.put("startTime", slotStart.toString());
-            slot.put("endTime", slotEnd.toString());
-            slot.put("available", !isBooked);
-
-            slots.add(slot);
-            cursor = slotEnd;
+        if (maintenanceRepository.isUnderMaintenance(facilityId, date)) {
+            mask.markAllBusy();
+        } else {
+            for (BookingRepository.SlotView b : bookingRepository.findSlotsOnDate(
+                    facilityId, date, BookingIntervalIndex.BLOCKING_STATUSES)) {
+                mask.markBusy(b.getStartTime(), b.getEndTime());
+            }
         }
 
-        Map<String, Object> result = new LinkedHashMap<>();
-        result.put("facilityId", facilityId);
-        result.put("facilityName", facility.getName());
-        result.put("date", date.toString());
-        result.put("slots", slots);
-        return result;
+        return new AvailabilityResponse(facilityId, facility.getName(), date, mask);
     }
 
     // ── Get availability slots for FacilityController ────────
-    public Map<String, Object> getAvailabilitySlots(Long facilityId, LocalDate date) {
+    public AvailabilityResponse getAvailabilitySlots(Long facilityId, LocalDate date) {
         return checkAvailability(facilityId, date);
     }
 
@@ -115,8 +132,44 @@ public class BookingService {
     public Booking createBooking(Booking booking) {
         Facility facility = facilityRepository.findById(booking.getFacility().getId())
                 .orElseThrow(() -> new RuntimeException("Facility not found"));
-        User user = getCurrentUser();
+        User user = currentUserProvider.load();
+
+        // 1–5. Availability, opening hours, duration, capacity, recurrence rule, maintenance
+        validateWindow(facility, booking);
+
+        // 6. Check for booking conflicts. The facility-day lock is held until
+        //    commit so no concurrent request can slip in between this check
+        //    and the insert below. A recurring booking takes its occurrence
+        //    days in the same ordered lockAll, never one after the other.
+        LocalDate seriesThrough = recurrenceService.horizon();
+        bookingSlotLocks.lockAll(recurrenceService.slotKeys(facility.getId(), booking, seriesThrough));
+        checkConflicts(facility, booking, null);
+
+        // 7. All bookings are immediately confirmed — no approval step required.
+        booking.setFacility(facility);
+        booking.setUser(user);
+        booking.setStatus(BookingStatus.CONFIRMED);
+        booking.setVersion(null);   // a new row — ignore any version echoed back by the client
+
+        Booking saved = bookingRepository.save(booking);
+        bookingIntervalIndex.record(saved);
+        bookingDeadlineQueue.schedule(saved);
+
+        // 7b. Recurring: create the next few weeks of occurrences
+        recurrenceService.startSeries(saved, seriesThrough);
+
+        // 8. Notify user
+        notificationService.sendNotification(
+                user, saved,
+                "Booking Confirmed",
+                "Your booking for " + facility.getName() + " on " + booking.getDate() + " is confirmed!",
+                NotificationType.BOOKING_CONFIRMED);
+
+        return saved;
+    }
 
+    // ── Admission checks (create + update) ───────────────────
+    private void validateWindow(Facility facility, Booking booking) {
         // 1. Check facility is available (not toggled off)
         if (!facility.getIsAvailable()) {
             throw new RuntimeException("Facility '" + facility.getName() + "' is currently unavailable.");
@@ -146,6 +199,9 @@ public class BookingService {
                             + ").");
         }
 
+        // 4b. A recurring booking needs a rule we can expand
+        recurrenceService.validate(booking);
+
         // 5. Check for maintenance blocks on this date
         boolean underMaintenance = maintenanceRepository
                 .findByFacilityAndDateRange(facility, booking.getDate())
@@ -154,33 +210,36 @@ public class BookingService {
             throw new RuntimeException(
                     "Facility '" + facility.getName() + "' is under maintenance on " + booking.getDate());
         }
+    }
 
-        // 6. Check for booking conflicts
-        List<Booking> conflicts = bookingRepository.findConflictingBookings(
-                facility, booking.getDate(),
-                booking.getStartTime(), booking.getEndTime(),
-                List.of(BookingStatus.CONFIRMED));
+    /**
+     * The caller holds the facility-day lock. bookingId is the booking being
+     * edited (its own current window doesn't count), null for a new one.
+     *
+     * An overlap with a booking this node saw commit is rejected from
+     * memory; anything else goes to the DB, which is the final check for
+     * every booking admitted. A hit the DB doesn't confirm means the index
+     * is behind (reload that day).
+     */
+    private void checkConflicts(Facility facility, Booking booking, Long bookingId) {
+        BookingIntervalIndex.Answer indexed = bookingIntervalIndex.lookup(facility.getId(), booking.getDate(),
+                booking.getStartTime(), booking.getEndTime(), bookingId);
+        if (indexed == BookingIntervalIndex.Answer.TAKEN) {
+            throw slotAlreadyBooked(booking);
+        }
+        List<Booking> conflicts = bookingId == null
+                ? bookingRepository.findConflictingBookings(
+                        facility, booking.getDate(), booking.getStartTime(), booking.getEndTime(),
+                        BookingIntervalIndex.BLOCKING_STATUSES)
+                : bookingRepository.findOtherConflictingBookings(
+                        facility, booking.getDate(), booking.getStartTime(), booking.getEndTime(),
+                        BookingIntervalIndex.BLOCKING_STATUSES, bookingId);
         if (!conflicts.isEmpty()) {
-            throw new RuntimeException(
-                    "Time slot " + booking.getStartTime() + " – " + booking.getEndTime()
-                            + " on " + booking.getDate() + " is already booked.");
+            throw slotAlreadyBooked(booking);
+        }
+        if (indexed == BookingIntervalIndex.Answer.UNCONFIRMED) {
+            bookingIntervalIndex.staleHit(facility.getId(), booking.getDate());
         }
-
-        // 7. All bookings are immediately confirmed — no approval step required.
-        booking.setFacility(facility);
-        booking.setUser(user);
-        booking.setStatus(BookingStatus.CONFIRMED);
-
-        Booking saved = bookingRepository.save(booking);
-
-        // 8. Notify user
-        notificationService.sendNotification(
-                user, saved,
-                "Booking Confirmed",
-                "Your booking for " + facility.getName() + " on " + booking.getDate() + " is confirmed!",
-                NotificationType.BOOKING_CONFIRMED);
-
-        return saved;
     }
 
     // ── Update booking ───────────────────────────────────────
@@ -188,22 +247,64 @@ public class BookingService {
     public Booking updateBooking(Long id, Booking updated) {
         Booking existing = getBookingById(id);
 
+        // The client sends back the version it last saw; if the booking has
+        // changed since (extended, expired, edited elsewhere) the edit is refused
+        if (updated.getVersion() != null && !updated.getVersion().equals(existing.getVersion())) {
+            throw new BookingConflictException("This booking was changed in the meantime. Reload it and try again.");
+        }
+
         // Only PENDING or CONFIRMED bookings can be updated
         if (existing.getStatus() == BookingStatus.CANCELLED ||
                 existing.getStatus() == BookingStatus.COMPLETED) {
             throw new RuntimeException("Cannot update a " + existing.getStatus() + " booking.");
         }
 
-        existing.setDate(updated.getDate());
-        existing.setStartTime(updated.getStartTime());
-        existing.setEndTime(updated.getEndTime());
+        // The new window goes through the same checks as a new booking. They
+        // run on a detached copy: touching the managed entity first would
+        // let Hibernate flush the move before the conflict query sees it.
+        Facility facility = existing.getFacility();
+        Booking candidate = Booking.builder()
+                .facility(facility)
+                .date(updated.getDate())
+                .startTime(updated.getStartTime())
+                .endTime(updated.getEndTime())
+                .attendees(updated.getAttendees())
+                .isRecurring(updated.getIsRecurring())
+                .recurrenceRule(updated.getRecurrenceRule())
+                .build();
+        validateWindow(facility, candidate);
+
+        // Old and new day (and any series days) in one ordered lockAll
+        LocalDate oldDate  = existing.getDate();
+        LocalTime oldStart = existing.getStartTime();
+        LocalTime oldEnd   = existing.getEndTime();
+        LocalDate seriesThrough = recurrenceService.horizon();
+        List<BookingSlotLocks.Key> keys = new ArrayList<>(
+                recurrenceService.slotKeys(facility.getId(), candidate, seriesThrough));
+        keys.add(new BookingSlotLocks.Key(facility.getId(), oldDate));
+        bookingSlotLocks.lockAll(keys);
+        checkConflicts(facility, candidate, existing.getId());
+
+        existing.setDate(candidate.getDate());
+        existing.setStartTime(candidate.getStartTime());
+        existing.setEndTime(candidate.getEndTime());
         existing.setPurpose(updated.getPurpose());
-        existing.setAttendees(updated.getAttendees());
+        existing.setAttendees(candidate.getAttendees());
         existing.setNotes(updated.getNotes());
-        existing.setIsRecurring(updated.getIsRecurring());
-        existing.setRecurrenceRule(updated.getRecurrenceRule());
-
-        return bookingRepository.save(existing);
+        existing.setIsRecurring(candidate.getIsRecurring());
+        existing.setRecurrenceRule(candidate.getRecurrenceRule());
+
+        Booking saved = bookingRepository.save(existing);
+        bookingIntervalIndex.record(saved);
+        bookingDeadlineQueue.schedule(saved);
+        recurrenceService.reconfigure(saved, seriesThrough);
+
+        // Moved or shortened — the old window may have room for the waitlist
+        if (!oldDate.equals(saved.getDate()) || !oldStart.equals(saved.getStartTime())
+                || !oldEnd.equals(saved.getEndTime())) {
+            waitlistMatcher.fill(saved.getFacility().getId(), oldDate, oldStart, oldEnd);
+        }
+        return saved;
     }
 
     // ── Cancel booking ───────────────────────────────────────
@@ -219,7 +320,10 @@ public class BookingService {
         }
 
         booking.setStatus(BookingStatus.CANCELLED);
+        booking.setSeriesMaterializedUntil(null);   // a cancelled series stops growing
         Booking saved = bookingRepository.save(booking);
+        bookingIntervalIndex.record(saved);
+        bookingDeadlineQueue.schedule(saved);
 
         // Notify the user
         notificationService.sendNotification(
@@ -229,8 +333,9 @@ public class BookingService {
                         + " on " + booking.getDate() + " has been cancelled.",
                 NotificationType.BOOKING_CANCELLED);
 
-        // Auto-promote first person on the waitlist for this slot
-        promoteWaitlistIfAny(booking);
+        // Promote whoever on the waitlist now fits into the freed time
+        waitlistMatcher.fill(booking.getFacility().getId(), booking.getDate(),
+                booking.getStartTime(), booking.getEndTime());
 
         return saved;
     }
@@ -255,7 +360,14 @@ public class BookingService {
         }
         booking.setCheckOutTime(LocalDateTime.now());
         booking.setStatus(BookingStatus.COMPLETED);
-        return bookingRepository.save(booking);
+        Booking saved = bookingRepository.save(booking);
+        bookingIntervalIndex.record(saved);
+        bookingDeadlineQueue.schedule(saved);
+
+        // Checked out early — the rest of the slot is free again
+        waitlistMatcher.fill(saved.getFacility().getId(), saved.getDate(),
+                saved.getStartTime(), saved.getEndTime());
+        return saved;
     }
 
     // ── Hard delete (Admin) ───────────────────────────────────
@@ -272,57 +384,39 @@ public class BookingService {
                 });
 
         bookingRepository.delete(booking);
+        bookingIntervalIndex.evict(id);
     }
 
-    // ── Waitlist auto-promotion (internal) ───────────────────
-    private void promoteWaitlistIfAny(Booking cancelledBooking) {
-        List<WaitlistEntry> queue = waitlistRepository
-                .findByFacilityAndDateAndStartTimeAndStatusOrderByPositionAsc(
-                        cancelledBooking.getFacility(),
-                        cancelledBooking.getDate(),
-                        cancelledBooking.getStartTime(),
-                        WaitlistStatus.WAITING);
-
-        if (!queue.isEmpty()) {
-            WaitlistEntry first = queue.get(0);
-            first.setStatus(WaitlistStatus.PROMOTED);
-            waitlistRepository.save(first);
-
-            // Create a new confirmed booking for the promoted user
-            Booking promoted = Booking.builder()
-                    .facility(cancelledBooking.getFacility())
-                    .user(first.getUser())
-                    .date(first.getDate())
-                    .startTime(first.getStartTime())
-                    .endTime(first.getEndTime())
-                    .purpose(first.getPurpose() != null ? first.getPurpose() : "Promoted from waitlist")
-                    .attendees(1)
-                    .status(BookingStatus.CONFIRMED)
-                    .build();
-            bookingRepository.save(promoted);
-
-            // Notify promoted user
-            notificationService.sendNotification(
-                    first.getUser(), promoted,
-                    "Waitlist Promotion!",
-                    "Great news! A slot opened up for "
-                            + cancelledBooking.getFacility().getName()
-                            + " on " + cancelledBooking.getDate()
-                            + ". Your booking is now confirmed.",
-                    NotificationType.WAITLIST_PROMOTED);
-
-            // Shift remaining queue positions down
-            for (int i = 1; i < queue.size(); i++) {
-                WaitlistEntry entry = queue.get(i);
-                entry.setPosition(entry.getPosition() - 1);
-                waitlistRepository.save(entry);
+    // ── Extend booking session (add 30 more minutes) ──────────
+    // The extension itself is one conditional UPDATE (extendIfFree): it only
+    // applies if the booking is still at the version we read, still open,
+    // under its limit, and the next 30 minutes are free. If another writer
+    // got in between (version moved), the whole attempt is retried with
+    // exponential backoff and jitter; a real clash is a 409 straight away.
+    // Metrics: booking.extend (latency, incl. p99), booking.extend.retries
+    public Booking extendBooking(Long id) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    return transactionTemplate.execute(status -> tryExtend(id));
+                } catch (OptimisticLockingFailureException e) {
+                    if (attempt == EXTEND_MAX_ATTEMPTS) {
+                        throw new BookingConflictException(
+                                "This booking is being changed by someone else. Please try again.");
+                    }
+                    meterRegistry.counter("booking.extend.retries").increment();
+                    backoff(attempt);
+                }
             }
+        } finally {
+            sample.stop(Timer.builder("booking.extend")
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry));
         }
     }
 
-    // ── Extend booking session (add 30 more minutes) ──────────
-    @Transactional
-    public Booking extendBooking(Long id) {
+    private Booking tryExtend(Long id) {
         Booking booking = getBookingById(id);
 
         // Only CONFIRMED or ACTIVE bookings can be extended
@@ -337,24 +431,39 @@ public class BookingService {
                     "Maximum extensions (" + booking.getMaxExtensions() + ") reached for this booking.");
         }
 
-        // Store original end time on first extension
-        if (booking.getOriginalEndTime() == null) {
-            booking.setOriginalEndTime(
-                    LocalDateTime.of(booking.getDate(), booking.getEndTime()));
+        // Stay inside opening hours (and never wrap past midnight)
+        Facility  facility = booking.getFacility();
+        LocalTime newEnd   = booking.getEndTime().plusMinutes(EXTENSION_MINUTES);
+        if (newEnd.isBefore(booking.getEndTime()) || newEnd.isAfter(facility.getClosingTime())) {
+            throw new RuntimeException(
+                    "Cannot extend past closing time (" + facility.getClosingTime() + ").");
         }
 
-        // Add 30 minutes
-        booking.setEndTime(booking.getEndTime().plusMinutes(30));
-        booking.setExtensionCount(booking.getExtensionCount() + 1);
-        booking.setReminderSent(false); // Reset reminder for new window
+        // Same facility-day lock as createBooking, so a new booking can't
+        // claim the added window between the check and the update
+        bookingSlotLocks.lock(facility.getId(), booking.getDate());
+        int updated = bookingRepository.extendIfFree(
+                id, booking.getVersion(), EXTENSION_MINUTES, LocalDateTime.now());
+        if (updated == 0) {
+            if (!bookingRepository.findConflictingBookings(facility, booking.getDate(),
+                    booking.getEndTime(), newEnd, BookingIntervalIndex.BLOCKING_STATUSES).isEmpty()) {
+                throw new BookingConflictException(
+                        "Cannot extend — " + booking.getEndTime() + " – " + newEnd
+                                + " on " + booking.getDate() + " is already booked.");
+            }
+            // Nothing else stops it, so the row changed under us — retry
+            throw new OptimisticLockingFailureException("Booking " + id + " changed during extension");
+        }
 
-        Booking saved = bookingRepository.save(booking);
+        Booking saved = getBookingById(id);
+        bookingIntervalIndex.record(saved);
+        bookingDeadlineQueue.schedule(saved);
 
         // Notify user
         notificationService.sendNotification(
-                booking.getUser(), saved,
+                saved.getUser(), saved,
                 "Booking Extended",
-                "Your booking for " + booking.getFacility().getName()
+                "Your booking for " + facility.getName()
                         + " has been extended by 30 minutes. New end time: " + saved.getEndTime()
                         + ". Extensions used: " + saved.getExtensionCount() + "/" + saved.getMaxExtensions(),
                 NotificationType.BOOKING_CONFIRMED);
@@ -362,68 +471,97 @@ public class BookingService {
         return saved;
     }
 
-    // ── Auto-expire bookings (scheduled task) ────────────────
+    private static void backoff(int attempt) {
+        long ceiling = EXTEND_BACKOFF_MS << (attempt - 1);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while extending the booking.");
+        }
+    }
+
+    // ── Auto-expire bookings (reconciliation sweep) ──────────
+    // One indexed UPDATE ... RETURNING on end_at: cost scales with the
+    // number of bookings expiring now, not with every open booking.
+    // Normally BookingDeadlineQueue has already expired them one by one.
     @Transactional
     public void autoExpireBookings() {
-        LocalDateTime now = LocalDateTime.now();
+        notifyExpired(bookingRepository.expireEndedBefore(LocalDateTime.now()));
+    }
 
-        // Find all active/confirmed bookings that have passed their end time
-        List<Booking> expiredBookings = bookingRepository.findByStatusIn(
-                List.of(BookingStatus.CONFIRMED, BookingStatus.ACTIVE)).stream()
-                .filter(b -> LocalDateTime.of(b.getDate(), b.getEndTime()).isBefore(now))
-                .filter(b -> b.getExpiredAt() == null) // Not already marked as expired
-                .toList();
-
-        for (Booking booking : expiredBookings) {
-            booking.setStatus(BookingStatus.EXPIRED);
-            booking.setExpiredAt(now);
-            bookingRepository.save(booking);
-
-            // Notify user
-            notificationService.sendNotification(
-                    booking.getUser(), booking,
-                    "Booking Expired",
-                    "Your booking session for " + booking.getFacility().getName()
-                            + " has expired. Total extensions used: " + booking.getExtensionCount(),
-                    NotificationType.BOOKING_CANCELLED);
-        }
+    // ── Expire one booking the moment it ends (deadline timer) ─
+    @Transactional
+    public void expireBooking(Long id) {
+        notifyExpired(bookingRepository.expireIfEnded(id, LocalDateTime.now()));
     }
 
-    // ── Send expiry reminders (5 minutes before) ─────────────
+    // ── Send expiry reminders (reconciliation sweep) ─────────
     @Transactional
     public void sendExpiryReminders() {
         LocalDateTime now = LocalDateTime.now();
-        LocalDateTime inFiveMinutes = now.plusMinutes(5);
-
-        // Find bookings that will expire in ~5 minutes and haven't been reminded
-        List<Booking> bookingsToRemind = bookingRepository.findByStatusIn(
-                List.of(BookingStatus.CONFIRMED, BookingStatus.ACTIVE)).stream()
-                .filter(b -> {
-                    LocalDateTime endDateTime = LocalDateTime.of(b.getDate(), b.getEndTime());
-                    return endDateTime.isAfter(now) && endDateTime.isBefore(inFiveMinutes);
-                })
-                .filter(b -> !b.getReminderSent())
-                .toList();
-
-        for (Booking booking : bookingsToRemind) {
-            booking.setReminderSent(true);
-            bookingRepository.save(booking);
-
-            // Send reminder notification
-            notificationService.sendNotification(
-                    booking.getUser(), booking,
+        notifyReminded(bookingRepository.markRemindersDue(now, now.plus(BookingDeadlineQueue.REMINDER_LEAD)));
+    }
+
+    // ── Remind one booking 5 minutes before it ends (deadline timer)
+    @Transactional
+    public void remindBooking(Long id) {
+        LocalDateTime now = LocalDateTime.now();
+        // small slack: the timer fires at end − 5 min, give or take a few ms
+        LocalDateTime until = now.plus(BookingDeadlineQueue.REMINDER_LEAD).plusSeconds(1);
+        notifyReminded(bookingRepository.markReminderDue(id, now, until));
+    }
+
+    // ── Helper: notify + unindex freshly expired bookings ────
+    private void notifyExpired(List<BookingRepository.SweptView> expired) {
+        if (expired.isEmpty()) {
+            return;
+        }
+        Map<Long, String> facilityNames = facilityNamesFor(expired);
+        List<NotificationService.Draft> notices = new ArrayList<>(expired.size());
+        for (BookingRepository.SweptView b : expired) {
+            bookingIntervalIndex.evict(b.getId());
+            notices.add(new NotificationService.Draft(
+                    b.getUserId(), b.getId(),
+                    "Booking Expired",
+                    "Your booking session for " + facilityNames.get(b.getFacilityId())
+                            + " has expired. Total extensions used: " + b.getExtensionCount(),
+                    NotificationType.BOOKING_CANCELLED));
+        }
+        notificationService.sendAll(notices);
+    }
+
+    // ── Helper: notify freshly reminded bookings ─────────────
+    private void notifyReminded(List<BookingRepository.SweptView> due) {
+        if (due.isEmpty()) {
+            return;
+        }
+        Map<Long, String> facilityNames = facilityNamesFor(due);
+        List<NotificationService.Draft> notices = new ArrayList<>(due.size());
+        for (BookingRepository.SweptView b : due) {
+            notices.add(new NotificationService.Draft(
+                    b.getUserId(), b.getId(),
                     "Booking Expiring Soon",
-                    "Your booking for " + booking.getFacility().getName()
+                    "Your booking for " + facilityNames.get(b.getFacilityId())
                             + " expires in 5 minutes. You can extend it if you need more time.",
-                    NotificationType.BOOKING_CONFIRMED);
+                    NotificationType.BOOKING_CONFIRMED));
         }
+        notificationService.sendAll(notices);
+    }
+
+    // ── Helper: facility id → name for a batch of swept rows ─
+    private Map<Long, String> facilityNamesFor(List<BookingRepository.SweptView> rows) {
+        Set<Long> ids = new HashSet<>();
+        rows.forEach(r -> ids.add(r.getFacilityId()));
+        Map<Long, String> names = new HashMap<>();
+        facilityRepository.findAllById(ids).forEach(f -> names.put(f.getId(), f.getName()));
+        return names;
     }
 
-    // ── Helper: get authenticated user ───────────────────────
-    private User getCurrentUser() {
-        String email = SecurityContextHolder.getContext()
-                .getAuthentication().getName();
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Authenticated user not found."));
+    // ── Helper: conflict error ───────────────────────────────
+    private BookingConflictException slotAlreadyBooked(Booking booking) {
+        return new BookingConflictException(
+                "Time slot " + booking.getStartTime() + " – " + booking.getEndTime()
+                        + " on " + booking.getDate() + " is already booked.");
     }
 }
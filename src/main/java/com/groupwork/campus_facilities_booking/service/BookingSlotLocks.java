@@ -0,0 +1,112 @@
+package com.groupwork.campus_facilities_booking.service;
+
+import com.groupwork.campus_facilities_booking.repository.BookingRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serialises booking admission per (facility, date).
+ *
+ * Two layers:
+ *  1. A striped in-process lock, so concurrent requests on this node queue up
+ *     in memory instead of each holding a pooled connection while they wait.
+ *  2. pg_advisory_xact_lock on the same key, so nodes sharing the database
+ *     serialise too. PostgreSQL releases it at commit/rollback.
+ *
+ * Both are held until the surrounding transaction completes, which closes the
+ * check-then-insert window in createBooking. The ex_bookings_no_overlap
+ * exclusion constraint (see PostgresSchemaInitializer) backs this up for any
+ * write path that does not take the lock.
+ *
+ * lockAll takes many facility-days at once (bulk admission) in one global
+ * order — stripe, then facility, then date — so two batches that overlap
+ * can't deadlock each other on this node.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingSlotLocks {
+
+    private static final int  STRIPES         = 256;
+    private static final long LOCK_TIMEOUT_MS = 5_000;
+
+    private final BookingRepository bookingRepository;
+    private final ReentrantLock[]   stripes = createStripes();
+
+    /**
+     * Lock a facility-day until the current transaction commits or rolls back.
+     * Must be called inside a @Transactional method.
+     */
+    public void lock(Long facilityId, LocalDate date) {
+        requireTransaction();
+        acquire(stripeOf(facilityId, date));
+        bookingRepository.lockFacilityDay(facilityId.intValue(), (int) date.toEpochDay());
+    }
+
+    /** A (facility, date) pair for lockAll. */
+    public record Key(Long facilityId, LocalDate date) {}
+
+    /**
+     * Lock several facility-days until the current transaction completes.
+     * Keys are taken in a fixed order regardless of how they are passed in.
+     */
+    public void lockAll(Collection<Key> keys) {
+        requireTransaction();
+        List<Key> ordered = keys.stream()
+                .distinct()
+                .sorted(Comparator.comparingInt((Key k) -> stripeOf(k.facilityId(), k.date()))
+                        .thenComparing(Key::facilityId)
+                        .thenComparing(Key::date))
+                .toList();
+        for (Key k : ordered) {
+            acquire(stripeOf(k.facilityId(), k.date()));
+            bookingRepository.lockFacilityDay(k.facilityId().intValue(), (int) k.date().toEpochDay());
+        }
+    }
+
+    private static void requireTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("BookingSlotLocks.lock requires an active transaction.");
+        }
+    }
+
+    private static int stripeOf(Long facilityId, LocalDate date) {
+        return Math.floorMod(Objects.hash(facilityId, date), STRIPES);
+    }
+
+    private void acquire(int index) {
+        ReentrantLock stripe = stripes[index];
+        try {
+            if (!stripe.tryLock(LOCK_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                throw new RuntimeException("This time slot is busy right now. Please try again.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the booking lock.");
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                stripe.unlock();
+            }
+        });
+    }
+
+    private static ReentrantLock[] createStripes() {
+        ReentrantLock[] locks = new ReentrantLock[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
+    }
+}
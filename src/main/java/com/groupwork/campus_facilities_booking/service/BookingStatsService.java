@@ -0,0 +1,77 @@
+package com.groupwork.campus_facilities_booking.service;
+
+import com.groupwork.campus_facilities_booking.dto.BookingStats;
+import com.groupwork.campus_facilities_booking.model.Enums.BookingStatus;
+import com.groupwork.campus_facilities_booking.model.Enums.UserRole;
+import com.groupwork.campus_facilities_booking.repository.BookingRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dashboard / analytics figures, one GROUP BY query each — the cost does
+ * not depend on how many bookings there are on the wire, only in the table.
+ */
+@Service
+@RequiredArgsConstructor
+public class BookingStatsService {
+
+    public static final int MAX_DAYS       = 90;
+    public static final int TOP_FACILITIES = 8;
+
+    private final BookingRepository bookingRepository;
+
+    @Transactional
+    public BookingStats getStats(int days) {
+        if (days < 1 || days > MAX_DAYS) {
+            throw new RuntimeException("days must be between 1 and " + MAX_DAYS + ".");
+        }
+        LocalDate today = LocalDate.now();
+
+        Map<BookingStatus, Long> byStatus = new EnumMap<>(BookingStatus.class);
+        for (BookingStatus s : BookingStatus.values()) {
+            byStatus.put(s, 0L);
+        }
+        long total = 0;
+        for (BookingRepository.StatusCountView c : bookingRepository.countPerStatus()) {
+            byStatus.put(c.getStatus(), c.getCount());
+            total += c.getCount();
+        }
+
+        YearMonth month     = YearMonth.from(today);
+        long      thisMonth = bookingRepository.countByDateBetween(month.atDay(1), month.atEndOfMonth());
+
+        // Fill the gaps so the chart gets one bar per day
+        LocalDate            from   = today.minusDays(days - 1L);
+        Map<LocalDate, Long> counts = new HashMap<>();
+        bookingRepository.countPerDay(from, today).forEach(c -> counts.put(c.getDate(), c.getCount()));
+        List<BookingStats.DayCount> perDay = new ArrayList<>(days);
+        for (LocalDate d = from; !d.isAfter(today); d = d.plusDays(1)) {
+            perDay.add(new BookingStats.DayCount(d, counts.getOrDefault(d, 0L)));
+        }
+
+        List<BookingStats.FacilityCount> topFacilities = bookingRepository
+                .countPerFacility(Limit.of(TOP_FACILITIES)).stream()
+                .map(c -> new BookingStats.FacilityCount(c.getFacilityId(), c.getName(), c.getCount()))
+                .toList();
+
+        Map<UserRole, Long> byRole = new EnumMap<>(UserRole.class);
+        bookingRepository.countPerUserRole().forEach(c -> byRole.put(c.getRole(), c.getCount()));
+
+        List<BookingStats.HourCount> heatmap = bookingRepository.countPerWeekdayHour().stream()
+                .map(c -> new BookingStats.HourCount(c.getDayOfWeek(), c.getHour(), c.getCount()))
+                .toList();
+
+        return new BookingStats(total, byStatus, thisMonth, bookingRepository.averageDurationHours(),
+                perDay, topFacilities, byRole, heatmap);
+    }
+}
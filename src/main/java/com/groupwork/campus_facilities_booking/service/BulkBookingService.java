@@ -0,0 +1,267 @@
+package com.groupwork.campus_facilities_booking.service;
+
+import com.groupwork.campus_facilities_booking.dto.BulkBookingRequest;
+import com.groupwork.campus_facilities_booking.dto.BulkBookingResponse;
+import com.groupwork.campus_facilities_booking.model.Entities.Booking;
+import com.groupwork.campus_facilities_booking.model.Entities.Facility;
+import com.groupwork.campus_facilities_booking.model.Enums.BookingStatus;
+import com.groupwork.campus_facilities_booking.model.Enums.NotificationType;
+import com.groupwork.campus_facilities_booking.repository.BookingRepository;
+import com.groupwork.campus_facilities_booking.repository.FacilityRepository;
+import com.groupwork.campus_facilities_booking.repository.MaintenanceRepository;
+import com.groupwork.campus_facilities_booking.security.CurrentUserProvider;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Bulk booking admission (POST /bookings/bulk) — a department's timetable
+ * in one request instead of hundreds of POST /bookings.
+ *
+ * 1. Facilities for the whole batch in one query; each item gets the same
+ *    checks as createBooking (availability, hours, duration, capacity).
+ * 2. Every affected facility-day is locked, in a fixed order.
+ * 3. Existing blocking bookings and maintenance windows for those
+ *    facility-days are loaded in one query each.
+ * 4. Items are sorted by (facility, date, start) and swept against the
+ *    existing bookings and against each other. On a clash inside the batch
+ *    the earlier-starting item wins.
+ * 5. Survivors are inserted with one JDBC batch (BookingBatchWriter) and
+ *    the booker gets a single summary notification.
+ *
+ * Each item succeeds or fails on its own; the response lists the outcome
+ * of every item in request order.
+ */
+@Service
+@RequiredArgsConstructor
+public class BulkBookingService {
+
+    public static final int MAX_ITEMS = 1000;
+
+    private final FacilityRepository    facilityRepository;
+    private final BookingRepository     bookingRepository;
+    private final MaintenanceRepository maintenanceRepository;
+    private final BookingSlotLocks      bookingSlotLocks;
+    private final BookingIntervalIndex  bookingIntervalIndex;
+    private final BookingDeadlineQueue  bookingDeadlineQueue;
+    private final BookingBatchWriter    bookingBatchWriter;
+    private final NotificationService   notificationService;
+    private final CurrentUserProvider   currentUserProvider;
+
+    /** A request item that passed the per-item checks. */
+    private record Candidate(int index, BulkBookingRequest.Item item, Facility facility, int start, int end) {
+        BookingSlotLocks.Key key() {
+            return new BookingSlotLocks.Key(facility.getId(), item.date());
+        }
+    }
+
+    // ── Admit a batch ─────────────────────────────────────────
+    @Transactional
+    public BulkBookingResponse createAll(BulkBookingRequest request) {
+        List<BulkBookingRequest.Item> items = request != null ? request.bookings() : null;
+        if (items == null || items.isEmpty()) {
+            throw new RuntimeException("No bookings in the request.");
+        }
+        if (items.size() > MAX_ITEMS) {
+            throw new RuntimeException("At most " + MAX_ITEMS + " bookings per bulk request.");
+        }
+
+        BulkBookingResponse.Result[] results = new BulkBookingResponse.Result[items.size()];
+
+        // 1. Facilities + per-item checks
+        Set<Long> facilityIds = new HashSet<>();
+        items.forEach(i -> { if (i.facilityId() != null) facilityIds.add(i.facilityId()); });
+        Map<Long, Facility> facilities = new HashMap<>();
+        facilityRepository.findAllById(facilityIds).forEach(f -> facilities.put(f.getId(), f));
+
+        List<Candidate> candidates = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            BulkBookingRequest.Item item     = items.get(i);
+            Facility                facility = facilities.get(item.facilityId());
+            String error = validate(item, facility);
+            if (error != null) {
+                results[i] = BulkBookingResponse.Result.rejected(i, error);
+            } else {
+                candidates.add(new Candidate(i, item, facility,
+                        item.startTime().toSecondOfDay(), item.endTime().toSecondOfDay()));
+            }
+        }
+        if (candidates.isEmpty()) {
+            return summarise(results);
+        }
+
+        // 2. Lock every affected facility-day
+        bookingSlotLocks.lockAll(candidates.stream().map(Candidate::key).toList());
+
+        // 3. Existing bookings + maintenance, one query each
+        Set<Long>  affected = new HashSet<>();
+        LocalDate  from     = LocalDate.MAX;
+        LocalDate  to       = LocalDate.MIN;
+        for (Candidate c : candidates) {
+            affected.add(c.facility().getId());
+            if (c.item().date().isBefore(from)) from = c.item().date();
+            if (c.item().date().isAfter(to))    to   = c.item().date();
+        }
+
+        Map<BookingSlotLocks.Key, List<int[]>> existing = new HashMap<>();
+        for (BookingRepository.SlotView s : bookingRepository.findSlotsInRange(
+                affected, from, to, BookingIntervalIndex.BLOCKING_STATUSES)) {
+            existing.computeIfAbsent(new BookingSlotLocks.Key(s.getFacilityId(), s.getDate()), k -> new ArrayList<>())
+                    .add(new int[] { s.getStartTime().toSecondOfDay(), s.getEndTime().toSecondOfDay() });
+        }
+        existing.values().forEach(list -> list.sort(Comparator.comparingInt(w -> w[0])));
+
+        Map<Long, List<MaintenanceRepository.RangeView>> maintenance = new HashMap<>();
+        maintenanceRepository.findRangesOverlapping(affected, from, to)
+                .forEach(m -> maintenance.computeIfAbsent(m.getFacilityId(), k -> new ArrayList<>()).add(m));
+
+        // 4. Sweep, one facility-day at a time
+        candidates.sort(Comparator
+                .comparing((Candidate c) -> c.facility().getId())
+                .thenComparing(c -> c.item().date())
+                .thenComparingInt(Candidate::start)
+                .thenComparingInt(Candidate::index));
+
+        List<Candidate> accepted = new ArrayList<>(candidates.size());
+        int runStart = 0;
+        while (runStart < candidates.size()) {
+            BookingSlotLocks.Key key = candidates.get(runStart).key();
+            int runEnd = runStart;
+            while (runEnd < candidates.size() && candidates.get(runEnd).key().equals(key)) {
+                runEnd++;
+            }
+            List<Candidate> day = candidates.subList(runStart, runEnd);
+            if (underMaintenance(maintenance.get(key.facilityId()), key.date())) {
+                day.forEach(c -> results[c.index()] = BulkBookingResponse.Result.rejected(c.index(),
+                        "Facility '" + c.facility().getName() + "' is under maintenance on " + key.date()));
+            } else {
+                sweep(day, existing.getOrDefault(key, List.of()), accepted, results);
+            }
+            runStart = runEnd;
+        }
+
+        // 5. Insert survivors in one batch
+        if (!accepted.isEmpty()) {
+            Long       userId = currentUserProvider.id();
+            List<Long> ids    = bookingBatchWriter.insert(accepted.stream()
+                    .map(c -> new BookingBatchWriter.Row(c.facility().getId(), userId, c.item().date(),
+                            c.item().startTime(), c.item().endTime(), c.item().purpose(),
+                            c.item().attendees(), c.item().notes(), null))
+                    .toList());
+            for (int i = 0; i < accepted.size(); i++) {
+                Candidate c = accepted.get(i);
+                results[c.index()] = BulkBookingResponse.Result.created(c.index(), ids.get(i));
+
+                Booking booking = Booking.builder()
+                        .id(ids.get(i))
+                        .facility(c.facility())
+                        .date(c.item().date())
+                        .startTime(c.item().startTime())
+                        .endTime(c.item().endTime())
+                        .status(BookingStatus.CONFIRMED)
+                        .build();
+                bookingIntervalIndex.record(booking);
+                bookingDeadlineQueue.schedule(booking);
+            }
+
+            notificationService.sendNotification(
+                    currentUserProvider.reference(), null,
+                    "Bookings Confirmed",
+                    accepted.size() + " of " + items.size() + " requested bookings are confirmed.",
+                    NotificationType.BOOKING_CONFIRMED);
+        }
+
+        return summarise(results);
+    }
+
+    // ── Helper: same rules as BookingService.createBooking ───
+    private static String validate(BulkBookingRequest.Item item, Facility facility) {
+        if (facility == null) {
+            return "Facility not found with id: " + item.facilityId();
+        }
+        if (item.date() == null || item.startTime() == null || item.endTime() == null) {
+            return "date, startTime and endTime are required.";
+        }
+        if (item.purpose() == null || item.purpose().isBlank()) {
+            return "Purpose is required.";
+        }
+        if (!facility.getIsAvailable()) {
+            return "Facility '" + facility.getName() + "' is currently unavailable.";
+        }
+        if (item.startTime().isBefore(facility.getOpeningTime()) || item.endTime().isAfter(facility.getClosingTime())) {
+            return "Booking must be within operating hours: "
+                    + facility.getOpeningTime() + " – " + facility.getClosingTime();
+        }
+        if (!item.endTime().isAfter(item.startTime())) {
+            return "End time must be after start time.";
+        }
+        if (Duration.between(item.startTime(), item.endTime()).toMinutes() < 30) {
+            return "Minimum booking duration is 30 minutes.";
+        }
+        int attendees = item.attendees() != null ? item.attendees() : 1;
+        if (attendees < 1 || attendees > facility.getCapacity()) {
+            return "Attendees (" + attendees + ") exceeds facility capacity (" + facility.getCapacity() + ").";
+        }
+        return null;
+    }
+
+    private static boolean underMaintenance(List<MaintenanceRepository.RangeView> windows, LocalDate date) {
+        if (windows == null) {
+            return false;
+        }
+        for (MaintenanceRepository.RangeView m : windows) {
+            if (!date.isBefore(m.getStartDate()) && !date.isAfter(m.getEndDate())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * One facility-day. day is sorted by start; existing is sorted by start.
+     * busyUntil is the latest end among existing bookings and accepted items
+     * that start at or before the current item.
+     */
+    private static void sweep(List<Candidate> day, List<int[]> existing,
+                              List<Candidate> accepted, BulkBookingResponse.Result[] results) {
+        int       next      = 0;
+        int       busyUntil = -1;
+        Candidate busyBy    = null;     // null → the blocker is an existing booking
+
+        for (Candidate c : day) {
+            while (next < existing.size() && existing.get(next)[0] <= c.start()) {
+                if (existing.get(next)[1] > busyUntil) {
+                    busyUntil = existing.get(next)[1];
+                    busyBy    = null;
+                }
+                next++;
+            }
+
+            if (c.start() < busyUntil) {
+                results[c.index()] = BulkBookingResponse.Result.rejected(c.index(), busyBy != null
+                        ? "Overlaps booking #" + busyBy.index() + " of this request."
+                        : "Time slot is already booked.");
+            } else if (next < existing.size() && existing.get(next)[0] < c.end()) {
+                results[c.index()] = BulkBookingResponse.Result.rejected(c.index(), "Time slot is already booked.");
+            } else {
+                accepted.add(c);
+                busyUntil = c.end();
+                busyBy    = c;
+            }
+        }
+    }
+
+    private static BulkBookingResponse summarise(BulkBookingResponse.Result[] results) {
+        int created = 0;
+        for (BulkBookingResponse.Result r : results) {
+            if (r.status() == BulkBookingResponse.Status.CREATED) {
+                created++;
+            }
+        }
+        return new BulkBookingResponse(created, results.length - created, List.of(results));
+    }
+}
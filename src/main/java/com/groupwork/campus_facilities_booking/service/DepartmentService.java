@@ -1,8 +1,11 @@
 package com.groupwork.campus_facilities_booking.service;
 
+import com.groupwork.campus_facilities_booking.config.CacheConfig;
 import com.groupwork.campus_facilities_booking.model.Entities.Department;
 import com.groupwork.campus_facilities_booking.repository.DepartmentRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,9 +17,10 @@ public class DepartmentService {
 
     private final DepartmentRepository departmentRepository;
 
-    // ── Get all departments ───────────────────────────────────
+    // ── Get all departments (cached — see CacheConfig) ────────
+    @Cacheable(value = CacheConfig.DEPARTMENTS, key = "'all'")
     public List<Department> getAllDepartments() {
-        return departmentRepository.findAll();
+        return List.copyOf(departmentRepository.findAll());
     }
 
     // ── Get single department ─────────────────────────────────
@@ -32,6 +36,7 @@ public class DepartmentService {
 
     // ── Create department ─────────────────────────────────────
     @Transactional
+    @CacheEvict(value = CacheConfig.DEPARTMENTS, allEntries = true)
     public Department createDepartment(Department department) {
         if (departmentRepository.existsByNameIgnoreCase(department.getName())) {
             throw new RuntimeException(
@@ -41,7 +46,9 @@ public class DepartmentService {
     }
 
     // ── Update department ─────────────────────────────────────
+    // Facilities reference their owning department, so the facility list goes too
     @Transactional
+    @CacheEvict(value = { CacheConfig.DEPARTMENTS, CacheConfig.FACILITIES }, allEntries = true)
     public Department updateDepartment(Long id, Department updated) {
         Department existing = getDepartmentById(id);
         existing.setName(updated.getName());
@@ -53,6 +60,7 @@ public class DepartmentService {
 
     // ── Delete department ─────────────────────────────────────
     @Transactional
+    @CacheEvict(value = { CacheConfig.DEPARTMENTS, CacheConfig.FACILITIES }, allEntries = true)
     public void deleteDepartment(Long id) {
         Department department = getDepartmentById(id);
         departmentRepository.delete(department);
@@ -1,11 +1,17 @@
 package com.groupwork.campus_facilities_booking.service;
 
+import com.groupwork.campus_facilities_booking.config.CacheConfig;
+import com.groupwork.campus_facilities_booking.dto.AvailabilityResponse;
+import com.groupwork.campus_facilities_booking.dto.FacilityRating;
 import com.groupwork.campus_facilities_booking.model.Entities.Facility;
+import com.groupwork.campus_facilities_booking.model.Entities.FacilityRatingStats;
 import com.groupwork.campus_facilities_booking.model.Entities.FacilityType;
 import com.groupwork.campus_facilities_booking.model.Entities.Department;
 import com.groupwork.campus_facilities_booking.repository.BookingApprovalRepository;
 import com.groupwork.campus_facilities_booking.repository.BookingRepository;
+import com.groupwork.campus_facilities_booking.repository.FacilityRatingStatsRepository;
 import com.groupwork.campus_facilities_booking.repository.FacilityRepository;
+import com.groupwork.campus_facilities_booking.repository.FacilitySpecifications;
 import com.groupwork.campus_facilities_booking.repository.FacilityTypeRepository;
 import com.groupwork.campus_facilities_booking.repository.DepartmentRepository;
 import com.groupwork.campus_facilities_booking.repository.MaintenanceRepository;
@@ -13,10 +19,17 @@ import com.groupwork.campus_facilities_booking.repository.NotificationRepository
 import com.groupwork.campus_facilities_booking.repository.ReviewRepository;
 import com.groupwork.campus_facilities_booking.repository.WaitlistRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -30,62 +43,102 @@ public class FacilityService {
     private final BookingApprovalRepository bookingApprovalRepository;
     private final BookingRepository bookingRepository;
     private final ReviewRepository reviewRepository;
+    private final FacilityRatingStatsRepository ratingStatsRepository;
     private final NotificationRepository notificationRepository;
     private final WaitlistRepository waitlistRepository;
     private final MaintenanceRepository maintenanceRepository;
     private final BookingService bookingService;
+    private final BookingIntervalIndex bookingIntervalIndex;
 
-    // ── Get all facilities ────────────────────────────────────
+    public static final int MAX_SEARCH_PAGE_SIZE = 500;
+
+    // ── Get all facilities (cached — see CacheConfig) ─────────
+    @Cacheable(value = CacheConfig.FACILITIES, key = "'all'")
     public List<Facility> getAllFacilities() {
-        return facilityRepository.findAll();
+        return List.copyOf(withRatings(facilityRepository.findAll()));
     }
 
     // ── Get single facility ───────────────────────────────────
     public Facility getFacilityById(Long id) {
-        return facilityRepository.findById(id)
+        Facility facility = facilityRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Facility not found with id: " + id));
+        withRatings(List.of(facility));
+        return facility;
     }
 
     // ── Get facilities by type ────────────────────────────────
     public List<Facility> getFacilitiesByType(Long typeId) {
         FacilityType type = facilityTypeRepository.findById(typeId)
                 .orElseThrow(() -> new RuntimeException("Facility type not found with id: " + typeId));
-        return facilityRepository.findByFacilityType(type);
+        return withRatings(facilityRepository.findByFacilityType(type));
     }
 
     // ── Get facilities by department ──────────────────────────
     public List<Facility> getFacilitiesByDepartment(Long deptId) {
         Department dept = departmentRepository.findById(deptId)
                 .orElseThrow(() -> new RuntimeException("Department not found with id: " + deptId));
-        return facilityRepository.findByOwningDepartment(dept);
+        return withRatings(facilityRepository.findByOwningDepartment(dept));
     }
 
     // ── Search / filter facilities ────────────────────────────
-    public List<Facility> searchFacilities(
+    /**
+     * Every supplied filter becomes part of the SQL WHERE clause, so only the
+     * matching page is read from the database. Sorted by name (then id) so
+     * pages are stable.
+     */
+    public Page<Facility> searchFacilities(
             String name, Long typeId, Long departmentId,
             Boolean hasProjector, Boolean hasAirConditioning,
-            Boolean hasWifi, Boolean isOutdoor, Integer minCapacity) {
-
-        return facilityRepository.findAll().stream()
-                .filter(f -> name == null || f.getName().toLowerCase().contains(name.toLowerCase()))
-                .filter(f -> typeId == null || f.getFacilityType().getId().equals(typeId))
-                .filter(f -> departmentId == null ||
-                        (f.getOwningDepartment() != null && f.getOwningDepartment().getId().equals(departmentId)))
-                .filter(f -> hasProjector == null || f.getHasProjector().equals(hasProjector))
-                .filter(f -> hasAirConditioning == null || f.getHasAirConditioning().equals(hasAirConditioning))
-                .filter(f -> hasWifi == null || f.getHasWifi().equals(hasWifi))
-                .filter(f -> isOutdoor == null || f.getIsOutdoor().equals(isOutdoor))
-                .filter(f -> minCapacity == null || f.getCapacity() >= minCapacity)
-                .toList();
+            Boolean hasWifi, Boolean isOutdoor, Integer minCapacity,
+            int page, int size) {
+
+        if (page < 0) {
+            throw new RuntimeException("page must be 0 or greater.");
+        }
+        if (size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+            throw new RuntimeException("size must be between 1 and " + MAX_SEARCH_PAGE_SIZE + ".");
+        }
+
+        Specification<Facility> spec = Specification
+                .where(FacilitySpecifications.nameContains(name))
+                .and(FacilitySpecifications.hasType(typeId))
+                .and(FacilitySpecifications.ownedBy(departmentId))
+                .and(FacilitySpecifications.minCapacity(minCapacity))
+                .and(FacilitySpecifications.flag("hasProjector", hasProjector))
+                .and(FacilitySpecifications.flag("hasAirConditioning", hasAirConditioning))
+                .and(FacilitySpecifications.flag("hasWifi", hasWifi))
+                .and(FacilitySpecifications.flag("isOutdoor", isOutdoor));
+
+        Page<Facility> result = facilityRepository.findAll(spec,
+                PageRequest.of(page, size, Sort.by("name").and(Sort.by("id"))));
+        withRatings(result.getContent());
+        return result;
+    }
+
+    // ── Helper: embed ratings (one query per list) ────────────
+    private List<Facility> withRatings(List<Facility> facilities) {
+        if (facilities.isEmpty()) {
+            return facilities;
+        }
+        Map<Long, FacilityRatingStats> stats = new HashMap<>();
+        ratingStatsRepository.findAllById(facilities.stream().map(Facility::getId).toList())
+                .forEach(s -> stats.put(s.getFacilityId(), s));
+        for (Facility f : facilities) {
+            FacilityRating rating = FacilityRating.of(f.getId(), stats.get(f.getId()));
+            f.setAverageRating(rating.averageRating());
+            f.setTotalReviews(rating.totalReviews());
+        }
+        return facilities;
     }
 
     // ── Get availability slots (delegates to BookingService) ──
-    public Map<String, Object> getAvailabilitySlots(Long facilityId, LocalDate date) {
+    public AvailabilityResponse getAvailabilitySlots(Long facilityId, LocalDate date) {
         return bookingService.getAvailabilitySlots(facilityId, date);
     }
 
     // ── Create facility ───────────────────────────────────────
     @Transactional
+    @CacheEvict(value = CacheConfig.FACILITIES, allEntries = true)
     public Facility createFacility(Facility facility) {
         if (facility.getFacilityType() != null && facility.getFacilityType().getId() != null) {
             FacilityType type = facilityTypeRepository.findById(facility.getFacilityType().getId())
@@ -102,6 +155,7 @@ public class FacilityService {
 
     // ── Update facility ───────────────────────────────────────
     @Transactional
+    @CacheEvict(value = CacheConfig.FACILITIES, allEntries = true)
     public Facility updateFacility(Long id, Facility updated) {
         Facility existing = getFacilityById(id);
 
@@ -137,6 +191,7 @@ public class FacilityService {
 
     // ── Toggle availability (enable / disable) ────────────────
     @Transactional
+    @CacheEvict(value = CacheConfig.FACILITIES, allEntries = true)
     public Facility toggleAvailability(Long id) {
         Facility facility = getFacilityById(id);
         facility.setIsAvailable(!facility.getIsAvailable());
@@ -158,16 +213,19 @@ public class FacilityService {
      * Notifications are unaffected — their booking_id FK is nullable.
      */
     @Transactional
+    @CacheEvict(value = CacheConfig.FACILITIES, allEntries = true)
     public void deleteFacility(Long id) {
         // Verify facility exists first (throws 404 if not)
         getFacilityById(id);
 
         bookingApprovalRepository.deleteAllByFacilityId(id); // step 1
         reviewRepository.deleteAllByFacilityId(id); // step 2
+        ratingStatsRepository.deleteByFacilityId(id);
         notificationRepository.clearBookingReferencesByFacilityId(id); // step 3 — null FK, keep history
         waitlistRepository.deleteAllByFacilityId(id); // step 4
         maintenanceRepository.deleteAllByFacilityId(id); // step 5
         bookingRepository.deleteAllByFacilityId(id); // step 6
         facilityRepository.deleteById(id); // step 7
+        bookingIntervalIndex.evictFacility(id);
     }
 }
@@ -1,8 +1,11 @@
 package com.groupwork.campus_facilities_booking.service;
 
+import com.groupwork.campus_facilities_booking.config.CacheConfig;
 import com.groupwork.campus_facilities_booking.model.Entities.FacilityType;
 import com.groupwork.campus_facilities_booking.repository.FacilityTypeRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,9 +17,10 @@ public class FacilityTypeService {
 
     private final FacilityTypeRepository facilityTypeRepository;
 
-    // ── Get all types ─────────────────────────────────────────
+    // ── Get all types (cached — see CacheConfig) ──────────────
+    @Cacheable(value = CacheConfig.FACILITY_TYPES, key = "'all'")
     public List<FacilityType> getAllTypes() {
-        return facilityTypeRepository.findAll();
+        return List.copyOf(facilityTypeRepository.findAll());
     }
 
     // ── Get single type ───────────────────────────────────────
@@ -27,6 +31,7 @@ public class FacilityTypeService {
 
     // ── Create type ───────────────────────────────────────────
     @Transactional
+    @CacheEvict(value = CacheConfig.FACILITY_TYPES, allEntries = true)
     public FacilityType createType(FacilityType facilityType) {
         if (facilityTypeRepository.existsByNameIgnoreCase(facilityType.getName())) {
             throw new RuntimeException(
@@ -36,7 +41,9 @@ public class FacilityTypeService {
     }
 
     // ── Update type ───────────────────────────────────────────
+    // Facilities embed their type, so the facility list goes too
     @Transactional
+    @CacheEvict(value = { CacheConfig.FACILITY_TYPES, CacheConfig.FACILITIES }, allEntries = true)
     public FacilityType updateType(Long id, FacilityType updated) {
         FacilityType existing = getTypeById(id);
         existing.setName(updated.getName());
@@ -47,6 +54,7 @@ public class FacilityTypeService {
 
     // ── Delete type ───────────────────────────────────────────
     @Transactional
+    @CacheEvict(value = { CacheConfig.FACILITY_TYPES, CacheConfig.FACILITIES }, allEntries = true)
     public void deleteType(Long id) {
         FacilityType type = getTypeById(id);
         facilityTypeRepository.delete(type);
@@ -0,0 +1,256 @@
+package com.groupwork.campus_facilities_booking.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.groupwork.campus_facilities_booking.exception.TooManyStreamsException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Server-Sent Events push channels, so clients can stop polling.
+ *
+ *   notifications — one stream per user; each new notification or
+ *                   announcement is pushed as it is written.
+ *   availability  — one stream per (facility, date); every slot that gets
+ *                   booked or freed (create, cancel, extend, expiry...) is
+ *                   pushed as a SlotDelta. Fed by BookingIntervalIndex, so
+ *                   deltas go out only after the change has committed.
+ *                   The channel is public, so deltas carry only the time
+ *                   window — no booking id — and connections are capped
+ *                   per client address and per node
+ *                   (app.live.availability.max-per-client / max-connections).
+ *
+ * An open SSE connection holds no request thread. Sends run on virtual
+ * threads (one per delivery), so a slow client never holds up the
+ * publisher or other subscribers. A comment line is sent every
+ * heartbeat to keep proxies from closing idle streams and to drop dead
+ * ones. Streams time out after app.live.timeout-ms; EventSource reconnects
+ * by itself.
+ *
+ * Metrics: live.connections{channel} (gauge), live.fanout{channel} (time
+ * from publish to delivery, per subscriber).
+ */
+@Component
+public class LiveUpdateHub {
+
+    private static final Logger logger = Logger.getLogger(LiveUpdateHub.class.getName());
+
+    public static final String NOTIFICATIONS = "notifications";
+    public static final String AVAILABILITY  = "availability";
+
+    /**
+     * One slot taken or released. Blocking bookings never overlap, so the
+     * window alone identifies it: clients add BOOKED windows and remove
+     * FREED ones.
+     */
+    public record SlotDelta(Long facilityId, LocalDate date, Change change,
+                            LocalTime startTime, LocalTime endTime) {
+        public enum Change { BOOKED, FREED }
+    }
+
+    private final Map<Long, Set<Subscription>>        users = new ConcurrentHashMap<>();
+    private final Map<FacilityDay, Set<Subscription>> slots = new ConcurrentHashMap<>();
+    private final Map<String, Integer>                slotClients = new ConcurrentHashMap<>();
+
+    private final ObjectMapper    objectMapper;
+    private final long            timeoutMs;
+    private final int             maxSlotConnections;
+    private final int             maxSlotConnectionsPerClient;
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final AtomicInteger userConnections = new AtomicInteger();
+    private final AtomicInteger slotConnections = new AtomicInteger();
+    private final Timer         userFanout;
+    private final Timer         slotFanout;
+
+    public LiveUpdateHub(ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry,
+                         @Value("${app.live.timeout-ms:1800000}") long timeoutMs,
+                         @Value("${app.live.availability.max-connections:5000}") int maxSlotConnections,
+                         @Value("${app.live.availability.max-per-client:10}") int maxSlotConnectionsPerClient) {
+        this.objectMapper                = objectMapper;
+        this.timeoutMs                   = timeoutMs;
+        this.maxSlotConnections          = maxSlotConnections;
+        this.maxSlotConnectionsPerClient = maxSlotConnectionsPerClient;
+
+        Gauge.builder("live.connections", userConnections, AtomicInteger::get)
+                .tag("channel", NOTIFICATIONS).register(meterRegistry);
+        Gauge.builder("live.connections", slotConnections, AtomicInteger::get)
+                .tag("channel", AVAILABILITY).register(meterRegistry);
+        this.userFanout = Timer.builder("live.fanout").tag("channel", NOTIFICATIONS)
+                .description("Publish-to-delivery latency per subscriber")
+                .register(meterRegistry);
+        this.slotFanout = Timer.builder("live.fanout").tag("channel", AVAILABILITY)
+                .description("Publish-to-delivery latency per subscriber")
+                .register(meterRegistry);
+    }
+
+    // ── Subscribe ─────────────────────────────────────────────
+    public SseEmitter subscribeUser(Long userId) {
+        return subscribe(users, userId, userConnections, () -> {});
+    }
+
+    /** Public channel — {@code client} is the caller's address, used for the per-client cap. */
+    public SseEmitter subscribeFacilityDay(Long facilityId, LocalDate date, String client) {
+        if (slotConnections.get() >= maxSlotConnections) {
+            throw new TooManyStreamsException("Too many live availability streams are open. Try again later.");
+        }
+        if (slotClients.merge(client, 1, Integer::sum) > maxSlotConnectionsPerClient) {
+            releaseSlotClient(client);
+            throw new TooManyStreamsException("Too many live availability streams are open from this address.");
+        }
+        return subscribe(slots, new FacilityDay(facilityId, date), slotConnections,
+                () -> releaseSlotClient(client));
+    }
+
+    // ── Publish ───────────────────────────────────────────────
+    public void pushToUser(Long userId, Object payload) {
+        publish(users.get(userId), "notification", payload, userFanout);
+    }
+
+    public void pushToAllUsers(Object payload) {
+        String json = toJson(payload);
+        long   start = System.nanoTime();
+        users.values().forEach(subs -> deliver(subs, "notification", json, start, userFanout));
+    }
+
+    public void pushSlotChange(SlotDelta delta) {
+        publish(slots.get(new FacilityDay(delta.facilityId(), delta.date())), "slot", delta, slotFanout);
+    }
+
+    // ── Heartbeat ─────────────────────────────────────────────
+    @Scheduled(fixedDelayString = "${app.live.heartbeat-ms:25000}")
+    public void heartbeat() {
+        users.values().forEach(this::ping);
+        slots.values().forEach(this::ping);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        users.values().forEach(subs -> subs.forEach(Subscription::close));
+        slots.values().forEach(subs -> subs.forEach(Subscription::close));
+        sender.shutdown();
+    }
+
+    // ── Internals ─────────────────────────────────────────────
+    private <K> SseEmitter subscribe(Map<K, Set<Subscription>> channel, K key, AtomicInteger connections,
+                                     Runnable onDetach) {
+        SseEmitter   emitter = new SseEmitter(timeoutMs);
+        Subscription sub     = new Subscription(emitter, () -> {
+            channel.computeIfPresent(key, (k, subs) -> {
+                subs.removeIf(s -> s.emitter == emitter);
+                return subs.isEmpty() ? null : subs;
+            });
+            connections.decrementAndGet();
+            onDetach.run();
+        });
+        channel.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(sub);
+        connections.incrementAndGet();
+
+        emitter.onCompletion(sub::detach);
+        emitter.onTimeout(sub::detach);
+        emitter.onError(e -> sub.detach());
+
+        // Flushes the response headers so the client sees the stream open
+        try {
+            emitter.send(SseEmitter.event().comment("connected"));
+        } catch (Exception e) {
+            sub.close();
+        }
+        return emitter;
+    }
+
+    private void releaseSlotClient(String client) {
+        slotClients.computeIfPresent(client, (c, n) -> n > 1 ? n - 1 : null);
+    }
+
+    private void publish(Set<Subscription> subs, String event, Object payload, Timer fanout) {
+        if (subs == null || subs.isEmpty()) {
+            return;
+        }
+        deliver(subs, event, toJson(payload), System.nanoTime(), fanout);
+    }
+
+    private void deliver(Set<Subscription> subs, String event, String json, long start, Timer fanout) {
+        for (Subscription sub : subs) {
+            sender.execute(() -> {
+                try {
+                    sub.emitter.send(SseEmitter.event().name(event).data(json));
+                    fanout.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                } catch (Exception e) {
+                    sub.close();
+                }
+            });
+        }
+    }
+
+    private void ping(Set<Subscription> subs) {
+        for (Subscription sub : subs) {
+            sender.execute(() -> {
+                try {
+                    sub.emitter.send(SseEmitter.event().comment("ping"));
+                } catch (Exception e) {
+                    sub.close();
+                }
+            });
+        }
+    }
+
+    // Serialised once per publish, not once per subscriber
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            logger.log(Level.WARNING, "Could not serialise live update", e);
+            return "{}";
+        }
+    }
+
+    private record FacilityDay(Long facilityId, LocalDate date) {}
+
+    /** An emitter plus its unregister action, run at most once. */
+    private static final class Subscription {
+        private final SseEmitter    emitter;
+        private final Runnable      unregister;
+        private final AtomicBoolean detached = new AtomicBoolean();
+
+        Subscription(SseEmitter emitter, Runnable unregister) {
+            this.emitter    = emitter;
+            this.unregister = unregister;
+        }
+
+        void detach() {
+            if (detached.compareAndSet(false, true)) {
+                unregister.run();
+            }
+        }
+
+        void close() {
+            detach();
+            try {
+                emitter.complete();
+            } catch (Exception ignored) {
+                // already closed by the container
+            }
+        }
+    }
+}
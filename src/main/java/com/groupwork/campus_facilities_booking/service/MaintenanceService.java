@@ -1,13 +1,14 @@
 package com.groupwork.campus_facilities_booking.service;
 
+import com.groupwork.campus_facilities_booking.dto.CursorPage;
 import com.groupwork.campus_facilities_booking.model.Entities.Facility;
 import com.groupwork.campus_facilities_booking.model.Entities.MaintenanceSchedule;
 import com.groupwork.campus_facilities_booking.model.Entities.User;
 import com.groupwork.campus_facilities_booking.repository.FacilityRepository;
 import com.groupwork.campus_facilities_booking.repository.MaintenanceRepository;
-import com.groupwork.campus_facilities_booking.repository.UserRepository;
+import com.groupwork.campus_facilities_booking.security.CurrentUserProvider;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,11 +21,16 @@ public class MaintenanceService {
 
     private final MaintenanceRepository maintenanceRepository;
     private final FacilityRepository    facilityRepository;
-    private final UserRepository        userRepository;
+    private final CurrentUserProvider   currentUserProvider;
+    private final WaitlistMatcher       waitlistMatcher;
+    private final ResourceVersions      resourceVersions;
 
     // ── Get all maintenance schedules ─────────────────────────
-    public List<MaintenanceSchedule> getAllSchedules() {
-        return maintenanceRepository.findAll();
+    public CursorPage<MaintenanceSchedule> getAllSchedules(String cursor, Integer limit) {
+        Limit fetch = CursorPage.fetchLimit(limit);
+        return CursorPage.of(
+            maintenanceRepository.findByIdLessThanOrderByIdDesc(CursorPage.decode(cursor), fetch),
+            fetch, MaintenanceSchedule::getId);
     }
 
     // ── Get single schedule ───────────────────────────────────
@@ -57,12 +63,14 @@ public class MaintenanceService {
             throw new RuntimeException("End date must be on or after start date.");
         }
 
-        User admin = getCurrentUser();
+        User admin = currentUserProvider.load();
 
         schedule.setFacility(facility);
         schedule.setCreatedBy(admin);
 
-        return maintenanceRepository.save(schedule);
+        MaintenanceSchedule saved = maintenanceRepository.save(schedule);
+        resourceVersions.maintenanceChangedAfterCommit(facility.getId());
+        return saved;
     }
 
     // ── Update maintenance schedule ───────────────────────────
@@ -74,11 +82,18 @@ public class MaintenanceService {
             throw new RuntimeException("End date must be on or after start date.");
         }
 
+        LocalDate oldStart = existing.getStartDate();
+        LocalDate oldEnd   = existing.getEndDate();
+
         existing.setStartDate(updated.getStartDate());
         existing.setEndDate(updated.getEndDate());
         existing.setReason(updated.getReason());
 
-        return maintenanceRepository.save(existing);
+        MaintenanceSchedule saved = maintenanceRepository.save(existing);
+        resourceVersions.maintenanceChangedAfterCommit(saved.getFacility().getId());
+        // Days dropped from the window can take waitlisted bookings again
+        waitlistMatcher.fillDays(saved.getFacility().getId(), oldStart, oldEnd);
+        return saved;
     }
 
     // ── Delete maintenance schedule ───────────────────────────
@@ -86,13 +101,7 @@ public class MaintenanceService {
     public void deleteSchedule(Long id) {
         MaintenanceSchedule schedule = getScheduleById(id);
         maintenanceRepository.delete(schedule);
-    }
-
-    // ── Helper ────────────────────────────────────────────────
-    private User getCurrentUser() {
-        String email = SecurityContextHolder.getContext()
-            .getAuthentication().getName();
-        return userRepository.findByEmail(email)
-            .orElseThrow(() -> new RuntimeException("Authenticated user not found."));
+        resourceVersions.maintenanceChangedAfterCommit(schedule.getFacility().getId());
+        waitlistMatcher.fillDays(schedule.getFacility().getId(), schedule.getStartDate(), schedule.getEndDate());
     }
 }
@@ -1,16 +1,23 @@
 package com.groupwork.campus_facilities_booking.service;
 
+import com.groupwork.campus_facilities_booking.dto.NotificationFeedItem;
+import com.groupwork.campus_facilities_booking.model.Entities.Announcement;
 import com.groupwork.campus_facilities_booking.model.Entities.Booking;
 import com.groupwork.campus_facilities_booking.model.Entities.Notification;
 import com.groupwork.campus_facilities_booking.model.Entities.User;
 import com.groupwork.campus_facilities_booking.model.Enums.NotificationType;
+import com.groupwork.campus_facilities_booking.repository.AnnouncementRepository;
 import com.groupwork.campus_facilities_booking.repository.NotificationRepository;
 import com.groupwork.campus_facilities_booking.repository.UserRepository;
+import com.groupwork.campus_facilities_booking.security.CurrentUserProvider;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 @Service
@@ -19,17 +26,49 @@ public class NotificationService {
 
     private final NotificationRepository notificationRepository;
     private final UserRepository         userRepository;
+    private final AnnouncementRepository announcementRepository;
+    private final UnreadCounter          unreadCounter;
+    private final LiveUpdateHub          liveUpdateHub;
+    private final CurrentUserProvider    currentUserProvider;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * A notification to insert, by id only (no entities needed).
+     * Published as an event and written by NotificationWriter after commit.
+     */
+    public record Draft(Long userId, Long bookingId, String title, String message, NotificationType type) {}
 
     // ── Get all notifications for current user ────────────────
-    public List<Notification> getNotificationsForCurrentUser() {
-        User user = getCurrentUser();
-        return notificationRepository.findByUserOrderByCreatedAtDesc(user);
+    // Personal notifications plus announcements made since the user joined,
+    // merged newest first.
+    public List<NotificationFeedItem> getNotificationsForCurrentUser() {
+        User user      = currentUserProvider.load();
+        long watermark = watermarkOf(user);
+        List<NotificationFeedItem> feed = new ArrayList<>();
+        notificationRepository.findFeedByUserId(user.getId())
+            .forEach(n -> feed.add(NotificationFeedItem.of(n)));
+        announcementRepository.findTop100ByCreatedAtGreaterThanEqualOrderByIdDesc(user.getCreatedAt())
+            .forEach(a -> feed.add(NotificationFeedItem.of(a, a.getId() <= watermark)));
+        return newestFirst(feed);
     }
 
     // ── Get unread notifications for current user ─────────────
-    public List<Notification> getUnreadForCurrentUser() {
-        User user = getCurrentUser();
-        return notificationRepository.findByUserAndIsReadFalseOrderByCreatedAtDesc(user);
+    public List<NotificationFeedItem> getUnreadForCurrentUser() {
+        User user = currentUserProvider.load();
+        List<NotificationFeedItem> feed = new ArrayList<>();
+        notificationRepository.findUnreadFeedByUserId(user.getId())
+            .forEach(n -> feed.add(NotificationFeedItem.of(n)));
+        announcementRepository
+            .findTop100ByIdGreaterThanAndCreatedAtGreaterThanEqualOrderByIdDesc(watermarkOf(user), user.getCreatedAt())
+            .forEach(a -> feed.add(NotificationFeedItem.of(a, false)));
+        return newestFirst(feed);
+    }
+
+    // ── Unread badge count for current user ───────────────────
+    // Served from UnreadCounter — no SQL at all once the user is cached
+    // (the id comes from the token, not a users lookup).
+    public long getUnreadCountForCurrentUser() {
+        return unreadCounter.unreadCount(currentUserProvider.id());
     }
 
     // ── Mark single notification as read ─────────────────────
@@ -37,18 +76,38 @@ public class NotificationService {
     public Notification markAsRead(Long id) {
         Notification notification = notificationRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Notification not found with id: " + id));
-        notification.setIsRead(true);
+        if (!Boolean.TRUE.equals(notification.getIsRead())) {
+            notification.setIsRead(true);
+            unreadCounter.readAfterCommit(notification.getUser().getId(), 1);
+        }
         return notificationRepository.save(notification);
     }
 
+    // ── Mark an announcement as read ──────────────────────────
+    // Announcements are read by watermark, so this also marks every
+    // older announcement read.
+    @Transactional
+    public void markAnnouncementAsRead(Long announcementId) {
+        if (!announcementRepository.existsById(announcementId)) {
+            throw new RuntimeException("Announcement not found with id: " + announcementId);
+        }
+        Long userId = currentUserProvider.id();
+        userRepository.advanceAnnouncementWatermark(userId, announcementId);
+        unreadCounter.watermarkAdvancedAfterCommit(userId, announcementId);
+    }
+
     // ── Mark all notifications as read ────────────────────────
     @Transactional
     public void markAllAsRead() {
-        User user = getCurrentUser();
-        List<Notification> unread = notificationRepository
-            .findByUserAndIsReadFalseOrderByCreatedAtDesc(user);
-        unread.forEach(n -> n.setIsRead(true));
-        notificationRepository.saveAll(unread);
+        Long userId = currentUserProvider.id();
+        notificationRepository.markAllReadByUserId(userId);
+        unreadCounter.resetAfterCommit(userId);
+
+        Announcement latest = announcementRepository.findTopByOrderByIdDesc();
+        if (latest != null) {
+            userRepository.advanceAnnouncementWatermark(userId, latest.getId());
+            unreadCounter.watermarkAdvancedAfterCommit(userId, latest.getId());
+        }
     }
 
     // ── Delete a notification ─────────────────────────────────
@@ -57,45 +116,39 @@ public class NotificationService {
         Notification notification = notificationRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Notification not found with id: " + id));
         notificationRepository.delete(notification);
+        if (!Boolean.TRUE.equals(notification.getIsRead())) {
+            unreadCounter.readAfterCommit(notification.getUser().getId(), 1);
+        }
     }
 
-    // ── Broadcast announcement to ALL active users ────────────
-    @Transactional
-    public void broadcastAnnouncement(String title, String message) {
-        List<User> allUsers = userRepository.findByIsActiveTrue();
-        List<Notification> notifications = allUsers.stream()
-            .map(user -> Notification.builder()
-                .user(user)
-                .title(title)
-                .message(message)
-                .type(NotificationType.GENERAL_ANNOUNCEMENT)
-                .isRead(false)
-                .build())
-            .toList();
-        notificationRepository.saveAll(notifications);
+    // ── Live stream for current user (SSE) ────────────────────
+    public SseEmitter subscribeCurrentUser() {
+        return liveUpdateHub.subscribeUser(currentUserProvider.id());
     }
 
     // ── Internal helper — called by other services ────────────
-    @Transactional
+    // Queued, not inserted here: the row is written by NotificationWriter
+    // once the caller's transaction commits, so booking latency doesn't
+    // include the notification INSERT.
     public void sendNotification(User user, Booking booking,
                                   String title, String message,
                                   NotificationType type) {
-        Notification notification = Notification.builder()
-            .user(user)
-            .booking(booking)
-            .title(title)
-            .message(message)
-            .type(type)
-            .isRead(false)
-            .build();
-        notificationRepository.save(notification);
+        eventPublisher.publishEvent(new Draft(
+            user.getId(), booking != null ? booking.getId() : null, title, message, type));
+    }
+
+    // ── Bulk variant — used by the scheduled sweeps ───────────
+    public void sendAll(List<Draft> drafts) {
+        drafts.forEach(eventPublisher::publishEvent);
+    }
+
+    // ── Helpers ───────────────────────────────────────────────
+    private static long watermarkOf(User user) {
+        return user.getLastSeenAnnouncementId() != null ? user.getLastSeenAnnouncementId() : 0L;
     }
 
-    // ── Helper ────────────────────────────────────────────────
-    private User getCurrentUser() {
-        String email = SecurityContextHolder.getContext()
-            .getAuthentication().getName();
-        return userRepository.findByEmail(email)
-            .orElseThrow(() -> new RuntimeException("Authenticated user not found."));
+    private static List<NotificationFeedItem> newestFirst(List<NotificationFeedItem> feed) {
+        feed.sort(Comparator.comparing(NotificationFeedItem::createdAt).reversed());
+        return feed;
     }
 }
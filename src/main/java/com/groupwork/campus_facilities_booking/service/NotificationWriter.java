@@ -0,0 +1,244 @@
+package com.groupwork.campus_facilities_booking.service;
+
+import com.groupwork.campus_facilities_booking.dto.NotificationFeedItem;
+import com.groupwork.campus_facilities_booking.model.Entities.NotificationDeadLetter;
+import com.groupwork.campus_facilities_booking.repository.NotificationDeadLetterRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Writes notifications off the request path.
+ *
+ * NotificationService publishes a Draft event; it is picked up here only
+ * after the publishing transaction commits (so a rolled-back booking never
+ * notifies anyone) and dropped into a bounded queue. One writer thread
+ * drains the queue and inserts in JDBC batches.
+ *
+ * Back-pressure: if the queue is full, the publishing thread writes its own
+ * row synchronously instead of waiting. Every insert runs in a transaction
+ * of its own (REQUIRES_NEW) — on the overflow path we are inside
+ * afterCommit, where joining the finished transaction would leave the row
+ * uncommitted. Rows that fail on their own go to notification_dead_letters;
+ * if that insert fails too, the row is logged and dropped.
+ * Each written row bumps the recipient's cached unread count (UnreadCounter)
+ * and is pushed to any open notification stream of theirs (LiveUpdateHub).
+ *
+ * Metrics: notifications.queue.depth, notifications.flush (timer),
+ * notifications.written, notifications.dead_lettered, notifications.overflow.
+ */
+@Component
+public class NotificationWriter {
+
+    private static final Logger logger = Logger.getLogger(NotificationWriter.class.getName());
+
+    private static final String INSERT_SQL = """
+            INSERT INTO notifications (user_id, booking_id, title, message, type, is_read, created_at)
+            VALUES (?, ?, ?, ?, ?, false, ?)
+            """;
+
+    private final JdbcTemplate                     jdbcTemplate;
+    private final NotificationDeadLetterRepository deadLetterRepository;
+    private final UnreadCounter                    unreadCounter;
+    private final LiveUpdateHub                    liveUpdateHub;
+    private final TransactionTemplate              ownTx;
+    private final BlockingQueue<NotificationService.Draft> queue;
+    private final int                              batchSize;
+
+    private final Timer   flushTimer;
+    private final Counter written;
+    private final Counter deadLettered;
+    private final Counter overflow;
+
+    private volatile boolean running = true;
+    private Thread writer;
+
+    public NotificationWriter(JdbcTemplate jdbcTemplate,
+                              NotificationDeadLetterRepository deadLetterRepository,
+                              UnreadCounter unreadCounter,
+                              LiveUpdateHub liveUpdateHub,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.notifications.queue-capacity:10000}") int capacity,
+                              @Value("${app.notifications.batch-size:500}") int batchSize) {
+        this.jdbcTemplate         = jdbcTemplate;
+        this.deadLetterRepository = deadLetterRepository;
+        this.unreadCounter        = unreadCounter;
+        this.liveUpdateHub        = liveUpdateHub;
+        this.ownTx                = new TransactionTemplate(transactionManager);
+        this.ownTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.queue                = new ArrayBlockingQueue<>(capacity);
+        this.batchSize            = batchSize;
+
+        Gauge.builder("notifications.queue.depth", queue, BlockingQueue::size)
+                .description("Notifications waiting to be written")
+                .register(meterRegistry);
+        this.flushTimer   = Timer.builder("notifications.flush")
+                .description("Time to write one batch of notifications")
+                .register(meterRegistry);
+        this.written      = Counter.builder("notifications.written").register(meterRegistry);
+        this.deadLettered = Counter.builder("notifications.dead_lettered").register(meterRegistry);
+        this.overflow     = Counter.builder("notifications.overflow")
+                .description("Drafts written synchronously because the queue was full")
+                .register(meterRegistry);
+    }
+
+    // ── Intake ────────────────────────────────────────────────
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDraft(NotificationService.Draft draft) {
+        if (queue.offer(draft)) {
+            return;
+        }
+        overflow.increment();
+        write(List.of(draft));
+    }
+
+    // ── Writer thread ─────────────────────────────────────────
+    @PostConstruct
+    public void start() {
+        writer = new Thread(this::drainLoop, "notification-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.interrupt();
+        writer.join(5_000);
+        flushRemaining();
+    }
+
+    private void drainLoop() {
+        List<NotificationService.Draft> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                NotificationService.Draft first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.log(Level.WARNING, "Notification writer loop error", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flushRemaining() {
+        List<NotificationService.Draft> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        for (int i = 0; i < rest.size(); i += batchSize) {
+            write(rest.subList(i, Math.min(rest.size(), i + batchSize)));
+        }
+    }
+
+    // ── Insert (batch, then row-by-row on failure) ───────────
+    private void write(List<NotificationService.Draft> batch) {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            List<Long> ids = flushTimer.record(() -> ownTx.execute(tx -> insert(batch, now)));
+            written.increment(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                delivered(ids.get(i), batch.get(i), now);
+            }
+        } catch (Exception batchFailure) {
+            // One bad row fails the whole batch — retry individually to isolate it
+            for (NotificationService.Draft d : batch) {
+                try {
+                    Long id = ownTx.execute(tx -> insert(List.of(d), now)).get(0);
+                    written.increment();
+                    delivered(id, d, now);
+                } catch (Exception rowFailure) {
+                    deadLetter(d, rowFailure);
+                }
+            }
+        }
+    }
+
+    private void delivered(Long id, NotificationService.Draft d, LocalDateTime createdAt) {
+        unreadCounter.added(d.userId(), 1);
+        liveUpdateHub.pushToUser(d.userId(), new NotificationFeedItem(
+                id, NotificationFeedItem.Kind.NOTIFICATION, d.title(), d.message(), d.type(), false, createdAt,
+                d.bookingId() != null ? new NotificationFeedItem.BookingRef(d.bookingId()) : null));
+    }
+
+    /** Batch insert; returns the generated ids in row order. */
+    private List<Long> insert(List<NotificationService.Draft> rows, LocalDateTime now) {
+        Timestamp createdAt = Timestamp.valueOf(now);
+        GeneratedKeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_SQL, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        NotificationService.Draft d = rows.get(i);
+                        ps.setLong(1, d.userId());
+                        ps.setObject(2, d.bookingId());
+                        ps.setString(3, d.title());
+                        ps.setString(4, d.message());
+                        ps.setString(5, d.type().name());
+                        ps.setTimestamp(6, createdAt);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                },
+                keys);
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (Map<String, Object> key : keys.getKeyList()) {
+            ids.add(((Number) key.get("id")).longValue());
+        }
+        return ids;
+    }
+
+    private void deadLetter(NotificationService.Draft d, Exception cause) {
+        deadLettered.increment();
+        try {
+            ownTx.executeWithoutResult(tx -> deadLetterRepository.save(NotificationDeadLetter.builder()
+                    .userId(d.userId())
+                    .bookingId(d.bookingId())
+                    .title(d.title())
+                    .message(d.message())
+                    .type(d.type())
+                    .error(cause.getMessage())
+                    .build()));
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Dropping notification for user " + d.userId()
+                    + " — dead-letter insert failed too", e);
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.groupwork.campus_facilities_booking.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+
+/**
+ * The subset of iCalendar RRULE that campus bookings need, parsed from
+ * Booking.recurrenceRule.
+ *
+ *   WEEKLY | DAILY                                 (legacy values, open-ended)
+ *   [RRULE:]FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,WE;UNTIL=20260515;EXDATE=20260406,20260408
+ *   FREQ=DAILY;COUNT=10
+ *
+ * The booking's own date is the first occurrence (DTSTART). COUNT counts
+ * occurrences before EXDATE removes any; UNTIL is inclusive. Dates are
+ * yyyyMMdd or yyyy-MM-dd.
+ *
+ * Occurrences are produced lazily — nothing is expanded beyond what the
+ * caller reads, so an open-ended rule costs nothing until it is walked.
+ */
+public final class RecurrenceRule {
+
+    public enum Frequency { DAILY, WEEKLY }
+
+    private static final Map<String, DayOfWeek> DAYS = Map.of(
+            "MO", DayOfWeek.MONDAY, "TU", DayOfWeek.TUESDAY, "WE", DayOfWeek.WEDNESDAY,
+            "TH", DayOfWeek.THURSDAY, "FR", DayOfWeek.FRIDAY, "SA", DayOfWeek.SATURDAY,
+            "SU", DayOfWeek.SUNDAY);
+
+    private final Frequency          frequency;
+    private final int                interval;
+    private final EnumSet<DayOfWeek> byDay;      // empty → the weekday of DTSTART
+    private final LocalDate          until;      // null → no end date
+    private final Integer            count;      // null → no limit
+    private final Set<LocalDate>     exdates;
+
+    private RecurrenceRule(Frequency frequency, int interval, EnumSet<DayOfWeek> byDay,
+                           LocalDate until, Integer count, Set<LocalDate> exdates) {
+        this.frequency = frequency;
+        this.interval  = interval;
+        this.byDay     = byDay;
+        this.until     = until;
+        this.count     = count;
+        this.exdates   = exdates;
+    }
+
+    // ── Parse ─────────────────────────────────────────────────
+    public static RecurrenceRule parse(String rule) {
+        if (rule == null || rule.isBlank()) {
+            throw new RuntimeException("Recurring bookings need a recurrenceRule (e.g. \"FREQ=WEEKLY;COUNT=13\").");
+        }
+        String text = rule.trim().toUpperCase(Locale.ROOT);
+        if (text.startsWith("RRULE:")) {
+            text = text.substring("RRULE:".length());
+        }
+        if (text.equals("DAILY") || text.equals("WEEKLY")) {
+            return new RecurrenceRule(Frequency.valueOf(text), 1, EnumSet.noneOf(DayOfWeek.class),
+                    null, null, Set.of());
+        }
+
+        Frequency          frequency = null;
+        int                interval  = 1;
+        EnumSet<DayOfWeek> byDay     = EnumSet.noneOf(DayOfWeek.class);
+        LocalDate          until     = null;
+        Integer            count     = null;
+        Set<LocalDate>     exdates   = new HashSet<>();
+
+        try {
+            for (String part : text.split(";")) {
+                if (part.isBlank()) {
+                    continue;
+                }
+                int eq = part.indexOf('=');
+                if (eq < 0) {
+                    throw invalid(rule, "expected KEY=VALUE, got '" + part + "'");
+                }
+                String key   = part.substring(0, eq).trim();
+                String value = part.substring(eq + 1).trim();
+                switch (key) {
+                    case "FREQ"     -> {
+                        if (!value.equals("DAILY") && !value.equals("WEEKLY")) {
+                            throw invalid(rule, "FREQ must be DAILY or WEEKLY");
+                        }
+                        frequency = Frequency.valueOf(value);
+                    }
+                    case "INTERVAL" -> interval  = Integer.parseInt(value);
+                    case "COUNT"    -> count     = Integer.parseInt(value);
+                    case "UNTIL"    -> until     = parseDate(value);
+                    case "BYDAY"    -> {
+                        for (String day : value.split(",")) {
+                            DayOfWeek dow = DAYS.get(day.trim());
+                            if (dow == null) {
+                                throw invalid(rule, "unknown day '" + day + "'");
+                            }
+                            byDay.add(dow);
+                        }
+                    }
+                    case "EXDATE"   -> {
+                        for (String date : value.split(",")) {
+                            exdates.add(parseDate(date.trim()));
+                        }
+                    }
+                    default -> throw invalid(rule, "unsupported part '" + key + "'");
+                }
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw invalid(rule, e.getMessage());
+        }
+
+        if (frequency == null) {
+            throw invalid(rule, "FREQ is required");
+        }
+        if (interval < 1) {
+            throw invalid(rule, "INTERVAL must be at least 1");
+        }
+        if (count != null && count < 1) {
+            throw invalid(rule, "COUNT must be at least 1");
+        }
+        if (count != null && until != null) {
+            throw invalid(rule, "use either COUNT or UNTIL, not both");
+        }
+        return new RecurrenceRule(frequency, interval, byDay, until, count, Set.copyOf(exdates));
+    }
+
+    // ── Expand ────────────────────────────────────────────────
+    /** Occurrence dates in ascending order, starting with dtstart itself. */
+    public Iterator<LocalDate> occurrences(LocalDate dtstart) {
+        EnumSet<DayOfWeek> days = byDay.isEmpty() ? EnumSet.of(dtstart.getDayOfWeek()) : byDay;
+        Iterator<LocalDate> candidates = frequency == Frequency.WEEKLY
+                ? weekly(dtstart, days)
+                : daily(dtstart, byDay.isEmpty() ? null : days);
+
+        return new Iterator<>() {
+            private int       produced;
+            private LocalDate next = advance();
+
+            private LocalDate advance() {
+                while (candidates.hasNext()) {
+                    LocalDate d = candidates.next();
+                    if (until != null && d.isAfter(until)) {
+                        return null;
+                    }
+                    if (count != null && produced >= count) {
+                        return null;
+                    }
+                    produced++;
+                    if (!exdates.contains(d)) {
+                        return d;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public LocalDate next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                LocalDate current = next;
+                next = advance();
+                return current;
+            }
+        };
+    }
+
+    // ── Internals ─────────────────────────────────────────────
+    // Every interval-th week from DTSTART's week, the chosen weekdays in order
+    private Iterator<LocalDate> weekly(LocalDate dtstart, EnumSet<DayOfWeek> days) {
+        LocalDate firstWeek = dtstart.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        return new Iterator<>() {
+            private long                week = 0;
+            private Iterator<DayOfWeek> day  = days.iterator();
+            private LocalDate           next = advance();
+
+            private LocalDate advance() {
+                while (true) {
+                    if (!day.hasNext()) {
+                        week += interval;
+                        day = days.iterator();
+                    }
+                    LocalDate d = firstWeek.plusWeeks(week)
+                            .plusDays(day.next().getValue() - DayOfWeek.MONDAY.getValue());
+                    if (!d.isBefore(dtstart)) {
+                        return d;
+                    }
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public LocalDate next() {
+                LocalDate current = next;
+                next = advance();
+                return current;
+            }
+        };
+    }
+
+    // Every interval-th day from DTSTART, optionally limited to some weekdays.
+    // The weekday pattern repeats within 7 steps, so 7 misses in a row means
+    // no date can ever match.
+    private Iterator<LocalDate> daily(LocalDate dtstart, EnumSet<DayOfWeek> onlyDays) {
+        return new Iterator<>() {
+            private LocalDate candidate = dtstart;
+            private LocalDate next      = advance();
+
+            private LocalDate advance() {
+                for (int misses = 0; misses < 7; misses++) {
+                    LocalDate d = candidate;
+                    candidate = candidate.plus(interval, ChronoUnit.DAYS);
+                    if (onlyDays == null || onlyDays.contains(d.getDayOfWeek())) {
+                        return d;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public LocalDate next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                LocalDate current = next;
+                next = advance();
+                return current;
+            }
+        };
+    }
+
+    // yyyyMMdd, yyyyMMddTHHmmssZ (time ignored) or yyyy-MM-dd
+    private static LocalDate parseDate(String value) {
+        if (value.contains("-")) {
+            return LocalDate.parse(value);
+        }
+        String date = value.length() > 8 ? value.substring(0, 8) : value;
+        return LocalDate.parse(date, DateTimeFormatter.BASIC_ISO_DATE);
+    }
+
+    private static RuntimeException invalid(String rule, String reason) {
+        return new RuntimeException("Invalid recurrence rule '" + rule + "': " + reason);
+    }
+}
@@ -0,0 +1,284 @@
+package com.groupwork.campus_facilities_booking.service;
+
+import com.groupwork.campus_facilities_booking.model.Entities.Booking;
+import com.groupwork.campus_facilities_booking.model.Entities.Facility;
+import com.groupwork.campus_facilities_booking.model.Enums.BookingStatus;
+import com.groupwork.campus_facilities_booking.model.Enums.NotificationType;
+import com.groupwork.campus_facilities_booking.repository.BookingRepository;
+import com.groupwork.campus_facilities_booking.repository.MaintenanceRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Expands recurring bookings (isRecurring + recurrenceRule) into real
+ * bookings, a few weeks at a time.
+ *
+ * The recurring booking itself is the first occurrence. Later occurrences
+ * are inserted as CONFIRMED bookings with seriesParentId pointing back at
+ * it, but only up to today + app.recurrence.horizon-days — an open-ended
+ * weekly lecture holds a month of rows, not years of them. A nightly job
+ * moves the horizon forward; seriesMaterializedUntil on the parent records
+ * how far each series has got.
+ *
+ * Each step locks the facility-days involved, loads existing bookings and
+ * maintenance windows for the whole date span in one query each, and walks
+ * them together with the occurrence dates. Occurrences that clash are
+ * skipped (never double-booked) and the owner is told which dates.
+ *
+ * Lock order: a new series is started inside createBooking, which already
+ * holds its own facility-day. createBooking therefore takes that day and
+ * every occurrence day in one ordered lockAll (see slotKeys) before it
+ * checks anything; the lockAll here then re-enters locks already held.
+ * The nightly job runs on one node at a time (a transaction-scoped
+ * advisory lock); every series is extended in a transaction of its own.
+ *
+ * Cancelling the recurring booking stops the series; occurrences already
+ * created stay until they are cancelled individually.
+ */
+@Service
+public class RecurrenceService {
+
+    private static final Logger logger = Logger.getLogger(RecurrenceService.class.getName());
+
+    /** Advisory lock key held by whichever node is running extendSeries. */
+    private static final long EXTEND_JOB_LOCK = 7_001L;
+
+    private final BookingRepository     bookingRepository;
+    private final MaintenanceRepository maintenanceRepository;
+    private final BookingSlotLocks      bookingSlotLocks;
+    private final BookingIntervalIndex  bookingIntervalIndex;
+    private final BookingDeadlineQueue  bookingDeadlineQueue;
+    private final BookingBatchWriter    bookingBatchWriter;
+    private final NotificationService   notificationService;
+    private final TransactionTemplate   jobTx;
+    private final TransactionTemplate   perSeriesTx;
+    private final int                   horizonDays;
+
+    public RecurrenceService(BookingRepository bookingRepository,
+                             MaintenanceRepository maintenanceRepository,
+                             BookingSlotLocks bookingSlotLocks,
+                             BookingIntervalIndex bookingIntervalIndex,
+                             BookingDeadlineQueue bookingDeadlineQueue,
+                             BookingBatchWriter bookingBatchWriter,
+                             NotificationService notificationService,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.recurrence.horizon-days:28}") int horizonDays) {
+        this.bookingRepository     = bookingRepository;
+        this.maintenanceRepository = maintenanceRepository;
+        this.bookingSlotLocks      = bookingSlotLocks;
+        this.bookingIntervalIndex  = bookingIntervalIndex;
+        this.bookingDeadlineQueue  = bookingDeadlineQueue;
+        this.bookingBatchWriter    = bookingBatchWriter;
+        this.notificationService   = notificationService;
+        this.jobTx                 = new TransactionTemplate(transactionManager);
+        this.perSeriesTx           = new TransactionTemplate(transactionManager);
+        this.perSeriesTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.horizonDays           = horizonDays;
+    }
+
+    // ── Start a series (inside createBooking's transaction) ──
+    /** Throws if the booking is recurring but its rule can't be parsed. */
+    public void validate(Booking booking) {
+        if (Boolean.TRUE.equals(booking.getIsRecurring())) {
+            RecurrenceRule.parse(booking.getRecurrenceRule());
+        }
+    }
+
+    /** How far a series started now is materialised. */
+    public LocalDate horizon() {
+        return LocalDate.now().plusDays(horizonDays);
+    }
+
+    /**
+     * Every facility-day a new booking will hold: its own and, if it is
+     * recurring, each occurrence day startSeries(booking, through) may fill.
+     * createBooking locks them all at once, in lockAll's order.
+     */
+    public List<BookingSlotLocks.Key> slotKeys(Long facilityId, Booking booking, LocalDate through) {
+        List<BookingSlotLocks.Key> keys = new ArrayList<>();
+        keys.add(new BookingSlotLocks.Key(facilityId, booking.getDate()));
+        if (Boolean.TRUE.equals(booking.getIsRecurring())) {
+            occurrences(booking, booking.getDate(), through).dates()
+                    .forEach(d -> keys.add(new BookingSlotLocks.Key(facilityId, d)));
+        }
+        return keys;
+    }
+
+    /**
+     * Create the occurrences up to {@code through} for a just-saved recurring
+     * booking. The caller already holds slotKeys(parent, through).
+     */
+    public void startSeries(Booking parent, LocalDate through) {
+        if (!Boolean.TRUE.equals(parent.getIsRecurring())) {
+            return;
+        }
+        parent.setSeriesMaterializedUntil(parent.getDate());
+        materialize(parent, through);
+    }
+
+    /**
+     * After an edit: a series switched off stops; one switched on starts.
+     * The caller already holds slotKeys(parent, through).
+     */
+    public void reconfigure(Booking parent, LocalDate through) {
+        if (!Boolean.TRUE.equals(parent.getIsRecurring())) {
+            parent.setSeriesMaterializedUntil(null);
+        } else if (parent.getSeriesMaterializedUntil() == null && parent.getSeriesParentId() == null) {
+            startSeries(parent, through);
+        }
+    }
+
+    // ── Rolling horizon ───────────────────────────────────────
+    // One node at a time: the advisory lock is held by the outer transaction
+    // for the whole run; each series commits in its own (REQUIRES_NEW).
+    @Scheduled(cron = "${app.recurrence.cron:0 30 0 * * *}")
+    public void extendSeries() {
+        jobTx.executeWithoutResult(job -> {
+            if (!Boolean.TRUE.equals(bookingRepository.tryLockJob(EXTEND_JOB_LOCK))) {
+                logger.info("Recurring bookings are being extended on another node — skipping.");
+                return;
+            }
+            LocalDate through = horizon();
+            for (Long id : bookingRepository.findSeriesDueBefore(through)) {
+                try {
+                    perSeriesTx.executeWithoutResult(status ->
+                            bookingRepository.findById(id).ifPresent(parent -> materialize(parent, through)));
+                } catch (Exception e) {
+                    // One bad series must not hold up the rest
+                    logger.log(Level.WARNING, "Could not extend recurring booking " + id, e);
+                }
+            }
+        });
+    }
+
+    // ── Internals ─────────────────────────────────────────────
+    /** Occurrence dates in (after, through], from today on; exhausted if the rule ends by then. */
+    private record Occurrences(List<LocalDate> dates, boolean exhausted) {}
+
+    private static Occurrences occurrences(Booking parent, LocalDate after, LocalDate through) {
+        LocalDate           today     = LocalDate.now();
+        Iterator<LocalDate> rule      = RecurrenceRule.parse(parent.getRecurrenceRule()).occurrences(parent.getDate());
+        List<LocalDate>     dates     = new ArrayList<>();
+        boolean             exhausted = true;
+        while (rule.hasNext()) {
+            LocalDate d = rule.next();
+            if (d.isAfter(through)) {
+                exhausted = false;
+                break;
+            }
+            // Dates the job missed while the app was down are not back-filled
+            if (d.isAfter(after) && !d.isBefore(today)) {
+                dates.add(d);
+            }
+        }
+        return new Occurrences(dates, exhausted);
+    }
+
+    /** Insert the occurrences in (seriesMaterializedUntil, through]. Caller holds a transaction. */
+    private void materialize(Booking parent, LocalDate through) {
+        if (parent.getStatus() == BookingStatus.CANCELLED || parent.getStatus() == BookingStatus.REJECTED) {
+            parent.setSeriesMaterializedUntil(null);
+            return;
+        }
+
+        // 1. Next occurrence dates, lazily — stop at the horizon or when the rule ends
+        Occurrences     next  = occurrences(parent, parent.getSeriesMaterializedUntil(), through);
+        List<LocalDate> dates = next.dates();
+        parent.setSeriesMaterializedUntil(next.exhausted() ? null : through);
+        if (dates.isEmpty()) {
+            return;
+        }
+
+        Facility facility = parent.getFacility();
+        if (!facility.getIsAvailable()) {
+            notifySkipped(parent, dates);
+            return;
+        }
+
+        // 2. Lock the facility-days (already held when called from createBooking),
+        //    then one query each for bookings + maintenance
+        Long      facilityId = facility.getId();
+        LocalDate from       = dates.get(0);
+        LocalDate to         = dates.get(dates.size() - 1);
+        bookingSlotLocks.lockAll(dates.stream().map(d -> new BookingSlotLocks.Key(facilityId, d)).toList());
+
+        List<BookingRepository.SlotView> existing = new ArrayList<>(bookingRepository.findSlotsInRange(
+                List.of(facilityId), from, to, BookingIntervalIndex.BLOCKING_STATUSES));
+        existing.sort(Comparator.comparing(BookingRepository.SlotView::getDate)
+                .thenComparing(BookingRepository.SlotView::getStartTime));
+
+        List<MaintenanceRepository.RangeView> maintenance = new ArrayList<>(
+                maintenanceRepository.findRangesOverlapping(List.of(facilityId), from, to));
+        maintenance.sort(Comparator.comparing(MaintenanceRepository.RangeView::getStartDate));
+
+        // 3. One forward walk over dates, bookings and maintenance together
+        List<LocalDate> accepted = new ArrayList<>(dates.size());
+        List<LocalDate> skipped  = new ArrayList<>();
+        int       nextBooking      = 0;
+        int       nextMaintenance  = 0;
+        LocalDate maintenanceUntil = LocalDate.MIN;   // latest end of windows started so far
+        for (LocalDate d : dates) {
+            while (nextMaintenance < maintenance.size()
+                    && !maintenance.get(nextMaintenance).getStartDate().isAfter(d)) {
+                LocalDate end = maintenance.get(nextMaintenance++).getEndDate();
+                if (end.isAfter(maintenanceUntil)) {
+                    maintenanceUntil = end;
+                }
+            }
+            while (nextBooking < existing.size() && existing.get(nextBooking).getDate().isBefore(d)) {
+                nextBooking++;
+            }
+            boolean clash = !maintenanceUntil.isBefore(d);
+            for (int i = nextBooking; !clash && i < existing.size() && existing.get(i).getDate().equals(d); i++) {
+                BookingRepository.SlotView s = existing.get(i);
+                clash = s.getStartTime().isBefore(parent.getEndTime()) && s.getEndTime().isAfter(parent.getStartTime());
+            }
+            (clash ? skipped : accepted).add(d);
+        }
+
+        // 4. Insert the free ones in one batch
+        if (!accepted.isEmpty()) {
+            Long       userId = parent.getUser().getId();
+            List<Long> ids    = bookingBatchWriter.insert(accepted.stream()
+                    .map(d -> new BookingBatchWriter.Row(facilityId, userId, d,
+                            parent.getStartTime(), parent.getEndTime(), parent.getPurpose(),
+                            parent.getAttendees(), parent.getNotes(), parent.getId()))
+                    .toList());
+            for (int i = 0; i < accepted.size(); i++) {
+                Booking occurrence = Booking.builder()
+                        .id(ids.get(i))
+                        .facility(facility)
+                        .date(accepted.get(i))
+                        .startTime(parent.getStartTime())
+                        .endTime(parent.getEndTime())
+                        .status(BookingStatus.CONFIRMED)
+                        .build();
+                bookingIntervalIndex.record(occurrence);
+                bookingDeadlineQueue.schedule(occurrence);
+            }
+        }
+        if (!skipped.isEmpty()) {
+            notifySkipped(parent, skipped);
+        }
+    }
+
+    private void notifySkipped(Booking parent, List<LocalDate> skipped) {
+        notificationService.sendNotification(
+                parent.getUser(), parent,
+                "Recurring Booking Conflicts",
+                "Your recurring booking for " + parent.getFacility().getName() + " could not be placed on "
+                        + skipped.stream().map(LocalDate::toString).collect(Collectors.joining(", "))
+                        + " (already booked, under maintenance or facility unavailable).",
+                NotificationType.BOOKING_REJECTED);
+    }
+}
@@ -0,0 +1,163 @@
+package com.groupwork.campus_facilities_booking.service;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version stamps for the public read endpoints, so HTTP caches can
+ * revalidate without touching the database (see ConditionalGetInterceptor).
+ *
+ * Every change takes the next value of one process-wide sequence and
+ * stores it against what changed:
+ *
+ *   catalog      — facilities / facility types / departments. Bumped by the
+ *                  catalog caches themselves whenever they are cleared
+ *                  (CacheConfig), so a new stamp is never visible while the
+ *                  old rows can still be served from the cache.
+ *   reviews      — after a review is added or removed.
+ *   maintenance  — per facility, after a maintenance window changes.
+ *   slots        — per facility-day, whenever BookingIntervalIndex sees a
+ *                  slot booked or freed (after commit).
+ *
+ * A response's version is the largest stamp among its inputs. Stamps only
+ * grow, so any change to any input moves the version forward and a version
+ * is never handed out again for different content. ETags carry a
+ * per-process epoch as well: after a restart every old ETag just misses.
+ *
+ * Day stamps for past days are pruned nightly; a day with no stamp falls
+ * back to the highest stamp pruned for its facility, which is never lower
+ * than what that day had.
+ *
+ * State is per process, like the catalog cache and the booking index: a
+ * change committed by another node never moves these stamps. That is why
+ * ConditionalGetInterceptor is only switched on (app.http-cache.etags.enabled)
+ * for single-node deployments.
+ */
+@Component
+public class ResourceVersions {
+
+    public enum Aggregate { FACILITIES, FACILITY_TYPES, DEPARTMENTS, REVIEWS }
+
+    private final String     epoch    = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final Map<Aggregate, Long>   aggregates  = new ConcurrentHashMap<>();
+    private final Map<Long, Long>        maintenance = new ConcurrentHashMap<>();
+    private final Map<FacilityDay, Long> slots       = new ConcurrentHashMap<>();
+    private final Map<Long, Long>        pruned      = new ConcurrentHashMap<>();   // facility → max pruned day stamp
+    private final AtomicLong             reloaded    = new AtomicLong();            // booking index resynced
+
+    // ── Writers ───────────────────────────────────────────────
+    public void changed(Aggregate aggregate) {
+        aggregates.merge(aggregate, sequence.incrementAndGet(), Math::max);
+    }
+
+    public void changedAfterCommit(Aggregate aggregate) {
+        AfterCommit.run(() -> changed(aggregate));
+    }
+
+    public void maintenanceChangedAfterCommit(Long facilityId) {
+        AfterCommit.run(() -> maintenance.merge(facilityId, sequence.incrementAndGet(), Math::max));
+    }
+
+    /** Called by BookingIntervalIndex once a slot change has committed. */
+    public void slotChanged(Long facilityId, LocalDate date) {
+        slots.merge(new FacilityDay(facilityId, date), sequence.incrementAndGet(), Math::max);
+    }
+
+    /** The booking index was rebuilt from the DB — it may have picked up changes we never saw. */
+    public void schedulesReloaded() {
+        reloaded.accumulateAndGet(sequence.incrementAndGet(), Math::max);
+    }
+
+    /**
+     * The catalog cache's TTL is the safety net for edits made outside the
+     * app; move the catalog versions on the same period so ETags follow.
+     */
+    @Scheduled(fixedDelayString = "${app.cache.catalog.ttl-minutes:60}",
+               initialDelayString = "${app.cache.catalog.ttl-minutes:60}",
+               timeUnit = TimeUnit.MINUTES)
+    public void expireCatalog() {
+        changed(Aggregate.FACILITIES);
+        changed(Aggregate.FACILITY_TYPES);
+        changed(Aggregate.DEPARTMENTS);
+    }
+
+    // ── Readers ───────────────────────────────────────────────
+    /** Facility list / detail / search — facilities embed their type and department. */
+    public long catalog() {
+        return Math.max(of(Aggregate.FACILITIES), Math.max(of(Aggregate.FACILITY_TYPES), of(Aggregate.DEPARTMENTS)));
+    }
+
+    public long facilityTypes() {
+        return of(Aggregate.FACILITY_TYPES);
+    }
+
+    public long departments() {
+        return of(Aggregate.DEPARTMENTS);
+    }
+
+    /** Reviews embed their facility. */
+    public long reviews() {
+        return Math.max(of(Aggregate.REVIEWS), catalog());
+    }
+
+    /** One facility's slot grid for one day (hours, maintenance, bookings). */
+    public long availability(Long facilityId, LocalDate date) {
+        Long day = slots.get(new FacilityDay(facilityId, date));
+        return max(catalog(), reloaded.get(), maintenance.getOrDefault(facilityId, 0L),
+                day != null ? day : pruned.getOrDefault(facilityId, 0L));
+    }
+
+    /**
+     * Availability matrix: every day of every requested facility. Callers
+     * bound the range (AvailabilityMatrixService limits), so this is at most
+     * a few thousand map lookups.
+     */
+    public long availability(Collection<Long> facilityIds, LocalDate from, LocalDate to) {
+        long version = Math.max(catalog(), reloaded.get());
+        for (Long facilityId : facilityIds) {
+            version = Math.max(version, maintenance.getOrDefault(facilityId, 0L));
+            for (LocalDate d = from; !d.isAfter(to); d = d.plusDays(1)) {
+                Long day = slots.get(new FacilityDay(facilityId, d));
+                version = Math.max(version, day != null ? day : pruned.getOrDefault(facilityId, 0L));
+            }
+        }
+        return version;
+    }
+
+    /** Strong ETag for a version from one of the readers above. */
+    public String etag(long version) {
+        return "\"" + epoch + "-" + Long.toString(version, 36) + "\"";
+    }
+
+    // ── Housekeeping ──────────────────────────────────────────
+    @Scheduled(cron = "0 10 0 * * *")
+    public void pruneExpiredDays() {
+        LocalDate today = LocalDate.now();
+        slots.forEach((key, stamp) -> {
+            if (key.date().isBefore(today)) {
+                pruned.merge(key.facilityId(), stamp, Math::max);   // floor first, then drop
+                slots.remove(key, stamp);
+            }
+        });
+    }
+
+    // ── Internals ─────────────────────────────────────────────
+    private long of(Aggregate aggregate) {
+        return aggregates.getOrDefault(aggregate, 0L);
+    }
+
+    private static long max(long a, long b, long c, long d) {
+        return Math.max(Math.max(a, b), Math.max(c, d));
+    }
+
+    private record FacilityDay(Long facilityId, LocalDate date) {}
+}
@@ -1,32 +1,48 @@
 package com.groupwork.campus_facilities_booking.service;
 
+import com.groupwork.campus_facilities_booking.config.CacheConfig;
+import com.groupwork.campus_facilities_booking.dto.FacilityRating;
 import com.groupwork.campus_facilities_booking.model.Entities.Booking;
 import com.groupwork.campus_facilities_booking.model.Entities.Facility;
+import com.groupwork.campus_facilities_booking.model.Entities.FacilityRatingStats;
 import com.groupwork.campus_facilities_booking.model.Entities.Review;
 import com.groupwork.campus_facilities_booking.model.Entities.User;
 import com.groupwork.campus_facilities_booking.model.Enums.BookingStatus;
-import com.groupwork.campus_facilities_booking.model.Enums.UserRole;
 import com.groupwork.campus_facilities_booking.repository.BookingRepository;
+import com.groupwork.campus_facilities_booking.repository.FacilityRatingStatsRepository;
 import com.groupwork.campus_facilities_booking.repository.FacilityRepository;
 import com.groupwork.campus_facilities_booking.repository.ReviewRepository;
-import com.groupwork.campus_facilities_booking.repository.UserRepository;
+import com.groupwork.campus_facilities_booking.security.CurrentUserProvider;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.LinkedHashMap;
-import java.util.List;
-import java.util.Map;
-
+import java.util.*;
+
+/**
+ * Reviews and facility ratings.
+ *
+ * Ratings come from facility_rating_stats (sum, count and 1–5★ histogram
+ * per facility), which every review write adjusts in the same transaction
+ * with one atomic upsert — no read ever loads a facility's reviews to
+ * average them. Bulk deletes recount from the reviews table, under the
+ * stats rows' locks.
+ * Facility listings embed the rating, so review writes also evict the
+ * facilities cache.
+ */
 @Service
 @RequiredArgsConstructor
 public class ReviewService {
 
+    public static final int MAX_RATING_IDS = 500;
+
     private final ReviewRepository   reviewRepository;
     private final FacilityRepository facilityRepository;
     private final BookingRepository  bookingRepository;
-    private final UserRepository     userRepository;
+    private final CurrentUserProvider currentUserProvider;
+    private final ResourceVersions    resourceVersions;
+    private final FacilityRatingStatsRepository ratingStatsRepository;
 
     // ── Get all reviews for a facility ────────────────────────
     public List<Review> getReviewsByFacility(Long facilityId) {
@@ -40,30 +56,49 @@ public class ReviewService {
         Facility facility = facilityRepository.findById(facilityId)
             .orElseThrow(() -> new RuntimeException("Facility not found with id: " + facilityId));
 
-        List<Review> reviews = reviewRepository.findByFacility(facility);
-        double average = reviews.stream()
-            .mapToInt(Review::getRating)
-            .average()
-            .orElse(0.0);
+        FacilityRating rating = FacilityRating.of(facilityId,
+            ratingStatsRepository.findById(facilityId).orElse(null));
 
         Map<String, Object> result = new LinkedHashMap<>();
         result.put("facilityId",    facilityId);
         result.put("facilityName",  facility.getName());
-        result.put("averageRating", Math.round(average * 10.0) / 10.0); // 1 decimal place
-        result.put("totalReviews",  reviews.size());
+        result.put("averageRating", rating.averageRating());
+        result.put("totalReviews",  rating.totalReviews());
+        result.put("stars",         rating.stars());
         return result;
     }
 
+    // ── Ratings for many facilities in one call ───────────────
+    // Request order; facilities without reviews (or unknown ids) get zeros
+    public List<FacilityRating> getRatings(List<Long> facilityIds) {
+        if (facilityIds == null || facilityIds.isEmpty()) {
+            throw new RuntimeException("At least one facilityId is required.");
+        }
+        Set<Long> ids = new LinkedHashSet<>(facilityIds);
+        if (ids.size() > MAX_RATING_IDS) {
+            throw new RuntimeException("At most " + MAX_RATING_IDS + " facilities per request.");
+        }
+        Map<Long, FacilityRatingStats> stats = statsById(ids);
+        return ids.stream().map(id -> FacilityRating.of(id, stats.get(id))).toList();
+    }
+
+    /** Stats rows for these facilities, one query. Missing = no reviews. */
+    private Map<Long, FacilityRatingStats> statsById(Collection<Long> facilityIds) {
+        Map<Long, FacilityRatingStats> stats = new HashMap<>();
+        ratingStatsRepository.findAllById(facilityIds).forEach(s -> stats.put(s.getFacilityId(), s));
+        return stats;
+    }
+
     // ── Get current user's reviews ────────────────────────────
     public List<Review> getReviewsForCurrentUser() {
-        User user = getCurrentUser();
-        return reviewRepository.findByUserOrderByCreatedAtDesc(user);
+        return reviewRepository.findByUserOrderByCreatedAtDesc(currentUserProvider.reference());
     }
 
     // ── Submit a review ───────────────────────────────────────
     @Transactional
+    @CacheEvict(value = CacheConfig.FACILITIES, allEntries = true)
     public Review submitReview(Review request) {
-        User user = getCurrentUser();
+        User user = currentUserProvider.load();
 
         // Find the booking
         Booking booking = bookingRepository.findById(request.getBooking().getId())
@@ -96,30 +131,42 @@ public class ReviewService {
             .comment(request.getComment())
             .build();
 
-        return reviewRepository.save(review);
+        Review saved = reviewRepository.save(review);
+        ratingStatsRepository.applyReview(facility.getId(), saved.getRating(), 1);
+        resourceVersions.changedAfterCommit(ResourceVersions.Aggregate.REVIEWS);
+        return saved;
     }
 
     // ── Delete a review ───────────────────────────────────────
     @Transactional
+    @CacheEvict(value = CacheConfig.FACILITIES, allEntries = true)
     public void deleteReview(Long id) {
         Review review = reviewRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Review not found with id: " + id));
 
-        User currentUser = getCurrentUser();
         // Only the author or an admin can delete
-        if (!review.getUser().getId().equals(currentUser.getId()) &&
-            currentUser.getRole() != UserRole.ADMIN) {
+        if (!review.getUser().getId().equals(currentUserProvider.id()) &&
+            !currentUserProvider.isAdmin()) {
             throw new RuntimeException("You are not authorised to delete this review.");
         }
 
         reviewRepository.delete(review);
+        ratingStatsRepository.applyReview(review.getFacility().getId(), review.getRating(), -1);
+        resourceVersions.changedAfterCommit(ResourceVersions.Aggregate.REVIEWS);
     }
 
-    // ── Helper ────────────────────────────────────────────────
-    private User getCurrentUser() {
-        String email = SecurityContextHolder.getContext()
-            .getAuthentication().getName();
-        return userRepository.findByEmail(email)
-            .orElseThrow(() -> new RuntimeException("Authenticated user not found."));
+    // ── Delete every review by a user (user deletion) ────────
+    // Bulk DELETE, then the affected facilities' stats are rebuilt — with
+    // their rows locked first, so a review submitted meanwhile isn't lost
+    @Transactional
+    @CacheEvict(value = CacheConfig.FACILITIES, allEntries = true)
+    public void deleteAllByUser(Long userId) {
+        List<Long> facilityIds = reviewRepository.findFacilityIdsByUserId(userId);
+        reviewRepository.deleteAllByUserId(userId);
+        if (!facilityIds.isEmpty()) {
+            ratingStatsRepository.lockRows(facilityIds);
+            ratingStatsRepository.recompute(facilityIds);
+        }
+        resourceVersions.changedAfterCommit(ResourceVersions.Aggregate.REVIEWS);
     }
 }
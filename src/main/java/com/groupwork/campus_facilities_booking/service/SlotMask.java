@@ -0,0 +1,121 @@
+package com.groupwork.campus_facilities_booking.service;
+
+import java.time.LocalTime;
+import java.util.Arrays;
+
+/**
+ * A facility's day as a row of fixed-size slots, one bit per slot
+ * (bit set = busy). At 30-minute granularity a whole day fits in a single
+ * long; at 15 minutes it takes two.
+ *
+ * Slot i covers [openingTime + i·slotMinutes, openingTime + (i+1)·slotMinutes).
+ * Only whole slots that end by closingTime are counted, matching the
+ * original 30-minute loop in BookingService.checkAvailability.
+ */
+public final class SlotMask {
+
+    private final LocalTime openingTime;
+    private final int       openingMinute;
+    private final int       slotMinutes;
+    private final int       slotCount;
+    private final long[]    words;
+
+    public SlotMask(LocalTime openingTime, LocalTime closingTime, int slotMinutes) {
+        if (slotMinutes <= 0) {
+            throw new IllegalArgumentException("slotMinutes must be positive");
+        }
+        this.openingTime   = openingTime;
+        this.openingMinute = minuteOfDay(openingTime);
+        this.slotMinutes   = slotMinutes;
+        this.slotCount     = Math.max(0, (minuteOfDay(closingTime) - openingMinute) / slotMinutes);
+        this.words         = new long[Math.max(1, (slotCount + 63) >>> 6)];
+    }
+
+    // ── Marking ───────────────────────────────────────────────
+    /** Mark every slot that overlaps [start, end) as busy. */
+    public void markBusy(LocalTime start, LocalTime end) {
+        int from = Math.floorDiv(minuteOfDay(start) - openingMinute, slotMinutes);
+        int to   = ceilDiv(minuteOfDay(end) - openingMinute, slotMinutes);   // exclusive
+        setRange(Math.max(0, from), Math.min(slotCount, to));
+    }
+
+    /** Whole day blocked (e.g. maintenance). */
+    public void markAllBusy() {
+        setRange(0, slotCount);
+    }
+
+    // ── Reading ───────────────────────────────────────────────
+    public boolean isFree(int slot) {
+        return (words[slot >>> 6] & (1L << slot)) == 0;
+    }
+
+    public int slotCount()   { return slotCount; }
+
+    public int slotMinutes() { return slotMinutes; }
+
+    public LocalTime slotStart(int slot) {
+        return openingTime.plusMinutes((long) slot * slotMinutes);
+    }
+
+    public LocalTime slotEnd(int slot) {
+        return openingTime.plusMinutes((long) (slot + 1) * slotMinutes);
+    }
+
+    /** Busy bits as raw words (bit i of word w = slot 64·w + i). */
+    public long[] words() {
+        return words.clone();
+    }
+
+    /** Busy bits as hex — 16 digits per word, word 0 first. */
+    public String toHex() {
+        StringBuilder sb = new StringBuilder(words.length * 16);
+        for (long w : words) {
+            String hex = Long.toHexString(w);
+            sb.append("0".repeat(16 - hex.length())).append(hex);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Alternating run lengths, always starting with a free run:
+     * [3, 2, 25] = 3 free slots, 2 busy, 25 free. A leading 0 means the day
+     * starts busy.
+     */
+    public int[] toRunLengths() {
+        int[] runs  = new int[slotCount + 1];
+        int   count = 0;
+        boolean free = true;
+        int run = 0;
+        for (int i = 0; i < slotCount; i++) {
+            if (isFree(i) == free) {
+                run++;
+            } else {
+                runs[count++] = run;
+                free = !free;
+                run = 1;
+            }
+        }
+        runs[count++] = run;
+        return Arrays.copyOf(runs, count);
+    }
+
+    // ── Internals ─────────────────────────────────────────────
+    private void setRange(int from, int to) {
+        for (int slot = from; slot < to; ) {
+            int  word  = slot >>> 6;
+            int  bit   = slot & 63;
+            int  span  = Math.min(64 - bit, to - slot);
+            long bits  = span == 64 ? -1L : ((1L << span) - 1) << bit;
+            words[word] |= bits;
+            slot += span;
+        }
+    }
+
+    private static int minuteOfDay(LocalTime t) {
+        return t.getHour() * 60 + t.getMinute();
+    }
+
+    private static int ceilDiv(int x, int y) {
+        return -Math.floorDiv(-x, y);
+    }
+}
@@ -0,0 +1,153 @@
+package com.groupwork.campus_facilities_booking.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.groupwork.campus_facilities_booking.model.Entities.Announcement;
+import com.groupwork.campus_facilities_booking.repository.AnnouncementRepository;
+import com.groupwork.campus_facilities_booking.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Unread counts for the notification badge, without touching the
+ * database on every poll.
+ *
+ * Per user: the unread notification count, the announcement watermark and
+ * the registration time, loaded in one query on first use and then kept
+ * up to date by write-through — NotificationWriter adds after each insert,
+ * NotificationService subtracts on read/delete and moves the watermark
+ * (after commit). Users not in the cache are simply skipped; their next
+ * read loads the true state. Entries expire after a few minutes, which
+ * bounds any drift from a write racing the initial load or a watermark
+ * moved on another node.
+ *
+ * Announcements: every announcement id and timestamp is held in a sorted
+ * map (there are few of them), so the unread part is the announcements
+ * above the user's watermark that were made after they registered. Local
+ * publishes are added after commit; the map is reloaded from the table on
+ * the same period as the personal TTL, so announcements published (or
+ * deleted) by another node show up within that window.
+ *
+ * Hit / miss counts: /actuator/metrics/cache.gets?tag=name:unreadCounts
+ */
+@Component
+public class UnreadCounter {
+
+    private final UserRepository         userRepository;
+    private final AnnouncementRepository announcementRepository;
+    private final Cache<Long, Badge>     personal;
+
+    // announcement id → createdAt
+    private final ConcurrentNavigableMap<Long, LocalDateTime> announcements = new ConcurrentSkipListMap<>();
+
+    public UnreadCounter(UserRepository userRepository,
+                         AnnouncementRepository announcementRepository,
+                         MeterRegistry meterRegistry,
+                         @Value("${app.notifications.unread-cache.max-users:50000}") long maxUsers,
+                         @Value("${app.notifications.unread-cache.ttl-minutes:10}") long ttlMinutes) {
+        this.userRepository         = userRepository;
+        this.announcementRepository = announcementRepository;
+        this.personal = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, personal, "unreadCounts");
+    }
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${app.notifications.unread-cache.ttl-minutes:10}",
+               initialDelayString = "${app.notifications.unread-cache.ttl-minutes:10}",
+               timeUnit = TimeUnit.MINUTES)
+    public void loadAnnouncements() {
+        Map<Long, LocalDateTime> stored = new HashMap<>();
+        announcementRepository.findAll().forEach(a -> stored.put(a.getId(), a.getCreatedAt()));
+        long newestLoaded = stored.keySet().stream().mapToLong(Long::longValue).max().orElse(0L);
+
+        announcements.putAll(stored);
+        // Gone from the table — but keep ids above what we loaded: they were
+        // published locally while the query ran
+        announcements.keySet().removeIf(id -> id <= newestLoaded && !stored.containsKey(id));
+    }
+
+    // ── Reads ─────────────────────────────────────────────────
+    /** Unread notifications plus unread announcements — no SQL once the user is cached. */
+    public long unreadCount(Long userId) {
+        Badge badge = personal.get(userId, this::loadBadge);
+        return Math.max(0, badge.unread.sum())
+             + unreadAnnouncements(badge.watermark.get(), badge.since);
+    }
+
+    public long unreadAnnouncements(long watermark, LocalDateTime since) {
+        return announcements.tailMap(watermark, false).values().stream()
+                .filter(createdAt -> !createdAt.isBefore(since))
+                .count();
+    }
+
+    // ── Write-through ─────────────────────────────────────────
+    /** Rows already committed (called by NotificationWriter after each insert). */
+    public void added(Long userId, long n) {
+        Badge badge = personal.getIfPresent(userId);
+        if (badge != null) {
+            badge.unread.add(n);
+        }
+    }
+
+    public void readAfterCommit(Long userId, long n) {
+        AfterCommit.run(() -> added(userId, -n));
+    }
+
+    /** After a bulk change we don't count rows for — the next read reloads. */
+    public void resetAfterCommit(Long userId) {
+        AfterCommit.run(() -> personal.invalidate(userId));
+    }
+
+    /** Forward only, like UserRepository.advanceAnnouncementWatermark. */
+    public void watermarkAdvancedAfterCommit(Long userId, long announcementId) {
+        AfterCommit.run(() -> {
+            Badge badge = personal.getIfPresent(userId);
+            if (badge != null) {
+                badge.watermark.accumulateAndGet(announcementId, Math::max);
+            }
+        });
+    }
+
+    public void announcementPublishedAfterCommit(Announcement announcement) {
+        AfterCommit.run(() -> announcements.put(announcement.getId(), announcement.getCreatedAt()));
+    }
+
+    // ── Per-user entry ────────────────────────────────────────
+    private Badge loadBadge(Long userId) {
+        UserRepository.BadgeStateView state = userRepository.findBadgeStateById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+        Badge badge = new Badge(state.getCreatedAt(),
+                state.getLastSeenAnnouncementId() != null ? state.getLastSeenAnnouncementId() : 0L);
+        badge.unread.add(state.getUnread());
+        return badge;
+    }
+
+    private static final class Badge {
+        final LongAdder     unread = new LongAdder();
+        final AtomicLong    watermark;
+        final LocalDateTime since;
+
+        Badge(LocalDateTime since, long watermark) {
+            this.since     = since;
+            this.watermark = new AtomicLong(watermark);
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.groupwork.campus_facilities_booking.service;
 
+import com.groupwork.campus_facilities_booking.dto.CursorPage;
+import com.groupwork.campus_facilities_booking.dto.UserStats;
+import com.groupwork.campus_facilities_booking.dto.UserSummary;
 import com.groupwork.campus_facilities_booking.model.Entities.Department;
 import com.groupwork.campus_facilities_booking.model.Entities.User;
 import com.groupwork.campus_facilities_booking.model.Enums.UserRole;
@@ -8,18 +11,21 @@ import com.groupwork.campus_facilities_booking.repository.BookingRepository;
 import com.groupwork.campus_facilities_booking.repository.DepartmentRepository;
 import com.groupwork.campus_facilities_booking.repository.MaintenanceRepository;
 import com.groupwork.campus_facilities_booking.repository.NotificationRepository;
-import com.groupwork.campus_facilities_booking.repository.ReviewRepository;
 import com.groupwork.campus_facilities_booking.repository.UserRepository;
 import com.groupwork.campus_facilities_booking.repository.WaitlistRepository;
+import com.groupwork.campus_facilities_booking.security.TokenVersionCache;
+import com.groupwork.campus_facilities_booking.security.CurrentUserProvider;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -30,9 +36,13 @@ public class UserService implements UserDetailsService {
     private final BookingApprovalRepository bookingApprovalRepository;
     private final BookingRepository bookingRepository;
     private final NotificationRepository notificationRepository;
-    private final ReviewRepository reviewRepository;
+    private final ReviewService reviewService;
     private final WaitlistRepository waitlistRepository;
     private final MaintenanceRepository maintenanceRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final UnreadCounter unreadCounter;
+    private final TokenVersionCache tokenVersionCache;
+    private final CurrentUserProvider currentUserProvider;
 
     // ── Spring Security — load user by email ─────────────────
     @Override
@@ -42,8 +52,38 @@ public class UserService implements UserDetailsService {
     }
 
     // ── Get all users ─────────────────────────────────────────
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    public CursorPage<User> getAllUsers(String cursor, Integer limit) {
+        Limit fetch = CursorPage.fetchLimit(limit);
+        return CursorPage.of(
+                userRepository.findByIdLessThanOrderByIdDesc(CursorPage.decode(cursor), fetch),
+                fetch, User::getId);
+    }
+
+    // ── Search users by name / email (admin user picker) ─────
+    public List<UserSummary> searchUsers(String query, Integer limit) {
+        String text = query == null ? "" : query.trim();
+        if (text.isEmpty()) {
+            return List.of();
+        }
+        // Same bounds as a list page; only the first page is ever needed
+        Limit fetch = Limit.of(CursorPage.fetchLimit(limit).max() - 1);
+        return userRepository
+                .findByNameContainingIgnoreCaseOrEmailContainingIgnoreCaseOrderByNameAsc(text, text, fetch)
+                .stream().map(UserSummary::of).toList();
+    }
+
+    // ── User counts per role (admin pages) ────────────────────
+    public UserStats getUserStats() {
+        Map<UserRole, Long> byRole = new EnumMap<>(UserRole.class);
+        for (UserRole r : UserRole.values()) {
+            byRole.put(r, 0L);
+        }
+        long total = 0;
+        for (UserRepository.RoleCountView c : userRepository.countPerRole()) {
+            byRole.put(c.getRole(), c.getCount());
+            total += c.getCount();
+        }
+        return new UserStats(total, byRole);
     }
 
     // ── Get single user ───────────────────────────────────────
@@ -54,22 +94,25 @@ public class UserService implements UserDetailsService {
 
     // ── Get currently authenticated user ─────────────────────
     public User getCurrentUser() {
-        String email = SecurityContextHolder.getContext()
-                .getAuthentication().getName();
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Authenticated user not found."));
+        return currentUserProvider.load();
     }
 
     // ── Get users by role ─────────────────────────────────────
-    public List<User> getUsersByRole(UserRole role) {
-        return userRepository.findByRole(role);
+    public CursorPage<User> getUsersByRole(UserRole role, String cursor, Integer limit) {
+        Limit fetch = CursorPage.fetchLimit(limit);
+        return CursorPage.of(
+                userRepository.findByRoleAndIdLessThanOrderByIdDesc(role, CursorPage.decode(cursor), fetch),
+                fetch, User::getId);
     }
 
     // ── Get users by department ───────────────────────────────
-    public List<User> getUsersByDepartment(Long deptId) {
+    public CursorPage<User> getUsersByDepartment(Long deptId, String cursor, Integer limit) {
         Department dept = departmentRepository.findById(deptId)
                 .orElseThrow(() -> new RuntimeException("Department not found with id: " + deptId));
-        return userRepository.findByDepartment(dept);
+        Limit fetch = CursorPage.fetchLimit(limit);
+        return CursorPage.of(
+                userRepository.findByDepartmentAndIdLessThanOrderByIdDesc(dept, CursorPage.decode(cursor), fetch),
+                fetch, User::getId);
     }
 
     // ── Update user profile ───────────────────────────────────
@@ -97,6 +140,7 @@ public class UserService implements UserDetailsService {
     public User changeRole(Long id, UserRole newRole) {
         User user = getUserById(id);
         user.setRole(newRole);
+        revokeTokens(user); // the role is baked into issued tokens
         return userRepository.save(user);
     }
 
@@ -105,6 +149,11 @@ public class UserService implements UserDetailsService {
     public User setActiveStatus(Long id, boolean isActive) {
         User user = getUserById(id);
         user.setIsActive(isActive);
+        if (!isActive) {
+            revokeTokens(user);
+        } else {
+            tokenVersionCache.invalidateAfterCommit(id);
+        }
         return userRepository.save(user);
     }
 
@@ -131,10 +180,19 @@ public class UserService implements UserDetailsService {
         bookingApprovalRepository.deleteAllByBookingUserId(id); // 1
         bookingApprovalRepository.nullifyReviewedBy(id); // 2
         maintenanceRepository.nullifyCreatedBy(id); // 3
-        reviewRepository.deleteAllByUserId(id); // 4
+        reviewService.deleteAllByUser(id); // 4 (also fixes their facilities' rating stats)
         waitlistRepository.deleteAllByUserId(id); // 5
         notificationRepository.deleteAllByUserId(id); // 6
         bookingRepository.deleteAllByUserId(id); // 7
         userRepository.deleteById(id); // 8
+        bookingIntervalIndex.rebuildAfterCommit(); // bookings went via bulk DELETE
+        unreadCounter.resetAfterCommit(id);
+        tokenVersionCache.invalidateAfterCommit(id);
+    }
+
+    // ── Helper: invalidate every JWT issued so far ───────────
+    private void revokeTokens(User user) {
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        tokenVersionCache.invalidateAfterCommit(user.getId());
     }
 }
@@ -0,0 +1,237 @@
+package com.groupwork.campus_facilities_booking.service;
+
+import com.groupwork.campus_facilities_booking.model.Entities.Booking;
+import com.groupwork.campus_facilities_booking.model.Entities.WaitlistEntry;
+import com.groupwork.campus_facilities_booking.model.Enums.BookingStatus;
+import com.groupwork.campus_facilities_booking.model.Enums.NotificationType;
+import com.groupwork.campus_facilities_booking.model.Enums.WaitlistStatus;
+import com.groupwork.campus_facilities_booking.repository.BookingRepository;
+import com.groupwork.campus_facilities_booking.repository.FacilityRepository;
+import com.groupwork.campus_facilities_booking.repository.MaintenanceRepository;
+import com.groupwork.campus_facilities_booking.repository.WaitlistRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Promotes waitlist entries into time that has just been freed on a
+ * facility — a cancellation, an early check-out, a booking moved or
+ * shortened, a maintenance window lifted.
+ *
+ * Any WAITING entry whose [start, end) overlaps the freed time and now fits
+ * is promoted, not only the ones that share the cancelled booking's start
+ * time. Entries are taken in FIFO order (id) per day, greedily: each
+ * promoted entry is added to the day's busy set before the next one is
+ * checked. The busy set is a TreeMap keyed by start (bookings on a
+ * facility-day never overlap), so each check is O(log n) and a day with
+ * thousands of waiting entries is one query plus one pass.
+ *
+ * Runs once the freeing change has committed, on a thread of its own and
+ * in a transaction of its own — never while the caller still holds its
+ * facility-day locks, so the days locked here can't be taken out of
+ * lockAll's order. The affected facility-days are locked, winners are
+ * claimed with FOR UPDATE SKIP LOCKED, and their bookings are inserted in
+ * one batch. A new booking that commits in between simply wins the time.
+ *
+ * Nothing is promoted onto a facility that has been made unavailable; its
+ * entries stay WAITING.
+ */
+@Component
+public class WaitlistMatcher {
+
+    private static final Logger logger = Logger.getLogger(WaitlistMatcher.class.getName());
+
+    private final WaitlistRepository    waitlistRepository;
+    private final BookingRepository     bookingRepository;
+    private final FacilityRepository    facilityRepository;
+    private final MaintenanceRepository maintenanceRepository;
+    private final BookingSlotLocks      bookingSlotLocks;
+    private final BookingIntervalIndex  bookingIntervalIndex;
+    private final BookingDeadlineQueue  bookingDeadlineQueue;
+    private final BookingBatchWriter    bookingBatchWriter;
+    private final NotificationService   notificationService;
+    private final TransactionTemplate   fillTx;
+
+    private final ExecutorService filler = Executors.newVirtualThreadPerTaskExecutor();
+
+    public WaitlistMatcher(WaitlistRepository waitlistRepository,
+                           BookingRepository bookingRepository,
+                           FacilityRepository facilityRepository,
+                           MaintenanceRepository maintenanceRepository,
+                           BookingSlotLocks bookingSlotLocks,
+                           BookingIntervalIndex bookingIntervalIndex,
+                           BookingDeadlineQueue bookingDeadlineQueue,
+                           BookingBatchWriter bookingBatchWriter,
+                           NotificationService notificationService,
+                           PlatformTransactionManager transactionManager) {
+        this.waitlistRepository    = waitlistRepository;
+        this.bookingRepository     = bookingRepository;
+        this.facilityRepository    = facilityRepository;
+        this.maintenanceRepository = maintenanceRepository;
+        this.bookingSlotLocks      = bookingSlotLocks;
+        this.bookingIntervalIndex  = bookingIntervalIndex;
+        this.bookingDeadlineQueue  = bookingDeadlineQueue;
+        this.bookingBatchWriter    = bookingBatchWriter;
+        this.notificationService   = notificationService;
+        this.fillTx                = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        filler.shutdown();
+    }
+
+    /** Time freed on one day, e.g. a cancelled booking. Runs after commit. */
+    public void fill(Long facilityId, LocalDate date, LocalTime from, LocalTime to) {
+        fillAfterCommit(facilityId, date, date, from, to);
+    }
+
+    /** Whole days freed, e.g. a maintenance window removed. Runs after commit. */
+    public void fillDays(Long facilityId, LocalDate firstDay, LocalDate lastDay) {
+        fillAfterCommit(facilityId, firstDay, lastDay, LocalTime.MIN, LocalTime.MAX);
+    }
+
+    // afterCommit still runs inside the caller's lock scope (BookingSlotLocks
+    // releases in afterCompletion), hence the hand-off to another thread
+    private void fillAfterCommit(Long facilityId, LocalDate firstDay, LocalDate lastDay,
+                                 LocalTime from, LocalTime to) {
+        Runnable task = () -> filler.execute(() -> {
+            try {
+                fillTx.executeWithoutResult(status -> fill(facilityId, firstDay, lastDay, from, to));
+            } catch (Exception e) {
+                logger.log(Level.WARNING, "Waitlist fill failed for facility " + facilityId
+                        + " " + firstDay + " – " + lastDay, e);
+            }
+        });
+        AfterCommit.run(task);
+    }
+
+    /** Returns the number of entries promoted. */
+    private int fill(Long facilityId, LocalDate firstDay, LocalDate lastDay, LocalTime from, LocalTime to) {
+        LocalDate today = LocalDate.now();
+        if (lastDay.isBefore(today)) {
+            return 0;
+        }
+        if (firstDay.isBefore(today)) {
+            firstDay = today;
+        }
+
+        // 1. Candidates — usually none, and then nothing is locked
+        List<WaitlistRepository.WindowView> waiting = waitlistRepository.findWaitingOverlapping(
+                facilityId, firstDay, lastDay, from, to, WaitlistStatus.WAITING);
+        if (waiting.isEmpty()) {
+            return 0;
+        }
+        if (!facilityRepository.existsByIdAndIsAvailableTrue(facilityId)) {
+            logger.info("Facility " + facilityId + " is unavailable; " + waiting.size()
+                    + " waitlist entries left waiting");
+            return 0;
+        }
+
+        // 2. Lock the days involved (the freeing change has already committed)
+        bookingSlotLocks.lockAll(waiting.stream()
+                .map(w -> new BookingSlotLocks.Key(facilityId, w.getDate()))
+                .distinct().toList());
+
+        LocalDate first = waiting.get(0).getDate();
+        LocalDate last  = waiting.get(waiting.size() - 1).getDate();
+
+        Map<LocalDate, TreeMap<Integer, Integer>> busy = new HashMap<>();
+        for (BookingRepository.SlotView s : bookingRepository.findSlotsInRange(
+                List.of(facilityId), first, last, BookingIntervalIndex.BLOCKING_STATUSES)) {
+            busy.computeIfAbsent(s.getDate(), d -> new TreeMap<>())
+                    .put(s.getStartTime().toSecondOfDay(), s.getEndTime().toSecondOfDay());
+        }
+        List<MaintenanceRepository.RangeView> maintenance =
+                maintenanceRepository.findRangesOverlapping(List.of(facilityId), first, last);
+
+        // 3. Greedy FIFO per day
+        LocalDateTime now    = LocalDateTime.now();
+        List<Long>    chosen = new ArrayList<>();
+        for (WaitlistRepository.WindowView w : waiting) {
+            if (LocalDateTime.of(w.getDate(), w.getStartTime()).isBefore(now)
+                    || underMaintenance(maintenance, w.getDate())) {
+                continue;
+            }
+            TreeMap<Integer, Integer> day   = busy.computeIfAbsent(w.getDate(), d -> new TreeMap<>());
+            int                       start = w.getStartTime().toSecondOfDay();
+            int                       end   = w.getEndTime().toSecondOfDay();
+            if (fits(day, start, end)) {
+                day.put(start, end);
+                chosen.add(w.getId());
+            }
+        }
+        if (chosen.isEmpty()) {
+            return 0;
+        }
+
+        // 4. Claim, then insert every promoted booking in one batch
+        List<Long> claimed = waitlistRepository.claimWaiting(chosen);
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+        List<WaitlistEntry> entries = waitlistRepository.findAllById(claimed);
+        entries.sort(Comparator.comparing(WaitlistEntry::getId));
+
+        List<Long> ids = bookingBatchWriter.insert(entries.stream()
+                .map(e -> new BookingBatchWriter.Row(facilityId, e.getUser().getId(), e.getDate(),
+                        e.getStartTime(), e.getEndTime(),
+                        e.getPurpose() != null ? e.getPurpose() : "Promoted from waitlist",
+                        1, null, null))
+                .toList());
+
+        for (int i = 0; i < entries.size(); i++) {
+            WaitlistEntry entry = entries.get(i);
+
+            Booking promoted = Booking.builder()
+                    .id(ids.get(i))
+                    .facility(entry.getFacility())
+                    .date(entry.getDate())
+                    .startTime(entry.getStartTime())
+                    .endTime(entry.getEndTime())
+                    .status(BookingStatus.CONFIRMED)
+                    .build();
+            bookingIntervalIndex.record(promoted);
+            bookingDeadlineQueue.schedule(promoted);
+
+            notificationService.sendNotification(
+                    entry.getUser(), promoted,
+                    "Waitlist Promotion!",
+                    "Great news! A slot opened up for "
+                            + entry.getFacility().getName()
+                            + " on " + entry.getDate() + " (" + entry.getStartTime() + " – " + entry.getEndTime()
+                            + "). Your booking is now confirmed.",
+                    NotificationType.WAITLIST_PROMOTED);
+        }
+        return entries.size();
+    }
+
+    // Busy intervals never overlap each other, so only the neighbours matter
+    private static boolean fits(TreeMap<Integer, Integer> busy, int start, int end) {
+        Map.Entry<Integer, Integer> before = busy.floorEntry(start);
+        if (before != null && before.getValue() > start) {
+            return false;
+        }
+        Map.Entry<Integer, Integer> after = busy.higherEntry(start);
+        return after == null || after.getKey() >= end;
+    }
+
+    private static boolean underMaintenance(List<MaintenanceRepository.RangeView> windows, LocalDate date) {
+        for (MaintenanceRepository.RangeView m : windows) {
+            if (!date.isBefore(m.getStartDate()) && !date.isAfter(m.getEndDate())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
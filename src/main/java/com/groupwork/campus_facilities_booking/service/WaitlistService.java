@@ -1,19 +1,22 @@
 package com.groupwork.campus_facilities_booking.service;
 
+import com.groupwork.campus_facilities_booking.dto.CursorPage;
+import com.groupwork.campus_facilities_booking.dto.WaitlistView;
 import com.groupwork.campus_facilities_booking.model.Entities.Facility;
 import com.groupwork.campus_facilities_booking.model.Entities.User;
 import com.groupwork.campus_facilities_booking.model.Entities.WaitlistEntry;
-import com.groupwork.campus_facilities_booking.model.Enums.UserRole;
 import com.groupwork.campus_facilities_booking.model.Enums.WaitlistStatus;
 import com.groupwork.campus_facilities_booking.repository.FacilityRepository;
-import com.groupwork.campus_facilities_booking.repository.UserRepository;
 import com.groupwork.campus_facilities_booking.repository.WaitlistRepository;
+import com.groupwork.campus_facilities_booking.security.CurrentUserProvider;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -21,25 +24,29 @@ public class WaitlistService {
 
     private final WaitlistRepository waitlistRepository;
     private final FacilityRepository facilityRepository;
-    private final UserRepository     userRepository;
+    private final CurrentUserProvider currentUserProvider;
 
     // ── Get all entries (Admin) ───────────────────────────────
-    public List<WaitlistEntry> getAllEntries() {
-        return waitlistRepository.findAll();
+    public CursorPage<WaitlistEntry> getAllEntries(String cursor, Integer limit) {
+        Limit fetch = CursorPage.fetchLimit(limit);
+        return CursorPage.of(
+            withPositions(waitlistRepository.findByIdLessThanOrderByIdDesc(CursorPage.decode(cursor), fetch)),
+            fetch, WaitlistEntry::getId);
     }
 
     // ── Get current user's waitlist entries ───────────────────
-    public List<WaitlistEntry> getEntriesForCurrentUser() {
-        User user = getCurrentUser();
-        return waitlistRepository.findByUserAndStatus(user, WaitlistStatus.WAITING);
+    public List<WaitlistView> getEntriesForCurrentUser() {
+        return withPositions(
+            waitlistRepository.findByUserAndStatus(currentUserProvider.reference(), WaitlistStatus.WAITING))
+            .stream().map(WaitlistView::of).toList();
     }
 
     // ── Get waitlist for a facility ───────────────────────────
     public List<WaitlistEntry> getEntriesByFacility(Long facilityId) {
         Facility facility = facilityRepository.findById(facilityId)
             .orElseThrow(() -> new RuntimeException("Facility not found with id: " + facilityId));
-        return waitlistRepository.findByFacilityAndStatusOrderByPositionAsc(
-            facility, WaitlistStatus.WAITING);
+        return withPositions(waitlistRepository.findByFacilityAndStatusOrderByDateAscStartTimeAscIdAsc(
+            facility, WaitlistStatus.WAITING));
     }
 
     // ── Join waitlist ─────────────────────────────────────────
@@ -48,7 +55,7 @@ public class WaitlistService {
         Facility facility = facilityRepository.findById(entry.getFacility().getId())
             .orElseThrow(() -> new RuntimeException("Facility not found"));
 
-        User user = getCurrentUser();
+        User user = currentUserProvider.load();
 
         // Check user isn't already on the waitlist for this slot
         boolean alreadyWaiting = waitlistRepository
@@ -58,17 +65,14 @@ public class WaitlistService {
             throw new RuntimeException("You are already on the waitlist for this slot.");
         }
 
-        // Determine queue position (next after last)
-        int position = waitlistRepository
-            .countByFacilityAndDateAndStartTimeAndStatus(
-                facility, entry.getDate(), entry.getStartTime(), WaitlistStatus.WAITING) + 1;
-
+        // Queue order is the insert order (id) — nothing to renumber
         entry.setFacility(facility);
         entry.setUser(user);
-        entry.setPosition(position);
         entry.setStatus(WaitlistStatus.WAITING);
 
-        return waitlistRepository.save(entry);
+        WaitlistEntry saved = waitlistRepository.saveAndFlush(entry);
+        withPositions(List.of(saved));
+        return saved;
     }
 
     // ── Leave waitlist ────────────────────────────────────────
@@ -77,33 +81,30 @@ public class WaitlistService {
         WaitlistEntry entry = waitlistRepository.findById(entryId)
             .orElseThrow(() -> new RuntimeException("Waitlist entry not found with id: " + entryId));
 
-        User currentUser = getCurrentUser();
         // Only allow the owner or an admin to remove an entry
-        if (!entry.getUser().getId().equals(currentUser.getId()) &&
-            currentUser.getRole() != UserRole.ADMIN) {
+        if (!entry.getUser().getId().equals(currentUserProvider.id()) &&
+            !currentUserProvider.isAdmin()) {
             throw new RuntimeException("You are not authorised to remove this waitlist entry.");
         }
 
-        int removedPosition = entry.getPosition();
+        // Everyone behind moves up by itself — positions are counted on read
         waitlistRepository.delete(entry);
+    }
 
-        // Shift everyone behind this entry up by one position
-        List<WaitlistEntry> behind = waitlistRepository
-            .findByFacilityAndDateAndStartTimeAndStatusAndPositionGreaterThan(
-                entry.getFacility(), entry.getDate(),
-                entry.getStartTime(), WaitlistStatus.WAITING, removedPosition);
-
-        for (WaitlistEntry e : behind) {
-            e.setPosition(e.getPosition() - 1);
-            waitlistRepository.save(e);
+    // ── Helpers ───────────────────────────────────────────────
+    // One window-function query fills position for every WAITING entry in the list
+    private List<WaitlistEntry> withPositions(List<WaitlistEntry> entries) {
+        if (!entries.isEmpty()) {
+            applyPositions(entries, waitlistRepository.findQueuePositions(
+                entries.stream().map(WaitlistEntry::getId).toList()));
         }
+        return entries;
     }
 
-    // ── Helper ────────────────────────────────────────────────
-    private User getCurrentUser() {
-        String email = SecurityContextHolder.getContext()
-            .getAuthentication().getName();
-        return userRepository.findByEmail(email)
-            .orElseThrow(() -> new RuntimeException("Authenticated user not found."));
+    private static void applyPositions(List<WaitlistEntry> entries,
+                                       List<WaitlistRepository.PositionView> positions) {
+        Map<Long, Integer> byId = new HashMap<>(positions.size() * 2);
+        positions.forEach(p -> byId.put(p.getId(), p.getPosition().intValue()));
+        entries.forEach(e -> e.setPosition(byId.get(e.getId())));
     }
 }
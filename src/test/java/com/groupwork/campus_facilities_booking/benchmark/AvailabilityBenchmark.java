@@ -0,0 +1,106 @@
+package com.groupwork.campus_facilities_booking.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.groupwork.campus_facilities_booking.dto.AvailabilityResponse;
+import com.groupwork.campus_facilities_booking.service.SlotMask;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One facility-day's availability grid, built and serialised to JSON:
+ * the original per-slot loop (a LinkedHashMap per slot, every booking
+ * scanned for every slot) against SlotMask + AvailabilityResponse.
+ *
+ * Run: ./mvnw test-compile, then this class's main from the IDE (or
+ * java -cp target/test-classes:target/classes:&lt;test classpath&gt;).
+ * Add -prof gc to the options to compare allocation per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AvailabilityBenchmark {
+
+    private static final LocalTime OPENING = LocalTime.of(7, 0);
+    private static final LocalTime CLOSING = LocalTime.of(22, 0);
+    private static final LocalDate DAY     = LocalDate.of(2026, 2, 20);
+
+    @Param({"2", "10", "30"})
+    public int bookings;
+
+    @Param({"30", "15"})
+    public int slotMinutes;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private List<LocalTime[]>  windows;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        windows = new ArrayList<>();
+        for (int i = 0; i < bookings; i++) {
+            int start = 7 * 60 + random.nextInt(14 * 60);
+            int end   = Math.min(22 * 60, start + 30 + random.nextInt(90));
+            windows.add(new LocalTime[]{ LocalTime.ofSecondOfDay(start * 60L), LocalTime.ofSecondOfDay(end * 60L) });
+        }
+    }
+
+    @Benchmark
+    public String slotLoop() throws Exception {
+        List<Map<String, Object>> slots = new ArrayList<>();
+        LocalTime cursor = OPENING;
+        while (cursor.plusMinutes(slotMinutes).compareTo(CLOSING) <= 0) {
+            LocalTime slotStart = cursor;
+            LocalTime slotEnd   = cursor.plusMinutes(slotMinutes);
+            boolean isBooked = windows.stream()
+                    .anyMatch(b -> b[0].isBefore(slotEnd) && b[1].isAfter(slotStart));
+            Map<String, Object> slot = new LinkedHashMap<>();
+            slot.put("startTime", slotStart.toString());
+            slot.put("endTime", slotEnd.toString());
+            slot.put("available", !isBooked);
+            slots.add(slot);
+            cursor = slotEnd;
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("facilityId", 1L);
+        result.put("facilityName", "CPEN Computer Lab 1");
+        result.put("date", DAY.toString());
+        result.put("slots", slots);
+        return objectMapper.writeValueAsString(result);
+    }
+
+    @Benchmark
+    public String slotMask() throws Exception {
+        SlotMask mask = new SlotMask(OPENING, CLOSING, slotMinutes);
+        for (LocalTime[] b : windows) {
+            mask.markBusy(b[0], b[1]);
+        }
+        return objectMapper.writeValueAsString(new AvailabilityResponse(1L, "CPEN Computer Lab 1", DAY, mask));
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(AvailabilityBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,107 @@
+package com.groupwork.campus_facilities_booking.benchmark;
+
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.groupwork.campus_facilities_booking.dto.BookingView;
+import com.groupwork.campus_facilities_booking.dto.FacilitySummary;
+import com.groupwork.campus_facilities_booking.dto.UserSummary;
+import com.groupwork.campus_facilities_booking.model.Enums.BookingStatus;
+import com.groupwork.campus_facilities_booking.model.Enums.UserRole;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A 10k-row booking list (the admin lists and the export) serialised to
+ * JSON: BookingView's hand-written JsonGenerator serializer against plain
+ * Jackson bean introspection of the same records, with JavaTimeModule.
+ *
+ * Payload size for each is printed at setup. Add -prof gc to the options
+ * to compare allocation per call.
+ *
+ * Run: ./mvnw test-compile, then this class's main from the IDE (or
+ * java -cp target/test-classes:target/classes:&lt;test classpath&gt;).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingViewBenchmark {
+
+    @Param({"10000"})
+    public int rows;
+
+    private List<BookingView> views;
+    private ObjectMapper      handWritten;
+    private ObjectMapper      introspected;
+
+    /** Switches BookingView's @JsonSerialize off, so Jackson falls back to the record accessors. */
+    @JsonSerialize(using = JsonSerializer.None.class)
+    private interface NoCustomSerializer {}
+
+    @Setup
+    public void setUp() throws Exception {
+        handWritten  = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        introspected = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .addMixIn(BookingView.class, NoCustomSerializer.class);
+
+        LocalDate     day     = LocalDate.of(2026, 2, 20);
+        LocalDateTime created = LocalDateTime.of(2026, 2, 1, 9, 30);
+        views = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            long facilityId = 1 + i % 40;
+            FacilitySummary facility = new FacilitySummary(facilityId, "CPEN Computer Lab " + facilityId,
+                    "Engineering Block " + (facilityId % 5), 40, null,
+                    LocalTime.of(7, 0), LocalTime.of(22, 0), true,
+                    new FacilitySummary.TypeRef(1L, "Computer Lab"));
+            UserSummary user = new UserSummary(1000L + i % 800, "Student " + i % 800,
+                    "student" + i % 800 + "@st.ug.edu.gh", UserRole.STUDENT);
+            LocalTime start = LocalTime.of(7 + i % 14, 0);
+            views.add(new BookingView((long) i + 1, facility, user,
+                    day.plusDays(i % 30), start, start.plusHours(1), BookingStatus.CONFIRMED,
+                    "CPEN 412 Web Architecture Lab", 25, false, null, null, null,
+                    null, null, 2, 0, null, null, false, 0L, created, created));
+        }
+
+        System.out.println("payload bytes: handWritten=" + handWritten.writeValueAsBytes(views).length
+                + " introspected=" + introspected.writeValueAsBytes(views).length);
+    }
+
+    @Benchmark
+    public byte[] handWritten() throws Exception {
+        return handWritten.writeValueAsBytes(views);
+    }
+
+    @Benchmark
+    public byte[] introspected() throws Exception {
+        return introspected.writeValueAsBytes(views);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(BookingViewBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,137 @@
+package com.groupwork.campus_facilities_booking.benchmark;
+
+import com.groupwork.campus_facilities_booking.model.Entities.User;
+import com.groupwork.campus_facilities_booking.model.Enums.UserRole;
+import com.groupwork.campus_facilities_booking.repository.UserRepository;
+import com.groupwork.campus_facilities_booking.security.JwtAuthenticationFilter;
+import com.groupwork.campus_facilities_booking.security.JwtService;
+import com.groupwork.campus_facilities_booking.security.TokenVersionCache;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * One pass of JwtAuthenticationFilter per request: parse and verify the
+ * token, check the required claims, and ask TokenVersionCache (warm, so
+ * no query) — the whole per-request cost of authentication now that no
+ * User row is loaded.
+ *
+ *   validToken     — the common case, principal set
+ *   missingClaim   — signature-valid token without "ver", rejected
+ *   badSignature   — token signed with another key, rejected
+ *
+ * Run: ./mvnw test-compile, then this class's main from the IDE (or
+ * java -cp target/test-classes:target/classes:&lt;test classpath&gt;).
+ * Add -prof gc to the options to compare allocation per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-0123";
+
+    private JwtAuthenticationFilter filter;
+    private String                  validToken;
+    private String                  missingClaimToken;
+    private String                  badSignatureToken;
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = jwtService(SECRET);
+
+        UserRepository userRepository = mock(UserRepository.class);
+        UserRepository.AuthStateView state = mock(UserRepository.AuthStateView.class);
+        when(state.getIsActive()).thenReturn(true);
+        when(state.getTokenVersion()).thenReturn(0);
+        when(userRepository.findAuthStateById(anyLong())).thenReturn(Optional.of(state));
+
+        filter = new JwtAuthenticationFilter(jwtService, new TokenVersionCache(userRepository, 3600));
+
+        User user = User.builder()
+                .id(42L)
+                .name("Kofi Mensah")
+                .email("kofi.mensah@st.ug.edu.gh")
+                .role(UserRole.STUDENT)
+                .tokenVersion(0)
+                .build();
+        validToken        = jwtService.generateToken(user);
+        badSignatureToken = jwtService("another-secret-another-secret-another-secret-0123456").generateToken(user);
+
+        missingClaimToken = Jwts.builder()           // no "ver"
+                .setSubject(user.getEmail())
+                .claim("id", user.getId())
+                .claim("role", user.getRole().name())
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @Benchmark
+    public Authentication validToken() throws Exception {
+        return run(validToken);
+    }
+
+    @Benchmark
+    public Authentication missingClaim() throws Exception {
+        return run(missingClaimToken);
+    }
+
+    @Benchmark
+    public Authentication badSignature() throws Exception {
+        return run(badSignatureToken);
+    }
+
+    private Authentication run(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/bookings/my");
+        request.addHeader("Authorization", "Bearer " + token);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private static JwtService jwtService(String secret) {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "secretKey", secret);
+        ReflectionTestUtils.setField(service, "expirationMs", 3_600_000L);
+        ReflectionTestUtils.invokeMethod(service, "init");
+        return service;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(JwtFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,82 @@
+package com.groupwork.campus_facilities_booking.config;
+
+import com.groupwork.campus_facilities_booking.model.Entities.Facility;
+import com.groupwork.campus_facilities_booking.model.Entities.User;
+import com.groupwork.campus_facilities_booking.model.Enums.UserRole;
+import com.groupwork.campus_facilities_booking.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The no-overlap exclusion constraint is mandatory: present after startup,
+ * and if existing rows block it, the failure names them.
+ */
+class PostgresSchemaInitializerTest extends PostgresIntegrationTest {
+
+    @Autowired PostgresSchemaInitializer initializer;
+    @Autowired JdbcTemplate              jdbcTemplate;
+
+    @Test
+    void constraintIsInPlaceAfterStartup() {
+        assertThat(constraintExists()).isTrue();
+
+        Facility  room = newFacility(30);
+        User      user = newUser(UserRole.STUDENT);
+        LocalDate day  = LocalDate.now().plusDays(4);
+        newBooking(room, user, day, LocalTime.of(10, 0), LocalTime.of(11, 0));
+
+        assertThatThrownBy(() -> newBooking(room, user, day, LocalTime.of(10, 30), LocalTime.of(11, 30)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void overlappingRowsBlockTheConstraintAndAreReported() {
+        Facility  room = newFacility(30);
+        User      user = newUser(UserRole.STUDENT);
+        LocalDate day  = LocalDate.now().plusDays(5);
+
+        jdbcTemplate.execute("ALTER TABLE bookings DROP CONSTRAINT " + PostgresSchemaInitializer.NO_OVERLAP_CONSTRAINT);
+        Long second = null;
+        try {
+            Long first = newBooking(room, user, day, LocalTime.of(9, 0), LocalTime.of(10, 0)).getId();
+            second     = newBooking(room, user, day, LocalTime.of(9, 30), LocalTime.of(10, 30)).getId();
+            String pair = "bookings " + first + " and " + second;
+
+            assertThat(initializer.findOverlaps()).anyMatch(s -> s.startsWith(pair));
+            assertThatThrownBy(initializer::requireNoOverlapConstraint)
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining(PostgresSchemaInitializer.NO_OVERLAP_CONSTRAINT)
+                    .hasMessageContaining(pair);
+            assertThat(constraintExists()).isFalse();
+        } finally {
+            if (second != null) {
+                bookingRepository.deleteById(second);
+            }
+            initializer.requireNoOverlapConstraint();
+        }
+        assertThat(constraintExists()).isTrue();
+    }
+
+    @Test
+    void recurrenceRuleColumnIsWide() {
+        Integer length = jdbcTemplate.queryForObject("""
+                SELECT character_maximum_length FROM information_schema.columns
+                 WHERE table_name = 'bookings' AND column_name = 'recurrence_rule'
+                """, Integer.class);
+        assertThat(length).isGreaterThanOrEqualTo(500);
+    }
+
+    private boolean constraintExists() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = ?)",
+                Boolean.class, PostgresSchemaInitializer.NO_OVERLAP_CONSTRAINT));
+    }
+}
@@ -0,0 +1,47 @@
+package com.groupwork.campus_facilities_booking.dto;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorPageTest {
+
+    @Test
+    void pageSizeIsBoundedByDefault() {
+        assertThat(CursorPage.fetchLimit(null).max()).isEqualTo(CursorPage.DEFAULT_LIMIT + 1);
+        assertThat(CursorPage.fetchLimit(CursorPage.MAX_LIMIT).max()).isEqualTo(CursorPage.MAX_LIMIT + 1);
+        assertThatThrownBy(() -> CursorPage.fetchLimit(CursorPage.MAX_LIMIT + 1)).isInstanceOf(RuntimeException.class);
+        assertThatThrownBy(() -> CursorPage.fetchLimit(0)).isInstanceOf(RuntimeException.class);
+    }
+
+    @Test
+    void extraRowBecomesTheNextCursor() {
+        Limit      fetch   = CursorPage.fetchLimit(3);
+        List<Long> fetched = List.of(90L, 80L, 70L, 60L);   // newest first, one extra
+
+        CursorPage<Long> page = CursorPage.of(fetched, fetch, id -> id);
+
+        assertThat(page.items()).containsExactly(90L, 80L, 70L);
+        assertThat(CursorPage.decode(page.nextCursor())).isEqualTo(70L);
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        Limit fetch = CursorPage.fetchLimit(5);
+        CursorPage<Long> page = CursorPage.of(LongStream.of(3, 2, 1).boxed().toList(), fetch, id -> id);
+
+        assertThat(page.nextCursor()).isNull();
+        assertThat(page.toResponse().getHeaders().containsKey(CursorPage.NEXT_CURSOR_HEADER)).isFalse();
+    }
+
+    @Test
+    void noCursorStartsAtTheNewestRow() {
+        assertThat(CursorPage.decode(null)).isEqualTo(Long.MAX_VALUE);
+        assertThatThrownBy(() -> CursorPage.decode("not-a-cursor")).isInstanceOf(RuntimeException.class);
+    }
+}
@@ -0,0 +1,99 @@
+package com.groupwork.campus_facilities_booking.security;
+
+import com.groupwork.campus_facilities_booking.model.Entities.Booking;
+import com.groupwork.campus_facilities_booking.model.Entities.Facility;
+import com.groupwork.campus_facilities_booking.model.Entities.User;
+import com.groupwork.campus_facilities_booking.model.Enums.UserRole;
+import com.groupwork.campus_facilities_booking.service.BookingService;
+import com.groupwork.campus_facilities_booking.service.NotificationService;
+import com.groupwork.campus_facilities_booking.service.ReviewService;
+import com.groupwork.campus_facilities_booking.service.WaitlistService;
+import com.groupwork.campus_facilities_booking.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * How often the current user is read from the users table: at most once
+ * per request, and not at all where the id (or a reference) is enough.
+ */
+class CurrentUserProviderTest extends PostgresIntegrationTest {
+
+    @Autowired CurrentUserProvider currentUserProvider;
+    @Autowired BookingService      bookingService;
+    @Autowired NotificationService notificationService;
+    @Autowired WaitlistService     waitlistService;
+    @Autowired ReviewService       reviewService;
+
+    @Test
+    void loadIsOneLookupPerRequest() throws Exception {
+        User user = newUser(UserRole.STUDENT);
+
+        long lookups = userLookupsDuring(() -> inRequestAs(user, () -> {
+            currentUserProvider.load();
+            currentUserProvider.load();
+            return currentUserProvider.load();
+        }));
+
+        assertThat(lookups).isEqualTo(1);
+    }
+
+    @Test
+    void principalIdAndReferenceNeverQuery() throws Exception {
+        User user = newUser(UserRole.STUDENT);
+
+        long lookups = userLookupsDuring(() -> inRequestAs(user, () -> {
+            currentUserProvider.principal();
+            currentUserProvider.id();
+            currentUserProvider.isAdmin();
+            return currentUserProvider.reference().getId();
+        }));
+
+        assertThat(lookups).isZero();
+    }
+
+    @Test
+    void createBookingLooksTheUserUpOnce() throws Exception {
+        Facility facility = newFacility(50);
+        User     user     = newUser(UserRole.STUDENT);
+
+        long lookups = userLookupsDuring(() -> inRequestAs(user, () -> bookingService.createBooking(Booking.builder()
+                .facility(Facility.builder().id(facility.getId()).build())
+                .date(LocalDate.now().plusDays(4))
+                .startTime(LocalTime.of(9, 0))
+                .endTime(LocalTime.of(10, 0))
+                .attendees(5)
+                .purpose("Query count")
+                .build())));
+
+        assertThat(lookups).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    void myListsDoNotLookUpTheUserSeparately() throws Exception {
+        Facility facility = newFacility(50);
+        User     user     = newUser(UserRole.STUDENT);
+        newBooking(facility, user, LocalDate.now().plusDays(2), LocalTime.of(9, 0), LocalTime.of(10, 0));
+
+        assertThat(userLookupsDuring(() -> inRequestAs(user, bookingService::getBookingsForCurrentUser))).isZero();
+        assertThat(userLookupsDuring(() -> inRequestAs(user, waitlistService::getEntriesForCurrentUser))).isZero();
+        assertThat(userLookupsDuring(() -> inRequestAs(user, reviewService::getReviewsForCurrentUser))).isZero();
+    }
+
+    @Test
+    void notificationFeedLooksTheUserUpOnce() throws Exception {
+        User user = newUser(UserRole.STUDENT);
+
+        // Feed needs the user's registration time and announcement watermark
+        long lookups = userLookupsDuring(() -> inRequestAs(user, () -> {
+            notificationService.getNotificationsForCurrentUser();
+            return notificationService.getUnreadCountForCurrentUser();
+        }));
+
+        assertThat(lookups).isEqualTo(1);
+    }
+}
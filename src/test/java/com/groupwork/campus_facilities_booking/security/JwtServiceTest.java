@@ -0,0 +1,92 @@
+package com.groupwork.campus_facilities_booking.security;
+
+import com.groupwork.campus_facilities_booking.model.Entities.User;
+import com.groupwork.campus_facilities_booking.model.Enums.UserRole;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Claims-only authentication: a token is turned into a principal only when
+ * every claim the filter relies on is present.
+ */
+class JwtServiceTest {
+
+    static final String SECRET = "test-secret-test-secret-test-secret-test-secret-0123456789";
+
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = newJwtService();
+    }
+
+    static JwtService newJwtService() {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "secretKey", SECRET);
+        ReflectionTestUtils.setField(service, "expirationMs", 3_600_000L);
+        service.init();
+        return service;
+    }
+
+    @Test
+    void issuedTokenRoundTripsToPrincipal() {
+        User user = User.builder()
+                .id(42L)
+                .name("Ama Mensah")
+                .email("ama@st.ug.edu.gh")
+                .role(UserRole.STUDENT)
+                .tokenVersion(3)
+                .build();
+
+        Claims claims = jwtService.parse(jwtService.generateToken(user));
+
+        assertThat(jwtService.toPrincipal(claims))
+                .isEqualTo(new AuthenticatedUser(42L, "ama@st.ug.edu.gh", UserRole.STUDENT));
+        assertThat(jwtService.versionOf(claims)).isEqualTo(3);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"sub", "id", "role", "ver"})
+    void tokenMissingARequiredClaimIsRejected(String missing) {
+        Map<String, Object> claims = new HashMap<>(Map.of(
+                "sub", "ama@st.ug.edu.gh", "id", 42, "role", "STUDENT", "ver", 0));
+        claims.remove(missing);
+
+        Claims parsed = jwtService.parse(sign(claims));
+
+        assertThatThrownBy(() -> jwtService.toPrincipal(parsed)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void unknownRoleIsRejected() {
+        Claims parsed = jwtService.parse(sign(Map.of(
+                "sub", "ama@st.ug.edu.gh", "id", 42, "role", "SUPERUSER", "ver", 0)));
+
+        assertThatThrownBy(() -> jwtService.toPrincipal(parsed)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    static String sign(Map<String, Object> claims) {
+        return Jwts.builder()
+                .setClaims(claims)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 3_600_000L))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
@@ -0,0 +1,111 @@
+package com.groupwork.campus_facilities_booking.service;
+
+import com.groupwork.campus_facilities_booking.dto.BookingStats;
+import com.groupwork.campus_facilities_booking.dto.UserSummary;
+import com.groupwork.campus_facilities_booking.model.Entities.Facility;
+import com.groupwork.campus_facilities_booking.model.Entities.User;
+import com.groupwork.campus_facilities_booking.model.Enums.BookingStatus;
+import com.groupwork.campus_facilities_booking.model.Enums.UserRole;
+import com.groupwork.campus_facilities_booking.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The admin dashboard / analytics aggregates and the user picker search.
+ * The database is shared with other tests, so counts are compared as
+ * before/after deltas.
+ */
+class AdminStatsTest extends PostgresIntegrationTest {
+
+    @Autowired BookingStatsService bookingStatsService;
+    @Autowired UserService         userService;
+
+    @Test
+    void newBookingsShowUpInEveryAggregate() {
+        LocalDate monday = LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        Facility  room   = newFacility(30);
+        User      staff  = newUser(UserRole.STAFF);
+        BookingStats before = bookingStatsService.getStats(7);
+
+        newBooking(room, staff, monday, LocalTime.of(9, 0), LocalTime.of(11, 0));    // 09 and 10
+        newBooking(room, staff, monday, LocalTime.of(10, 30), LocalTime.of(11, 0));  // 10
+        newBooking(room, staff, monday, LocalTime.of(12, 0), LocalTime.of(12, 30));  // no whole hour
+
+        BookingStats after = bookingStatsService.getStats(7);
+        assertThat(after.total() - before.total()).isEqualTo(3);
+        assertThat(after.byStatus().get(BookingStatus.CONFIRMED) - before.byStatus().get(BookingStatus.CONFIRMED))
+                .isEqualTo(3);
+        assertThat(after.byRole().get(UserRole.STAFF) - before.byRole().getOrDefault(UserRole.STAFF, 0L))
+                .isEqualTo(3);
+        assertThat(dayCount(after, monday) - dayCount(before, monday)).isEqualTo(3);
+        assertThat(hourCount(after, 9) - hourCount(before, 9)).isEqualTo(1);
+        assertThat(hourCount(after, 10) - hourCount(before, 10)).isEqualTo(2);
+        assertThat(hourCount(after, 12) - hourCount(before, 12)).isZero();
+
+        // A week of days, oldest first, ending today — including empty days
+        assertThat(after.perDay()).hasSize(7);
+        assertThat(after.perDay().get(6).date()).isEqualTo(LocalDate.now());
+    }
+
+    @Test
+    void mostBookedFacilityLeadsTheTopList() {
+        Facility busy  = newFacility(30);
+        User     user  = newUser(UserRole.STUDENT);
+        LocalDate day  = LocalDate.now().plusDays(1);
+        for (int h = 7; h < 21; h++) {
+            newBooking(busy, user, day, LocalTime.of(h, 0), LocalTime.of(h, 30));
+        }
+
+        List<BookingStats.FacilityCount> top = bookingStatsService.getStats(1).topFacilities();
+
+        assertThat(top).hasSizeLessThanOrEqualTo(BookingStatsService.TOP_FACILITIES);
+        assertThat(top).extracting(BookingStats.FacilityCount::facilityId).contains(busy.getId());
+    }
+
+    @Test
+    void dayRangeIsBounded() {
+        assertThatThrownBy(() -> bookingStatsService.getStats(0)).isInstanceOf(RuntimeException.class);
+        assertThatThrownBy(() -> bookingStatsService.getStats(BookingStatsService.MAX_DAYS + 1))
+                .isInstanceOf(RuntimeException.class);
+    }
+
+    @Test
+    void userSearchMatchesNameOrEmailCaseInsensitively() {
+        User user = newUser(UserRole.STUDENT);
+        String tag = user.getEmail().substring(0, 8);
+
+        assertThat(userService.searchUsers(tag.toUpperCase(), 20))
+                .extracting(UserSummary::id).containsExactly(user.getId());
+        assertThat(userService.searchUsers(user.getName().toLowerCase(), 20))
+                .extracting(UserSummary::id).containsExactly(user.getId());
+        assertThat(userService.searchUsers("   ", 20)).isEmpty();
+    }
+
+    @Test
+    void userStatsCountEveryRole() {
+        long before = userService.getUserStats().byRole().get(UserRole.SECURITY);
+        newUser(UserRole.SECURITY);
+
+        assertThat(userService.getUserStats().byRole().get(UserRole.SECURITY)).isEqualTo(before + 1);
+        assertThat(userService.getUserStats().byRole()).containsOnlyKeys(UserRole.values());
+    }
+
+    private static long dayCount(BookingStats stats, LocalDate day) {
+        return stats.perDay().stream().filter(d -> d.date().equals(day))
+                .mapToLong(BookingStats.DayCount::count).sum();
+    }
+
+    private static long hourCount(BookingStats stats, int hour) {
+        return stats.heatmap().stream().filter(h -> h.dayOfWeek() == 1 && h.hour() == hour)
+                .mapToLong(BookingStats.HourCount::count).sum();
+    }
+}
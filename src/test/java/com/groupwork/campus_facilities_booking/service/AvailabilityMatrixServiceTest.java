@@ -0,0 +1,126 @@
+package com.groupwork.campus_facilities_booking.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.groupwork.campus_facilities_booking.model.Entities.Facility;
+import com.groupwork.campus_facilities_booking.model.Entities.FacilityType;
+import com.groupwork.campus_facilities_booking.model.Entities.MaintenanceSchedule;
+import com.groupwork.campus_facilities_booking.model.Entities.User;
+import com.groupwork.campus_facilities_booking.model.Enums.UserRole;
+import com.groupwork.campus_facilities_booking.repository.MaintenanceRepository;
+import com.groupwork.campus_facilities_booking.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The availability matrix against the per-facility, per-day endpoint it
+ * replaces: same busy slots, a fixed number of queries however many
+ * facilities and days are asked for.
+ */
+class AvailabilityMatrixServiceTest extends PostgresIntegrationTest {
+
+    private static final Logger logger = Logger.getLogger(AvailabilityMatrixServiceTest.class.getName());
+
+    @Autowired AvailabilityMatrixService availabilityMatrixService;
+    @Autowired BookingService            bookingService;
+    @Autowired MaintenanceRepository     maintenanceRepository;
+    @Autowired ObjectMapper              objectMapper;
+
+    @Test
+    void matrixMatchesPerDayAvailability() throws Exception {
+        LocalDate    from       = LocalDate.now().plusDays(10);
+        LocalDate    to         = from.plusDays(6);
+        List<Long>   facilities = seedFacilities(4, from, to);
+
+        JsonNode matrix = matrix(facilities, from, to, AvailabilityMatrixService.Encoding.BITS);
+
+        assertThat(matrix.get("facilities")).hasSize(facilities.size());
+        for (JsonNode facility : matrix.get("facilities")) {
+            long id = facility.get("facilityId").asLong();
+            assertThat(facility.get("days")).hasSize(7);
+            for (JsonNode day : facility.get("days")) {
+                LocalDate date = LocalDate.parse(day.get("date").asText());
+                assertThat(day.get("busy").asText())
+                        .as("facility %d on %s", id, date)
+                        .isEqualTo(bookingService.checkAvailability(id, date).mask().toHex());
+            }
+        }
+    }
+
+    @Test
+    void queryCountDoesNotGrowWithTheGrid() throws Exception {
+        LocalDate  from  = LocalDate.now().plusDays(20);
+        List<Long> ids   = seedFacilities(8, from, from.plusDays(13));
+
+        long small = statementsDuring(() -> matrix(ids.subList(0, 1), from, from, AvailabilityMatrixService.Encoding.RLE));
+        long large = statementsDuring(() -> matrix(ids, from, from.plusDays(13), AvailabilityMatrixService.Encoding.RLE));
+        assertThat(large).isEqualTo(small);
+
+        // What the calendar used to do: one availability call per facility per day
+        long started = System.nanoTime();
+        long perDay  = statementsDuring(() -> {
+            for (Long id : ids) {
+                for (LocalDate d = from; !d.isAfter(from.plusDays(13)); d = d.plusDays(1)) {
+                    bookingService.checkAvailability(id, d);
+                }
+            }
+            return null;
+        });
+        long perDayMs = (System.nanoTime() - started) / 1_000_000;
+        started = System.nanoTime();
+        matrix(ids, from, from.plusDays(13), AvailabilityMatrixService.Encoding.RLE);
+        long matrixMs = (System.nanoTime() - started) / 1_000_000;
+
+        logger.info("8 facilities × 14 days: matrix " + large + " statements / " + matrixMs + " ms, "
+                + "per-day calls " + perDay + " statements / " + perDayMs + " ms");
+        assertThat(perDay).isGreaterThan(large * 10);
+    }
+
+    @Test
+    void maintenanceBlocksTheWholeDay() throws Exception {
+        LocalDate day      = LocalDate.now().plusDays(40);
+        Facility  facility = newFacility(30);
+        maintenanceRepository.save(MaintenanceSchedule.builder()
+                .facility(facility).startDate(day).endDate(day).reason("Rewiring").build());
+
+        JsonNode days = matrix(List.of(facility.getId()), day, day.plusDays(1), AvailabilityMatrixService.Encoding.RLE)
+                .get("facilities").get(0).get("days");
+
+        assertThat(days.get(0).get("runs").toString()).isEqualTo("[0,30]");
+        assertThat(days.get(1).get("runs").toString()).isEqualTo("[30]");
+    }
+
+    // ── Helpers ───────────────────────────────────────────────
+    private List<Long> seedFacilities(int count, LocalDate from, LocalDate to) {
+        FacilityType type = newFacilityType();
+        User         user = newUser(UserRole.STAFF);
+        List<Long>   ids  = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Facility facility = newFacility(30, type);
+            ids.add(facility.getId());
+            int n = 0;
+            for (LocalDate d = from; !d.isAfter(to); d = d.plusDays(1), n++) {
+                int hour = 8 + (i + n) % 10;
+                newBooking(facility, user, d, LocalTime.of(hour, 0), LocalTime.of(hour + 1, 30));
+                newBooking(facility, user, d, LocalTime.of(19, 15), LocalTime.of(20, 0));
+            }
+        }
+        return ids;
+    }
+
+    private JsonNode matrix(List<Long> ids, LocalDate from, LocalDate to, AvailabilityMatrixService.Encoding encoding)
+            throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        availabilityMatrixService.buildMatrix(ids, from, to, encoding).writeTo(out);
+        return objectMapper.readTree(out.toByteArray());
+    }
+}
@@ -0,0 +1,149 @@
+package com.groupwork.campus_facilities_booking.service;
+
+import com.groupwork.campus_facilities_booking.model.Entities.Booking;
+import com.groupwork.campus_facilities_booking.model.Entities.Facility;
+import com.groupwork.campus_facilities_booking.model.Entities.User;
+import com.groupwork.campus_facilities_booking.model.Enums.BookingStatus;
+import com.groupwork.campus_facilities_booking.model.Enums.UserRole;
+import com.groupwork.campus_facilities_booking.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Thousands of parallel attempts at one slot: exactly one may win, whichever
+ * path they take. Also logs throughput for the striped-lock admission next
+ * to a naive SERIALIZABLE check-then-insert, for comparison.
+ */
+class BookingAdmissionConcurrencyTest extends PostgresIntegrationTest {
+
+    private static final Logger logger = Logger.getLogger(BookingAdmissionConcurrencyTest.class.getName());
+
+    private static final int ATTEMPTS = 2_000;
+    private static final int THREADS  = 32;
+
+    @Autowired BookingService             bookingService;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    @Test
+    void onlyOneCreateBookingWinsTheSlot() throws Exception {
+        Facility  facility = newFacility(50);
+        User      user     = newUser(UserRole.STUDENT);
+        LocalDate day      = LocalDate.now().plusDays(5);
+
+        Result result = race(() -> as(user, () -> bookingService.createBooking(request(facility, day, 10, 11))));
+
+        assertThat(result.wins()).isEqualTo(1);
+        assertThat(confirmedOn(facility, day)).isEqualTo(1);
+        logger.info("createBooking (striped lock + advisory lock): " + result);
+    }
+
+    @Test
+    void exclusionConstraintStopsWritesThatSkipTheLock() throws Exception {
+        Facility  facility = newFacility(50);
+        User      user     = newUser(UserRole.STUDENT);
+        LocalDate day      = LocalDate.now().plusDays(6);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        // Straight saves: no lock, no conflict query — only ex_bookings_no_overlap stands in the way.
+        // Staggered windows so the overlaps aren't all identical.
+        AtomicInteger n = new AtomicInteger();
+        Result result = race(() -> tx.execute(status -> {
+            Booking b = request(facility, day, 10, 12);
+            b.setStartTime(LocalTime.of(10, n.getAndIncrement() % 2 == 0 ? 0 : 30));
+            b.setUser(user);
+            b.setFacility(facility);
+            b.setStatus(BookingStatus.CONFIRMED);
+            return bookingRepository.save(b);
+        }));
+
+        assertThat(result.wins()).isEqualTo(1);
+        assertThat(confirmedOn(facility, day)).isEqualTo(1);
+    }
+
+    @Test
+    void naiveSerializableAdmissionForComparison() throws Exception {
+        Facility  facility = newFacility(50);
+        User      user     = newUser(UserRole.STUDENT);
+        LocalDate day      = LocalDate.now().plusDays(7);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setIsolationLevel(TransactionDefinition.ISOLATION_SERIALIZABLE);
+
+        Result result = race(() -> tx.execute(status -> {
+            if (!bookingRepository.findConflictingBookings(facility, day, LocalTime.of(10, 0), LocalTime.of(11, 0),
+                    BookingIntervalIndex.BLOCKING_STATUSES).isEmpty()) {
+                throw new IllegalStateException("taken");
+            }
+            Booking b = request(facility, day, 10, 11);
+            b.setUser(user);
+            b.setFacility(facility);
+            b.setStatus(BookingStatus.CONFIRMED);
+            return bookingRepository.save(b);
+        }));
+
+        assertThat(result.wins()).isEqualTo(1);
+        logger.info("naive SERIALIZABLE check-then-insert: " + result);
+    }
+
+    // ── Helpers ───────────────────────────────────────────────
+    private Result race(Callable<Booking> attempt) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Booking>> futures = new ArrayList<>(ATTEMPTS);
+            long started = System.nanoTime();
+            for (int i = 0; i < ATTEMPTS; i++) {
+                futures.add(pool.submit(attempt));
+            }
+            int wins = 0;
+            for (Future<Booking> f : futures) {
+                try {
+                    f.get();
+                    wins++;
+                } catch (Exception rejected) {
+                    // conflict, constraint violation, serialization failure, lock timeout
+                }
+            }
+            return new Result(wins, ATTEMPTS, (System.nanoTime() - started) / 1_000_000);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private long confirmedOn(Facility facility, LocalDate day) {
+        return bookingRepository.findSlotsOnDate(facility.getId(), day, BookingIntervalIndex.BLOCKING_STATUSES).size();
+    }
+
+    private static Booking request(Facility facility, LocalDate day, int fromHour, int toHour) {
+        return Booking.builder()
+                .facility(Facility.builder().id(facility.getId()).build())
+                .date(day)
+                .startTime(LocalTime.of(fromHour, 0))
+                .endTime(LocalTime.of(toHour, 0))
+                .attendees(10)
+                .purpose("Stress test")
+                .build();
+    }
+
+    private record Result(int wins, int attempts, long millis) {
+        @Override
+        public String toString() {
+            return attempts + " attempts, " + wins + " win(s) in " + millis + " ms ("
+                    + (attempts * 1000L / Math.max(1, millis)) + " attempts/s)";
+        }
+    }
+}
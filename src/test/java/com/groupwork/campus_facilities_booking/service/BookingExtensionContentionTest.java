@@ -0,0 +1,162 @@
+package com.groupwork.campus_facilities_booking.service;
+
+import com.groupwork.campus_facilities_booking.model.Entities.Booking;
+import com.groupwork.campus_facilities_booking.model.Entities.Facility;
+import com.groupwork.campus_facilities_booking.model.Entities.User;
+import com.groupwork.campus_facilities_booking.model.Enums.UserRole;
+import com.groupwork.campus_facilities_booking.repository.BookingRepository;
+import com.groupwork.campus_facilities_booking.support.PostgresIntegrationTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * extendBooking under contention: many extensions of one booking at once,
+ * and an extension racing a new booking for the 30 minutes it wants. The
+ * limit must hold and nothing may end up double-booked. Logs the retry
+ * count and the booking.extend p99 so runs can be compared.
+ */
+class BookingExtensionContentionTest extends PostgresIntegrationTest {
+
+    private static final Logger logger = Logger.getLogger(BookingExtensionContentionTest.class.getName());
+
+    private static final int THREADS = 16;
+    private static final int ROUNDS  = 30;
+
+    @Autowired BookingService bookingService;
+    @Autowired MeterRegistry  meterRegistry;
+
+    @Test
+    void concurrentExtensionsNeverExceedTheLimit() throws Exception {
+        Facility facility = newFacility(30);
+        User     owner    = newUser(UserRole.STUDENT);
+
+        for (int i = 0; i < ROUNDS; i++) {
+            LocalDate day     = LocalDate.now().plusDays(20 + i);
+            Booking   booking = newBooking(facility, owner, day, LocalTime.of(10, 0), LocalTime.of(11, 0));
+
+            List<Callable<Booking>> attempts = new ArrayList<>(THREADS);
+            for (int t = 0; t < THREADS; t++) {
+                attempts.add(() -> as(owner, () -> bookingService.extendBooking(booking.getId())));
+            }
+            int wins = winners(attempts);
+
+            Booking after = reload(booking);
+            assertThat(wins).isBetween(1, after.getMaxExtensions());
+            assertThat(after.getExtensionCount()).isEqualTo(wins);
+            assertThat(after.getEndTime()).isEqualTo(LocalTime.of(11, 0).plusMinutes(30L * wins));
+            assertNoOverlaps(facility, day);
+        }
+        logMetrics("concurrent extensions");
+    }
+
+    @Test
+    void extensionRacingANewBookingForTheSameHalfHour() throws Exception {
+        Facility facility = newFacility(30);
+        User     owner    = newUser(UserRole.STUDENT);
+        User     other    = newUser(UserRole.STUDENT);
+
+        for (int i = 0; i < ROUNDS; i++) {
+            LocalDate day     = LocalDate.now().plusDays(60 + i);
+            Booking   booking = newBooking(facility, owner, day, LocalTime.of(10, 0), LocalTime.of(11, 0));
+
+            int wins = winners(List.of(
+                    () -> as(owner, () -> bookingService.extendBooking(booking.getId())),
+                    () -> as(other, () -> bookingService.createBooking(nextHalfHour(facility, day)))));
+
+            Booking after = reload(booking);
+            assertThat(wins).isEqualTo(1);
+            assertThat(after.getExtensionCount()).isLessThanOrEqualTo(after.getMaxExtensions());
+            assertThat(bookingRepository.findSlotsOnDate(facility.getId(), day,
+                    BookingIntervalIndex.BLOCKING_STATUSES)).hasSize(after.getExtensionCount() == 1 ? 1 : 2);
+            assertNoOverlaps(facility, day);
+        }
+        logMetrics("extend vs create");
+    }
+
+    // ── Helpers ───────────────────────────────────────────────
+    /** booking.extend figures are cumulative over the run. */
+    private void logMetrics(String label) {
+        StringBuilder p99 = new StringBuilder("n/a");
+        Timer timer = meterRegistry.find("booking.extend").timer();
+        if (timer != null) {
+            for (ValueAtPercentile v : timer.takeSnapshot().percentileValues()) {
+                if (v.percentile() == 0.99) {
+                    p99.setLength(0);
+                    p99.append(String.format("%.1f ms", v.value(TimeUnit.MILLISECONDS)));
+                }
+            }
+        }
+        logger.info(label + " — booking.extend: " + (timer != null ? timer.count() : 0) + " calls, p99 " + p99
+                + ", booking.extend.retries " + meterRegistry.counter("booking.extend.retries").count());
+    }
+
+    /** Starts every attempt at once; returns how many succeeded. */
+    private static int winners(List<Callable<Booking>> attempts) throws Exception {
+        ExecutorService pool  = Executors.newFixedThreadPool(attempts.size());
+        CountDownLatch  start = new CountDownLatch(1);
+        try {
+            List<Future<Booking>> futures = new ArrayList<>(attempts.size());
+            for (Callable<Booking> attempt : attempts) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return attempt.call();
+                }));
+            }
+            start.countDown();
+            int wins = 0;
+            for (Future<Booking> f : futures) {
+                try {
+                    f.get();
+                    wins++;
+                } catch (Exception rejected) {
+                    // limit reached, slot taken, or gave up after retries
+                }
+            }
+            return wins;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void assertNoOverlaps(Facility facility, LocalDate day) {
+        List<BookingRepository.SlotView> slots = new ArrayList<>(bookingRepository.findSlotsOnDate(
+                facility.getId(), day, BookingIntervalIndex.BLOCKING_STATUSES));
+        slots.sort(Comparator.comparing(BookingRepository.SlotView::getStartTime));
+        for (int i = 1; i < slots.size(); i++) {
+            assertThat(slots.get(i).getStartTime()).isAfterOrEqualTo(slots.get(i - 1).getEndTime());
+        }
+    }
+
+    private Booking reload(Booking booking) {
+        return bookingRepository.findById(booking.getId()).orElseThrow();
+    }
+
+    private static Booking nextHalfHour(Facility facility, LocalDate day) {
+        return Booking.builder()
+                .facility(Facility.builder().id(facility.getId()).build())
+                .date(day)
+                .startTime(LocalTime.of(11, 0))
+                .endTime(LocalTime.of(11, 30))
+                .attendees(1)
+                .purpose("Right after")
+                .build();
+    }
+}
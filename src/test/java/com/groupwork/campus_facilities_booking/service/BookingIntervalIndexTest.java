@@ -0,0 +1,164 @@
+package com.groupwork.campus_facilities_booking.service;
+
+import com.groupwork.campus_facilities_booking.model.Entities.Booking;
+import com.groupwork.campus_facilities_booking.model.Entities.Facility;
+import com.groupwork.campus_facilities_booking.model.Enums.BookingStatus;
+import com.groupwork.campus_facilities_booking.repository.BookingRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static com.groupwork.campus_facilities_booking.service.BookingIntervalIndex.Answer.FREE;
+import static com.groupwork.campus_facilities_booking.service.BookingIntervalIndex.Answer.TAKEN;
+import static com.groupwork.campus_facilities_booking.service.BookingIntervalIndex.Answer.UNCONFIRMED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * BookingIntervalIndex on its own (no Spring, no DB): rebuilds must not lose
+ * or revive intervals, stale hits must heal the facility-day, and only
+ * intervals this node saw commit are answered TAKEN.
+ */
+class BookingIntervalIndexTest {
+
+    private static final Long      FACILITY = 1L;
+    private static final LocalDate DAY      = LocalDate.now().plusDays(3);
+
+    private BookingRepository    bookingRepository;
+    private BookingIntervalIndex index;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        index = new BookingIntervalIndex(bookingRepository, mock(LiveUpdateHub.class),
+                mock(ResourceVersions.class), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void bookingCommittedDuringRebuildIsKept() {
+        // The resync query misses booking 7; its commit lands while the query runs
+        when(bookingRepository.findUpcomingSlots(any(), anyList())).thenAnswer(inv -> {
+            index.record(booking(7L, BookingStatus.CONFIRMED, 10, 11));
+            return List.of();
+        });
+
+        index.rebuild();
+
+        assertThat(index.lookup(FACILITY, DAY, LocalTime.of(10, 30), LocalTime.of(11, 0))).isEqualTo(TAKEN);
+    }
+
+    @Test
+    void cancellationCommittedDuringRebuildIsNotRevived() {
+        index.record(booking(7L, BookingStatus.CONFIRMED, 10, 11));
+
+        // The resync query still sees booking 7; the cancel commits meanwhile
+        when(bookingRepository.findUpcomingSlots(any(), anyList())).thenAnswer(inv -> {
+            index.record(booking(7L, BookingStatus.CANCELLED, 10, 11));
+            return List.of(slot(7L, 10, 11));
+        });
+
+        index.rebuild();
+
+        assertThat(index.lookup(FACILITY, DAY, LocalTime.of(10, 0), LocalTime.of(11, 0))).isEqualTo(FREE);
+    }
+
+    @Test
+    void rebuildReplacesWhatTheDatabaseNoLongerHas() {
+        index.record(booking(7L, BookingStatus.CONFIRMED, 10, 11));
+        when(bookingRepository.findUpcomingSlots(any(), anyList())).thenReturn(List.of(slot(8L, 14, 15)));
+
+        index.rebuild();
+
+        assertThat(index.lookup(FACILITY, DAY, LocalTime.of(10, 0), LocalTime.of(11, 0))).isEqualTo(FREE);
+        assertThat(index.lookup(FACILITY, DAY, LocalTime.of(14, 0), LocalTime.of(14, 30))).isEqualTo(UNCONFIRMED);
+    }
+
+    @Test
+    void staleHitReloadsTheDay() {
+        // Indexed here, cancelled on another node
+        index.record(booking(7L, BookingStatus.CONFIRMED, 10, 11));
+        when(bookingRepository.findSlotsOnDate(eq(FACILITY), eq(DAY), anyList()))
+                .thenReturn(List.of(slot(9L, 12, 13)));
+
+        index.staleHit(FACILITY, DAY);
+
+        assertThat(index.lookup(FACILITY, DAY, LocalTime.of(10, 0), LocalTime.of(11, 0))).isEqualTo(FREE);
+        assertThat(index.lookup(FACILITY, DAY, LocalTime.of(12, 30), LocalTime.of(13, 30))).isEqualTo(UNCONFIRMED);
+    }
+
+    @Test
+    void touchingIntervalsDoNotConflict() {
+        index.record(booking(7L, BookingStatus.CONFIRMED, 10, 11));
+
+        assertThat(index.lookup(FACILITY, DAY, LocalTime.of(11, 0), LocalTime.of(12, 0))).isEqualTo(FREE);
+        assertThat(index.lookup(FACILITY, DAY, LocalTime.of(9, 0), LocalTime.of(10, 0))).isEqualTo(FREE);
+        assertThat(index.lookup(FACILITY, DAY, LocalTime.of(9, 0), LocalTime.of(10, 1))).isEqualTo(TAKEN);
+    }
+
+    @Test
+    void onlyIntervalsRecordedHereAreTrusted() {
+        index.record(booking(7L, BookingStatus.CONFIRMED, 10, 11));
+        when(bookingRepository.findUpcomingSlots(any(), anyList())).thenReturn(List.of(slot(7L, 10, 11)));
+
+        assertThat(index.lookup(FACILITY, DAY, LocalTime.of(10, 0), LocalTime.of(11, 0))).isEqualTo(TAKEN);
+
+        // A resync may have seen changes this node didn't — trust starts over
+        index.rebuild();
+        assertThat(index.lookup(FACILITY, DAY, LocalTime.of(10, 0), LocalTime.of(11, 0))).isEqualTo(UNCONFIRMED);
+
+        // Recorded again after commit (e.g. an edit) — trusted again
+        index.record(booking(7L, BookingStatus.CONFIRMED, 10, 12));
+        assertThat(index.lookup(FACILITY, DAY, LocalTime.of(11, 0), LocalTime.of(12, 0))).isEqualTo(TAKEN);
+    }
+
+    @Test
+    void trustedOverlapWinsOverAnUnconfirmedOne() {
+        when(bookingRepository.findUpcomingSlots(any(), anyList())).thenReturn(List.of(slot(8L, 9, 11)));
+        index.rebuild();
+        index.record(booking(7L, BookingStatus.CONFIRMED, 10, 12));
+
+        assertThat(index.lookup(FACILITY, DAY, LocalTime.of(9, 0), LocalTime.of(10, 0))).isEqualTo(UNCONFIRMED);
+        assertThat(index.lookup(FACILITY, DAY, LocalTime.of(10, 30), LocalTime.of(11, 30))).isEqualTo(TAKEN);
+    }
+
+    @Test
+    void rejectionsFromMemoryAreCounted() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        index = new BookingIntervalIndex(bookingRepository, mock(LiveUpdateHub.class),
+                mock(ResourceVersions.class), registry);
+        index.record(booking(7L, BookingStatus.CONFIRMED, 10, 11));
+
+        index.lookup(FACILITY, DAY, LocalTime.of(10, 0), LocalTime.of(11, 0));
+        index.lookup(FACILITY, DAY, LocalTime.of(12, 0), LocalTime.of(13, 0));
+
+        assertThat(registry.counter("booking.conflict.index", "result", "rejected").count()).isEqualTo(1.0);
+        assertThat(registry.counter("booking.conflict.index", "result", "miss").count()).isEqualTo(1.0);
+    }
+
+    // ── Fixtures ──────────────────────────────────────────────
+    static Booking booking(Long id, BookingStatus status, int fromHour, int toHour) {
+        return Booking.builder()
+                .id(id)
+                .facility(Facility.builder().id(FACILITY).build())
+                .date(DAY)
+                .startTime(LocalTime.of(fromHour, 0))
+                .endTime(LocalTime.of(toHour, 0))
+                .status(status)
+                .build();
+    }
+
+    static BookingRepository.SlotView slot(Long id, int fromHour, int toHour) {
+        return new Slot(id, FACILITY, DAY, LocalTime.of(fromHour, 0), LocalTime.of(toHour, 0));
+    }
+
+    record Slot(Long getId, Long getFacilityId, LocalDate getDate, LocalTime getStartTime, LocalTime getEndTime)
+            implements BookingRepository.SlotView {}
+}
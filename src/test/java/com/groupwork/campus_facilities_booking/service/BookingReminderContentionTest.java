@@ -0,0 +1,119 @@
+package com.groupwork.campus_facilities_booking.service;
+
+import com.groupwork.campus_facilities_booking.model.Entities.Booking;
+import com.groupwork.campus_facilities_booking.model.Entities.Facility;
+import com.groupwork.campus_facilities_booking.model.Entities.User;
+import com.groupwork.campus_facilities_booking.model.Enums.UserRole;
+import com.groupwork.campus_facilities_booking.support.PostgresIntegrationTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Marking a reminder sent must not look like a change to the booking: an
+ * edit or extension racing the reminder goes through first time.
+ *
+ * The reminder UPDATE is called with a "now" five minutes before the
+ * booking ends, so nothing here depends on the wall clock.
+ */
+class BookingReminderContentionTest extends PostgresIntegrationTest {
+
+    private static final int ROUNDS = 50;
+
+    @Autowired BookingService             bookingService;
+    @Autowired MeterRegistry              meterRegistry;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    @Test
+    void reminderLeavesTheVersionAlone() {
+        Booking booking = newBooking(newFacility(30), newUser(UserRole.STUDENT),
+                LocalDate.now().plusDays(3), LocalTime.of(10, 0), LocalTime.of(11, 0));
+        Long before = reload(booking).getVersion();
+
+        assertThat(remind(booking)).isEqualTo(1);
+
+        Booking after = reload(booking);
+        assertThat(after.getReminderSent()).isTrue();
+        assertThat(after.getVersion()).isEqualTo(before);
+    }
+
+    @Test
+    void editWithTheVersionReadBeforeTheReminderSucceeds() {
+        Booking booking = newBooking(newFacility(30), newUser(UserRole.STUDENT),
+                LocalDate.now().plusDays(4), LocalTime.of(10, 0), LocalTime.of(11, 0));
+        Booking loaded = reload(booking);
+
+        remind(booking);
+
+        Booking edit = Booking.builder()
+                .version(loaded.getVersion())
+                .date(loaded.getDate())
+                .startTime(loaded.getStartTime())
+                .endTime(loaded.getEndTime())
+                .purpose("Edited after the reminder")
+                .attendees(loaded.getAttendees())
+                .build();
+        Booking saved = bookingService.updateBooking(booking.getId(), edit);
+
+        assertThat(saved.getPurpose()).isEqualTo("Edited after the reminder");
+        // The stale copy's reminderSent=false is not written back
+        assertThat(reload(booking).getReminderSent()).isTrue();
+    }
+
+    @Test
+    void extensionRacingTheReminderNeverRetries() throws Exception {
+        Facility facility = newFacility(30);
+        User     user     = newUser(UserRole.STUDENT);
+        double   retries  = extendRetries();
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            for (int i = 0; i < ROUNDS; i++) {
+                Booking booking = newBooking(facility, user,
+                        LocalDate.now().plusDays(10 + i), LocalTime.of(10, 0), LocalTime.of(11, 0));
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> both = new ArrayList<>(2);
+                both.add(pool.submit(() -> { start.await(); return remind(booking); }));
+                both.add(pool.submit(() -> { start.await(); return bookingService.extendBooking(booking.getId()); }));
+                start.countDown();
+                for (Future<?> f : both) {
+                    f.get();   // neither side may fail
+                }
+                assertThat(reload(booking).getExtensionCount()).isEqualTo(1);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(extendRetries()).isEqualTo(retries);
+    }
+
+    // ── Helpers ───────────────────────────────────────────────
+    private int remind(Booking booking) {
+        LocalDateTime endAt = LocalDateTime.of(booking.getDate(), booking.getEndTime());
+        return new TransactionTemplate(transactionManager).execute(status ->
+                bookingRepository.markReminderDue(booking.getId(), endAt.minusMinutes(5), endAt).size());
+    }
+
+    private Booking reload(Booking booking) {
+        return bookingRepository.findById(booking.getId()).orElseThrow();
+    }
+
+    private double extendRetries() {
+        return meterRegistry.counter("booking.extend.retries").count();
+    }
+}
@@ -0,0 +1,269 @@
+package com.groupwork.campus_facilities_booking.service;
+
+import com.groupwork.campus_facilities_booking.exception.BookingConflictException;
+import com.groupwork.campus_facilities_booking.model.Entities.Booking;
+import com.groupwork.campus_facilities_booking.model.Entities.Facility;
+import com.groupwork.campus_facilities_booking.model.Entities.MaintenanceSchedule;
+import com.groupwork.campus_facilities_booking.model.Entities.User;
+import com.groupwork.campus_facilities_booking.model.Enums.BookingStatus;
+import com.groupwork.campus_facilities_booking.repository.BookingRepository;
+import com.groupwork.campus_facilities_booking.repository.FacilityRepository;
+import com.groupwork.campus_facilities_booking.repository.MaintenanceRepository;
+import com.groupwork.campus_facilities_booking.repository.NotificationRepository;
+import com.groupwork.campus_facilities_booking.security.CurrentUserProvider;
+import com.groupwork.campus_facilities_booking.service.BookingIntervalIndex.Answer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Admission for createBooking and updateBooking: an index hit on a booking
+ * this node saw commit is rejected without a query, everything else is
+ * decided by the database — and an edit goes through the same checks.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class BookingServiceConflictTest {
+
+    private static final LocalDate DAY     = LocalDate.now().plusDays(2);
+    private static final LocalDate THROUGH = DAY.plusDays(28);
+
+    @Mock BookingRepository      bookingRepository;
+    @Mock FacilityRepository     facilityRepository;
+    @Mock MaintenanceRepository  maintenanceRepository;
+    @Mock NotificationService    notificationService;
+    @Mock NotificationRepository notificationRepository;
+    @Mock BookingIntervalIndex   bookingIntervalIndex;
+    @Mock BookingSlotLocks       bookingSlotLocks;
+    @Mock BookingDeadlineQueue   bookingDeadlineQueue;
+    @Mock RecurrenceService      recurrenceService;
+    @Mock WaitlistMatcher        waitlistMatcher;
+    @Mock CurrentUserProvider    currentUserProvider;
+    @Mock TransactionTemplate    transactionTemplate;
+    @Mock MeterRegistry          meterRegistry;
+
+    @InjectMocks BookingService bookingService;
+
+    private final Facility facility = Facility.builder().id(1L).name("Lab 1").capacity(40).build();
+
+    @BeforeEach
+    void setUp() {
+        when(facilityRepository.findById(1L)).thenReturn(Optional.of(facility));
+        when(currentUserProvider.load()).thenReturn(User.builder().id(5L).build());
+        when(recurrenceService.horizon()).thenReturn(THROUGH);
+        when(recurrenceService.slotKeys(eq(1L), any(), eq(THROUGH)))
+                .thenReturn(List.of(new BookingSlotLocks.Key(1L, DAY)));
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(inv -> {
+            Booking b = inv.getArgument(0);
+            b.setId(100L);
+            return b;
+        });
+    }
+
+    @Test
+    void staleIndexHitDoesNotRejectAFreeSlot() {
+        when(bookingIntervalIndex.lookup(eq(1L), eq(DAY), any(), any(), any())).thenReturn(Answer.UNCONFIRMED);
+        when(bookingRepository.findConflictingBookings(any(), any(), any(), any(), anyList())).thenReturn(List.of());
+
+        Booking saved = bookingService.createBooking(request());
+
+        assertThat(saved.getId()).isEqualTo(100L);
+        verify(bookingIntervalIndex).staleHit(1L, DAY);
+    }
+
+    @Test
+    void trustedIndexHitIsRejectedWithoutQuerying() {
+        when(bookingIntervalIndex.lookup(eq(1L), eq(DAY), any(), any(), any())).thenReturn(Answer.TAKEN);
+
+        assertThatThrownBy(() -> bookingService.createBooking(request()))
+                .isInstanceOf(BookingConflictException.class);
+
+        InOrder order = inOrder(bookingSlotLocks, bookingIntervalIndex);
+        order.verify(bookingSlotLocks).lockAll(List.of(new BookingSlotLocks.Key(1L, DAY)));
+        order.verify(bookingIntervalIndex).lookup(eq(1L), eq(DAY), any(), any());
+        verify(bookingRepository, never()).findConflictingBookings(any(), any(), any(), any(), anyList());
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void unconfirmedIndexHitTheDatabaseConfirmsIsRejected() {
+        when(bookingIntervalIndex.lookup(eq(1L), eq(DAY), any(), any(), any())).thenReturn(Answer.UNCONFIRMED);
+        when(bookingRepository.findConflictingBookings(any(), any(), any(), any(), anyList()))
+                .thenReturn(List.of(new Booking()));
+
+        assertThatThrownBy(() -> bookingService.createBooking(request()))
+                .isInstanceOf(BookingConflictException.class);
+        verify(bookingRepository, never()).save(any());
+        verify(bookingIntervalIndex, never()).staleHit(any(), any());
+    }
+
+    @Test
+    void databaseConflictIsRejectedEvenWhenTheIndexMisses() {
+        when(bookingIntervalIndex.lookup(any(), any(), any(), any(), any())).thenReturn(Answer.FREE);
+        when(bookingRepository.findConflictingBookings(any(), any(), any(), any(), anyList()))
+                .thenReturn(List.of(new Booking()));
+
+        assertThatThrownBy(() -> bookingService.createBooking(request()))
+                .isInstanceOf(BookingConflictException.class);
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void slotLockIsTakenBeforeTheConflictCheck() {
+        bookingService.createBooking(request());
+
+        InOrder order = inOrder(bookingSlotLocks, bookingRepository);
+        order.verify(bookingSlotLocks).lockAll(List.of(new BookingSlotLocks.Key(1L, DAY)));
+        order.verify(bookingRepository).findConflictingBookings(any(), any(), any(), any(), anyList());
+        order.verify(bookingRepository).save(any());
+    }
+
+    @Test
+    void recurringBookingLocksEveryOccurrenceDayUpFront() {
+        List<BookingSlotLocks.Key> keys = List.of(
+                new BookingSlotLocks.Key(1L, DAY),
+                new BookingSlotLocks.Key(1L, DAY.plusWeeks(1)),
+                new BookingSlotLocks.Key(1L, DAY.plusWeeks(2)));
+        when(recurrenceService.slotKeys(eq(1L), any(), eq(THROUGH))).thenReturn(keys);
+
+        bookingService.createBooking(request());
+
+        // One ordered lockAll before anything is checked; startSeries materialises
+        // to the same horizon, so it only re-enters locks already held
+        InOrder order = inOrder(bookingSlotLocks, bookingRepository, recurrenceService);
+        order.verify(bookingSlotLocks).lockAll(keys);
+        order.verify(bookingRepository).findConflictingBookings(any(), any(), any(), any(), anyList());
+        order.verify(recurrenceService).startSeries(any(), eq(THROUGH));
+        verify(bookingSlotLocks, never()).lock(any(), any());
+    }
+
+    // ── updateBooking ─────────────────────────────────────────
+    @Test
+    void movedBookingIsRejectedWhenTheNewWindowIsTaken() {
+        Booking existing = existing();
+        when(recurrenceService.slotKeys(eq(1L), any(), eq(THROUGH)))
+                .thenReturn(List.of(new BookingSlotLocks.Key(1L, DAY.plusDays(1))));
+        when(bookingRepository.findOtherConflictingBookings(any(), eq(DAY.plusDays(1)), any(), any(), anyList(), eq(50L)))
+                .thenReturn(List.of(new Booking()));
+
+        assertThatThrownBy(() -> bookingService.updateBooking(50L, move(DAY.plusDays(1), 14, 15)))
+                .isInstanceOf(BookingConflictException.class);
+
+        // Old and new day in one ordered lockAll, before the conflict query
+        InOrder order = inOrder(bookingSlotLocks, bookingRepository);
+        order.verify(bookingSlotLocks).lockAll(List.of(
+                new BookingSlotLocks.Key(1L, DAY.plusDays(1)), new BookingSlotLocks.Key(1L, DAY)));
+        order.verify(bookingRepository).findOtherConflictingBookings(any(), any(), any(), any(), anyList(), eq(50L));
+        verify(bookingRepository, never()).save(any());
+        assertThat(existing.getDate()).isEqualTo(DAY);   // the managed entity was never touched
+    }
+
+    @Test
+    void movedBookingIsRejectedFromTheIndexWithoutQuerying() {
+        existing();
+        when(bookingIntervalIndex.lookup(eq(1L), eq(DAY), any(), any(), eq(50L))).thenReturn(Answer.TAKEN);
+
+        assertThatThrownBy(() -> bookingService.updateBooking(50L, move(DAY, 12, 13)))
+                .isInstanceOf(BookingConflictException.class);
+        verify(bookingRepository, never()).findOtherConflictingBookings(any(), any(), any(), any(), anyList(), any());
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void movedBookingMustStayInsideOpeningHours() {
+        existing();
+
+        assertThatThrownBy(() -> bookingService.updateBooking(50L, move(DAY, 21, 23)))
+                .hasMessageContaining("operating hours");
+        verify(bookingSlotLocks, never()).lockAll(any());
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void movedBookingMustLastThirtyMinutes() {
+        existing();
+        Booking tooShort = move(DAY, 10, 11);
+        tooShort.setEndTime(LocalTime.of(10, 15));
+
+        assertThatThrownBy(() -> bookingService.updateBooking(50L, tooShort))
+                .hasMessageContaining("30 minutes");
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void movedBookingCannotLandOnMaintenance() {
+        existing();
+        when(maintenanceRepository.findByFacilityAndDateRange(any(), eq(DAY.plusDays(3))))
+                .thenReturn(List.of(new MaintenanceSchedule()));
+
+        assertThatThrownBy(() -> bookingService.updateBooking(50L, move(DAY.plusDays(3), 10, 11)))
+                .hasMessageContaining("maintenance");
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void editInPlaceDoesNotConflictWithItself() {
+        existing();
+
+        Booking saved = bookingService.updateBooking(50L, move(DAY, 10, 11));
+
+        assertThat(saved.getId()).isEqualTo(50L);
+        verify(bookingIntervalIndex).lookup(eq(1L), eq(DAY), any(), any(), eq(50L));
+        verify(bookingRepository).findOtherConflictingBookings(any(), eq(DAY), any(), any(), anyList(), eq(50L));
+        verify(bookingRepository, never()).findConflictingBookings(any(), any(), any(), any(), anyList());
+    }
+
+    private Booking existing() {
+        Booking existing = request();
+        existing.setId(50L);
+        existing.setFacility(facility);
+        existing.setStatus(BookingStatus.CONFIRMED);
+        existing.setVersion(3L);
+        when(bookingRepository.findById(50L)).thenReturn(Optional.of(existing));
+        when(bookingRepository.save(existing)).thenReturn(existing);
+        return existing;
+    }
+
+    private static Booking move(LocalDate date, int fromHour, int toHour) {
+        Booking edit = request();
+        edit.setDate(date);
+        edit.setStartTime(LocalTime.of(fromHour, 0));
+        edit.setEndTime(LocalTime.of(toHour, 0));
+        edit.setVersion(3L);
+        return edit;
+    }
+
+    private static Booking request() {
+        return Booking.builder()
+                .facility(Facility.builder().id(1L).build())
+                .date(DAY)
+                .startTime(LocalTime.of(10, 0))
+                .endTime(LocalTime.of(11, 0))
+                .attendees(10)
+                .purpose("Tutorial")
+                .build();
+    }
+}
@@ -0,0 +1,138 @@
+package com.groupwork.campus_facilities_booking.service;
+
+import com.groupwork.campus_facilities_booking.dto.BulkBookingRequest;
+import com.groupwork.campus_facilities_booking.dto.BulkBookingResponse;
+import com.groupwork.campus_facilities_booking.model.Entities.Booking;
+import com.groupwork.campus_facilities_booking.model.Entities.Facility;
+import com.groupwork.campus_facilities_booking.model.Entities.User;
+import com.groupwork.campus_facilities_booking.model.Enums.BookingStatus;
+import com.groupwork.campus_facilities_booking.model.Enums.UserRole;
+import com.groupwork.campus_facilities_booking.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * POST /bookings/bulk: the single-pass sweep must decide clashes the way
+ * one-at-a-time createBooking would, with a statement count that does not
+ * grow with the number of items.
+ *
+ * The throughput comparison against createBooking runs only with
+ * -Dbenchmarks=true.
+ */
+class BulkBookingServiceTest extends PostgresIntegrationTest {
+
+    private static final Logger logger = Logger.getLogger(BulkBookingServiceTest.class.getName());
+
+    @Autowired BulkBookingService bulkBookingService;
+    @Autowired BookingService     bookingService;
+
+    @Test
+    void clashesWithExistingAndWithinTheBatchAreRejected() throws Exception {
+        Facility  facility = newFacility(50);
+        User      staff    = newUser(UserRole.STAFF);
+        LocalDate day      = LocalDate.now().plusDays(8);
+        newBooking(facility, staff, day, LocalTime.of(10, 0), LocalTime.of(11, 0));
+
+        BulkBookingResponse response = as(staff, () -> bulkBookingService.createAll(new BulkBookingRequest(List.of(
+                item(facility, day, 10, 30, 11, 30),            // overlaps the existing booking
+                item(facility, day, 12, 30, 13, 30),            // overlaps the next item, starts later → loses
+                item(facility, day, 12, 0, 13, 0),
+                item(facility, day.plusDays(1), 10, 0, 11, 0),  // same window, other day → fine
+                item(facility, day, 11, 0, 12, 0)))));          // touches both neighbours → fine
+
+        assertThat(response.results()).extracting(BulkBookingResponse.Result::status).containsExactly(
+                BulkBookingResponse.Status.REJECTED,
+                BulkBookingResponse.Status.REJECTED,
+                BulkBookingResponse.Status.CREATED,
+                BulkBookingResponse.Status.CREATED,
+                BulkBookingResponse.Status.CREATED);
+        assertThat(response.created()).isEqualTo(3);
+        assertThat(confirmedOn(facility, day)).isEqualTo(3);
+    }
+
+    @Test
+    void statementCountDoesNotGrowWithBatchSize() throws Exception {
+        User     staff = newUser(UserRole.STAFF);
+        Facility few   = newFacility(50);
+        Facility many  = newFacility(50);
+
+        long small = statementsDuring(() -> as(staff, () -> bulkBookingService.createAll(timetable(few, 10, 10))));
+        long large = statementsDuring(() -> as(staff, () -> bulkBookingService.createAll(timetable(many, 200, 10))));
+
+        // Ten facility-days either way, so the same locks and lookups; the
+        // insert is one JDBC batch. Slack for the summary notification,
+        // written on the writer thread.
+        assertThat(large).isLessThanOrEqualTo(small + 2);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    void bulkThroughputAgainstCreateBooking() throws Exception {
+        int  n     = 500;
+        User staff = newUser(UserRole.STAFF);
+
+        Facility singleFacility = newFacility(50);
+        List<BulkBookingRequest.Item> singles = timetable(singleFacility, n, 20).bookings();
+        long singleStart = System.nanoTime();
+        as(staff, () -> {
+            for (BulkBookingRequest.Item item : singles) {
+                bookingService.createBooking(Booking.builder()
+                        .facility(Facility.builder().id(item.facilityId()).build())
+                        .date(item.date())
+                        .startTime(item.startTime())
+                        .endTime(item.endTime())
+                        .purpose(item.purpose())
+                        .attendees(item.attendees())
+                        .build());
+            }
+            return null;
+        });
+        long singleMs = (System.nanoTime() - singleStart) / 1_000_000;
+
+        Facility bulkFacility = newFacility(50);
+        long bulkStart = System.nanoTime();
+        BulkBookingResponse response = as(staff, () -> bulkBookingService.createAll(timetable(bulkFacility, n, 20)));
+        long bulkMs = (System.nanoTime() - bulkStart) / 1_000_000;
+
+        assertThat(response.created()).isEqualTo(n);
+        logger.info(n + " bookings — createBooking one by one: " + singleMs + " ms ("
+                + (n * 1000L / Math.max(1, singleMs)) + "/s); createAll: " + bulkMs + " ms ("
+                + (n * 1000L / Math.max(1, bulkMs)) + "/s)");
+    }
+
+    // ── Helpers ───────────────────────────────────────────────
+    /**
+     * n non-overlapping 30-minute slots dealt round-robin over the same
+     * {@code days} days (up to 30 slots a day fit between 07:00 and 22:00).
+     */
+    private static BulkBookingRequest timetable(Facility facility, int n, int days) {
+        LocalDate first = LocalDate.now().plusDays(30);
+        List<BulkBookingRequest.Item> items = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            int start = 7 * 60 + (i / days) * 30;
+            items.add(item(facility, first.plusDays(i % days),
+                    start / 60, start % 60, (start + 30) / 60, (start + 30) % 60));
+        }
+        return new BulkBookingRequest(items);
+    }
+
+    private static BulkBookingRequest.Item item(Facility facility, LocalDate day,
+                                                int fromHour, int fromMinute, int toHour, int toMinute) {
+        return new BulkBookingRequest.Item(facility.getId(), day,
+                LocalTime.of(fromHour, fromMinute), LocalTime.of(toHour, toMinute),
+                "Timetable", 20, null);
+    }
+
+    private long confirmedOn(Facility facility, LocalDate day) {
+        return bookingRepository.findByFacilityAndDateAndStatusIn(facility, day, List.of(BookingStatus.CONFIRMED)).size();
+    }
+}
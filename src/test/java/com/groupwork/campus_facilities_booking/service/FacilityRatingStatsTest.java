@@ -0,0 +1,135 @@
+package com.groupwork.campus_facilities_booking.service;
+
+import com.groupwork.campus_facilities_booking.model.Entities.Booking;
+import com.groupwork.campus_facilities_booking.model.Entities.Facility;
+import com.groupwork.campus_facilities_booking.model.Entities.FacilityRatingStats;
+import com.groupwork.campus_facilities_booking.model.Entities.Review;
+import com.groupwork.campus_facilities_booking.model.Entities.User;
+import com.groupwork.campus_facilities_booking.model.Enums.UserRole;
+import com.groupwork.campus_facilities_booking.repository.FacilityRatingStatsRepository;
+import com.groupwork.campus_facilities_booking.repository.ReviewRepository;
+import com.groupwork.campus_facilities_booking.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * facility_rating_stats: running totals and the 1–5★ histogram, kept by
+ * one upsert per review write and recounted (under the row locks) after a
+ * user's reviews are bulk-deleted.
+ */
+class FacilityRatingStatsTest extends PostgresIntegrationTest {
+
+    private static final int THREADS = 32;
+
+    @Autowired FacilityRatingStatsRepository ratingStatsRepository;
+    @Autowired ReviewRepository              reviewRepository;
+    @Autowired ReviewService                 reviewService;
+    @Autowired PlatformTransactionManager    transactionManager;
+
+    @Test
+    void reviewsAddAndRemoveIncrementally() {
+        Facility facility = newFacility(30);
+
+        apply(facility, 5, 1);   // first review creates the row
+        apply(facility, 4, 1);
+        apply(facility, 4, 1);
+        apply(facility, 1, 1);
+        apply(facility, 4, -1);
+
+        FacilityRatingStats stats = stats(facility);
+        assertThat(stats.getRatingSum()).isEqualTo(10L);
+        assertThat(stats.getRatingCount()).isEqualTo(3L);
+        assertThat(histogram(stats)).containsExactly(1L, 0L, 0L, 1L, 1L);
+    }
+
+    @Test
+    void concurrentFirstReviewsAreAllCounted() throws Exception {
+        Facility facility = newFacility(30);
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch  start   = new CountDownLatch(1);
+            List<Future<?>> writers = new ArrayList<>(THREADS);
+            for (int i = 0; i < THREADS; i++) {
+                int rating = i % 5 + 1;
+                writers.add(pool.submit(() -> {
+                    start.await();
+                    apply(facility, rating, 1);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> w : writers) {
+                w.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // 32 reviews rated 1,2,3,4,5,1,2,… → 7,7,6,6,6 of each
+        FacilityRatingStats stats = stats(facility);
+        assertThat(stats.getRatingCount()).isEqualTo((long) THREADS);
+        assertThat(stats.getRatingSum()).isEqualTo(7L * 1 + 7 * 2 + 6 * 3 + 6 * 4 + 6 * 5);
+        assertThat(histogram(stats)).containsExactly(7L, 7L, 6L, 6L, 6L);
+    }
+
+    @Test
+    void deletingAUsersReviewsRecountsTheRest() {
+        Facility facility = newFacility(30);
+        User     leaving  = newUser(UserRole.STUDENT);
+        User     staying  = newUser(UserRole.STUDENT);
+        review(facility, leaving, 1, 1);
+        review(facility, leaving, 2, 2);
+        review(facility, staying, 3, 5);
+        review(facility, staying, 4, 4);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                reviewService.deleteAllByUser(leaving.getId()));
+
+        FacilityRatingStats stats = stats(facility);
+        assertThat(stats.getRatingSum()).isEqualTo(9L);
+        assertThat(stats.getRatingCount()).isEqualTo(2L);
+        assertThat(histogram(stats)).containsExactly(0L, 0L, 0L, 1L, 1L);
+    }
+
+    // ── Helpers ───────────────────────────────────────────────
+    private void apply(Facility facility, int rating, int delta) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                ratingStatsRepository.applyReview(facility.getId(), rating, delta));
+    }
+
+    /** A review row plus its stats update, as submitReview would write them. */
+    private void review(Facility facility, User user, int day, int rating) {
+        Booking booking = newBooking(facility, user, LocalDate.now().minusDays(day),
+                LocalTime.of(10, 0), LocalTime.of(11, 0));
+        reviewRepository.save(Review.builder()
+                .facility(facility)
+                .user(user)
+                .booking(booking)
+                .rating(rating)
+                .comment("Fixture")
+                .build());
+        apply(facility, rating, 1);
+    }
+
+    private FacilityRatingStats stats(Facility facility) {
+        return ratingStatsRepository.findById(facility.getId()).orElseThrow();
+    }
+
+    private static List<Long> histogram(FacilityRatingStats s) {
+        return List.of(s.getStars1(), s.getStars2(), s.getStars3(), s.getStars4(), s.getStars5());
+    }
+}
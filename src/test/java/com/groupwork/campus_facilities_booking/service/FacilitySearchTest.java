@@ -0,0 +1,161 @@
+package com.groupwork.campus_facilities_booking.service;
+
+import com.groupwork.campus_facilities_booking.model.Entities.Facility;
+import com.groupwork.campus_facilities_booking.model.Entities.FacilityType;
+import com.groupwork.campus_facilities_booking.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * searchFacilities (filters pushed into SQL, paged) against the
+ * findAll().stream() filtering it replaced, used as the oracle.
+ *
+ * The 10k / 100k timing runs only with -Dbenchmarks=true.
+ */
+class FacilitySearchTest extends PostgresIntegrationTest {
+
+    private static final Logger logger = Logger.getLogger(FacilitySearchTest.class.getName());
+
+    @Autowired FacilityService facilityService;
+    @Autowired JdbcTemplate    jdbcTemplate;
+
+    @Test
+    void filtersMatchInMemoryFiltering() {
+        FacilityType   type  = newFacilityType();
+        List<Facility> seeds = seed(type, 60);
+
+        assertSame(type, seeds, null, null, null, null, null);
+        assertSame(type, seeds, "lab", null, null, null, null);
+        assertSame(type, seeds, "LAB", true, null, null, null);
+        assertSame(type, seeds, null, true, false, null, 40);
+        assertSame(type, seeds, "hall", null, null, true, 100);
+        assertSame(type, seeds, "pitch", false, false, false, null);
+    }
+
+    @Test
+    void pagesAreStableAndComplete() {
+        FacilityType   type  = newFacilityType();
+        List<Facility> seeds = seed(type, 45);
+
+        List<Long> paged = new ArrayList<>();
+        for (int page = 0; ; page++) {
+            Page<Facility> p = facilityService.searchFacilities(
+                    null, type.getId(), null, null, null, null, null, null, page, 10);
+            p.forEach(f -> paged.add(f.getId()));
+            if (!p.hasNext()) {
+                assertThat(p.getTotalElements()).isEqualTo(seeds.size());
+                break;
+            }
+        }
+        assertThat(paged).doesNotHaveDuplicates().hasSize(seeds.size());
+    }
+
+    @Test
+    void likeWildcardsInTheNameAreLiteral() {
+        FacilityType type = newFacilityType();
+        Facility exact = facilityRepository.save(Facility.builder()
+                .name("Lab 100%").location("A").capacity(10).facilityType(type).build());
+        facilityRepository.save(Facility.builder()
+                .name("Lab 1000").location("B").capacity(10).facilityType(type).build());
+        facilityRepository.save(Facility.builder()
+                .name("Lab_2").location("C").capacity(10).facilityType(type).build());
+
+        assertThat(ids(facilityService.searchFacilities(
+                "100%", type.getId(), null, null, null, null, null, null, 0, 50))).containsExactly(exact.getId());
+        assertThat(facilityService.searchFacilities(
+                "b_", type.getId(), null, null, null, null, null, null, 0, 50).getTotalElements()).isEqualTo(1);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    void searchAt10kAnd100kFacilities() {
+        FacilityType type = newFacilityType();
+        int seeded = 0;
+        for (int target : new int[]{ 10_000, 100_000 }) {
+            bulkInsert(type, target - seeded);
+            seeded = target;
+            jdbcTemplate.execute("ANALYZE facilities");
+
+            long sql = timeMillis(20, () -> facilityService.searchFacilities(
+                    "hall 7", null, null, true, null, true, null, 50, 0, 20));
+            long stream = timeMillis(3, () -> facilityRepository.findAll().stream()
+                    .filter(f -> f.getName().toLowerCase().contains("hall 7"))
+                    .filter(f -> f.getHasProjector() && f.getHasWifi() && f.getCapacity() >= 50)
+                    .limit(20).toList());
+            logger.info(target + " facilities: search " + sql + " ms/call, findAll+filter " + stream + " ms/call");
+        }
+    }
+
+    // ── Helpers ───────────────────────────────────────────────
+    private void assertSame(FacilityType type, List<Facility> seeds, String name, Boolean projector,
+                            Boolean outdoor, Boolean wifi, Integer minCapacity) {
+        Predicate<Facility> oracle = f ->
+                (name == null || f.getName().toLowerCase().contains(name.toLowerCase()))
+                        && (projector == null || f.getHasProjector().equals(projector))
+                        && (outdoor == null || f.getIsOutdoor().equals(outdoor))
+                        && (wifi == null || f.getHasWifi().equals(wifi))
+                        && (minCapacity == null || f.getCapacity() >= minCapacity);
+        List<Long> expected = seeds.stream().filter(oracle).map(Facility::getId).sorted().toList();
+
+        Page<Facility> page = facilityService.searchFacilities(
+                name, type.getId(), null, projector, null, wifi, outdoor, minCapacity, 0, 500);
+
+        assertThat(ids(page)).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    private List<Facility> seed(FacilityType type, int count) {
+        String[] kinds  = { "Lab", "Hall", "Pitch", "Seminar Room" };
+        Random   random = new Random(count);
+        List<Facility> seeds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            seeds.add(facilityRepository.save(Facility.builder()
+                    .name(kinds[i % kinds.length] + " " + i)
+                    .location("Block " + i)
+                    .capacity(10 + random.nextInt(200))
+                    .facilityType(type)
+                    .hasProjector(random.nextBoolean())
+                    .hasWifi(random.nextBoolean())
+                    .isOutdoor(random.nextBoolean())
+                    .build()));
+        }
+        return seeds;
+    }
+
+    private void bulkInsert(FacilityType type, int count) {
+        jdbcTemplate.update("""
+                INSERT INTO facilities (name, location, capacity, facility_type_id, has_projector,
+                                        has_air_conditioning, has_whiteboard, has_pa_system,
+                                        has_video_conferencing, has_wifi, is_outdoor,
+                                        is_wheelchair_accessible, opening_time, closing_time,
+                                        is_available, created_at)
+                SELECT (ARRAY['Lab','Hall','Pitch','Seminar Room'])[1 + g % 4] || ' ' || g,
+                       'Block ' || g, 10 + g % 500, ?, g % 2 = 0, g % 3 = 0, true, false,
+                       false, g % 5 <> 0, g % 7 = 0, false, '07:00', '22:00', true, now()
+                  FROM generate_series(1, ?) AS g
+                """, type.getId(), count);
+    }
+
+    private static long timeMillis(int runs, Runnable action) {
+        action.run();   // warm-up
+        long started = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            action.run();
+        }
+        return (System.nanoTime() - started) / 1_000_000 / runs;
+    }
+
+    private static List<Long> ids(Page<Facility> page) {
+        return page.getContent().stream().map(Facility::getId).toList();
+    }
+}
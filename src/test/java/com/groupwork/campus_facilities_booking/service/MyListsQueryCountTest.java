@@ -0,0 +1,141 @@
+package com.groupwork.campus_facilities_booking.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.groupwork.campus_facilities_booking.model.Entities.Booking;
+import com.groupwork.campus_facilities_booking.model.Entities.Facility;
+import com.groupwork.campus_facilities_booking.model.Entities.Notification;
+import com.groupwork.campus_facilities_booking.model.Entities.User;
+import com.groupwork.campus_facilities_booking.model.Entities.WaitlistEntry;
+import com.groupwork.campus_facilities_booking.model.Enums.UserRole;
+import com.groupwork.campus_facilities_booking.repository.NotificationRepository;
+import com.groupwork.campus_facilities_booking.repository.WaitlistRepository;
+import com.groupwork.campus_facilities_booking.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The "my …" lists and today's bookings run a fixed number of statements,
+ * however many rows they return — facility, type, user and booking come
+ * with the rows, not one lazy load per row. Each call is serialised as the
+ * controller would, so anything touched during JSON writing is counted too.
+ *
+ * Every row gets its own facility (and booking), so an N+1 would show up.
+ */
+class MyListsQueryCountTest extends PostgresIntegrationTest {
+
+    private static final int MANY = 25;
+
+    @Autowired BookingService         bookingService;
+    @Autowired WaitlistService        waitlistService;
+    @Autowired NotificationService    notificationService;
+    @Autowired WaitlistRepository     waitlistRepository;
+    @Autowired NotificationRepository notificationRepository;
+    @Autowired ObjectMapper           objectMapper;
+
+    @Test
+    void myBookings() throws Exception {
+        User one  = newUser(UserRole.STUDENT);
+        User many = newUser(UserRole.STUDENT);
+        bookFor(one, 1, LocalDate.now().plusDays(2));
+        bookFor(many, MANY, LocalDate.now().plusDays(2));
+
+        assertConstant(one, many, bookingService::getBookingsForCurrentUser);
+    }
+
+    @Test
+    void todaysBookings() throws Exception {
+        User      admin = newUser(UserRole.ADMIN);
+        LocalDate today = LocalDate.now();
+        Callable<Object> list = bookingService::getTodaysBookings;
+
+        bookFor(newUser(UserRole.STUDENT), 1, today);
+        long small = statementsDuring(() -> serialized(admin, list));
+        bookFor(newUser(UserRole.STUDENT), MANY, today);
+        long large = statementsDuring(() -> serialized(admin, list));
+
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    void myWaitlist() throws Exception {
+        User one  = newUser(UserRole.STUDENT);
+        User many = newUser(UserRole.STUDENT);
+        waitFor(one, 1);
+        waitFor(many, MANY);
+
+        assertConstant(one, many, waitlistService::getEntriesForCurrentUser);
+    }
+
+    @Test
+    void myNotifications() throws Exception {
+        User one  = newUser(UserRole.STUDENT);
+        User many = newUser(UserRole.STUDENT);
+        notify(one, 1);
+        notify(many, MANY);
+
+        assertConstant(one, many, notificationService::getNotificationsForCurrentUser);
+    }
+
+    @Test
+    void warmUnreadCountRunsNoSql() throws Exception {
+        User user = newUser(UserRole.STUDENT);
+        notify(user, MANY);
+        Callable<Object> count = notificationService::getUnreadCountForCurrentUser;
+
+        serialized(user, count);   // first poll loads the user's badge state
+
+        assertThat(statementsDuring(() -> serialized(user, count))).isZero();
+        assertThat(Long.parseLong(serialized(user, count))).isGreaterThanOrEqualTo(MANY);
+    }
+
+    // ── Helpers ───────────────────────────────────────────────
+    private void assertConstant(User one, User many, Callable<Object> list) throws Exception {
+        serialized(one, list);   // warm-up: nothing first-call-only in the count
+        long small = statementsDuring(() -> serialized(one, list));
+        long large = statementsDuring(() -> serialized(many, list));
+        assertThat(large).isEqualTo(small);
+    }
+
+    private String serialized(User user, Callable<Object> list) throws Exception {
+        return inRequestAs(user, () -> objectMapper.writeValueAsString(list.call()));
+    }
+
+    private void bookFor(User user, int n, LocalDate day) {
+        for (int i = 0; i < n; i++) {
+            newBooking(newFacility(30), user, day, LocalTime.of(10, 0), LocalTime.of(11, 0));
+        }
+    }
+
+    private void waitFor(User user, int n) {
+        for (int i = 0; i < n; i++) {
+            waitlistRepository.save(WaitlistEntry.builder()
+                    .facility(newFacility(30))
+                    .user(user)
+                    .date(LocalDate.now().plusDays(3))
+                    .startTime(LocalTime.of(10, 0))
+                    .endTime(LocalTime.of(11, 0))
+                    .purpose("Waiting")
+                    .build());
+        }
+    }
+
+    private void notify(User user, int n) {
+        for (int i = 0; i < n; i++) {
+            Facility facility = newFacility(30);
+            Booking  booking  = newBooking(facility, user, LocalDate.now().plusDays(4),
+                    LocalTime.of(10, 0), LocalTime.of(11, 0));
+            notificationRepository.save(Notification.builder()
+                    .user(user)
+                    .booking(booking)
+                    .title("Booking Confirmed")
+                    .message("Your booking for " + facility.getName() + " is confirmed.")
+                    .build());
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.groupwork.campus_facilities_booking.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SlotMask against the loop it replaced: slot i is busy iff some booking
+ * overlaps [slotStart, slotEnd), and only whole slots ending by closing
+ * time exist.
+ */
+class SlotMaskTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {15, 30, 60})
+    void matchesTheSlotLoopForRandomDays(int slotMinutes) {
+        Random random = new Random(42L + slotMinutes);
+        for (int run = 0; run < 500; run++) {
+            LocalTime opening = LocalTime.of(6 + random.nextInt(3), random.nextInt(4) * 15);
+            LocalTime closing = LocalTime.of(18 + random.nextInt(5), random.nextInt(60));
+            List<LocalTime[]> bookings = randomBookings(random, opening, closing);
+
+            SlotMask mask = new SlotMask(opening, closing, slotMinutes);
+            bookings.forEach(b -> mask.markBusy(b[0], b[1]));
+
+            List<Boolean> expected = slotLoop(opening, closing, slotMinutes, bookings);
+            assertThat(mask.slotCount()).isEqualTo(expected.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertThat(mask.isFree(i)).as("slot %d of run %d", i, run).isEqualTo(expected.get(i));
+            }
+        }
+    }
+
+    @Test
+    void dayWiderThanOneWordUsesTwo() {
+        // 07:00–22:00 at 10 minutes = 90 slots
+        SlotMask mask = new SlotMask(LocalTime.of(7, 0), LocalTime.of(22, 0), 10);
+        mask.markBusy(LocalTime.of(17, 30), LocalTime.of(18, 10));
+
+        assertThat(mask.slotCount()).isEqualTo(90);
+        assertThat(mask.words()).hasSize(2);
+        assertThat(mask.isFree(62)).isTrue();
+        assertThat(mask.isFree(63)).isFalse();    // 17:30 — last bit of word 0
+        assertThat(mask.isFree(66)).isFalse();    // 18:00 — inside word 1
+        assertThat(mask.isFree(67)).isTrue();
+    }
+
+    @Test
+    void runLengthsStartWithAFreeRun() {
+        SlotMask mask = new SlotMask(LocalTime.of(8, 0), LocalTime.of(12, 0), 30);   // 8 slots
+        mask.markBusy(LocalTime.of(8, 0), LocalTime.of(9, 0));
+        mask.markBusy(LocalTime.of(10, 15), LocalTime.of(10, 45));
+
+        assertThat(mask.toRunLengths()).containsExactly(0, 2, 2, 2, 2);
+    }
+
+    @Test
+    void maintenanceBlocksEverySlot() {
+        SlotMask mask = new SlotMask(LocalTime.of(7, 0), LocalTime.of(22, 0), 30);
+        mask.markAllBusy();
+
+        assertThat(mask.toRunLengths()).containsExactly(0, 30);
+        assertThat(mask.toHex()).isEqualTo("000000003fffffff");
+    }
+
+    @Test
+    void bookingsOutsideOpeningHoursAreClipped() {
+        SlotMask mask = new SlotMask(LocalTime.of(9, 0), LocalTime.of(10, 0), 30);
+        mask.markBusy(LocalTime.of(6, 0), LocalTime.of(9, 10));
+        mask.markBusy(LocalTime.of(9, 59), LocalTime.of(23, 0));
+
+        assertThat(mask.isFree(0)).isFalse();
+        assertThat(mask.isFree(1)).isFalse();
+        assertThat(mask.toRunLengths()).containsExactly(0, 2);
+    }
+
+    // ── The original checkAvailability loop, as the oracle ────
+    private static List<Boolean> slotLoop(LocalTime opening, LocalTime closing, int slotMinutes,
+                                          List<LocalTime[]> bookings) {
+        List<Boolean> free = new ArrayList<>();
+        LocalTime cursor = opening;
+        while (cursor.plusMinutes(slotMinutes).compareTo(closing) <= 0
+                && cursor.plusMinutes(slotMinutes).isAfter(cursor)) {
+            LocalTime slotStart = cursor;
+            LocalTime slotEnd   = cursor.plusMinutes(slotMinutes);
+            free.add(bookings.stream().noneMatch(b -> b[0].isBefore(slotEnd) && b[1].isAfter(slotStart)));
+            cursor = slotEnd;
+        }
+        return free;
+    }
+
+    private static List<LocalTime[]> randomBookings(Random random, LocalTime opening, LocalTime closing) {
+        List<LocalTime[]> bookings = new ArrayList<>();
+        int open  = opening.toSecondOfDay() / 60;
+        int close = closing.toSecondOfDay() / 60;
+        for (int i = random.nextInt(12); i > 0; i--) {
+            int start = open + random.nextInt(close - open - 30);
+            int end   = Math.min(close, start + 30 + random.nextInt(180));
+            bookings.add(new LocalTime[]{ LocalTime.ofSecondOfDay(start * 60L), LocalTime.ofSecondOfDay(end * 60L) });
+        }
+        return bookings;
+    }
+}
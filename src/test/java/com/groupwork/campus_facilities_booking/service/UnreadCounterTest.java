@@ -0,0 +1,135 @@
+package com.groupwork.campus_facilities_booking.service;
+
+import com.groupwork.campus_facilities_booking.model.Entities.Announcement;
+import com.groupwork.campus_facilities_booking.repository.AnnouncementRepository;
+import com.groupwork.campus_facilities_booking.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The announcement side of UnreadCounter: the periodic reload must pick up
+ * announcements published elsewhere without dropping local ones. The
+ * per-user side: one load, then write-through only.
+ */
+class UnreadCounterTest {
+
+    private static final LocalDateTime JOINED = LocalDateTime.of(2026, 1, 1, 9, 0);
+
+    private static final Long USER = 7L;
+
+    private UserRepository         userRepository;
+    private AnnouncementRepository announcementRepository;
+    private UnreadCounter          counter;
+
+    @BeforeEach
+    void setUp() {
+        userRepository         = mock(UserRepository.class);
+        announcementRepository = mock(AnnouncementRepository.class);
+        counter = new UnreadCounter(userRepository, announcementRepository,
+                new SimpleMeterRegistry(), 100, 10);
+    }
+
+    @Test
+    void reloadPicksUpAnnouncementsFromOtherNodes() {
+        when(announcementRepository.findAll()).thenReturn(List.of(announcement(1L)));
+        counter.loadAnnouncements();
+        assertThat(counter.unreadAnnouncements(0, JOINED)).isEqualTo(1);
+
+        when(announcementRepository.findAll()).thenReturn(List.of(announcement(1L), announcement(2L)));
+        counter.loadAnnouncements();
+
+        assertThat(counter.unreadAnnouncements(0, JOINED)).isEqualTo(2);
+        assertThat(counter.unreadAnnouncements(1, JOINED)).isEqualTo(1);
+    }
+
+    @Test
+    void reloadDropsDeletedAnnouncements() {
+        when(announcementRepository.findAll()).thenReturn(List.of(announcement(1L), announcement(2L)));
+        counter.loadAnnouncements();
+
+        when(announcementRepository.findAll()).thenReturn(List.of(announcement(2L)));
+        counter.loadAnnouncements();
+
+        assertThat(counter.unreadAnnouncements(0, JOINED)).isEqualTo(1);
+    }
+
+    @Test
+    void localPublishDuringReloadIsKept() {
+        // Announcement 3 commits locally while the reload query runs and misses it
+        when(announcementRepository.findAll()).thenAnswer(inv -> {
+            counter.announcementPublishedAfterCommit(announcement(3L));
+            return List.of(announcement(1L));
+        });
+
+        counter.loadAnnouncements();
+
+        assertThat(counter.unreadAnnouncements(0, JOINED)).isEqualTo(2);
+    }
+
+    @Test
+    void announcementsBeforeRegistrationAreNotCounted() {
+        Announcement old = announcement(1L);
+        old.setCreatedAt(JOINED.minusDays(1));
+        when(announcementRepository.findAll()).thenReturn(List.of(old, announcement(2L)));
+
+        counter.loadAnnouncements();
+
+        assertThat(counter.unreadAnnouncements(0, JOINED)).isEqualTo(1);
+    }
+
+    @Test
+    void userStateIsLoadedOnceThenKeptByWriteThrough() {
+        when(userRepository.findBadgeStateById(USER)).thenReturn(Optional.of(badgeState(null, 3L)));
+        when(announcementRepository.findAll()).thenReturn(List.of(announcement(1L), announcement(2L)));
+        counter.loadAnnouncements();
+
+        assertThat(counter.unreadCount(USER)).isEqualTo(5);
+        counter.added(USER, 1);
+        counter.readAfterCommit(USER, 2);
+        assertThat(counter.unreadCount(USER)).isEqualTo(4);
+
+        verify(userRepository, times(1)).findBadgeStateById(USER);
+    }
+
+    @Test
+    void watermarkOnlyMovesForward() {
+        when(userRepository.findBadgeStateById(USER)).thenReturn(Optional.of(badgeState(1L, 0L)));
+        when(announcementRepository.findAll()).thenReturn(
+                List.of(announcement(1L), announcement(2L), announcement(3L)));
+        counter.loadAnnouncements();
+
+        assertThat(counter.unreadCount(USER)).isEqualTo(2);
+        counter.watermarkAdvancedAfterCommit(USER, 2L);
+        assertThat(counter.unreadCount(USER)).isEqualTo(1);
+        counter.watermarkAdvancedAfterCommit(USER, 1L);
+        assertThat(counter.unreadCount(USER)).isEqualTo(1);
+    }
+
+    private static UserRepository.BadgeStateView badgeState(Long watermark, long unread) {
+        UserRepository.BadgeStateView state = mock(UserRepository.BadgeStateView.class);
+        when(state.getLastSeenAnnouncementId()).thenReturn(watermark);
+        when(state.getCreatedAt()).thenReturn(JOINED);
+        when(state.getUnread()).thenReturn(unread);
+        return state;
+    }
+
+    private static Announcement announcement(Long id) {
+        return Announcement.builder()
+                .id(id)
+                .title("Notice " + id)
+                .message("Message " + id)
+                .createdAt(JOINED.plusHours(id))
+                .build();
+    }
+}
@@ -0,0 +1,180 @@
+package com.groupwork.campus_facilities_booking.service;
+
+import com.groupwork.campus_facilities_booking.model.Entities.Booking;
+import com.groupwork.campus_facilities_booking.model.Entities.Facility;
+import com.groupwork.campus_facilities_booking.model.Entities.User;
+import com.groupwork.campus_facilities_booking.model.Entities.WaitlistEntry;
+import com.groupwork.campus_facilities_booking.model.Enums.UserRole;
+import com.groupwork.campus_facilities_booking.model.Enums.WaitlistStatus;
+import com.groupwork.campus_facilities_booking.repository.FacilityRepository;
+import com.groupwork.campus_facilities_booking.repository.WaitlistRepository;
+import com.groupwork.campus_facilities_booking.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Waitlist promotion runs only once the freeing change has committed, on
+ * its own thread and transaction (outside the caller's facility-day locks).
+ */
+class WaitlistMatcherTest extends PostgresIntegrationTest {
+
+    private static final long WAIT_MS = 5_000;
+
+    @Autowired BookingService             bookingService;
+    @Autowired WaitlistRepository         waitlistRepository;
+    @Autowired FacilityRepository         facilityRepository;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    @Test
+    void cancellationPromotesTheWaitingEntryAfterCommit() throws Exception {
+        Facility      facility = newFacility(30);
+        User          owner    = newUser(UserRole.STUDENT);
+        LocalDate     day      = LocalDate.now().plusDays(3);
+        Booking       booking  = newBooking(facility, owner, day, LocalTime.of(10, 0), LocalTime.of(11, 0));
+        WaitlistEntry entry    = waitFor(facility, newUser(UserRole.STUDENT), day, 10, 11);
+
+        as(owner, () -> bookingService.cancelBooking(booking.getId()));
+
+        assertThat(statusWithin(entry, WAIT_MS)).isEqualTo(WaitlistStatus.PROMOTED);
+        assertThat(bookingRepository.findSlotsOnDate(facility.getId(), day,
+                BookingIntervalIndex.BLOCKING_STATUSES)).hasSize(1);
+    }
+
+    @Test
+    void rolledBackCancellationPromotesNobody() throws Exception {
+        Facility      facility = newFacility(30);
+        User          owner    = newUser(UserRole.STUDENT);
+        LocalDate     day      = LocalDate.now().plusDays(4);
+        Booking       booking  = newBooking(facility, owner, day, LocalTime.of(10, 0), LocalTime.of(11, 0));
+        WaitlistEntry entry    = waitFor(facility, newUser(UserRole.STUDENT), day, 10, 11);
+
+        as(owner, () -> new TransactionTemplate(transactionManager).execute(status -> {
+            bookingService.cancelBooking(booking.getId());
+            status.setRollbackOnly();
+            return null;
+        }));
+
+        assertThat(statusWithin(entry, 1_000)).isEqualTo(WaitlistStatus.WAITING);
+    }
+
+    @Test
+    void overlappingEntryWithADifferentStartIsPromoted() throws Exception {
+        Facility      facility = newFacility(30);
+        User          owner    = newUser(UserRole.STUDENT);
+        LocalDate     day      = LocalDate.now().plusDays(5);
+        Booking       booking  = newBooking(facility, owner, day, LocalTime.of(10, 0), LocalTime.of(11, 0));
+        WaitlistEntry entry    = waitFor(facility, newUser(UserRole.STUDENT), day,
+                LocalTime.of(10, 30), LocalTime.of(11, 30));
+
+        as(owner, () -> bookingService.cancelBooking(booking.getId()));
+
+        assertThat(statusWithin(entry, WAIT_MS)).isEqualTo(WaitlistStatus.PROMOTED);
+        assertThat(bookingRepository.findSlotsOnDate(facility.getId(), day,
+                BookingIntervalIndex.BLOCKING_STATUSES))
+                .singleElement()
+                .satisfies(s -> {
+                    assertThat(s.getStartTime()).isEqualTo(LocalTime.of(10, 30));
+                    assertThat(s.getEndTime()).isEqualTo(LocalTime.of(11, 30));
+                });
+    }
+
+    @Test
+    void entriesAreFilledGreedilyInFifoOrder() throws Exception {
+        Facility      facility = newFacility(30);
+        User          owner    = newUser(UserRole.STUDENT);
+        LocalDate     day      = LocalDate.now().plusDays(6);
+        Booking       booking  = newBooking(facility, owner, day, LocalTime.of(10, 0), LocalTime.of(11, 0));
+        WaitlistEntry first    = waitFor(facility, newUser(UserRole.STUDENT), day, 10, 11);
+        WaitlistEntry second   = waitFor(facility, newUser(UserRole.STUDENT), day,
+                LocalTime.of(10, 30), LocalTime.of(11, 0));
+        WaitlistEntry third    = waitFor(facility, newUser(UserRole.STUDENT), day,
+                LocalTime.of(9, 0), LocalTime.of(10, 0));
+
+        as(owner, () -> bookingService.cancelBooking(booking.getId()));
+
+        // The first entry takes 10–11, the second no longer fits; the third
+        // doesn't overlap the freed time and is left for a later fill
+        assertThat(statusWithin(first, WAIT_MS)).isEqualTo(WaitlistStatus.PROMOTED);
+        assertThat(statusWithin(second, 500)).isEqualTo(WaitlistStatus.WAITING);
+        assertThat(statusWithin(third, 0)).isEqualTo(WaitlistStatus.WAITING);
+        assertThat(bookingRepository.findSlotsOnDate(facility.getId(), day,
+                BookingIntervalIndex.BLOCKING_STATUSES)).hasSize(1);
+    }
+
+    @Test
+    void shortenedBookingFreesItsTail() throws Exception {
+        Facility      facility = newFacility(30);
+        User          owner    = newUser(UserRole.STUDENT);
+        LocalDate     day      = LocalDate.now().plusDays(7);
+        Booking       booking  = newBooking(facility, owner, day, LocalTime.of(10, 0), LocalTime.of(12, 0));
+        WaitlistEntry tail     = waitFor(facility, newUser(UserRole.STUDENT), day, 11, 12);
+
+        Booking shorter = Booking.builder()
+                .date(day)
+                .startTime(LocalTime.of(10, 0))
+                .endTime(LocalTime.of(11, 0))
+                .purpose("Shorter")
+                .attendees(1)
+                .isRecurring(false)
+                .build();
+        as(owner, () -> bookingService.updateBooking(booking.getId(), shorter));
+
+        assertThat(statusWithin(tail, WAIT_MS)).isEqualTo(WaitlistStatus.PROMOTED);
+        assertThat(bookingRepository.findSlotsOnDate(facility.getId(), day,
+                BookingIntervalIndex.BLOCKING_STATUSES)).hasSize(2);
+    }
+
+    @Test
+    void nothingIsPromotedOntoAnUnavailableFacility() throws Exception {
+        Facility      facility = newFacility(30);
+        User          owner    = newUser(UserRole.STUDENT);
+        LocalDate     day      = LocalDate.now().plusDays(8);
+        Booking       booking  = newBooking(facility, owner, day, LocalTime.of(10, 0), LocalTime.of(11, 0));
+        WaitlistEntry entry    = waitFor(facility, newUser(UserRole.STUDENT), day, 10, 11);
+
+        facility.setIsAvailable(false);
+        facilityRepository.save(facility);
+        as(owner, () -> bookingService.cancelBooking(booking.getId()));
+
+        assertThat(statusWithin(entry, 1_000)).isEqualTo(WaitlistStatus.WAITING);
+        assertThat(bookingRepository.findSlotsOnDate(facility.getId(), day,
+                BookingIntervalIndex.BLOCKING_STATUSES)).isEmpty();
+    }
+
+    // ── Helpers ───────────────────────────────────────────────
+    private WaitlistEntry waitFor(Facility facility, User user, LocalDate day, int fromHour, int toHour) {
+        return waitFor(facility, user, day, LocalTime.of(fromHour, 0), LocalTime.of(toHour, 0));
+    }
+
+    private WaitlistEntry waitFor(Facility facility, User user, LocalDate day, LocalTime start, LocalTime end) {
+        return waitlistRepository.save(WaitlistEntry.builder()
+                .facility(facility)
+                .user(user)
+                .date(day)
+                .startTime(start)
+                .endTime(end)
+                .purpose("Waiting")
+                .build());
+    }
+
+    /** The entry's status once it leaves WAITING, or WAITING after millis. */
+    private WaitlistStatus statusWithin(WaitlistEntry entry, long millis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + millis;
+        WaitlistStatus status;
+        do {
+            status = waitlistRepository.findById(entry.getId()).orElseThrow().getStatus();
+            if (status != WaitlistStatus.WAITING) {
+                return status;
+            }
+            Thread.sleep(50);
+        } while (System.currentTimeMillis() < deadline);
+        return status;
+    }
+}
@@ -0,0 +1,159 @@
+package com.groupwork.campus_facilities_booking.support;
+
+import com.groupwork.campus_facilities_booking.model.Entities.Booking;
+import com.groupwork.campus_facilities_booking.model.Entities.Facility;
+import com.groupwork.campus_facilities_booking.model.Entities.FacilityType;
+import com.groupwork.campus_facilities_booking.model.Entities.User;
+import com.groupwork.campus_facilities_booking.model.Enums.BookingStatus;
+import com.groupwork.campus_facilities_booking.model.Enums.UserRole;
+import com.groupwork.campus_facilities_booking.repository.BookingRepository;
+import com.groupwork.campus_facilities_booking.repository.FacilityRepository;
+import com.groupwork.campus_facilities_booking.repository.FacilityTypeRepository;
+import com.groupwork.campus_facilities_booking.repository.UserRepository;
+import com.groupwork.campus_facilities_booking.security.AuthenticatedUser;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.regex.Pattern;
+
+/**
+ * Base for tests that need the real schema: the EXCLUDE constraint,
+ * ON CONFLICT upserts, advisory locks and native queries only exist on
+ * PostgreSQL.
+ *
+ * One container is started for the whole run and shared by every subclass
+ * (so the Spring context cache stays valid). Without Docker these tests
+ * are skipped rather than failed.
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+@TestPropertySource(properties = {
+        "spring.jpa.hibernate.ddl-auto=update",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.groupwork.campus_facilities_booking.support.SqlCapture",
+        "app.jwt.secret=integration-test-secret-integration-test-secret",
+        "app.jwt.expiration-ms=3600000",
+        // keep background jobs out of the way of assertions
+        "app.booking-index.resync-ms=3600000",
+        "app.booking-deadlines.reconcile-ms=3600000"
+})
+public abstract class PostgresIntegrationTest {
+
+    @ServiceConnection
+    protected static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    static {
+        postgres.start();
+    }
+
+    @Autowired protected BookingRepository      bookingRepository;
+    @Autowired protected UserRepository         userRepository;
+    @Autowired protected FacilityRepository     facilityRepository;
+    @Autowired protected FacilityTypeRepository facilityTypeRepository;
+    @Autowired protected EntityManagerFactory   entityManagerFactory;
+
+    // ── Fixtures ──────────────────────────────────────────────
+    protected User newUser(UserRole role) {
+        String tag = UUID.randomUUID().toString().substring(0, 8);
+        return userRepository.save(User.builder()
+                .name("Test " + tag)
+                .email(tag + "@st.ug.edu.gh")
+                .passwordHash("x")
+                .role(role)
+                .build());
+    }
+
+    protected Facility newFacility(int capacity) {
+        return newFacility(capacity, newFacilityType());
+    }
+
+    protected Facility newFacility(int capacity, FacilityType type) {
+        String tag = UUID.randomUUID().toString().substring(0, 8);
+        return facilityRepository.save(Facility.builder()
+                .name("Room " + tag)
+                .location("Block " + tag)
+                .capacity(capacity)
+                .facilityType(type)
+                .build());
+    }
+
+    /** A CONFIRMED booking written straight to the table (no service rules, no index). */
+    protected Booking newBooking(Facility facility, User user, LocalDate day, LocalTime start, LocalTime end) {
+        return bookingRepository.save(Booking.builder()
+                .facility(facility)
+                .user(user)
+                .date(day)
+                .startTime(start)
+                .endTime(end)
+                .status(BookingStatus.CONFIRMED)
+                .purpose("Fixture")
+                .build());
+    }
+
+    protected FacilityType newFacilityType() {
+        String tag = UUID.randomUUID().toString().substring(0, 8);
+        return facilityTypeRepository.save(FacilityType.builder().name("Type " + tag).build());
+    }
+
+    // ── Counting SQL ──────────────────────────────────────────
+    /**
+     * JDBC statements Hibernate prepared while action ran (JPQL, native and
+     * lazy loads alike). Background jobs are slowed right down by the
+     * properties above, so the count is this thread's.
+     */
+    protected long statementsDuring(Callable<?> action) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.call();
+        return statistics.getPrepareStatementCount();
+    }
+
+    /** SELECTs that read the users table directly (not via a join) while action ran. */
+    protected static long userLookupsDuring(Callable<?> action) throws Exception {
+        Pattern fromUsers = Pattern.compile("^select .* from users \\w+ where ", Pattern.CASE_INSENSITIVE);
+        List<String> statements = SqlCapture.during(action);
+        return statements.stream().filter(sql -> fromUsers.matcher(sql).find()).count();
+    }
+
+    // ── Acting as a user ──────────────────────────────────────
+    /** Run with user as the authenticated principal on this thread. */
+    protected static <T> T as(User user, Callable<T> action) throws Exception {
+        AuthenticatedUser principal = new AuthenticatedUser(user.getId(), user.getEmail(), user.getRole());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.authorities()));
+        try {
+            return action.call();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    /** As {@link #as}, inside one simulated HTTP request (request-scoped attributes available). */
+    protected static <T> T inRequestAs(User user, Callable<T> action) throws Exception {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        try {
+            return as(user, action);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.groupwork.campus_facilities_booking.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Records the SQL Hibernate prepares on the current thread, so tests can
+ * assert which tables were queried — not just how many statements ran.
+ * Registered for every integration test in PostgresIntegrationTest.
+ */
+public class SqlCapture implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> captured = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = captured.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    /** Statements prepared on this thread while action ran. */
+    static List<String> during(Callable<?> action) throws Exception {
+        List<String> statements = new ArrayList<>();
+        captured.set(statements);
+        try {
+            action.call();
+        } finally {
+            captured.remove();
+        }
+        return statements;
+    }
+}